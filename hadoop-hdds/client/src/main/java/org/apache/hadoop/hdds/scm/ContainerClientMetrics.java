@@ -23,6 +23,7 @@
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.SlabBufferAllocator;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
@@ -65,6 +66,18 @@ public final class ContainerClientMetrics {
   private MutableCounterLong writeChunksDuringWrite;
   @Metric
   private MutableCounterLong flushesDuringWrite;
+  @Metric
+  private MutableRate slabAllocationWaitNs;
+  @Metric
+  private MutableCounterLong slabAllocationTimeouts;
+  @Metric
+  private MutableCounterLong readaheadChunks;
+  @Metric
+  private MutableCounterLong readaheadBytes;
+  @Metric
+  private MutableCounterLong readaheadHits;
+  @Metric
+  private MutableCounterLong readaheadWastedBytes;
 
   private MutableQuantiles[] listBlockLatency;
   private MutableQuantiles[] getBlockLatency;
@@ -255,6 +268,38 @@ public void addDataNodeHsyncLatency(long hsyncLatencyTime) {
     }
   }
 
+  /**
+   * Records the time waiting for a buffer from the slabs.
+   * @param timedOut true if no slab is available within the timeout.
+   */
+  public void addSlabAllocationWaitNs(long waitNs, boolean timedOut) {
+    slabAllocationWaitNs.add(waitNs);
+    if (timedOut) {
+      slabAllocationTimeouts.incr();
+    }
+  }
+
+  /** Records a chunk prefetched by readahead. */
+  public void addReadahead(long bytes) {
+    readaheadChunks.incr();
+    readaheadBytes.incr(bytes);
+  }
+
+  /** Records a prefetched chunk which is read. */
+  public void incReadaheadHits() {
+    readaheadHits.incr();
+  }
+
+  /** Records a prefetched chunk which is released without being read. */
+  public void addReadaheadWastedBytes(long bytes) {
+    readaheadWastedBytes.incr(bytes);
+  }
+
+  @Metric(about = "Bytes of the client buffers allocated from the slabs and in use")
+  public long getSlabBytesOutstanding() {
+    return SlabBufferAllocator.getInstanceOutstandingBytes();
+  }
+
   @VisibleForTesting
   public MutableCounterLong getTotalWriteChunkBytes() {
     return totalWriteChunkBytes;
@@ -299,4 +344,28 @@ public MutableCounterLong getWriteChunksDuringWrite() {
   public MutableCounterLong getFlushesDuringWrite() {
     return flushesDuringWrite;
   }
+
+  public MutableRate getSlabAllocationWaitNs() {
+    return slabAllocationWaitNs;
+  }
+
+  public MutableCounterLong getSlabAllocationTimeouts() {
+    return slabAllocationTimeouts;
+  }
+
+  public MutableCounterLong getReadaheadChunks() {
+    return readaheadChunks;
+  }
+
+  public MutableCounterLong getReadaheadBytes() {
+    return readaheadBytes;
+  }
+
+  public MutableCounterLong getReadaheadHits() {
+    return readaheadHits;
+  }
+
+  public MutableCounterLong getReadaheadWastedBytes() {
+    return readaheadWastedBytes;
+  }
 }
@@ -123,6 +123,35 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private long streamBufferMaxSize = 32 * 1024 * 1024;
 
+  @Config(key = "ozone.client.stream.buffer.slab.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "If true, the write buffers of the key output streams "
+          + "are allocated off-heap from a process-wide pool of slabs, and "
+          + "returned to the pool when released, so that they are reused "
+          + "across the streams instead of being garbage collected.",
+      tags = ConfigTag.CLIENT)
+  private boolean streamBufferSlabEnabled = false;
+
+  @Config(key = "ozone.client.stream.buffer.slab.max.size",
+      defaultValue = "1GB",
+      type = ConfigType.SIZE,
+      description = "The maximum total size of the slabs, in use or free, "
+          + "allocated by the process-wide pool when "
+          + "ozone.client.stream.buffer.slab.enabled is true.  It is "
+          + "determined by the first client created in the process.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferSlabMaxSize = 1024L * 1024 * 1024;
+
+  @Config(key = "ozone.client.stream.buffer.slab.wait.timeout",
+      defaultValue = "1s",
+      type = ConfigType.TIME,
+      description = "How long a stream waits for a slab to be released when "
+          + "the pool has reached ozone.client.stream.buffer.slab.max.size.  "
+          + "After the timeout, the buffer is allocated outside the pool.",
+      tags = ConfigTag.CLIENT)
+  private Duration streamBufferSlabWaitTimeout = Duration.ofSeconds(1);
+
   @Config(key = "ozone.client.stream.readblock.enable",
       defaultValue = "false",
       type = ConfigType.BOOLEAN,
@@ -312,6 +341,27 @@ public class OzoneClientConfig {
       description = "Timeout for receiving streaming read responses.")
   private Duration streamReadTimeout = Duration.ofSeconds(10);
 
+  @Config(key = "ozone.client.read.readahead.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      tags = {ConfigTag.CLIENT},
+      description = "The max number of bytes prefetched ahead of the "
+          + "position of a key input stream, when the key is read "
+          + "sequentially.  The chunks within the range, including those of "
+          + "the following blocks, are read from the datanodes in parallel.  "
+          + "Only the replicated blocks, not EC, are prefetched.  "
+          + "If zero, readahead is disabled.")
+  private long readaheadSize = 0;
+
+  @Config(key = "ozone.client.read.readahead.threads",
+      defaultValue = "16",
+      type = ConfigType.INT,
+      tags = {ConfigTag.CLIENT},
+      description = "The number of threads shared by the key input streams "
+          + "of a client to prefetch the chunks, "
+          + "see ozone.client.read.readahead.size.")
+  private int readaheadThreads = 16;
+
   @PostConstruct
   public void validate() {
     Preconditions.checkState(streamBufferSize > 0);
@@ -383,6 +433,12 @@ public void validate() {
       streamReadResponseDataSize = 1 << 20; // 1MB
     }
 
+    if (readaheadSize > 0 && readaheadThreads <= 0) {
+      LOG.warn("Invalid ozone.client.read.readahead.threads = {}, "
+          + "disabling readahead.", readaheadThreads);
+      readaheadSize = 0;
+    }
+
     // Ensure stream read timeout is a positive duration.
     Duration defaultTimeout = Duration.ofSeconds(10);
     if (streamReadTimeout == null
@@ -427,6 +483,30 @@ public void setStreamBufferMaxSize(long streamBufferMaxSize) {
     this.streamBufferMaxSize = streamBufferMaxSize;
   }
 
+  public boolean isStreamBufferSlabEnabled() {
+    return streamBufferSlabEnabled;
+  }
+
+  public void setStreamBufferSlabEnabled(boolean streamBufferSlabEnabled) {
+    this.streamBufferSlabEnabled = streamBufferSlabEnabled;
+  }
+
+  public long getStreamBufferSlabMaxSize() {
+    return streamBufferSlabMaxSize;
+  }
+
+  public void setStreamBufferSlabMaxSize(long streamBufferSlabMaxSize) {
+    this.streamBufferSlabMaxSize = streamBufferSlabMaxSize;
+  }
+
+  public Duration getStreamBufferSlabWaitTimeout() {
+    return streamBufferSlabWaitTimeout;
+  }
+
+  public void setStreamBufferSlabWaitTimeout(Duration streamBufferSlabWaitTimeout) {
+    this.streamBufferSlabWaitTimeout = streamBufferSlabWaitTimeout;
+  }
+
   public int getDataStreamMinPacketSize() {
     return dataStreamMinPacketSize;
   }
@@ -639,6 +719,22 @@ public void setStreamReadTimeout(Duration streamReadTimeout) {
     this.streamReadTimeout = streamReadTimeout;
   }
 
+  public long getReadaheadSize() {
+    return readaheadSize;
+  }
+
+  public void setReadaheadSize(long readaheadSize) {
+    this.readaheadSize = readaheadSize;
+  }
+
+  public int getReadaheadThreads() {
+    return readaheadThreads;
+  }
+
+  public void setReadaheadThreads(int readaheadThreads) {
+    this.readaheadThreads = readaheadThreads;
+  }
+
   /**
    * Enum for indicating what mode to use when combining chunk and block
    * checksums to define an aggregate FileChecksum. This should be considered
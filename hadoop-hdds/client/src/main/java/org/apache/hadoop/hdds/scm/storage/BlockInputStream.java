@@ -22,6 +22,7 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -108,6 +109,11 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private BlockData blockData;
 
+  // The chunks below this index have been scheduled for readahead.
+  private int readaheadIndex;
+  // Checked outside the lock since the asynchronous initialization holds it.
+  private volatile boolean readaheadInitializing;
+
   public BlockInputStream(
       BlockLocationInfo blockInfo,
       Pipeline pipeline,
@@ -504,6 +510,7 @@ synchronized long getBlockPosition() {
   public synchronized void unbuffer() {
     storePosition();
     releaseClient();
+    readaheadIndex = 0;
 
     final List<ChunkInputStream> inputStreams = this.chunkStreams;
     if (inputStreams != null) {
@@ -513,6 +520,106 @@ public synchronized void unbuffer() {
     }
   }
 
+  /**
+   * Reads the data at the given offset of this block into the buffer, without
+   * changing the position of this stream.  Since the chunks are read by new
+   * {@link ChunkInputStream}s, it can be called concurrently.
+   */
+  public void readRange(long offset, ByteBuffer buffer) throws IOException {
+    final List<ChunkInputStream> chunks;
+    final long[] offsets;
+    synchronized (this) {
+      checkOpen();
+      initialize();
+      chunks = chunkStreams;
+      offsets = chunkOffsets;
+    }
+    if (!buffer.hasRemaining()) {
+      return;
+    }
+    if (chunks == null || offset < 0) {
+      throw new EOFException("EOF encountered at offset " + offset
+          + " for block: " + blockID);
+    }
+
+    int i = Arrays.binarySearch(offsets, offset);
+    if (i < 0) {
+      i = -i - 2;
+    }
+    while (buffer.hasRemaining()) {
+      if (i >= chunks.size()) {
+        throw new EOFException("EOF encountered at offset " + offset
+            + " for block: " + blockID);
+      }
+      final ChunkInfo chunkInfo = chunks.get(i).getChunkInfo();
+      final long chunkPos = offset - offsets[i];
+      final int n = (int) Math.min(buffer.remaining(), chunkInfo.getLen() - chunkPos);
+      final ChunkInputStream chunk;
+      synchronized (this) {
+        checkOpen();
+        chunk = createChunkInputStream(chunkInfo);
+      }
+      try {
+        chunk.seek(chunkPos);
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(slice.position() + n);
+        while (slice.hasRemaining()) {
+          if (chunk.read(slice) < 0) {
+            throw new EOFException("EOF encountered at offset " + offset
+                + " for chunk: " + chunk.getChunkName());
+          }
+        }
+      } finally {
+        chunk.close();
+      }
+      buffer.position(buffer.position() + n);
+      offset += n;
+      i++;
+    }
+  }
+
+  /**
+   * Prefetches asynchronously the chunks from the current position up to the
+   * given position of this block.  The stream is initialized asynchronously
+   * if it is not initialized yet.
+   * The caller does not wait for an asynchronous initialization in progress.
+   */
+  public void readahead(long end, Readahead readahead) {
+    if (readaheadInitializing) {
+      return;
+    }
+    synchronized (this) {
+      try {
+        checkOpen();
+      } catch (IOException e) {
+        return;
+      }
+      if (!initialized) {
+        if (!readaheadInitializing) {
+          readaheadInitializing = true;
+          final boolean submitted = readahead.submit(blockID, () -> {
+            try {
+              initialize();
+            } finally {
+              readaheadInitializing = false;
+            }
+            readahead(end, readahead);
+          });
+          if (!submitted) {
+            readaheadInitializing = false;
+          }
+        }
+        return;
+      }
+
+      int i = Math.max(chunkIndex, readaheadIndex);
+      for (; i < chunkStreams.size() && chunkOffsets[i] < end; i++) {
+        readahead.prefetch(chunkStreams.get(i));
+      }
+      readaheadIndex = i;
+    }
+  }
+
   private synchronized void storePosition() {
     blockPosition = getPos();
   }
@@ -20,15 +20,20 @@
 import com.google.common.annotations.VisibleForTesting;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.util.Preconditions;
 import org.slf4j.Logger;
@@ -49,8 +54,17 @@ public class BufferPool {
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
 
+  /** Allocate the buffers from the slabs if not null. */
+  private final SlabBufferAllocator slabAllocator;
+  private final long slabWaitTimeoutMs;
+  private final ContainerClientMetrics clientMetrics;
+
   private final LinkedList<ChunkBuffer> allocated = new LinkedList<>();
   private final LinkedList<ChunkBuffer> released = new LinkedList<>();
+  /** The slabs of the allocated buffers, if they are allocated from the slabs. */
+  private final Map<ChunkBuffer, SlabBufferAllocator.Slab> slabs = new IdentityHashMap<>();
+  /** The number of buffers being allocated from the slabs outside the lock. */
+  private int reserved = 0;
   private ChunkBuffer currentBuffer = null;
   private final Lock lock = new ReentrantLock();
   private final Condition notFull = lock.newCondition();
@@ -66,9 +80,26 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, null, 0, null);
+  }
+
+  /**
+   * @param slabAllocator when not null, the buffers are allocated from it and
+   *                      returned to it once released, instead of being kept
+   *                      by this pool.
+   * @param slabWaitTimeoutMs the max time to wait for a slab, after which
+   *                          a buffer is allocated without the slabs.
+   */
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion,
+      SlabBufferAllocator slabAllocator, long slabWaitTimeoutMs,
+      ContainerClientMetrics clientMetrics) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     this.byteStringConversion = byteStringConversion;
+    this.slabAllocator = slabAllocator;
+    this.slabWaitTimeoutMs = slabWaitTimeoutMs;
+    this.clientMetrics = clientMetrics;
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -84,12 +115,15 @@ ChunkBuffer getCurrentBuffer() {
    * capacity.
    */
   public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
+    if (slabAllocator != null && (increment <= 0 || increment >= bufferSize)) {
+      return allocateSlabBuffer();
+    }
     lock.lockInterruptibly();
     try {
-      Preconditions.assertTrue(allocated.size() + released.size() <= capacity, () ->
+      Preconditions.assertTrue(allocated.size() + released.size() + reserved <= capacity, () ->
           "Total created buffer must not exceed capacity.");
 
-      while (allocated.size() == capacity) {
+      while (isFull()) {
         LOG.debug("Allocation needs to wait the pool is at capacity (allocated = capacity = {}).", capacity);
         notFull.await();
       }
@@ -107,13 +141,83 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
     }
   }
 
+  /**
+   * Similar to {@link #allocateBuffer(int)}, but the buffer is allocated
+   * from the slabs without holding the lock, since it may wait for a slab
+   * to be released by the other pools.
+   */
+  private ChunkBuffer allocateSlabBuffer() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (isFull()) {
+        LOG.debug("Allocation needs to wait the pool is at capacity (allocated = capacity = {}).", capacity);
+        notFull.await();
+      }
+      reserved++;
+    } finally {
+      lock.unlock();
+    }
+
+    SlabBufferAllocator.Slab slab = null;
+    ChunkBuffer buffer = null;
+    try {
+      slab = allocateSlab();
+      buffer = slab != null ? ChunkBuffer.wrap(slab.getBuffer(), slab)
+          : ChunkBuffer.allocate(bufferSize, 0);
+      return buffer;
+    } finally {
+      lock.lock();
+      try {
+        reserved--;
+        if (buffer != null) {
+          allocated.add(buffer);
+          if (slab != null) {
+            slabs.put(buffer, slab);
+          }
+          currentBuffer = buffer;
+          LOG.debug("Allocated new slab buffer {}, number of used buffers {}, capacity {}.",
+              buffer, allocated.size(), capacity);
+        } else {
+          notFull.signal();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** @return a slab, or null if timed out. */
+  private SlabBufferAllocator.Slab allocateSlab() throws InterruptedException {
+    final long startNs = Time.monotonicNowNanos();
+    final SlabBufferAllocator.Slab slab = slabAllocator.allocate(
+        bufferSize, slabWaitTimeoutMs, TimeUnit.MILLISECONDS);
+    if (clientMetrics != null) {
+      clientMetrics.addSlabAllocationWaitNs(Time.monotonicNowNanos() - startNs, slab == null);
+    }
+    if (slab == null) {
+      LOG.debug("Timed out waiting {}ms for a slab, allocate buffer of size {} without slabs",
+          slabWaitTimeoutMs, bufferSize);
+    }
+    return slab;
+  }
+
+  /**
+   * Release a buffer after its data is committed, i.e. the requests
+   * writing it have completed.
+   */
   void releaseBuffer(ChunkBuffer buffer) {
     LOG.debug("Releasing buffer {}", buffer);
     lock.lock();
     try {
       Preconditions.assertTrue(removeByIdentity(allocated, buffer), "Releasing unknown buffer");
-      buffer.clear();
-      released.add(buffer);
+      if (slabAllocator != null) {
+        // return it to the slabs, so that the other pools can reuse it
+        slabs.remove(buffer);
+        buffer.close();
+      } else {
+        buffer.clear();
+        released.add(buffer);
+      }
       if (buffer == currentBuffer) {
         currentBuffer = null;
       }
@@ -151,7 +255,7 @@ private static <T> boolean removeByIdentity(List<T> list, T toRemove) {
   public void waitUntilAvailable() throws InterruptedException {
     lock.lockInterruptibly();
     try {
-      while (allocated.size() == capacity) {
+      while (isFull()) {
         notFull.await();
       }
     } finally {
@@ -159,10 +263,28 @@ public void waitUntilAvailable() throws InterruptedException {
     }
   }
 
+  /** Must be called with the lock held. */
+  private boolean isFull() {
+    return allocated.size() + reserved >= capacity;
+  }
+
+  /**
+   * Clear this pool, e.g. on cleanup or abort, where the allocated buffers
+   * may still be read by in-flight requests.
+   */
   public void clearBufferPool() {
     lock.lock();
     try {
-      allocated.forEach(ChunkBuffer::close);
+      for (ChunkBuffer buffer : allocated) {
+        final SlabBufferAllocator.Slab slab = slabs.remove(buffer);
+        if (slab != null) {
+          // Not reused by the other pools, which could overwrite the data
+          // still being sent.
+          slab.discard();
+        } else {
+          buffer.close();
+        }
+      }
       released.forEach(ChunkBuffer::close);
       allocated.clear();
       released.clear();
@@ -204,7 +326,7 @@ private <T> T doInLock(Supplier<T> supplier) {
   }
 
   public boolean isAtCapacity() {
-    return getNumberOfUsedBuffers() == capacity;
+    return doInLock(this::isFull);
   }
 
   public int getCapacity() {
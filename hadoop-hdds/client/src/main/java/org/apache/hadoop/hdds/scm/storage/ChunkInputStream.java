@@ -38,6 +38,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ReadChunkResponseProto;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi.Validator;
@@ -98,6 +99,10 @@ public class ChunkInputStream extends InputStream
 
   private final Supplier<Token<?>> tokenSupplier;
 
+  private boolean closed = false;
+  // Non-null if the buffers are prefetched by readahead and not yet read.
+  private ContainerClientMetrics prefetchMetrics;
+
   private static final int EOF = -1;
   private final List<Validator> validators;
 
@@ -280,10 +285,42 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    closed = true;
     releaseBuffers();
     releaseClient();
   }
 
+  /**
+   * Reads the remaining data of this chunk into the buffers, unless the
+   * chunk has already been read or closed.  The prefetched buffers are
+   * used by the subsequent reads.
+   *
+   * @param metrics to record the readahead, can be null.
+   */
+  synchronized void prefetch(ContainerClientMetrics metrics)
+      throws IOException {
+    if (closed || allocated || buffersAllocated()) {
+      return;
+    }
+    final long pos = getPos();
+    if (pos >= length) {
+      return;
+    }
+    acquireClient();
+    try {
+      chunkPosition = pos;
+      readChunkFromContainer(Math.toIntExact(length - pos));
+    } catch (IOException e) {
+      // the chunk will be read on demand with a new client
+      releaseClient();
+      throw e;
+    }
+    if (metrics != null) {
+      metrics.addReadahead(buffersSize);
+      prefetchMetrics = metrics;
+    }
+  }
+
   protected synchronized void releaseClient() {
     if (xceiverClientFactory != null && xceiverClient != null) {
       xceiverClientFactory.releaseClientForReadData(xceiverClient, false);
@@ -322,6 +359,10 @@ protected synchronized void acquireClient() throws IOException {
    * @return length of data available to read, possibly less than desired length
    */
   private synchronized int prepareRead(int len) throws IOException {
+    if (prefetchMetrics != null) {
+      prefetchMetrics.incReadaheadHits();
+      prefetchMetrics = null;
+    }
     for (;;) {
       if (chunkPosition >= 0) {
         if (buffersHavePosition(chunkPosition)) {
@@ -699,6 +740,10 @@ private void releaseBuffers(int releaseUptoBufferIndex) {
    * If EOF is reached, release the buffers.
    */
   private void releaseBuffers() {
+    if (prefetchMetrics != null) {
+      prefetchMetrics.addReadaheadWastedBytes(buffersSize);
+      prefetchMetrics = null;
+    }
     buffers = null;
     bufferIndex = 0;
     firstUnreleasedBufferIndex = 0;
@@ -209,6 +209,60 @@ int readImpl(InputStream inputStream) throws IOException {
     return true;
   }
 
+  /**
+   * @return true if {@link #readRange(long, ByteBuffer)} is supported,
+   *         i.e. all the parts are {@link BlockInputStream}s.
+   */
+  public boolean canReadRange() {
+    for (PartInputStream part : partStreams) {
+      if (!(part instanceof BlockInputStream)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the data at the given position into the buffer, without changing
+   * the position of this stream.  Unlike the other reads, it can be called
+   * concurrently, see {@link BlockInputStream#readRange(long, ByteBuffer)}.
+   *
+   * @throws UnsupportedOperationException if {@link #canReadRange()} is false.
+   */
+  public void readRange(long position, ByteBuffer buffer) throws IOException {
+    checkOpen();
+    if (!canReadRange()) {
+      throw new UnsupportedOperationException("readRange is not supported for " + key);
+    }
+    if (!buffer.hasRemaining()) {
+      return;
+    }
+    if (position < 0 || position + buffer.remaining() > length) {
+      throw new EOFException("EOF encountered at pos: " + position + " for key: " + key);
+    }
+
+    int i = Arrays.binarySearch(partOffsets, position);
+    if (i < 0) {
+      i = -i - 2;
+    }
+    for (; buffer.hasRemaining(); i++) {
+      if (i >= partStreams.size()) {
+        throw new EOFException("EOF encountered at pos: " + position + " for key: " + key);
+      }
+      final BlockInputStream part = (BlockInputStream) partStreams.get(i);
+      final long partPos = position - partOffsets[i];
+      final int n = (int) Math.min(buffer.remaining(), part.getLength() - partPos);
+      if (n <= 0) {
+        continue;
+      }
+      final ByteBuffer slice = buffer.duplicate();
+      slice.limit(slice.position() + n);
+      part.readRange(partPos, slice);
+      buffer.position(buffer.position() + n);
+      position += n;
+    }
+  }
+
   public synchronized void initialize() throws IOException {
     // Pre-check that the stream has not been intialized already
     if (initialized) {
@@ -290,6 +344,11 @@ public long getLength() {
     return length;
   }
 
+  /** @return the offset of the first byte of the given part w.r.t the whole key. */
+  protected long getPartOffset(int index) {
+    return partOffsets[index];
+  }
+
   @VisibleForTesting
   public synchronized int getCurrentStreamIndex() {
     return partIndex;
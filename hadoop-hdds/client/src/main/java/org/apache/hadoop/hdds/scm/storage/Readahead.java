@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
+import org.apache.ratis.util.function.CheckedRunnable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The readahead shared by the key input streams of a client: the size of
+ * the window prefetched ahead of the read position, the executor to read
+ * the chunks in parallel and the metrics.
+ * <p>
+ * A failed prefetch is ignored, since the chunk is read again on demand,
+ * with the retries of {@link BlockInputStream}.
+ */
+public final class Readahead {
+  private static final Logger LOG = LoggerFactory.getLogger(Readahead.class);
+
+  private final long size;
+  private final Supplier<? extends Executor> executor;
+  private final ContainerClientMetrics metrics;
+
+  public Readahead(long size, Supplier<? extends Executor> executor,
+      ContainerClientMetrics metrics) {
+    Preconditions.checkArgument(size > 0, "size = %s <= 0", size);
+    this.size = size;
+    this.executor = executor;
+    this.metrics = metrics;
+  }
+
+  /** @return the max number of bytes to prefetch ahead of the read position. */
+  public long getSize() {
+    return size;
+  }
+
+  void prefetch(ChunkInputStream chunk) {
+    submit(chunk.getChunkName(), () -> chunk.prefetch(metrics));
+  }
+
+  /** @return true if the task is submitted; otherwise, it is rejected. */
+  boolean submit(Object name, CheckedRunnable<Exception> task) {
+    try {
+      executor.get().execute(() -> {
+        try {
+          task.run();
+        } catch (Exception e) {
+          LOG.debug("Failed to prefetch {}", name, e);
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      LOG.debug("Skipped to prefetch {}", name, e);
+      return false;
+    }
+  }
+}
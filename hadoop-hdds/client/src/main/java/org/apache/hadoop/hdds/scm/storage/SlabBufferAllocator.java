@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.ratis.util.UncheckedAutoCloseable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide allocator of off-heap buffers (slabs) for the client
+ * {@link BufferPool}s, so that the buffers released by a stream can be
+ * reused by the other streams instead of being garbage collected.
+ * <p>
+ * The slabs are size-classed by powers of two.  The free slabs of a size
+ * class are kept in stripes, one per core, so that concurrent streams
+ * rarely contend for the same lock.  The total size of the slabs, in use
+ * or free, is bounded; when the bound is reached, the free slabs of other
+ * size classes are dropped, and then the allocation waits for a slab to be
+ * released.
+ */
+public final class SlabBufferAllocator {
+  private static final Logger LOG = LoggerFactory.getLogger(SlabBufferAllocator.class);
+
+  static final int MIN_SLAB_SIZE = 4 << 10;
+
+  private static SlabBufferAllocator instance;
+
+  private final long maxBytes;
+  private final int stripeMask;
+  private final Map<Integer, SizeClass> sizeClasses = new ConcurrentHashMap<>();
+
+  /** The total size of the slabs, in use or free. */
+  private final AtomicLong allocatedBytes = new AtomicLong();
+  /** The total size of the slabs in use. */
+  private final AtomicLong outstandingBytes = new AtomicLong();
+
+  private final Lock waitLock = new ReentrantLock();
+  private final Condition released = waitLock.newCondition();
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  /**
+   * @return the process-wide allocator, created with the given max size
+   *         by the first call.
+   */
+  public static synchronized SlabBufferAllocator getInstance(long maxBytes) {
+    if (instance == null) {
+      instance = new SlabBufferAllocator(maxBytes,
+          Runtime.getRuntime().availableProcessors());
+      LOG.info("Created {}", instance);
+    } else if (instance.maxBytes != maxBytes) {
+      LOG.warn("Ignored maxBytes = {}: {} is already created", maxBytes, instance);
+    }
+    return instance;
+  }
+
+  /** @return the bytes in use of the process-wide allocator, or 0 if it is not created. */
+  public static synchronized long getInstanceOutstandingBytes() {
+    return instance == null ? 0 : instance.getOutstandingBytes();
+  }
+
+  @VisibleForTesting
+  SlabBufferAllocator(long maxBytes, int stripes) {
+    Preconditions.checkArgument(maxBytes > 0, "maxBytes = %s <= 0", maxBytes);
+    Preconditions.checkArgument(stripes > 0, "stripes = %s <= 0", stripes);
+    this.maxBytes = maxBytes;
+    this.stripeMask = Integer.highestOneBit((stripes << 1) - 1) - 1;
+  }
+
+  /** @return the size class of the given size, i.e. the next power of two. */
+  static int getSlabSize(int size) {
+    Preconditions.checkArgument(size > 0 && size <= (1 << 30), "Unsupported size %s", size);
+    return Math.max(MIN_SLAB_SIZE, Integer.highestOneBit((size << 1) - 1));
+  }
+
+  /**
+   * Allocates a buffer of the given size, waiting up to the given timeout
+   * when the allocator is at capacity.  The returned buffer must be released
+   * by {@link Slab#close()}.
+   *
+   * @return the allocated buffer, or null if the timeout has elapsed.
+   */
+  public Slab allocate(int size, long timeout, TimeUnit unit) throws InterruptedException {
+    final SizeClass sizeClass = sizeClasses.computeIfAbsent(getSlabSize(size), SizeClass::new);
+    ByteBuffer slab = tryAllocate(sizeClass);
+    if (slab == null) {
+      slab = waitAndAllocate(sizeClass, unit.toNanos(timeout));
+      if (slab == null) {
+        return null;
+      }
+    }
+    outstandingBytes.addAndGet(sizeClass.slabSize);
+    slab.clear();
+    slab.limit(size);
+    return new Slab(slab.slice(), slab, sizeClass);
+  }
+
+  private ByteBuffer tryAllocate(SizeClass sizeClass) {
+    final ByteBuffer free = sizeClass.poll(stripe());
+    if (free != null) {
+      return free;
+    }
+    return reserve(sizeClass.slabSize) ? ByteBuffer.allocateDirect(sizeClass.slabSize) : null;
+  }
+
+  private ByteBuffer waitAndAllocate(SizeClass sizeClass, long timeoutNanos) throws InterruptedException {
+    long remaining = timeoutNanos;
+    waiting.incrementAndGet();
+    waitLock.lockInterruptibly();
+    try {
+      while (true) {
+        final ByteBuffer slab = tryAllocate(sizeClass);
+        if (slab != null || remaining <= 0) {
+          return slab;
+        }
+        LOG.debug("Waiting for a slab of size {}, outstanding {}", sizeClass.slabSize, outstandingBytes);
+        remaining = released.awaitNanos(remaining);
+      }
+    } finally {
+      waitLock.unlock();
+      waiting.decrementAndGet();
+    }
+  }
+
+  /** Reserves the given bytes, dropping the free slabs of the other size classes if necessary. */
+  private boolean reserve(int bytes) {
+    while (true) {
+      final long current = allocatedBytes.get();
+      if (current + bytes <= maxBytes) {
+        if (allocatedBytes.compareAndSet(current, current + bytes)) {
+          return true;
+        }
+      } else if (!dropFreeSlab(bytes)) {
+        return false;
+      }
+    }
+  }
+
+  /** @return true if a free slab other than the given size is dropped. */
+  private boolean dropFreeSlab(int exceptSize) {
+    for (SizeClass c : sizeClasses.values()) {
+      if (c.slabSize != exceptSize) {
+        for (int i = 0; i <= stripeMask; i++) {
+          if (c.poll(i) != null) {
+            // The dropped slab is freed by GC.
+            allocatedBytes.addAndGet(-c.slabSize);
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private void release(ByteBuffer slab, SizeClass sizeClass) {
+    sizeClass.offer(stripe(), slab);
+    outstandingBytes.addAndGet(-sizeClass.slabSize);
+    signalWaiting();
+  }
+
+  /** Drop a slab in use, which is freed by GC instead of being reused. */
+  private void discard(SizeClass sizeClass) {
+    outstandingBytes.addAndGet(-sizeClass.slabSize);
+    allocatedBytes.addAndGet(-sizeClass.slabSize);
+    signalWaiting();
+  }
+
+  private void signalWaiting() {
+    if (waiting.get() > 0) {
+      waitLock.lock();
+      try {
+        released.signalAll();
+      } finally {
+        waitLock.unlock();
+      }
+    }
+  }
+
+  private int stripe() {
+    return (int) Thread.currentThread().getId() & stripeMask;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  public long getOutstandingBytes() {
+    return outstandingBytes.get();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{maxBytes=" + maxBytes + ", stripes=" + (stripeMask + 1)
+        + ", allocated=" + allocatedBytes + ", outstanding=" + outstandingBytes + "}";
+  }
+
+  /** The free slabs of a size, striped by thread. */
+  private final class SizeClass {
+    private final int slabSize;
+    private final Stripe[] stripes;
+
+    private SizeClass(int slabSize) {
+      this.slabSize = slabSize;
+      this.stripes = new Stripe[stripeMask + 1];
+      for (int i = 0; i < stripes.length; i++) {
+        stripes[i] = new Stripe();
+      }
+    }
+
+    /** Polls the given stripe first, and then the others. */
+    private ByteBuffer poll(int stripe) {
+      for (int i = 0; i < stripes.length; i++) {
+        final ByteBuffer slab = stripes[(stripe + i) & stripeMask].poll();
+        if (slab != null) {
+          return slab;
+        }
+      }
+      return null;
+    }
+
+    private void offer(int stripe, ByteBuffer slab) {
+      stripes[stripe].offer(slab);
+    }
+  }
+
+  private static final class Stripe {
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+    private synchronized ByteBuffer poll() {
+      return free.pollLast();
+    }
+
+    private synchronized void offer(ByteBuffer slab) {
+      free.addLast(slab);
+    }
+  }
+
+  /**
+   * A buffer allocated from a slab, which is returned to the allocator
+   * when it is closed.
+   */
+  public final class Slab implements UncheckedAutoCloseable {
+    private final ByteBuffer buffer;
+    private final ByteBuffer slab;
+    private final SizeClass sizeClass;
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private Slab(ByteBuffer buffer, ByteBuffer slab, SizeClass sizeClass) {
+      this.buffer = buffer;
+      this.slab = slab;
+      this.sizeClass = sizeClass;
+    }
+
+    /** @return the buffer of exactly the allocated size. */
+    public ByteBuffer getBuffer() {
+      return buffer;
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(0, 1)) {
+        release(slab, sizeClass);
+      }
+    }
+
+    /**
+     * Similar to {@link #close()}, but the slab is not reused since it may
+     * still be accessed, e.g. by an in-flight request.
+     */
+    public void discard() {
+      if (closed.compareAndSet(0, 1)) {
+        SlabBufferAllocator.this.discard(sizeClass);
+      }
+    }
+  }
+}
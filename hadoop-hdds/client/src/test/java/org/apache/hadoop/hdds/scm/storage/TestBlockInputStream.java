@@ -23,6 +23,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
@@ -36,11 +37,14 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -265,6 +269,108 @@ public void testSeekAndRead() throws Exception {
     matchWithInputData(b2, 150, 100);
   }
 
+  @Test
+  public void testReadahead() throws Exception {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Readahead readahead = new Readahead(250, () -> tasks::add, null);
+
+    // The stream is initialized asynchronously, and then the chunks
+    // before the end position are prefetched.
+    blockStream.readahead(250, readahead);
+    assertEquals(1, tasks.size());
+    runAll(tasks);
+    final List<ChunkInputStream> chunkStreams = blockStream.getChunkStreams();
+    assertTrue(chunkStreams.get(0).buffersAllocated());
+    assertTrue(chunkStreams.get(2).buffersAllocated());
+    assertFalse(chunkStreams.get(3).buffersAllocated());
+
+    byte[] b = new byte[300];
+    assertEquals(300, blockStream.read(b, 0, 300));
+    matchWithInputData(b, 0, 300);
+
+    // Only the chunks not yet scheduled are prefetched.
+    blockStream.readahead(blockSize, readahead);
+    assertEquals(2, tasks.size());
+    runAll(tasks);
+    assertTrue(chunkStreams.get(4).buffersAllocated());
+
+    b = new byte[blockSize - 300];
+    assertEquals(b.length, blockStream.read(b, 0, b.length));
+    matchWithInputData(b, 300, b.length);
+  }
+
+  @Test
+  public void testReadRange() throws Exception {
+    // across the chunk boundaries
+    ByteBuffer buffer = ByteBuffer.allocate(250);
+    blockStream.readRange(50, buffer);
+    assertFalse(buffer.hasRemaining());
+    matchWithInputData(buffer.array(), 50, 250);
+
+    // the position of the stream is not changed
+    assertEquals(0, blockStream.getPos());
+
+    buffer = ByteBuffer.allocate(100);
+    blockStream.readRange(blockSize - 100, buffer);
+    matchWithInputData(buffer.array(), blockSize - 100, 100);
+
+    assertThrows(EOFException.class,
+        () -> blockStream.readRange(blockSize - 10, ByteBuffer.allocate(20)));
+  }
+
+  @Test
+  public void testReadaheadDoesNotWaitForInitialization() throws Exception {
+    final List<Runnable> tasks = new ArrayList<>();
+    final AtomicBoolean reject = new AtomicBoolean(true);
+    final Readahead readahead = new Readahead(250, () -> task -> {
+      if (reject.get()) {
+        throw new RejectedExecutionException();
+      }
+      tasks.add(task);
+    }, null);
+
+    // A rejected initialization does not prevent later readahead.
+    blockStream.readahead(250, readahead);
+    assertEquals(0, tasks.size());
+    reject.set(false);
+    blockStream.readahead(250, readahead);
+    assertEquals(1, tasks.size());
+
+    // While the initialization is in progress, holding the lock,
+    // the caller returns without waiting for the lock.
+    final CountDownLatch locked = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Thread holder = new Thread(() -> {
+      synchronized (blockStream) {
+        locked.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    holder.start();
+    locked.await();
+    try {
+      assertTimeoutPreemptively(Duration.ofSeconds(10),
+          () -> blockStream.readahead(blockSize, readahead));
+      assertEquals(1, tasks.size());
+    } finally {
+      release.countDown();
+      holder.join();
+    }
+
+    runAll(tasks);
+    assertTrue(blockStream.getChunkStreams().get(0).buffersAllocated());
+  }
+
+  private static void runAll(List<Runnable> tasks) {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+
   @Test
   public void testRefreshPipelineFunction() throws Exception {
     LogCapturer logCapturer = LogCapturer.captureLogs(BlockExtendedInputStream.class);
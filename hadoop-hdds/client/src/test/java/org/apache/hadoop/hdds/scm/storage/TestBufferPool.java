@@ -18,12 +18,14 @@
 package org.apache.hadoop.hdds.scm.storage;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.concurrent.ThreadLocalRandom;
@@ -63,6 +65,70 @@ void testBufferPoolConcurrently() throws Exception {
     assertAllocationBlockedUntilReleased(pool, buffers);
   }
 
+  @Test
+  void testSlabBufferPool() throws Exception {
+    final int bufferSize = 1 << 16;
+    final int capacity = 4;
+    final SlabBufferAllocator allocator = new SlabBufferAllocator(capacity * bufferSize, 2);
+    final BufferPool pool = new BufferPool(bufferSize, capacity,
+        BufferPool.empty().byteStringConversion(), allocator, 10, null);
+
+    final Deque<ChunkBuffer> buffers = assertAllocate(pool);
+    assertFull(pool);
+    assertEquals(capacity * bufferSize, allocator.getOutstandingBytes());
+
+    // a released buffer is returned to the slabs instead of the pool
+    pool.releaseBuffer(buffers.removeFirst());
+    assertEquals(capacity - 1, pool.getSize());
+    assertEquals((capacity - 1) * bufferSize, allocator.getOutstandingBytes());
+
+    // another pool reuses the slab, and then falls back after the timeout
+    final BufferPool other = new BufferPool(bufferSize, capacity,
+        BufferPool.empty().byteStringConversion(), allocator, 10, null);
+    buffers.addLast(other.allocateBuffer(0));
+    assertEquals(capacity * bufferSize, allocator.getAllocatedBytes());
+    final ChunkBuffer fallback = other.allocateBuffer(0);
+    assertEmpty(fallback, bufferSize);
+    assertEquals(capacity * bufferSize, allocator.getOutstandingBytes());
+    assertEquals(2, other.getNumberOfUsedBuffers());
+
+    // the allocated buffers may be in flight, they are dropped on clear
+    other.clearBufferPool();
+    pool.clearBufferPool();
+    assertEquals(0, allocator.getOutstandingBytes());
+    assertEquals(0, allocator.getAllocatedBytes());
+  }
+
+  @Test
+  void testClearSlabBufferPoolDoesNotReuseBuffers() throws Exception {
+    final int bufferSize = 1 << 16;
+    final SlabBufferAllocator allocator = new SlabBufferAllocator(bufferSize, 1);
+    final BufferPool pool = new BufferPool(bufferSize, 1,
+        BufferPool.empty().byteStringConversion(), allocator, 10, null);
+
+    // an in-flight buffer, e.g. still being sent after an abort
+    final ChunkBuffer inFlight = pool.allocateBuffer(0);
+    final byte[] data = new byte[bufferSize];
+    ThreadLocalRandom.current().nextBytes(data);
+    inFlight.put(ByteBuffer.wrap(data));
+    final ByteBuffer sent = inFlight.duplicate(0, bufferSize).asByteBufferList().get(0);
+    pool.clearBufferPool();
+
+    // another pool gets a new slab instead of the in-flight buffer
+    final BufferPool other = new BufferPool(bufferSize, 1,
+        BufferPool.empty().byteStringConversion(), allocator, 10, null);
+    final ChunkBuffer next = other.allocateBuffer(0);
+    assertEquals(bufferSize, allocator.getOutstandingBytes());
+    next.put(ByteBuffer.wrap(new byte[bufferSize]));
+    final byte[] read = new byte[bufferSize];
+    sent.get(read);
+    assertArrayEquals(data, read);
+
+    other.releaseBuffer(next);
+    assertEquals(0, allocator.getOutstandingBytes());
+    assertEquals(bufferSize, allocator.getAllocatedBytes());
+  }
+
   private void assertAllocationBlockedUntilReleased(BufferPool pool, Deque<ChunkBuffer> buffers) throws Exception {
     // As the pool is full, allocation will need to wait until a buffer is released.
     assertFull(pool);
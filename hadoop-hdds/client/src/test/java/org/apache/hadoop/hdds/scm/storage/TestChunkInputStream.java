@@ -39,6 +39,7 @@
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.hdds.scm.ContainerClientMetrics;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
 import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
@@ -237,6 +238,43 @@ public void testUnbuffered() throws Exception {
     matchWithInputData(b2, 20, 20);
   }
 
+  @Test
+  public void testPrefetch() throws Exception {
+    final ContainerClientMetrics metrics = ContainerClientMetrics.acquire();
+    try {
+      final long chunks = metrics.getReadaheadChunks().value();
+      final long hits = metrics.getReadaheadHits().value();
+      final long wasted = metrics.getReadaheadWastedBytes().value();
+
+      // The remaining data from the checksum boundary is read in one call.
+      seekAndVerify(25);
+      chunkStream.prefetch(metrics);
+      matchWithInputData(chunkStream.getReadByteBuffers(), 20, 80);
+      assertEquals(25, chunkStream.getPos());
+      assertEquals(chunks + 1, metrics.getReadaheadChunks().value());
+
+      byte[] b = new byte[75];
+      assertEquals(75, chunkStream.read(b, 0, 75));
+      matchWithInputData(b, 25, 75);
+      assertEquals(hits + 1, metrics.getReadaheadHits().value());
+
+      // A chunk already read is not prefetched again.
+      chunkStream.prefetch(metrics);
+      assertEquals(chunks + 1, metrics.getReadaheadChunks().value());
+
+      // A prefetched chunk closed without being read is wasted.
+      final DummyChunkInputStream other = new DummyChunkInputStream(
+          chunkInfo, blockID, null, true, chunkData, null);
+      other.prefetch(metrics);
+      other.close();
+      assertEquals(wasted + CHUNK_SIZE,
+          metrics.getReadaheadWastedBytes().value());
+      assertEquals(hits + 1, metrics.getReadaheadHits().value());
+    } finally {
+      ContainerClientMetrics.release();
+    }
+  }
+
   @Test
   public void connectsToNewPipeline() throws Exception {
     // GIVEN
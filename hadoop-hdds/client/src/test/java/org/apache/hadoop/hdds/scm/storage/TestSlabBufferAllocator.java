@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.apache.hadoop.hdds.scm.storage.SlabBufferAllocator.MIN_SLAB_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.scm.storage.SlabBufferAllocator.Slab;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link SlabBufferAllocator}.
+ */
+class TestSlabBufferAllocator {
+
+  @Test
+  void testSlabSize() {
+    assertEquals(MIN_SLAB_SIZE, SlabBufferAllocator.getSlabSize(1));
+    assertEquals(MIN_SLAB_SIZE, SlabBufferAllocator.getSlabSize(MIN_SLAB_SIZE));
+    assertEquals(2 * MIN_SLAB_SIZE, SlabBufferAllocator.getSlabSize(MIN_SLAB_SIZE + 1));
+    assertEquals(1 << 20, SlabBufferAllocator.getSlabSize(1 << 20));
+  }
+
+  @Test
+  void testAllocateAndReuse() throws Exception {
+    final SlabBufferAllocator allocator = new SlabBufferAllocator(1 << 20, 4);
+    final Slab slab = allocator.allocate(5000, 0, TimeUnit.MILLISECONDS);
+    final ByteBuffer buffer = slab.getBuffer();
+    assertTrue(buffer.isDirect());
+    assertEquals(0, buffer.position());
+    assertEquals(5000, buffer.limit());
+    assertEquals(5000, buffer.capacity());
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getOutstandingBytes());
+
+    slab.close();
+    // closing again has no effect
+    slab.close();
+    assertEquals(0, allocator.getOutstandingBytes());
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getAllocatedBytes());
+
+    // the slab is reused by the same size class, even from another thread
+    final Slab reused = CompletableFuture.supplyAsync(() -> allocate(allocator, 6000)).get();
+    assertEquals(6000, reused.getBuffer().capacity());
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getAllocatedBytes());
+    reused.close();
+  }
+
+  @Test
+  void testWaitForRelease() throws Exception {
+    final SlabBufferAllocator allocator = new SlabBufferAllocator(2 * MIN_SLAB_SIZE, 1);
+    final Slab first = allocator.allocate(MIN_SLAB_SIZE, 0, TimeUnit.MILLISECONDS);
+    final Slab second = allocator.allocate(MIN_SLAB_SIZE, 0, TimeUnit.MILLISECONDS);
+    assertNotNull(first);
+    assertNotNull(second);
+
+    // at capacity
+    assertNull(allocator.allocate(MIN_SLAB_SIZE, 10, TimeUnit.MILLISECONDS));
+
+    final CompletableFuture<Slab> waiting = CompletableFuture.supplyAsync(
+        () -> allocate(allocator, MIN_SLAB_SIZE));
+    first.close();
+    final Slab third = waiting.get();
+    assertNotNull(third);
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getOutstandingBytes());
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getAllocatedBytes());
+
+    second.close();
+    third.close();
+    assertEquals(0, allocator.getOutstandingBytes());
+  }
+
+  @Test
+  void testDropFreeSlabsOfOtherSizes() throws Exception {
+    final SlabBufferAllocator allocator = new SlabBufferAllocator(2 * MIN_SLAB_SIZE, 2);
+    final Slab small = allocator.allocate(MIN_SLAB_SIZE, 0, TimeUnit.MILLISECONDS);
+    final Slab small2 = allocator.allocate(MIN_SLAB_SIZE, 0, TimeUnit.MILLISECONDS);
+    small.close();
+    small2.close();
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getAllocatedBytes());
+
+    // the free small slabs are dropped for a large one
+    final Slab large = allocator.allocate(2 * MIN_SLAB_SIZE, 0, TimeUnit.MILLISECONDS);
+    assertNotNull(large);
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getAllocatedBytes());
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getOutstandingBytes());
+    large.close();
+
+    // and the large slab is reused
+    final Slab again = allocator.allocate(2 * MIN_SLAB_SIZE, 0, TimeUnit.MILLISECONDS);
+    assertNotNull(again);
+    assertEquals(2 * MIN_SLAB_SIZE, allocator.getAllocatedBytes());
+    again.close();
+  }
+
+  private static Slab allocate(SlabBufferAllocator allocator, int size) {
+    try {
+      return allocator.allocate(size, 10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -57,6 +57,16 @@ public final class ScmConfigKeys {
       = "hdds.container.ratis.num.container.op.executors";
   public static final int HDDS_CONTAINER_RATIS_NUM_CONTAINER_OP_EXECUTORS_DEFAULT
       = 10;
+  public static final String HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_ENABLED_KEY
+      = "hdds.container.ratis.affinity.executor.enabled";
+  public static final boolean
+      HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_ENABLED_DEFAULT = false;
+  public static final String
+      HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_CONTAINER_OP_THREADS_KEY
+      = "hdds.container.ratis.affinity.executor.container.op.threads";
+  // 0 means the number of available processors.
+  public static final int
+      HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_CONTAINER_OP_THREADS_DEFAULT = 0;
   public static final String HDDS_CONTAINER_RATIS_SEGMENT_SIZE_KEY =
       "hdds.container.ratis.segment.size";
   public static final String HDDS_CONTAINER_RATIS_SEGMENT_SIZE_DEFAULT =
@@ -147,6 +157,18 @@ public final class ScmConfigKeys {
       "ozone.chunk.read.mapped.buffer.max.count";
   // this max_count could not be greater than Linux platform max_map_count which by default is 65530.
   public static final int OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_DEFAULT = 0;
+  public static final String OZONE_CHUNK_READ_MAPPED_BUFFER_REGION_SIZE_KEY =
+      "ozone.chunk.read.mapped.buffer.region.size";
+  public static final String OZONE_CHUNK_READ_MAPPED_BUFFER_REGION_SIZE_DEFAULT =
+      "4MB";
+  public static final String OZONE_CHUNK_READ_CHANNEL_CACHE_SIZE_KEY =
+      "ozone.chunk.read.channel.cache.size";
+  // 0 means the read file channels are not cached.
+  public static final int OZONE_CHUNK_READ_CHANNEL_CACHE_SIZE_DEFAULT = 0;
+  public static final String OZONE_BLOCK_DATA_CACHE_SIZE_KEY =
+      "ozone.block.data.cache.size";
+  // 0 means the block data of closed containers is not cached.
+  public static final int OZONE_BLOCK_DATA_CACHE_SIZE_DEFAULT = 0;
   public static final String OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_KEY =
       "ozone.chunk.read.netty.ChunkedNioFile";
   public static final boolean OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_DEFAULT = false;
@@ -365,6 +387,11 @@ public final class ScmConfigKeys {
       "ozone.scm.container.lock.stripes";
   public static final int OZONE_SCM_CONTAINER_LOCK_STRIPE_SIZE_DEFAULT = 512;
 
+  public static final String OZONE_SCM_CONTAINER_LOCATION_CHANGE_LOG_SIZE =
+      "ozone.scm.container.location.change.log.size";
+  public static final int OZONE_SCM_CONTAINER_LOCATION_CHANGE_LOG_SIZE_DEFAULT =
+      100_000;
+
   public static final String OZONE_SCM_CONTAINER_PLACEMENT_IMPL_KEY =
       "ozone.scm.container.placement.impl";
   public static final String OZONE_SCM_PIPELINE_PLACEMENT_IMPL_KEY =
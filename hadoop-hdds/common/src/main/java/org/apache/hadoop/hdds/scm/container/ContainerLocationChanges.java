@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container;
+
+import java.util.List;
+
+/**
+ * The containers whose locations, i.e. the state, the pipeline or the
+ * replicas, changed in SCM after a sequence id of its change log.
+ */
+public class ContainerLocationChanges {
+  private final long logId;
+  private final long sequenceId;
+  private final boolean truncated;
+  private final List<Long> containerIDs;
+
+  /**
+   * @param logId the id of the change log, which is different after the
+   *              log is recreated, e.g. when SCM restarts.
+   * @param sequenceId the sequence id of the last returned change, or the
+   *                   latest sequence id if no change is returned.
+   * @param truncated true if some of the requested changes are no longer
+   *                  in the log.
+   * @param containerIDs the changed containers.
+   */
+  public ContainerLocationChanges(long logId, long sequenceId,
+      boolean truncated, List<Long> containerIDs) {
+    this.logId = logId;
+    this.sequenceId = sequenceId;
+    this.truncated = truncated;
+    this.containerIDs = containerIDs;
+  }
+
+  public long getLogId() {
+    return logId;
+  }
+
+  public long getSequenceId() {
+    return sequenceId;
+  }
+
+  /**
+   * @return true if some of the changes are no longer in the log,
+   *         so that all the cached locations have to be invalidated.
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  public List<Long> getContainerIDs() {
+    return containerIDs;
+  }
+
+  @Override
+  public String toString() {
+    return "ContainerLocationChanges{logId=" + logId
+        + ", sequenceId=" + sequenceId
+        + ", truncated=" + truncated
+        + ", containers=" + containerIDs.size() + "}";
+  }
+}
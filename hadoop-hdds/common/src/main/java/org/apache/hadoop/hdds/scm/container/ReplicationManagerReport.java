@@ -94,6 +94,30 @@ public void increment(HddsProtos.LifeCycleState stat) {
     increment(stat.toString());
   }
 
+  /**
+   * Add the stats and the samples of the given report, which is complete,
+   * to this report.  The samples are added until the sample limit of this
+   * report is reached.
+   */
+  public void merge(ReplicationManagerReport other) {
+    for (Map.Entry<String, LongAdder> e : other.stats.entrySet()) {
+      getStatAndEnsurePresent(e.getKey()).add(e.getValue().longValue());
+    }
+    for (Map.Entry<String, List<ContainerID>> e
+        : other.containerSample.entrySet()) {
+      List<ContainerID> list = containerSample
+          .computeIfAbsent(e.getKey(), k -> new ArrayList<>());
+      synchronized (list) {
+        for (ContainerID id : e.getValue()) {
+          if (list.size() >= sampleLimit) {
+            break;
+          }
+          list.add(id);
+        }
+      }
+    }
+  }
+
   public void setComplete() {
     reportTimeStamp = System.currentTimeMillis();
   }
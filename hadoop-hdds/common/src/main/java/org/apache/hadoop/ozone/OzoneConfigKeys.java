@@ -541,6 +541,14 @@ public final class OzoneConfigKeys {
 
   public static final int OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT = 512;
 
+  public static final String OZONE_MANAGER_LOCK_HOT_KEYS_SIZE =
+      "ozone.om.lock.hot.keys.size";
+  public static final int OZONE_MANAGER_LOCK_HOT_KEYS_SIZE_DEFAULT = 16;
+
+  public static final String OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE =
+      "ozone.om.lock.hot.keys.sample.rate";
+  public static final int OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE_DEFAULT = 8;
+
   public static final String OZONE_HTTP_BASEDIR = "ozone.http.basedir";
 
   public static final String OZONE_HTTP_POLICY_KEY =
@@ -644,6 +652,13 @@ public final class OzoneConfigKeys {
   public static final String
       OZONE_FS_LISTING_PAGE_SIZE_MAX = "ozone.fs.listing.page.size.max";
 
+  // Threads of a file system to read the ranges of vectored reads
+  public static final String
+      OZONE_FS_VECTORED_READ_THREADS = "ozone.fs.vectored.read.threads";
+
+  public static final int
+      OZONE_FS_VECTORED_READ_THREADS_DEFAULT = 16;
+
   public static final String FS_TRASH_CLASSNAME = "fs.trash.classname";
   public static final String FS_TRASH_CLASSNAME_DEFAULT =
       "org.apache.hadoop.fs.ozone.OzoneTrashPolicy";
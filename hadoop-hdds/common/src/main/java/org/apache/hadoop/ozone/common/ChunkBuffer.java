@@ -54,6 +54,14 @@ static ChunkBuffer wrap(ByteBuffer buffer) {
     return new ChunkBufferImplWithByteBuffer(buffer);
   }
 
+  /**
+   * Wrap the given {@link ByteBuffer} as a {@link ChunkBuffer},
+   * which closes the given underlying resource when it is closed.
+   */
+  static ChunkBuffer wrap(ByteBuffer buffer, UncheckedAutoCloseable underlying) {
+    return new ChunkBufferImplWithByteBuffer(buffer, underlying);
+  }
+
   /** Wrap the given list of {@link ByteBuffer}s as a {@link ChunkBuffer},
    * with a function called when buffers are released.*/
   static ChunkBuffer wrap(List<ByteBuffer> buffers) {
@@ -164,6 +164,33 @@ private void verifySampleLimit(ReplicationManagerReport testReport, int expected
         testReport.getStat(ContainerHealthState.UNDER_REPLICATED));
   }
 
+  @Test
+  void testMerge() {
+    ReplicationManagerReport other = new ReplicationManagerReport(100);
+    for (int i = 0; i < 60; i++) {
+      ContainerInfo container = mock(ContainerInfo.class);
+      when(container.containerID()).thenReturn(ContainerID.valueOf(i));
+      report.increment(HddsProtos.LifeCycleState.CLOSED);
+      report.incrementAndSample(ContainerHealthState.UNDER_REPLICATED, container);
+
+      container = mock(ContainerInfo.class);
+      when(container.containerID()).thenReturn(ContainerID.valueOf(100 + i));
+      other.increment(HddsProtos.LifeCycleState.CLOSED);
+      other.incrementAndSample(ContainerHealthState.UNDER_REPLICATED, container);
+    }
+    other.increment(HddsProtos.LifeCycleState.OPEN);
+
+    report.merge(other);
+
+    assertEquals(120, report.getStat(HddsProtos.LifeCycleState.CLOSED));
+    assertEquals(1, report.getStat(HddsProtos.LifeCycleState.OPEN));
+    assertEquals(120, report.getStat(ContainerHealthState.UNDER_REPLICATED));
+    List<ContainerID> sample = report.getSample(ContainerHealthState.UNDER_REPLICATED);
+    assertEquals(100, sample.size());
+    assertEquals(ContainerID.valueOf(59), sample.get(59));
+    assertEquals(ContainerID.valueOf(100), sample.get(60));
+  }
+
   @Test
   void testSerializeToProtoAndBack() {
     report.setTimestamp(12345);
@@ -58,6 +58,8 @@ public class ContainerMetrics implements Closeable {
   @Metric private MutableCounterLong bytesReadStateMachine;
   @Metric private MutableCounterLong numContainerReconciledWithoutChanges;
   @Metric private MutableCounterLong numContainerReconciledWithChanges;
+  @Metric private MutableCounterLong blockDataCacheHits;
+  @Metric private MutableCounterLong blockDataCacheMisses;
 
   private final EnumMap<ContainerProtos.Type, MutableCounterLong> numOpsArray;
   private final EnumMap<ContainerProtos.Type, MutableCounterLong> opsBytesArray;
@@ -185,4 +187,20 @@ public void incContainerReconciledWithoutChanges() {
   public void incContainerReconciledWithChanges() {
     numContainerReconciledWithChanges.incr();
   }
+
+  public void incBlockDataCacheHits() {
+    blockDataCacheHits.incr();
+  }
+
+  public long getBlockDataCacheHits() {
+    return blockDataCacheHits.value();
+  }
+
+  public void incBlockDataCacheMisses() {
+    blockDataCacheMisses.incr();
+  }
+
+  public long getBlockDataCacheMisses() {
+    return blockDataCacheMisses.value();
+  }
 }
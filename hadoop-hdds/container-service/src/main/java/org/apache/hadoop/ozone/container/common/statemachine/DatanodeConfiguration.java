@@ -51,6 +51,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private static final Logger LOG = LoggerFactory.getLogger(DatanodeConfiguration.class);
 
   static final String CONTAINER_DELETE_THREADS_MAX_KEY = "hdds.datanode.container.delete.threads.max";
+  static final String PUT_BLOCK_GROUP_COMMIT_MAX_BATCHES_KEY = "hdds.datanode.put.block.group.commit.max.batches";
   static final String CONTAINER_CLOSE_THREADS_MAX_KEY = "hdds.datanode.container.close.threads.max";
   static final String PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY = "hdds.datanode.periodic.disk.check.interval.minutes";
   public static final String DISK_CHECK_FILE_SIZE_KEY = "hdds.datanode.disk.check.io.file.size";
@@ -120,6 +121,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private static final int AUTO_COMPACTION_SMALL_SST_FILE_THREADS_DEFAULT = 1;
 
   static final int CONTAINER_DELETE_THREADS_DEFAULT = 2;
+  static final int PUT_BLOCK_GROUP_COMMIT_MAX_BATCHES_DEFAULT = 64;
   static final int CONTAINER_CLOSE_THREADS_DEFAULT = 3;
   static final int BLOCK_DELETE_THREADS_DEFAULT = 5;
 
@@ -529,6 +531,36 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   private int autoCompactionSmallSstFileThreads =
       AUTO_COMPACTION_SMALL_SST_FILE_THREADS_DEFAULT;
 
+  @Config(key = "hdds.datanode.put.block.group.commit.enabled",
+      defaultValue = "true",
+      type = ConfigType.BOOLEAN,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "Commit the RocksDB batches of concurrent putBlock "
+          + "requests of the containers on the same volume in one write. "
+          + "Applies to container schema V3 only."
+  )
+  private boolean putBlockGroupCommitEnabled = true;
+
+  @Config(key = "hdds.datanode.put.block.group.commit.max.batches",
+      defaultValue = "64",
+      type = ConfigType.INT,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The maximum number of putBlock batches committed in one "
+          + "RocksDB write by the putBlock group commit."
+  )
+  private int putBlockGroupCommitMaxBatches =
+      PUT_BLOCK_GROUP_COMMIT_MAX_BATCHES_DEFAULT;
+
+  @Config(key = "hdds.datanode.put.block.group.commit.max.wait",
+      defaultValue = "0ms",
+      type = ConfigType.TIME,
+      tags = { DATANODE, ConfigTag.PERFORMANCE },
+      description = "The maximum time the putBlock group commit waits for "
+          + "more concurrent batches before a write.  With 0, a write "
+          + "contains the batches queued during the previous write only."
+  )
+  private Duration putBlockGroupCommitMaxWait = Duration.ZERO;
+
   /**
    * Whether to check container directory or not to determine
    * container is empty.
@@ -602,6 +634,13 @@ public void validate() {
       containerCloseThreads = CONTAINER_CLOSE_THREADS_DEFAULT;
     }
 
+    if (putBlockGroupCommitMaxBatches < 1) {
+      LOG.warn(PUT_BLOCK_GROUP_COMMIT_MAX_BATCHES_KEY + " must be greater than zero" +
+              " and was set to {}. Defaulting to {}",
+          putBlockGroupCommitMaxBatches, PUT_BLOCK_GROUP_COMMIT_MAX_BATCHES_DEFAULT);
+      putBlockGroupCommitMaxBatches = PUT_BLOCK_GROUP_COMMIT_MAX_BATCHES_DEFAULT;
+    }
+
     if (periodicDiskCheckIntervalMinutes < 1) {
       LOG.warn(PERIODIC_DISK_CHECK_INTERVAL_MINUTES_KEY +
               " must be greater than zero and was set to {}. Defaulting to {}",
@@ -1016,6 +1055,30 @@ public int getRocksdbMaxOpenFiles() {
     return this.rocksdbMaxOpenFiles;
   }
 
+  public boolean isPutBlockGroupCommitEnabled() {
+    return putBlockGroupCommitEnabled;
+  }
+
+  public void setPutBlockGroupCommitEnabled(boolean enabled) {
+    this.putBlockGroupCommitEnabled = enabled;
+  }
+
+  public int getPutBlockGroupCommitMaxBatches() {
+    return putBlockGroupCommitMaxBatches;
+  }
+
+  public void setPutBlockGroupCommitMaxBatches(int maxBatches) {
+    this.putBlockGroupCommitMaxBatches = maxBatches;
+  }
+
+  public Duration getPutBlockGroupCommitMaxWait() {
+    return putBlockGroupCommitMaxWait;
+  }
+
+  public void setPutBlockGroupCommitMaxWait(Duration maxWait) {
+    this.putBlockGroupCommitMaxWait = maxWait;
+  }
+
   public boolean autoCompactionSmallSstFile() {
     return autoCompactionSmallSstFile;
   }
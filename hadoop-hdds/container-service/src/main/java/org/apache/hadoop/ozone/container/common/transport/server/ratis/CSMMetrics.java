@@ -27,6 +27,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.ratis.protocol.RaftGroupId;
 
@@ -76,6 +77,10 @@ public class CSMMetrics {
   private @Metric MutableRate untilApplyTransactionNs;
   private @Metric MutableRate startTransactionCompleteNs;
 
+  // ContainerAffinityExecutor metrics
+  private @Metric MutableGaugeLong numQueuedContainerTasks;
+  private @Metric MutableRate containerTaskWaitNs;
+
   public CSMMetrics(RaftGroupId gid) {
     this.gid = gid;
     this.opsLatencyMs = new EnumMap<>(ContainerProtos.Type.class);
@@ -258,6 +263,26 @@ public void decPendingApplyTransactions() {
     pendingApplyTransactions.incr(-1);
   }
 
+  public void incNumQueuedContainerTasks() {
+    numQueuedContainerTasks.incr();
+  }
+
+  public void decNumQueuedContainerTasks() {
+    numQueuedContainerTasks.decr();
+  }
+
+  public long getNumQueuedContainerTasks() {
+    return numQueuedContainerTasks.value();
+  }
+
+  public void recordContainerTaskWaitNs(long latencyNanos) {
+    containerTaskWaitNs.add(latencyNanos);
+  }
+
+  MutableRate getContainerTaskWaitNs() {
+    return containerTaskWaitNs;
+  }
+
   public void unRegister() {
     MetricsSystem ms = DefaultMetricsSystem.instance();
     ms.unregisterSource(SOURCE_NAME + gid.toString());
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the tasks of the same key, such as a container or a block, one at a
+ * time in the submission order, while the tasks of different keys run in
+ * parallel on a shared work-stealing pool.
+ * <p>
+ * Unlike hashing the keys to single thread executors, the keys are not bound
+ * to a thread: a key with queued tasks is run by any idle worker, so that a
+ * busy key does not block the other keys hashed to the same thread.  A worker
+ * runs at most {@link #MAX_TASKS_PER_RUN} tasks of a key before rescheduling
+ * it, so that a hot key does not starve the other keys.
+ */
+final class ContainerAffinityExecutor {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContainerAffinityExecutor.class);
+
+  static final int MAX_TASKS_PER_RUN = 16;
+
+  private final String name;
+  private final ForkJoinPool pool;
+  /** The keys with queued or running tasks. */
+  private final Map<Object, KeyQueue> queues = new ConcurrentHashMap<>();
+
+  ContainerAffinityExecutor(String name, int numThreads) {
+    Preconditions.checkArgument(numThreads > 0,
+        "numThreads = %s <= 0", numThreads);
+    this.name = name;
+    this.pool = new ForkJoinPool(numThreads, p -> {
+      final ForkJoinWorkerThread t =
+          ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+      t.setName(name + "-" + t.getPoolIndex());
+      return t;
+    }, null, true);
+  }
+
+  /**
+   * @param metrics of the pipeline submitting the tasks, can be null.
+   * @return an executor running the given tasks in the order of the key.
+   */
+  Executor getExecutor(Object key, CSMMetrics metrics) {
+    return task -> execute(key, task, metrics);
+  }
+
+  /**
+   * Runs the given task after the previously submitted tasks of the key.
+   *
+   * @param metrics of the pipeline submitting the task, can be null.
+   */
+  void execute(Object key, Runnable task, CSMMetrics metrics) {
+    final Task t = new Task(task, metrics);
+    if (metrics != null) {
+      metrics.incNumQueuedContainerTasks();
+    }
+    final KeyQueue[] toSchedule = {null};
+    queues.compute(key, (k, q) -> {
+      final KeyQueue queue = q != null ? q : new KeyQueue(k);
+      queue.tasks.addLast(t);
+      if (!queue.scheduled) {
+        queue.scheduled = true;
+        toSchedule[0] = queue;
+      }
+      return queue;
+    });
+    if (toSchedule[0] != null) {
+      pool.execute(toSchedule[0]);
+    }
+  }
+
+  /** @return the number of keys with queued or running tasks. */
+  @VisibleForTesting
+  int getNumActiveKeys() {
+    return queues.size();
+  }
+
+  void shutdown() {
+    pool.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /** The tasks of a key, run by one worker at a time. */
+  private final class KeyQueue implements Runnable {
+    private final Object key;
+    /** Guarded by the map entry of the key. */
+    private final Deque<Task> tasks = new ArrayDeque<>();
+    /** Is this queue submitted to the pool?  Guarded as the tasks. */
+    private boolean scheduled;
+
+    KeyQueue(Object key) {
+      this.key = key;
+    }
+
+    @Override
+    public void run() {
+      boolean empty = false;
+      try {
+        for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+          final Task task = poll();
+          if (task == null) {
+            empty = true;
+            return;
+          }
+          task.run();
+        }
+      } finally {
+        if (!empty) {
+          // Let the other keys run before the remaining tasks, if any.
+          // Also when a task has thrown an Error: this queue is still
+          // marked as scheduled, so it must be run again.
+          pool.execute(this);
+        }
+      }
+    }
+
+    /**
+     * @return the next task, or null after removing this empty queue.
+     */
+    private Task poll() {
+      final Task[] polled = {null};
+      queues.computeIfPresent(key, (k, q) -> {
+        polled[0] = q.tasks.pollFirst();
+        return polled[0] != null ? q : null;
+      });
+      return polled[0];
+    }
+  }
+
+  /** A task with its queued time. */
+  private static final class Task {
+    private final Runnable runnable;
+    private final CSMMetrics metrics;
+    private final long queuedNanos = Time.monotonicNowNanos();
+
+    Task(Runnable runnable, CSMMetrics metrics) {
+      this.runnable = runnable;
+      this.metrics = metrics;
+    }
+
+    void run() {
+      if (metrics != null) {
+        metrics.decNumQueuedContainerTasks();
+        metrics.recordContainerTaskWaitNs(
+            Time.monotonicNowNanos() - queuedNanos);
+      }
+      try {
+        runnable.run();
+      } catch (RuntimeException e) {
+        LOG.error("Failed to run a task", e);
+      }
+    }
+  }
+}
@@ -40,13 +40,16 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -54,6 +57,7 @@
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.apache.hadoop.hdds.HddsUtils;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -153,6 +157,9 @@ public class ContainerStateMachine extends BaseStateMachine {
   private final TaskQueueMap containerTaskQueues = new TaskQueueMap();
   private final ExecutorService executor;
   private final List<ThreadPoolExecutor> chunkExecutors;
+  /** The shared executors, or null to use the above executors. */
+  private final ContainerAffinityExecutor chunkAffinityExecutor;
+  private final ContainerAffinityExecutor containerOpAffinityExecutor;
   private final Map<Long, Long> applyTransactionCompletionMap;
   private final Set<Long> unhealthyContainers;
   private final Cache<Long, ByteString> stateMachineDataCache;
@@ -253,6 +260,26 @@ public ContainerStateMachine(HddsDatanodeService hddsDatanodeService, RaftGroupI
       XceiverServerRatis ratisServer,
       ConfigurationSource conf,
       String threadNamePrefix) {
+    this(hddsDatanodeService, gid, dispatcher, containerController,
+        chunkExecutors, null, null, ratisServer, conf, threadNamePrefix);
+  }
+
+  /**
+   * @param chunkAffinityExecutor if not null, write the chunks in it
+   *                              instead of the chunkExecutors.
+   * @param containerOpAffinityExecutor if not null, apply the transactions
+   *                                    in it instead of a pipeline executor.
+   */
+  @SuppressWarnings("parameternumber")
+  ContainerStateMachine(HddsDatanodeService hddsDatanodeService, RaftGroupId gid,
+      ContainerDispatcher dispatcher,
+      ContainerController containerController,
+      List<ThreadPoolExecutor> chunkExecutors,
+      ContainerAffinityExecutor chunkAffinityExecutor,
+      ContainerAffinityExecutor containerOpAffinityExecutor,
+      XceiverServerRatis ratisServer,
+      ConfigurationSource conf,
+      String threadNamePrefix) {
     this.datanodeService = hddsDatanodeService;
     this.dispatcher = dispatcher;
     this.containerController = containerController;
@@ -277,6 +304,8 @@ public ContainerStateMachine(HddsDatanodeService hddsDatanodeService, RaftGroupI
         });
 
     this.chunkExecutors = chunkExecutors;
+    this.chunkAffinityExecutor = chunkAffinityExecutor;
+    this.containerOpAffinityExecutor = containerOpAffinityExecutor;
 
     this.container2BCSIDMap = new ConcurrentHashMap<>();
 
@@ -608,8 +637,10 @@ private CompletableFuture<Message> writeStateMachineData(
             .build();
     CompletableFuture<Message> raftFuture = new CompletableFuture<>();
     // ensure the write chunk happens asynchronously in writeChunkExecutor pool thread.
-    Future<ContainerCommandResponseProto> future = getChunkExecutor(
-        requestProto.getWriteChunk()).submit(() -> {
+    // Use a Future which interrupts the task when it is cancelled,
+    // see validateLongRunningWrite().
+    Future<ContainerCommandResponseProto> future = submitWriteChunk(write,
+        () -> {
           try {
             try {
               checkContainerHealthy(write.getBlockID().getContainerID(), true);
@@ -744,7 +775,7 @@ public CompletableFuture<DataStream> stream(RaftClientRequest request) {
                 .setContainer2BCSIDMap(container2BCSIDMap)
                 .build();
         DataChannel channel = getStreamDataChannel(requestProto, context);
-        final ExecutorService chunkExecutor = requestProto.hasWriteChunk() ?
+        final Executor chunkExecutor = requestProto.hasWriteChunk() ?
             getChunkExecutor(requestProto.getWriteChunk()) : null;
         return new LocalStream(channel, chunkExecutor);
       } catch (IOException e) {
@@ -779,9 +810,29 @@ public CompletableFuture<?> link(DataStream stream, LogEntryProto entry) {
     return CompletableFuture.completedFuture(null);
   }
 
-  private ExecutorService getChunkExecutor(WriteChunkRequestProto req) {
-    int i = (int)(req.getBlockID().getLocalID() % chunkExecutors.size());
-    return chunkExecutors.get(i);
+  private Future<ContainerCommandResponseProto> submitWriteChunk(
+      WriteChunkRequestProto req, Callable<ContainerCommandResponseProto> task) {
+    if (chunkAffinityExecutor != null) {
+      final FutureTask<ContainerCommandResponseProto> future =
+          new FutureTask<>(task);
+      getChunkExecutor(req).execute(future);
+      return future;
+    }
+    return chunkExecutors.get(getChunkExecutorIndex(req)).submit(task);
+  }
+
+  private int getChunkExecutorIndex(WriteChunkRequestProto req) {
+    return (int)(req.getBlockID().getLocalID() % chunkExecutors.size());
+  }
+
+  private Executor getChunkExecutor(WriteChunkRequestProto req) {
+    if (chunkAffinityExecutor != null) {
+      // Keep the order of the chunks of a block.
+      return chunkAffinityExecutor.getExecutor(new ContainerBlockID(
+          req.getBlockID().getContainerID(), req.getBlockID().getLocalID()),
+          metrics);
+    }
+    return chunkExecutors.get(getChunkExecutorIndex(req));
   }
 
   /**
@@ -1064,6 +1115,18 @@ private CompletableFuture<ContainerCommandResponseProto> applyTransaction(
             throw e;
           }
         };
+    if (containerOpAffinityExecutor != null) {
+      final CompletableFuture<ContainerCommandResponseProto> future =
+          new CompletableFuture<>();
+      containerOpAffinityExecutor.execute(containerId, () -> {
+        try {
+          future.complete(task.get());
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      }, metrics);
+      return future;
+    }
     return containerTaskQueues.submit(containerId, task, executor);
   }
 
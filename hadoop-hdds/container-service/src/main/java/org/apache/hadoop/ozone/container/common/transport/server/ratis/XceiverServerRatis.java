@@ -68,6 +68,7 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.PipelineReport;
 import org.apache.hadoop.hdds.ratis.ContainerCommandRequestMessage;
 import org.apache.hadoop.hdds.ratis.RatisHelper;
+import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.security.SecurityConfig;
 import org.apache.hadoop.hdds.security.x509.certificate.client.CertificateClient;
@@ -133,6 +134,9 @@ public final class XceiverServerRatis implements XceiverServerSpi {
   private final RaftServer server;
   private final String name;
   private final List<ThreadPoolExecutor> chunkExecutors;
+  /** The shared executors of the state machines, null if disabled. */
+  private final ContainerAffinityExecutor chunkAffinityExecutor;
+  private final ContainerAffinityExecutor containerOpAffinityExecutor;
   private final ContainerDispatcher dispatcher;
   private final ContainerController containerController;
   private final ClientId clientId = ClientId.randomId();
@@ -191,7 +195,26 @@ private XceiverServerRatis(HddsDatanodeService hddsDatanodeService, DatanodeDeta
     this.dispatcher = dispatcher;
     this.containerController = containerController;
     String threadNamePrefix = datanodeDetails.threadNamePrefix();
-    chunkExecutors = createChunkExecutors(conf, threadNamePrefix);
+    if (conf.getBoolean(
+        ScmConfigKeys.HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_ENABLED_KEY,
+        ScmConfigKeys.HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_ENABLED_DEFAULT)) {
+      chunkExecutors = ImmutableList.of();
+      chunkAffinityExecutor = new ContainerAffinityExecutor(
+          threadNamePrefix + "ChunkWriter", getNumChunkWriteThreads(conf));
+      int containerOpThreads = conf.getInt(ScmConfigKeys
+              .HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_CONTAINER_OP_THREADS_KEY,
+          ScmConfigKeys
+              .HDDS_CONTAINER_RATIS_AFFINITY_EXECUTOR_CONTAINER_OP_THREADS_DEFAULT);
+      if (containerOpThreads <= 0) {
+        containerOpThreads = Runtime.getRuntime().availableProcessors();
+      }
+      containerOpAffinityExecutor = new ContainerAffinityExecutor(
+          threadNamePrefix + "ContainerOp", containerOpThreads);
+    } else {
+      chunkExecutors = createChunkExecutors(conf, threadNamePrefix);
+      chunkAffinityExecutor = null;
+      containerOpAffinityExecutor = null;
+    }
     shouldDeleteRatisLogDirectory =
         ratisServerConfig.shouldDeleteRatisLogDirectory();
 
@@ -239,7 +262,8 @@ private int determinePort(String key, int defaultValue) {
 
   private ContainerStateMachine getStateMachine(RaftGroupId gid) {
     return new ContainerStateMachine(datanodeService, gid, dispatcher, containerController,
-        chunkExecutors, this, conf, datanodeDetails.threadNamePrefix());
+        chunkExecutors, chunkAffinityExecutor, containerOpAffinityExecutor,
+        this, conf, datanodeDetails.threadNamePrefix());
   }
 
   private void setUpRatisStream(RaftProperties properties) {
@@ -596,6 +620,10 @@ public void stop() {
         for (ExecutorService executor : chunkExecutors) {
           executor.shutdown();
         }
+        if (chunkAffinityExecutor != null) {
+          chunkAffinityExecutor.shutdown();
+          containerOpAffinityExecutor.shutdown();
+        }
         isStarted = false;
       } catch (IOException e) {
         LOG.error("Failed to close {}.", name, e);
@@ -960,17 +988,8 @@ private void sendPipelineReport() {
   private static List<ThreadPoolExecutor> createChunkExecutors(
       ConfigurationSource conf, String threadNamePrefix) {
     // TODO create single pool with N threads if using non-incremental chunks
-    final int threadCountPerDisk = conf.getInt(
-        OzoneConfigKeys
-            .HDDS_CONTAINER_RATIS_NUM_WRITE_CHUNK_THREADS_PER_VOLUME_KEY,
-        OzoneConfigKeys
-            .HDDS_CONTAINER_RATIS_NUM_WRITE_CHUNK_THREADS_PER_VOLUME_DEFAULT);
-
-    final int numberOfDisks =
-        HddsServerUtil.getDatanodeStorageDirs(conf).size();
-
     ThreadPoolExecutor[] executors =
-        new ThreadPoolExecutor[threadCountPerDisk * numberOfDisks];
+        new ThreadPoolExecutor[getNumChunkWriteThreads(conf)];
     for (int i = 0; i < executors.length; i++) {
       ThreadFactory threadFactory = new ThreadFactoryBuilder()
           .setDaemon(true)
@@ -983,6 +1002,18 @@ private static List<ThreadPoolExecutor> createChunkExecutors(
     return ImmutableList.copyOf(executors);
   }
 
+  private static int getNumChunkWriteThreads(ConfigurationSource conf) {
+    final int threadCountPerDisk = conf.getInt(
+        OzoneConfigKeys
+            .HDDS_CONTAINER_RATIS_NUM_WRITE_CHUNK_THREADS_PER_VOLUME_KEY,
+        OzoneConfigKeys
+            .HDDS_CONTAINER_RATIS_NUM_WRITE_CHUNK_THREADS_PER_VOLUME_DEFAULT);
+
+    final int numberOfDisks =
+        HddsServerUtil.getDatanodeStorageDirs(conf).size();
+    return threadCountPerDisk * numberOfDisks;
+  }
+
   /**
    * @return list of default priority
    */
@@ -48,6 +48,10 @@ public class VolumeIOStats {
   private MutableRate writeTime;
   @Metric
   private MutableQuantiles[] writeLatencyQuantiles;
+  @Metric
+  private MutableCounterLong readChannelCacheHits;
+  @Metric
+  private MutableCounterLong readChannelCacheMisses;
 
   @Deprecated
   public VolumeIOStats() {
@@ -157,6 +161,20 @@ public void incWriteTime(long time) {
     }
   }
 
+  /**
+   * Increment the reads served by a cached file channel.
+   */
+  public void incReadChannelCacheHits() {
+    readChannelCacheHits.incr();
+  }
+
+  /**
+   * Increment the reads which had to open a file channel.
+   */
+  public void incReadChannelCacheMisses() {
+    readChannelCacheMisses.incr();
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -205,6 +223,14 @@ public long getWriteTime() {
     return (long) writeTime.lastStat().total();
   }
 
+  public long getReadChannelCacheHits() {
+    return readChannelCacheHits.value();
+  }
+
+  public long getReadChannelCacheMisses() {
+    return readChannelCacheMisses.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
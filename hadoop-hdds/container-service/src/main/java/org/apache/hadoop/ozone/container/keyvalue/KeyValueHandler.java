@@ -220,7 +220,7 @@ public KeyValueHandler(ConfigurationSource config,
                          ContainerChecksumTreeManager checksumManager) {
     super(config, datanodeId, contSet, volSet, metrics, icrSender);
     this.clock = clock;
-    blockManager = new BlockManagerImpl(config);
+    blockManager = new BlockManagerImpl(config, metrics);
     validateChunkChecksumData = conf.getObject(
         DatanodeConfiguration.class).isChunkDataValidationCheck();
     chunkManager = ChunkManagerFactory.createChunkManager(config, blockManager,
@@ -1597,6 +1597,7 @@ public void closeContainer(Container container)
                 .getContainerID() + " while in " + state + " state.", error);
       }
       container.close();
+      chunkManager.closeReadChannels(container);
     } finally {
       container.writeUnlock();
     }
@@ -2013,6 +2014,7 @@ private boolean previousChunkPresent(BlockID blockID, long chunkOffset,
   @Override
   public void deleteBlock(Container container, BlockData blockData)
       throws IOException {
+    blockManager.invalidateBlockData(container, blockData.getLocalID());
     chunkManager.deleteChunks(container, blockData);
     if (LOG.isDebugEnabled()) {
       for (ContainerProtos.ChunkInfo chunkInfo : blockData.getChunks()) {
@@ -2060,6 +2062,8 @@ public void deleteUnreferenced(Container container, long localID)
       if (!file.isFile()) {
         continue;
       }
+      // Close the cached channel so that the deleted file is released.
+      chunkManager.closeReadChannel(container, file);
       FileUtil.fullyDelete(file);
       LOG.info("Deleted unreferenced chunk/block {} in container {}", name,
           containerID);
@@ -2356,6 +2360,8 @@ private void deleteInternal(Container container, boolean force)
           container.markContainerForDelete();
           long containerId = container.getContainerData().getContainerID();
           containerSet.removeContainer(containerId);
+          chunkManager.closeReadChannels(container);
+          blockManager.invalidateBlockData(container);
           ContainerLogger.logDeleted(container.getContainerData(), force);
           KeyValueContainerUtil.removeContainer(keyValueContainerData, conf);
         } catch (IOException ioe) {
@@ -50,7 +50,6 @@
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.ToLongFunction;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
@@ -63,6 +62,7 @@
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager;
+import org.apache.hadoop.ozone.container.keyvalue.impl.ReadChannelCache;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.thirdparty.io.netty.buffer.ByteBuf;
 import org.apache.ratis.thirdparty.io.netty.buffer.PooledByteBufAllocator;
@@ -203,30 +203,78 @@ private static long writeDataToChannel(FileChannel channel, ChunkBuffer data,
   public static ChunkBuffer readData(long len, int bufferCapacity,
       File file, long off, HddsVolume volume, int readMappedBufferThreshold, boolean mmapEnabled,
       MappedBufferManager mappedBufferManager) throws StorageContainerException {
+    return readData(len, bufferCapacity, file, off, volume,
+        readMappedBufferThreshold, mmapEnabled, mappedBufferManager, null);
+  }
+
+  /**
+   * Same as {@link #readData(long, int, File, long, HddsVolume, int, boolean, MappedBufferManager)},
+   * but reads from a channel of the given cache if it is not null.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public static ChunkBuffer readData(long len, int bufferCapacity,
+      File file, long off, HddsVolume volume, int readMappedBufferThreshold, boolean mmapEnabled,
+      MappedBufferManager mappedBufferManager, ReadChannelCache readChannelCache)
+      throws StorageContainerException {
     if (mmapEnabled && len > readMappedBufferThreshold && bufferCapacity > readMappedBufferThreshold) {
-      return readData(file, bufferCapacity, off, len, volume, mappedBufferManager);
+      return readData(file, bufferCapacity, off, len, volume, mappedBufferManager, readChannelCache);
     } else if (len == 0) {
       return ChunkBuffer.wrap(Collections.emptyList());
     }
 
     final ByteBuffer[] buffers = BufferUtils.assignByteBuffers(len,
         bufferCapacity);
-    readData(file, off, len, c -> c.position(off).read(buffers), volume);
+    readData(file, off, len, readInto(buffers, off, readChannelCache), volume,
+        readChannelCache);
     Arrays.stream(buffers).forEach(ByteBuffer::flip);
     return ChunkBuffer.wrap(Arrays.asList(buffers));
   }
 
+  /**
+   * @return a method reading the file from the given offset into the buffers.
+   * A cached channel is shared by concurrent readers, so it must not be
+   * positioned; it is read with positional reads instead.
+   */
+  private static CheckedFunction<FileChannel, Long, Exception> readInto(
+      ByteBuffer[] buffers, long offset, ReadChannelCache readChannelCache) {
+    if (readChannelCache == null) {
+      return c -> c.position(offset).read(buffers);
+    }
+    return c -> {
+      long position = offset;
+      for (ByteBuffer buffer : buffers) {
+        while (buffer.hasRemaining()) {
+          final int n = c.read(buffer, position);
+          if (n < 0) {
+            return position - offset;
+          }
+          position += n;
+        }
+      }
+      return position - offset;
+    };
+  }
+
   private static void readData(File file, long offset, long len,
       CheckedFunction<FileChannel, Long, Exception> readMethod,
-      HddsVolume volume) throws StorageContainerException {
+      HddsVolume volume, ReadChannelCache readChannelCache)
+      throws StorageContainerException {
 
     final Path path = file.toPath();
     final long startTime = Time.monotonicNow();
     final long bytesRead;
 
-    try (AutoCloseableLock ignoredLock = getFileReadLock(path);
-         FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
-      bytesRead = readMethod.apply(channel);
+    try (AutoCloseableLock ignoredLock = getFileReadLock(path)) {
+      if (readChannelCache == null) {
+        try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
+          bytesRead = readMethod.apply(channel);
+        }
+      } else {
+        try (ReadChannelCache.CachedChannel cached =
+                 readChannelCache.acquire(file, volume)) {
+          bytesRead = readMethod.apply(cached.getChannel());
+        }
+      }
     } catch (Exception e) {
       onFailure(volume);
       throw wrapInStorageContainerException(e);
@@ -249,63 +297,64 @@ private static void readData(File file, long offset, long len,
    * whose javadoc recommends that it is generally only worth mapping
    * relatively large files (larger than a few tens of kilobytes)
    * into memory from the standpoint of performance.
+   * <p>
+   * The buffers are sliced from the regions cached by the given
+   * {@link MappedBufferManager}.  A buffer which cannot be mapped,
+   * e.g. when the mapping quota is used up, is read into a heap buffer.
    *
    * @return a list of {@link MappedByteBuffer} containing the data.
    */
   private static ChunkBuffer readData(File file, int chunkSize,
-      long offset, long length, HddsVolume volume, MappedBufferManager mappedBufferManager)
-      throws StorageContainerException {
+      long offset, long length, HddsVolume volume, MappedBufferManager mappedBufferManager,
+      ReadChannelCache readChannelCache) throws StorageContainerException {
 
-    final int bufferNum = Math.toIntExact((length - 1) / chunkSize) + 1;
-    if (!mappedBufferManager.getQuota(bufferNum)) {
-      // proceed with normal buffer
-      final ByteBuffer[] buffers = BufferUtils.assignByteBuffers(length,
-          chunkSize);
-      readData(file, offset, length, c -> c.position(offset).read(buffers), volume);
-      Arrays.stream(buffers).forEach(ByteBuffer::flip);
-      return ChunkBuffer.wrap(Arrays.asList(buffers));
-    } else {
-      try {
-        // proceed with mapped buffer
-        final List<ByteBuffer> buffers = new ArrayList<>(bufferNum);
-        readData(file, offset, length, channel -> {
-          long readLen = 0;
-          while (readLen < length) {
-            final int n = Math.toIntExact(Math.min(length - readLen, chunkSize));
-            final long finalOffset = offset + readLen;
-            final AtomicReference<IOException> exception = new AtomicReference<>();
-            ByteBuffer mapped = mappedBufferManager.computeIfAbsent(file.getAbsolutePath(), finalOffset, n,
-                () -> {
-                  try {
-                    return channel.map(FileChannel.MapMode.READ_ONLY, finalOffset, n);
-                  } catch (IOException e) {
-                    LOG.error("Failed to map file {} with offset {} and length {}", file, finalOffset, n);
-                    exception.set(e);
-                    return null;
-                  }
-                });
-            if (mapped == null) {
-              throw exception.get();
+    final String path = file.getAbsolutePath();
+    final List<ByteBuffer> buffers = new ArrayList<>(Math.toIntExact((length - 1) / chunkSize) + 1);
+    readData(file, offset, length, channel -> {
+      long readLen = 0;
+      while (readLen < length) {
+        final int n = Math.toIntExact(Math.min(length - readLen, chunkSize));
+        final long position = offset + readLen;
+        ByteBuffer buffer = mappedBufferManager.getMappedBuffer(path, channel, position, n);
+        if (buffer == null) {
+          buffer = ByteBuffer.allocate(n);
+          for (long p = position; buffer.hasRemaining();) {
+            final int r = channel.read(buffer, p);
+            if (r < 0) {
+              break;
             }
-            LOG.debug("mapped: offset={}, readLen={}, n={}, {}", finalOffset, readLen, n, mapped.getClass());
-            readLen += mapped.remaining();
-            buffers.add(mapped);
+            p += r;
           }
-          return readLen;
-        }, volume);
-        return ChunkBuffer.wrap(buffers);
-      } catch (Throwable e) {
-        mappedBufferManager.releaseQuota(bufferNum);
-        throw e;
+          buffer.flip();
+        }
+        LOG.debug("mapped: offset={}, readLen={}, n={}, {}", position, readLen, n, buffer.getClass());
+        readLen += buffer.remaining();
+        buffers.add(buffer);
+        if (buffer.remaining() < n) {
+          break; // end of file
+        }
       }
-    }
+      return readLen;
+    }, volume, readChannelCache);
+    return ChunkBuffer.wrap(buffers);
   }
 
   public static ChunkBufferToByteString readData(File file, long chunkSize,
       long offset, long length, HddsVolume volume, DispatcherContext context)
       throws StorageContainerException {
+    return readData(file, chunkSize, offset, length, volume, context, null);
+  }
+
+  /**
+   * Same as {@link #readData(File, long, long, long, HddsVolume, DispatcherContext)},
+   * but reads from a channel of the given cache if it is not null.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public static ChunkBufferToByteString readData(File file, long chunkSize,
+      long offset, long length, HddsVolume volume, DispatcherContext context,
+      ReadChannelCache readChannelCache) throws StorageContainerException {
     final List<ByteBuf> buffers = readDataNettyChunkedNioFile(
-        file, Math.toIntExact(chunkSize), offset, length, volume);
+        file, Math.toIntExact(chunkSize), offset, length, volume, readChannelCache);
     final ChunkBufferToByteString b = ChunkBufferToByteString.wrap(buffers);
     context.setReleaseMethod(b::release);
     return b;
@@ -316,8 +365,8 @@ public static ChunkBufferToByteString readData(File file, long chunkSize,
    *
    * @return a list of {@link ByteBuf} containing the data.
    */
-  private static List<ByteBuf> readDataNettyChunkedNioFile(
-      File file, int chunkSize, long offset, long length, HddsVolume volume) throws StorageContainerException {
+  private static List<ByteBuf> readDataNettyChunkedNioFile(File file, int chunkSize, long offset, long length,
+      HddsVolume volume, ReadChannelCache readChannelCache) throws StorageContainerException {
     final List<ByteBuf> buffers = new ArrayList<>(Math.toIntExact((length - 1) / chunkSize) + 1);
     readData(file, offset, length, channel -> {
       final ChunkedNioFile f = new ChunkedNioFile(channel, offset, length, chunkSize);
@@ -328,7 +377,7 @@ private static List<ByteBuf> readDataNettyChunkedNioFile(
         buffers.add(buf);
       }
       return readLen;
-    }, volume);
+    }, volume, readChannelCache);
     return buffers;
   }
 
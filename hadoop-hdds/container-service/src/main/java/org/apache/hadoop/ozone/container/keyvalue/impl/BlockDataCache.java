@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.apache.ratis.util.function.CheckedSupplier;
+
+/**
+ * A bounded cache of the {@link BlockData} of closed containers, so that
+ * the repeated lookups of a block do not read it from the container DB.
+ * <p>
+ * There is a separate cache, bounded by the given capacity, for each volume.
+ * Only the blocks of CLOSED and QUASI_CLOSED containers without pending
+ * deletion are cached, since such blocks are changed only by reconciliation.
+ * The blocks must be invalidated after they are changed, and before they are
+ * deleted.  A block loaded concurrently with an invalidation in the same
+ * volume is not cached, so that a stale block is never cached.
+ * <p>
+ * The blocks are cached as protos, since a {@link BlockData} is mutable.
+ */
+public class BlockDataCache {
+  private final int capacity;
+  /** For the hit/miss statistics, can be null. */
+  private final ContainerMetrics metrics;
+  /** Volume storage ID -> the cache of the volume. */
+  private final Map<String, VolumeCache> volumes = new ConcurrentHashMap<>();
+
+  public BlockDataCache(int capacity, ContainerMetrics metrics) {
+    Preconditions.checkArgument(capacity > 0,
+        "capacity = %s <= 0", capacity);
+    this.capacity = capacity;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Returns the given block from the cache, or from the loader if the block
+   * is not cached.
+   */
+  public BlockData get(KeyValueContainerData containerData, long localID,
+      CheckedSupplier<BlockData, IOException> loader) throws IOException {
+    final VolumeCache cache = getVolumeCache(containerData);
+    if (cache == null) {
+      return loader.get();
+    }
+
+    final BlockKey key = new BlockKey(containerData.getContainerID(), localID);
+    final ContainerProtos.BlockData cached = cache.blocks.getIfPresent(key);
+    if (cached != null) {
+      if (metrics != null) {
+        metrics.incBlockDataCacheHits();
+      }
+      return BlockData.getFromProtoBuf(cached);
+    }
+
+    if (metrics != null) {
+      metrics.incBlockDataCacheMisses();
+    }
+    final long version = cache.getVersion();
+    final BlockData loaded = loader.get();
+    cache.putIfNotInvalidated(key, loaded.getProtoBufMessage(), version);
+    return loaded;
+  }
+
+  /**
+   * Removes the given block from the cache.
+   */
+  public void invalidate(KeyValueContainerData containerData, long localID) {
+    final VolumeCache cache = getExistingVolumeCache(containerData);
+    if (cache != null) {
+      cache.invalidate(new BlockKey(containerData.getContainerID(), localID));
+    }
+  }
+
+  /**
+   * Removes all the blocks of the given container from the cache.
+   */
+  public void invalidateAll(KeyValueContainerData containerData) {
+    final VolumeCache cache = getExistingVolumeCache(containerData);
+    if (cache != null) {
+      cache.invalidateAll(containerData.getContainerID());
+    }
+  }
+
+  /**
+   * @return the number of cached blocks of all the volumes.
+   */
+  public long size() {
+    return volumes.values().stream().mapToLong(v -> v.blocks.size()).sum();
+  }
+
+  public void shutdown() {
+    volumes.values().forEach(v -> v.blocks.invalidateAll());
+    volumes.clear();
+  }
+
+  private VolumeCache getVolumeCache(KeyValueContainerData containerData) {
+    final State state = containerData.getState();
+    if ((state != State.CLOSED && state != State.QUASI_CLOSED)
+        || containerData.getNumPendingDeletionBlocks() > 0) {
+      return null;
+    }
+    final HddsVolume volume = containerData.getVolume();
+    return volume == null ? null : volumes.computeIfAbsent(
+        volume.getStorageID(), id -> new VolumeCache(capacity));
+  }
+
+  private VolumeCache getExistingVolumeCache(
+      KeyValueContainerData containerData) {
+    final HddsVolume volume = containerData.getVolume();
+    return volume == null ? null : volumes.get(volume.getStorageID());
+  }
+
+  /** The cached blocks of a volume. */
+  private static final class VolumeCache {
+    private final Cache<BlockKey, ContainerProtos.BlockData> blocks;
+    /** Incremented by each invalidation; guarded by this. */
+    private long version;
+
+    VolumeCache(int capacity) {
+      this.blocks = CacheBuilder.newBuilder()
+          .maximumSize(capacity)
+          .build();
+    }
+
+    synchronized long getVersion() {
+      return version;
+    }
+
+    /**
+     * Put the given block unless there was an invalidation since the given
+     * version, since the block might be loaded before the invalidation.
+     */
+    synchronized void putIfNotInvalidated(BlockKey key,
+        ContainerProtos.BlockData block, long loadVersion) {
+      if (version == loadVersion) {
+        blocks.put(key, block);
+      }
+    }
+
+    synchronized void invalidate(BlockKey key) {
+      version++;
+      blocks.invalidate(key);
+    }
+
+    synchronized void invalidateAll(long containerID) {
+      version++;
+      blocks.asMap().keySet().removeIf(k -> k.containerID == containerID);
+    }
+  }
+
+  /** The key of a cached block. */
+  private static final class BlockKey {
+    private final long containerID;
+    private final long localID;
+
+    BlockKey(long containerID, long localID) {
+      this.containerID = containerID;
+      this.localID = localID;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BlockKey)) {
+        return false;
+      }
+      final BlockKey that = (BlockKey) obj;
+      return containerID == that.containerID && localID == that.localID;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(containerID) * 31 + Long.hashCode(localID);
+    }
+  }
+}
@@ -34,6 +34,7 @@
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
 import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
@@ -62,7 +63,11 @@ public class BlockManagerImpl implements BlockManager {
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
+  private final int readMappedBufferRegionSize;
   private final boolean readNettyChunkedNioFile;
+  private final int readChannelCacheSize;
+  /** Null if the block data is not cached. */
+  private final BlockDataCache blockDataCache;
 
   /**
    * Constructs a Block Manager.
@@ -70,6 +75,16 @@ public class BlockManagerImpl implements BlockManager {
    * @param conf - Ozone configuration
    */
   public BlockManagerImpl(ConfigurationSource conf) {
+    this(conf, null);
+  }
+
+  /**
+   * Constructs a Block Manager.
+   *
+   * @param conf - Ozone configuration
+   * @param metrics - for the block data cache statistics, can be null.
+   */
+  public BlockManagerImpl(ConfigurationSource conf, ContainerMetrics metrics) {
     Objects.requireNonNull(conf, "conf == null");
     this.config = conf;
     this.defaultReadBufferCapacity = config.getBufferSize(
@@ -81,9 +96,20 @@ public BlockManagerImpl(ConfigurationSource conf) {
     this.readMappedBufferMaxCount = config.getInt(
         ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_DEFAULT);
+    this.readMappedBufferRegionSize = config.getBufferSize(
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_REGION_SIZE_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_REGION_SIZE_DEFAULT);
     this.readNettyChunkedNioFile = config.getBoolean(
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_DEFAULT);
+    this.readChannelCacheSize = config.getInt(
+        ScmConfigKeys.OZONE_CHUNK_READ_CHANNEL_CACHE_SIZE_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_CHANNEL_CACHE_SIZE_DEFAULT);
+    final int blockDataCacheSize = config.getInt(
+        ScmConfigKeys.OZONE_BLOCK_DATA_CACHE_SIZE_KEY,
+        ScmConfigKeys.OZONE_BLOCK_DATA_CACHE_SIZE_DEFAULT);
+    this.blockDataCache = blockDataCacheSize > 0
+        ? new BlockDataCache(blockDataCacheSize, metrics) : null;
   }
 
   @Override
@@ -154,6 +180,8 @@ public long putBlockForClosedContainer(Container container, BlockData data, bool
         db.getStore().getBatchHandler().commitBatchOperation(batch);
       }
 
+      invalidateBlockData(container, localID);
+
       if (overwriteBcsId && blockBcsID > containerBcsID) {
         container.updateBlockCommitSequenceId(blockBcsID);
       }
@@ -256,7 +284,7 @@ public long persistPutBlock(KeyValueContainer container,
           db.getStore().getMetadataTable().putWithBatch(batch, containerData.getBlockCountKey(), b.getCount() + 1);
         }
 
-        db.getStore().getBatchHandler().commitBatchOperation(batch);
+        db.getStore().commitPutBlockBatch(batch);
       }
 
       if (bcsId != 0) {
@@ -317,6 +345,7 @@ public void finalizeBlock(Container container, BlockID blockId)
         mergeLastChunkForBlockFinalization(blockId, db, kvContainer, batch, localID);
       }
     }
+    invalidateBlockData(container, localID);
   }
 
   private void mergeLastChunkForBlockFinalization(BlockID blockId, DBHandle db,
@@ -339,19 +368,14 @@ public BlockData getBlock(Container container, BlockID blockID) throws IOExcepti
     KeyValueContainerData containerData = (KeyValueContainerData) container
         .getContainerData();
     long bcsId = blockID.getBlockCommitSequenceId();
-    try (DBHandle db = BlockUtils.getDB(containerData, config)) {
-      // This is a post condition that acts as a hint to the user.
-      // Should never fail.
-      Objects.requireNonNull(db, "db == null");
-      BlockData blockData = getBlockByID(db, blockID, containerData);
-      long id = blockData.getBlockID().getBlockCommitSequenceId();
-      if (id < bcsId) {
-        throw new StorageContainerException(
-            "bcsId " + bcsId + " mismatches with existing block Id "
-                + id + " for block " + blockID + ".", BCSID_MISMATCH);
-      }
-      return blockData;
+    BlockData blockData = getBlockData(containerData, blockID);
+    long id = blockData.getBlockID().getBlockCommitSequenceId();
+    if (id < bcsId) {
+      throw new StorageContainerException(
+          "bcsId " + bcsId + " mismatches with existing block Id "
+              + id + " for block " + blockID + ".", BCSID_MISMATCH);
     }
+    return blockData;
   }
 
   @Override
@@ -359,12 +383,29 @@ public long getCommittedBlockLength(Container container, BlockID blockID)
       throws IOException {
     KeyValueContainerData containerData = (KeyValueContainerData) container
         .getContainerData();
+    return getBlockData(containerData, blockID).getSize();
+  }
+
+  /**
+   * Reads the given block from the block data cache, if enabled,
+   * or from the DB.
+   */
+  private BlockData getBlockData(KeyValueContainerData containerData,
+      BlockID blockID) throws IOException {
+    if (blockDataCache == null) {
+      return readBlockData(containerData, blockID);
+    }
+    return blockDataCache.get(containerData, blockID.getLocalID(),
+        () -> readBlockData(containerData, blockID));
+  }
+
+  private BlockData readBlockData(KeyValueContainerData containerData,
+      BlockID blockID) throws IOException {
     try (DBHandle db = BlockUtils.getDB(containerData, config)) {
       // This is a post condition that acts as a hint to the user.
       // Should never fail.
       Objects.requireNonNull(db, "db == null");
-      BlockData blockData = getBlockByID(db, blockID, containerData);
-      return blockData.getSize();
+      return getBlockByID(db, blockID, containerData);
     }
   }
 
@@ -383,11 +424,37 @@ public int getReadMappedBufferMaxCount() {
     return readMappedBufferMaxCount;
   }
 
+  @Override
+  public int getReadMappedBufferRegionSize() {
+    return readMappedBufferRegionSize;
+  }
+
   @Override
   public boolean isReadNettyChunkedNioFile() {
     return readNettyChunkedNioFile;
   }
 
+  @Override
+  public int getReadChannelCacheSize() {
+    return readChannelCacheSize;
+  }
+
+  @Override
+  public void invalidateBlockData(Container container, long localID) {
+    if (blockDataCache != null) {
+      blockDataCache.invalidate(
+          (KeyValueContainerData) container.getContainerData(), localID);
+    }
+  }
+
+  @Override
+  public void invalidateBlockData(Container container) {
+    if (blockDataCache != null) {
+      blockDataCache.invalidateAll(
+          (KeyValueContainerData) container.getContainerData());
+    }
+  }
+
   /**
    * Deletes an existing block.
    * As Deletion is handled by BlockDeletingService,
@@ -452,6 +519,9 @@ public boolean blockExists(Container container, BlockID blockID) throws IOExcept
    */
   @Override
   public void shutdown() {
+    if (blockDataCache != null) {
+      blockDataCache.shutdown();
+    }
     BlockUtils.shutdownCache(config);
   }
 
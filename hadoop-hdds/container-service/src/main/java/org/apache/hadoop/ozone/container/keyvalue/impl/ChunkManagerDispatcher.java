@@ -22,6 +22,7 @@
 import static org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion.FILE_PER_CHUNK;
 
 import jakarta.annotation.Nonnull;
+import java.io.File;
 import java.io.IOException;
 import java.util.EnumMap;
 import java.util.Map;
@@ -33,10 +34,12 @@
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
 import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerData;
 import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.BlockManager;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
 import org.apache.ratis.statemachine.StateMachine;
@@ -54,11 +57,18 @@ public class ChunkManagerDispatcher implements ChunkManager {
   private final Map<ContainerLayoutVersion, ChunkManager> handlers
       = new EnumMap<>(ContainerLayoutVersion.class);
 
+  /** Shared by all the handlers, null if disabled. */
+  private final ReadChannelCache readChannelCache;
+
   ChunkManagerDispatcher(boolean sync, BlockManager manager) {
+    final int readChannelCacheSize = manager == null ? 0
+        : manager.getReadChannelCacheSize();
+    readChannelCache = readChannelCacheSize > 0
+        ? new ReadChannelCache(readChannelCacheSize) : null;
     handlers.put(FILE_PER_CHUNK,
-        new FilePerChunkStrategy(sync, manager));
+        new FilePerChunkStrategy(sync, manager, readChannelCache));
     handlers.put(FILE_PER_BLOCK,
-        new FilePerBlockStrategy(sync, manager));
+        new FilePerBlockStrategy(sync, manager, readChannelCache));
   }
 
   @Override
@@ -140,9 +150,35 @@ public void deleteChunks(Container container, BlockData blockData)
     selectHandler(container).deleteChunks(container, blockData);
   }
 
+  @Override
+  public void closeReadChannels(Container container) {
+    final ChunkManager handler = handlers.get(container.getContainerData().getLayoutVersion());
+    if (handler != null) {
+      handler.closeReadChannels(container);
+    }
+    if (readChannelCache != null) {
+      final ContainerData data = container.getContainerData();
+      if (data instanceof KeyValueContainerData) {
+        readChannelCache.invalidateAll(
+            new File(((KeyValueContainerData) data).getChunksPath()));
+      }
+    }
+  }
+
+  @Override
+  public void closeReadChannel(Container container, File file) {
+    final ChunkManager handler = handlers.get(container.getContainerData().getLayoutVersion());
+    if (handler != null) {
+      handler.closeReadChannel(container, file);
+    }
+  }
+
   @Override
   public void shutdown() {
     handlers.values().forEach(ChunkManager::shutdown);
+    if (readChannelCache != null) {
+      readChannelCache.shutdown();
+    }
   }
 
   private @Nonnull ChunkManager selectHandler(Container container)
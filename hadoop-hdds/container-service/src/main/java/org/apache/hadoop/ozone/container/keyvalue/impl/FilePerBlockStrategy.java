@@ -26,6 +26,7 @@
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.validateChunkForOverwrite;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.verifyChunkFileExists;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -77,9 +78,20 @@ public class FilePerBlockStrategy implements ChunkManager {
   private final MappedBufferManager mappedBufferManager;
 
   private final boolean readNettyChunkedNioFile;
+  private final ReadChannelCache readChannelCache;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager) {
+    this(sync, manager, null);
+  }
+
+  /**
+   * @param readChannelCache to cache the channels for reading the block
+   *                         files, null to open them for each read.
+   */
+  public FilePerBlockStrategy(boolean sync, BlockManager manager,
+      ReadChannelCache readChannelCache) {
     doSyncWrite = sync;
+    this.readChannelCache = readChannelCache;
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
     this.readMappedBufferThreshold = manager == null ? 0
@@ -88,7 +100,8 @@ public FilePerBlockStrategy(boolean sync, BlockManager manager) {
         : manager.getReadMappedBufferMaxCount();
     LOG.info("ozone.chunk.read.mapped.buffer.max.count is load with {}", readMappedBufferMaxCount);
     if (this.readMappedBufferMaxCount > 0) {
-      mappedBufferManager = new MappedBufferManager(this.readMappedBufferMaxCount);
+      mappedBufferManager = new MappedBufferManager(this.readMappedBufferMaxCount,
+          manager.getReadMappedBufferRegionSize());
     } else {
       mappedBufferManager = null;
     }
@@ -96,6 +109,39 @@ public FilePerBlockStrategy(boolean sync, BlockManager manager) {
     this.readNettyChunkedNioFile = manager != null && manager.isReadNettyChunkedNioFile();
   }
 
+  /**
+   * Reads using mapped buffers only if the read is large enough and
+   * the file is hot, otherwise it falls back to Netty ChunkedNioFile or pread.
+   */
+  private boolean shouldMap(File file, long offset, long len, int bufferCapacity) {
+    return mappedBufferManager != null
+        && len > readMappedBufferThreshold && bufferCapacity > readMappedBufferThreshold
+        && mappedBufferManager.shouldMap(file.getAbsolutePath(), offset, len);
+  }
+
+  @VisibleForTesting
+  MappedBufferManager getMappedBufferManager() {
+    return mappedBufferManager;
+  }
+
+  @Override
+  public void closeReadChannels(Container container) {
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidateAll(
+          new File(((KeyValueContainerData) container.getContainerData()).getChunksPath()));
+    }
+  }
+
+  @Override
+  public void closeReadChannel(Container container, File file) {
+    if (readChannelCache != null) {
+      readChannelCache.invalidate(file);
+    }
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidate(file);
+    }
+  }
+
   private static void checkLayoutVersion(Container container) {
     Preconditions.checkArgument(
         container.getContainerData().getLayoutVersion() == FILE_PER_BLOCK);
@@ -221,11 +267,13 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
     int bufferCapacity = ChunkManager.getBufferCapacityForChunkRead(info,
         defaultReadBufferCapacity);
 
-    if (readNettyChunkedNioFile && dispatcherContext != null && dispatcherContext.isReleaseSupported()) {
-      return ChunkUtils.readData(chunkFile, bufferCapacity, offset, len, volume, dispatcherContext);
+    final boolean mmap = shouldMap(chunkFile, offset, len, bufferCapacity);
+    if (!mmap && readNettyChunkedNioFile && dispatcherContext != null && dispatcherContext.isReleaseSupported()) {
+      return ChunkUtils.readData(chunkFile, bufferCapacity, offset, len, volume, dispatcherContext,
+          readChannelCache);
     }
     return ChunkUtils.readData(len, bufferCapacity, chunkFile, offset, volume,
-        readMappedBufferThreshold, readMappedBufferMaxCount > 0, mappedBufferManager);
+        readMappedBufferThreshold, mmap, mappedBufferManager, readChannelCache);
   }
 
   @Override
@@ -278,6 +326,12 @@ private void deleteChunk(Container container, BlockID blockID,
     Objects.requireNonNull(blockID, "blockID == null");
 
     final File file = getChunkFile(container, blockID);
+    if (readChannelCache != null) {
+      readChannelCache.invalidate(file);
+    }
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidate(file);
+    }
 
     // if the chunk file does not exist, it might have already been deleted.
     // The call might be because of reapply of transactions on datanode
@@ -67,9 +67,20 @@ public class FilePerChunkStrategy implements ChunkManager {
   private final MappedBufferManager mappedBufferManager;
 
   private final boolean readNettyChunkedNioFile;
+  private final ReadChannelCache readChannelCache;
 
   public FilePerChunkStrategy(boolean sync, BlockManager manager) {
+    this(sync, manager, null);
+  }
+
+  /**
+   * @param readChannelCache to cache the channels for reading the chunk
+   *                         files, null to open them for each read.
+   */
+  public FilePerChunkStrategy(boolean sync, BlockManager manager,
+      ReadChannelCache readChannelCache) {
     doSyncWrite = sync;
+    this.readChannelCache = readChannelCache;
     blockManager = manager;
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
@@ -79,7 +90,8 @@ public FilePerChunkStrategy(boolean sync, BlockManager manager) {
         : manager.getReadMappedBufferMaxCount();
     LOG.info("ozone.chunk.read.mapped.buffer.max.count is load with {}", readMappedBufferMaxCount);
     if (this.readMappedBufferMaxCount > 0) {
-      mappedBufferManager = new MappedBufferManager(this.readMappedBufferMaxCount);
+      mappedBufferManager = new MappedBufferManager(this.readMappedBufferMaxCount,
+          manager.getReadMappedBufferRegionSize());
     } else {
       mappedBufferManager = null;
     }
@@ -87,6 +99,29 @@ public FilePerChunkStrategy(boolean sync, BlockManager manager) {
     this.readNettyChunkedNioFile = manager != null && manager.isReadNettyChunkedNioFile();
   }
 
+  /**
+   * Reads using mapped buffers only if the read is large enough and
+   * the file is hot, otherwise it falls back to Netty ChunkedNioFile or pread.
+   */
+  private boolean shouldMap(File file, long offset, long len, int bufferCapacity) {
+    return mappedBufferManager != null
+        && len > readMappedBufferThreshold && bufferCapacity > readMappedBufferThreshold
+        && mappedBufferManager.shouldMap(file.getAbsolutePath(), offset, len);
+  }
+
+  @Override
+  public void closeReadChannels(Container container) {
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidateAll(
+          new File(((KeyValueContainerData) container.getContainerData()).getChunksPath()));
+    }
+  }
+
+  @Override
+  public void closeReadChannel(Container container, File file) {
+    invalidateReadChannel(file);
+  }
+
   private static void checkLayoutVersion(Container container) {
     Preconditions.checkArgument(
         container.getContainerData().getLayoutVersion() == FILE_PER_CHUNK);
@@ -146,6 +181,7 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
           // the data to be written here which should be efficient and
           // it matches we can safely return without rewriting.
           LOG.warn("ChunkFile already exists {}. Deleting it.", chunkFile);
+          invalidateReadChannel(chunkFile);
           FileUtil.fullyDelete(chunkFile);
         }
         if (tmpChunkFile.exists()) {
@@ -271,11 +307,14 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
         if (file.exists()) {
           long offset = info.getOffset() - chunkFileOffset;
           Preconditions.checkState(offset >= 0);
-          if (readNettyChunkedNioFile && dispatcherContext != null && dispatcherContext.isReleaseSupported()) {
-            return ChunkUtils.readData(file, bufferCapacity, offset, len, volume, dispatcherContext);
+          final boolean mmap = shouldMap(file, offset, len, bufferCapacity);
+          if (!mmap && readNettyChunkedNioFile && dispatcherContext != null
+              && dispatcherContext.isReleaseSupported()) {
+            return ChunkUtils.readData(file, bufferCapacity, offset, len, volume, dispatcherContext,
+                readChannelCache);
           }
           return ChunkUtils.readData(len, bufferCapacity, file, offset, volume,
-              readMappedBufferThreshold, readMappedBufferMaxCount > 0, mappedBufferManager);
+              readMappedBufferThreshold, mmap, mappedBufferManager, readChannelCache);
         }
       } catch (StorageContainerException ex) {
         //UNABLE TO FIND chunk is not a problem as we will try with the
@@ -324,6 +363,7 @@ public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
         // file length is offset + real chunk length; see HDDS-3644
         || info.getLen() + info.getOffset() == chunkFileSize;
     if (allowed) {
+      invalidateReadChannel(chunkFile);
       FileUtil.fullyDelete(chunkFile);
       LOG.info("Deleted chunk file {} (size {}) for chunk {}",
           chunkFile, chunkFileSize, info);
@@ -384,6 +424,17 @@ private void commitChunk(File tmpChunkFile, File chunkFile) throws
       IOException {
     Files.move(tmpChunkFile.toPath(), chunkFile.toPath(),
         StandardCopyOption.REPLACE_EXISTING);
+    invalidateReadChannel(tmpChunkFile);
+    invalidateReadChannel(chunkFile);
+  }
+
+  private void invalidateReadChannel(File file) {
+    if (readChannelCache != null) {
+      readChannelCache.invalidate(file);
+    }
+    if (mappedBufferManager != null) {
+      mappedBufferManager.invalidate(file);
+    }
   }
 
 }
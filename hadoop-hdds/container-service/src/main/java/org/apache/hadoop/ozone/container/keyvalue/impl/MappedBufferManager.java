@@ -17,102 +17,371 @@
 
 package org.apache.hadoop.ozone.container.keyvalue.impl;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.Striped;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
-import java.util.concurrent.CompletableFuture;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A Manager who manages the mapped buffers to under a predefined total count, also support reuse mapped buffers.
+ * A cache of memory mapped file regions, which keeps the number of mappings
+ * under a predefined total count.
+ * <p>
+ * A file is mapped in page-aligned regions of a fixed size, so that the
+ * overlapping reads of a file are served as slices of the same mapping.
+ * When the quota is used up, the least recently used region is evicted.
+ * The regions are looked up without a shared lock; the recency is tracked
+ * by an access time per region, which is scanned only for an eviction.
+ * Since a mapping cannot be released explicitly, its quota is returned only
+ * after the region has been garbage collected, i.e. none of its slices are
+ * still in use.
+ * <p>
+ * To avoid cold reads (e.g. a scan) evicting the hot regions, a file is
+ * mapped only after it has been read {@link #getAdmissionThreshold()} times.
+ * The threshold is adjusted by the observed hit rate: it is raised when the
+ * regions are evicted without being reused, and lowered when the hit rate
+ * is high or the quota is not under pressure.
  */
 public class MappedBufferManager {
 
-  private static ConcurrentHashMap<String, WeakReference<ByteBuffer>> mappedBuffers =
-      new ConcurrentHashMap<String, WeakReference<ByteBuffer>>();
   private static final Logger LOG = LoggerFactory.getLogger(MappedBufferManager.class);
+
+  /** The regions are aligned to this size. */
+  static final int PAGE_SIZE = 4 << 10;
+  public static final int DEFAULT_REGION_SIZE = 4 << 20;
+
+  /** The number of region lookups between two admission threshold adjustments. */
+  static final int ADAPT_INTERVAL = 1024;
+  static final int MAX_ADMISSION_THRESHOLD = 8;
+  private static final double LOW_HIT_RATE = 0.5;
+  private static final double HIGH_HIT_RATE = 0.9;
+
+  private final int regionSize;
+  /** Stop evicting while this many evicted regions are not yet collected. */
+  private final int maxPendingEvictions;
+  /** The quota of the mappings, including the evicted but not yet collected ones. */
   private final Semaphore semaphore;
-  private final AtomicBoolean cleanupInProgress = new AtomicBoolean(false);
-  private final Striped<Lock> lock;
+  /** The cached regions. */
+  private final ConcurrentMap<String, Region> regions = new ConcurrentHashMap<>();
+  /** The evicted regions are enqueued when they are garbage collected. */
+  private final ReferenceQueue<ByteBuffer> collected = new ReferenceQueue<>();
+  /** The evicted regions not yet collected, which must be reachable to be enqueued. */
+  private final Set<Region> evicted = ConcurrentHashMap.newKeySet();
+  private final Striped<Lock> lock = Striped.lazyWeakLock(1024);
+  /** The number of recent reads of the files, which are not mapped yet. */
+  private final ConcurrentMap<String, AtomicInteger> accessCounts;
+  private volatile int admissionThreshold = 1;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong windowLookups = new AtomicLong();
+  private final AtomicLong windowHits = new AtomicLong();
+  private final AtomicLong windowMisses = new AtomicLong();
+  private final AtomicLong windowEvictions = new AtomicLong();
 
   public MappedBufferManager(int capacity) {
+    this(capacity, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * @param capacity the max number of mapped regions.
+   * @param regionSize the size of a region, rounded up to the page size.
+   */
+  public MappedBufferManager(int capacity, int regionSize) {
+    Preconditions.checkArgument(capacity > 0, "capacity = %s <= 0", capacity);
+    Preconditions.checkArgument(regionSize > 0, "regionSize = %s <= 0", regionSize);
     this.semaphore = new Semaphore(capacity);
-    this.lock = Striped.lazyWeakLock(1024);
+    this.maxPendingEvictions = Math.max(1, capacity / 16);
+    this.regionSize = Math.toIntExact((regionSize + PAGE_SIZE - 1L) / PAGE_SIZE * PAGE_SIZE);
+    this.accessCounts = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(4L * capacity, 1024))
+        .expireAfterAccess(Duration.ofMinutes(5))
+        .<String, AtomicInteger>build()
+        .asMap();
   }
 
-  public boolean getQuota(int permits) {
-    boolean ret = semaphore.tryAcquire(permits);
-    if (ret) {
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("quota is decreased by {} to total {}", permits, semaphore.availablePermits());
-      }
-    } else {
-      if (cleanupInProgress.compareAndSet(false, true)) {
-        CompletableFuture.runAsync(() -> {
-          int p = 0;
-          try {
-            for (String key : mappedBuffers.keySet()) {
-              ByteBuffer buf = mappedBuffers.get(key).get();
-              if (buf == null) {
-                mappedBuffers.remove(key);
-                p++;
-              }
-            }
-            if (p > 0) {
-              releaseQuota(p);
-            }
-          } finally {
-            cleanupInProgress.set(false);
+  public int getRegionSize() {
+    return regionSize;
+  }
+
+  public int availableQuota() {
+    return semaphore.availablePermits();
+  }
+
+  /**
+   * Decides whether the given range of the file should be read from
+   * mapped buffers.
+   *
+   * @return true if the region of the range is already mapped or the file
+   *         has been read often enough to be mapped.
+   */
+  public boolean shouldMap(String file, long offset, long length) {
+    if (regions.containsKey(regionKey(file, offset / regionSize))) {
+      return true;
+    }
+    final int threshold = admissionThreshold;
+    return threshold <= 1
+        || accessCounts.computeIfAbsent(file, k -> new AtomicInteger()).incrementAndGet() >= threshold;
+  }
+
+  /**
+   * Returns a buffer of the given range of the file, sliced from the region
+   * containing it.  The region is mapped if it is not cached.
+   *
+   * @return the buffer, or null if the range cannot be mapped, i.e. it spans
+   *         more than one region, it is beyond the end of the file, or the
+   *         quota is used up.
+   */
+  public ByteBuffer getMappedBuffer(String file, FileChannel channel, long position, int length)
+      throws IOException {
+    final long index = position / regionSize;
+    final long regionOffset = index * regionSize;
+    final long end = position - regionOffset + length;
+    if (end > regionSize) {
+      return null;
+    }
+
+    final String key = regionKey(file, index);
+    ByteBuffer mapped = getCached(key, end);
+    if (mapped == null) {
+      final Lock regionLock = lock.get(key);
+      regionLock.lock();
+      try {
+        mapped = getCached(key, end);
+        if (mapped == null) {
+          onLookup(false);
+          mapped = map(key, channel, regionOffset, end);
+          if (mapped == null) {
+            return null;
           }
-        });
+        } else {
+          onLookup(true);
+        }
+      } finally {
+        regionLock.unlock();
       }
+    } else {
+      onLookup(true);
     }
-    return ret;
+
+    final ByteBuffer slice = mapped.duplicate();
+    slice.position(Math.toIntExact(position - regionOffset));
+    slice.limit(Math.toIntExact(end));
+    return slice.slice();
   }
 
-  public void releaseQuota(int permits) {
-    semaphore.release(permits);
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("quota is increased by {} to total {}", permits, semaphore.availablePermits());
+  /**
+   * Removes the regions of the given file, e.g. when it is deleted.
+   */
+  public void invalidate(File file) {
+    if (file != null) {
+      final String path = file.getAbsolutePath();
+      accessCounts.remove(path);
+      removeRegions(path + '#');
     }
   }
 
-  public int availableQuota() {
-    return semaphore.availablePermits();
+  /**
+   * Removes the regions of all the files under the given directory.
+   */
+  public void invalidateAll(File dir) {
+    if (dir != null) {
+      final String prefix = dir.getAbsolutePath() + File.separator;
+      accessCounts.keySet().removeIf(key -> key.startsWith(prefix));
+      removeRegions(prefix);
+    }
+  }
+
+  @VisibleForTesting
+  int getAdmissionThreshold() {
+    return admissionThreshold;
+  }
+
+  @VisibleForTesting
+  long getHits() {
+    return hits.get();
+  }
+
+  @VisibleForTesting
+  long getMisses() {
+    return misses.get();
+  }
+
+  @VisibleForTesting
+  long getEvictions() {
+    return evictions.get();
+  }
+
+  @VisibleForTesting
+  int getRegionCount() {
+    return regions.size();
+  }
+
+  private static String regionKey(String file, long index) {
+    return file + '#' + index;
+  }
+
+  /** @return the mapped buffer of the region if it is cached and at least the given size. */
+  private ByteBuffer getCached(String key, long size) {
+    final Region region = regions.get(key);
+    if (region == null) {
+      return null;
+    }
+    // The strong reference keeps the buffer valid even if it is evicted now.
+    final ByteBuffer buffer = region.buffer;
+    if (buffer == null || buffer.capacity() < size) {
+      return null;
+    }
+    region.lastAccess = System.nanoTime();
+    return buffer;
   }
 
-  public ByteBuffer computeIfAbsent(String file, long position, long size,
-      Supplier<ByteBuffer> supplier) {
-    String key = file + "-" + position + "-" + size;
-    Lock fileLock = lock.get(key);
-    fileLock.lock();
+  private ByteBuffer map(String key, FileChannel channel, long regionOffset, long minSize)
+      throws IOException {
+    if (!acquireQuota()) {
+      LOG.debug("No quota to map {}", key);
+      return null;
+    }
+    final ByteBuffer mapped;
     try {
-      WeakReference<ByteBuffer> refer = mappedBuffers.get(key);
-      if (refer != null && refer.get() != null) {
-        // reuse the mapped buffer
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("find buffer for key {}", key);
-        }
-        releaseQuota(1);
-        return refer.get();
+      final long size = Math.min(regionSize, channel.size() - regionOffset);
+      if (size < minSize) {
+        semaphore.release();
+        return null;
       }
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, regionOffset, size);
+    } catch (IOException | RuntimeException e) {
+      semaphore.release();
+      throw e;
+    }
 
-      ByteBuffer buffer = supplier.get();
-      if (buffer != null) {
-        mappedBuffers.put(key, new WeakReference<>(buffer));
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("add buffer for key {}", key);
-        }
+    final Region region = new Region(mapped, collected);
+    // replace the region mapped before the file was extended
+    final Region previous = regions.put(key, region);
+    if (previous != null) {
+      release(previous);
+    }
+    LOG.debug("Mapped region {}: offset={}, size={}", key, regionOffset, mapped.capacity());
+    return mapped;
+  }
+
+  private boolean acquireQuota() {
+    releaseCollected();
+    if (semaphore.tryAcquire()) {
+      return true;
+    }
+    // The quota of the evicted region is released after it is collected.
+    // Limit the pending evictions, otherwise the reads before the next GC
+    // would evict all the regions.
+    if (evicted.size() < maxPendingEvictions) {
+      evictEldest();
+    }
+    releaseCollected();
+    return semaphore.tryAcquire();
+  }
+
+  private void releaseCollected() {
+    for (Reference<? extends ByteBuffer> r = collected.poll(); r != null; r = collected.poll()) {
+      evicted.remove(r);
+      semaphore.release();
+    }
+  }
+
+  private void evictEldest() {
+    // Scan for the least recently used region, which is only needed
+    // when the quota is used up.
+    Map.Entry<String, Region> eldest = null;
+    for (Map.Entry<String, Region> entry : regions.entrySet()) {
+      if (eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+        eldest = entry;
+      }
+    }
+    if (eldest != null && regions.remove(eldest.getKey(), eldest.getValue())) {
+      release(eldest.getValue());
+      evictions.incrementAndGet();
+      windowEvictions.incrementAndGet();
+    }
+  }
+
+  private void removeRegions(String prefix) {
+    for (Map.Entry<String, Region> entry : regions.entrySet()) {
+      if (entry.getKey().startsWith(prefix)
+          && regions.remove(entry.getKey(), entry.getValue())) {
+        release(entry.getValue());
       }
-      return buffer;
-    } finally {
-      fileLock.unlock();
+    }
+  }
+
+  /** Drops the strong reference of a region removed from the cache. */
+  private void release(Region region) {
+    evicted.add(region);
+    region.buffer = null;
+  }
+
+  private void onLookup(boolean hit) {
+    if (hit) {
+      hits.incrementAndGet();
+      windowHits.incrementAndGet();
+    } else {
+      misses.incrementAndGet();
+      windowMisses.incrementAndGet();
+    }
+    if (windowLookups.incrementAndGet() % ADAPT_INTERVAL == 0) {
+      adapt();
+    }
+  }
+
+  private synchronized void adapt() {
+    final long h = windowHits.getAndSet(0);
+    final long m = windowMisses.getAndSet(0);
+    final long e = windowEvictions.getAndSet(0);
+    if (h + m == 0) {
+      return;
+    }
+    final double hitRate = (double) h / (h + m);
+    final int previous = admissionThreshold;
+    if (e > 0 && hitRate < LOW_HIT_RATE) {
+      admissionThreshold = Math.min(previous + 1, MAX_ADMISSION_THRESHOLD);
+    } else if (e == 0 || hitRate > HIGH_HIT_RATE) {
+      admissionThreshold = Math.max(previous - 1, 1);
+    }
+    if (previous != admissionThreshold) {
+      LOG.debug("Admission threshold changed from {} to {}: hitRate={}, evictions={}",
+          previous, admissionThreshold, hitRate, e);
+    }
+  }
+
+  /**
+   * A mapped region, which is weakly referenced after it is evicted
+   * so that its quota can be released when it is collected.
+   */
+  private static final class Region extends WeakReference<ByteBuffer> {
+    /** Strongly referenced while cached, null once it is removed. */
+    private volatile ByteBuffer buffer;
+    /** The last access time in nanoseconds, for the LRU eviction. */
+    private volatile long lastAccess = System.nanoTime();
+
+    private Region(ByteBuffer buffer, ReferenceQueue<ByteBuffer> queue) {
+      super(buffer, queue);
+      this.buffer = buffer;
     }
   }
 }
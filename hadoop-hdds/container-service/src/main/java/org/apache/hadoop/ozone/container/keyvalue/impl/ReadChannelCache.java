@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.NO_ATTRIBUTES;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.READ_OPTIONS;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of {@link FileChannel}s opened for reading chunk files,
+ * shared by {@link FilePerBlockStrategy} and {@link FilePerChunkStrategy}.
+ * <p>
+ * The cached channels are reference counted: a channel removed from the
+ * cache, either evicted or invalidated, is closed only after all the
+ * readers using it have released it.  The files must be invalidated when
+ * they are deleted or replaced, so that no channel of a stale file is kept
+ * open.
+ */
+public class ReadChannelCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ReadChannelCache.class);
+
+  private static final RemovalListener<String, CachedChannel> ON_REMOVE =
+      event -> event.getValue().release();
+
+  private final Cache<String, CachedChannel> channels;
+
+  public ReadChannelCache(int capacity) {
+    Preconditions.checkArgument(capacity > 0,
+        "capacity = %s <= 0", capacity);
+    this.channels = CacheBuilder.newBuilder()
+        .maximumSize(capacity)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .removalListener(ON_REMOVE)
+        .build();
+  }
+
+  /**
+   * Returns a channel to read the given file, opening it if it is not
+   * cached.  The returned channel must be closed by the caller, which
+   * releases it instead of closing the underlying file.
+   *
+   * @param volume for the hit/miss statistics, can be null.
+   */
+  public CachedChannel acquire(File file, HddsVolume volume)
+      throws IOException {
+    final String key = file.getPath();
+    for (;;) {
+      final CachedChannel cached = channels.getIfPresent(key);
+      if (cached == null) {
+        break;
+      }
+      if (cached.retain()) {
+        if (volume != null) {
+          volume.getVolumeIOStats().incReadChannelCacheHits();
+        }
+        return cached;
+      }
+      // It has been closed concurrently, retry.
+      channels.asMap().remove(key, cached);
+    }
+
+    if (volume != null) {
+      volume.getVolumeIOStats().incReadChannelCacheMisses();
+    }
+    final CachedChannel opened = new CachedChannel(key,
+        FileChannel.open(file.toPath(), READ_OPTIONS, NO_ATTRIBUTES));
+    // One reference for the cache and one for the caller.
+    opened.retain();
+    if (channels.asMap().putIfAbsent(key, opened) != null) {
+      // Another reader has cached the file meanwhile, do not cache this one.
+      opened.release();
+    }
+    return opened;
+  }
+
+  /**
+   * Removes the given file from the cache.
+   */
+  public void invalidate(File file) {
+    if (file != null) {
+      channels.invalidate(file.getPath());
+    }
+  }
+
+  /**
+   * Removes all the files under the given directory from the cache.
+   */
+  public void invalidateAll(File dir) {
+    if (dir == null) {
+      return;
+    }
+    final String prefix = dir.getPath() + File.separator;
+    channels.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  /**
+   * @return the number of cached channels.
+   */
+  public long size() {
+    return channels.size();
+  }
+
+  public void shutdown() {
+    channels.invalidateAll();
+  }
+
+  /**
+   * A reference counted {@link FileChannel}.  The underlying channel is
+   * closed when the count drops to zero.
+   */
+  public static final class CachedChannel implements AutoCloseable {
+    private final String path;
+    private final FileChannel channel;
+    /** Starts with the reference of the cache. */
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private CachedChannel(String path, FileChannel channel) {
+      this.path = path;
+      this.channel = channel;
+    }
+
+    public FileChannel getChannel() {
+      return channel;
+    }
+
+    private boolean retain() {
+      for (;;) {
+        final int count = refCount.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (refCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      if (refCount.decrementAndGet() == 0) {
+        try {
+          channel.close();
+          LOG.debug("Closed read channel of {}", path);
+        } catch (IOException e) {
+          LOG.warn("Failed to close read channel of {}", path, e);
+        }
+      }
+    }
+
+    /** Releases this channel. */
+    @Override
+    public void close() {
+      release();
+    }
+  }
+}
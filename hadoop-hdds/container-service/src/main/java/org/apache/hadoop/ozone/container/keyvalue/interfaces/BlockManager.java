@@ -125,9 +125,27 @@ void finalizeBlock(Container container, BlockID blockId)
   /** @return the max count of memory mapped buffers to read. */
   int getReadMappedBufferMaxCount();
 
+  /** @return the size of the regions mapped for reading. */
+  int getReadMappedBufferRegionSize();
+
   /** @return true iff Netty ChunkedNioFile read is enabled. */
   boolean isReadNettyChunkedNioFile();
 
+  /** @return the max number of cached read file channels, 0 if disabled. */
+  int getReadChannelCacheSize();
+
+  /**
+   * Removes the given block from the block data cache, if any.
+   * It must be called before the block is deleted.
+   */
+  void invalidateBlockData(Container container, long localID);
+
+  /**
+   * Removes all the blocks of the given container from the block data
+   * cache, if any.
+   */
+  void invalidateBlockData(Container container);
+
   /**
    * Shutdown ContainerManager.
    */
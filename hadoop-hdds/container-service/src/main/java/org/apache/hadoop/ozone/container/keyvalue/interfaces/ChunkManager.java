@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.container.keyvalue.interfaces;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -98,6 +99,22 @@ default void shutdown() {
     // if applicable
   }
 
+  /**
+   * Closes the files kept open for reading the chunks of the given container,
+   * e.g. when the container is closed or deleted.
+   */
+  default void closeReadChannels(Container container) {
+    // if applicable
+  }
+
+  /**
+   * Closes the given file kept open for reading,
+   * e.g. before the file is deleted outside of the chunk manager.
+   */
+  default void closeReadChannel(Container container, File file) {
+    // if applicable
+  }
+
   default void finishWriteChunks(KeyValueContainer kvContainer,
       BlockData blockData) throws IOException {
     // no-op
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import org.apache.hadoop.metrics2.MetricsSystem;
+import org.apache.hadoop.metrics2.annotation.Metric;
+import org.apache.hadoop.metrics2.annotation.Metrics;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableQuantiles;
+import org.apache.hadoop.metrics2.lib.MutableRate;
+
+/**
+ * Metrics of the {@link BatchGroupCommitter} of a datanode DB.
+ */
+@Metrics(about = "Datanode DB batch group commit metrics", context = "dfs")
+public final class BatchGroupCommitMetrics {
+  private static final int QUANTILE_INTERVAL_SECONDS = 60;
+
+  private final String metricsSourceName;
+  private final MetricsRegistry registry =
+      new MetricsRegistry(BatchGroupCommitMetrics.class.getSimpleName());
+
+  @Metric private MutableCounterLong numWrites;
+  @Metric private MutableCounterLong numBatches;
+  @Metric private MutableRate writeTime;
+  private final MutableQuantiles batchesPerWrite;
+  private final MutableQuantiles waitTimeMs;
+
+  private BatchGroupCommitMetrics(String identifier) {
+    this.metricsSourceName =
+        BatchGroupCommitMetrics.class.getSimpleName() + '-' + identifier;
+    this.batchesPerWrite = registry.newQuantiles(
+        "batchesPerWrite" + QUANTILE_INTERVAL_SECONDS + "s",
+        "The number of batches committed in one write", "writes", "batches",
+        QUANTILE_INTERVAL_SECONDS);
+    this.waitTimeMs = registry.newQuantiles(
+        "waitTime" + QUANTILE_INTERVAL_SECONDS + "s",
+        "The time in ms a batch waits for its write to start", "batches",
+        "latency", QUANTILE_INTERVAL_SECONDS);
+  }
+
+  /**
+   * @param identifier Typically, the path of the DB.
+   */
+  public static BatchGroupCommitMetrics create(String identifier) {
+    final BatchGroupCommitMetrics metrics =
+        new BatchGroupCommitMetrics(identifier);
+    final MetricsSystem ms = DefaultMetricsSystem.instance();
+    return ms.register(metrics.metricsSourceName,
+        "Datanode DB batch group commit metrics", metrics);
+  }
+
+  public void unregister() {
+    final MetricsSystem ms = DefaultMetricsSystem.instance();
+    ms.unregisterSource(metricsSourceName);
+  }
+
+  void addWrite(int batches, long writeTimeMs) {
+    numWrites.incr();
+    numBatches.incr(batches);
+    batchesPerWrite.add(batches);
+    writeTime.add(writeTimeMs);
+  }
+
+  void addWaitTime(long ms) {
+    waitTimeMs.add(ms);
+  }
+
+  public long getNumWrites() {
+    return numWrites.value();
+  }
+
+  public long getNumBatches() {
+    return numBatches.value();
+  }
+}
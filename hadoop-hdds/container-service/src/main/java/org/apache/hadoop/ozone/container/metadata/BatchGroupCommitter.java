@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Commits the batches of concurrent callers in one write of a DB.
+ * <p>
+ * A caller queues its batch and waits while another caller is writing.
+ * When no write is in progress, the first waiting caller becomes the
+ * writer and commits up to the max number of queued batches, including the
+ * batches of other callers, in one write.  So the batches queued during a
+ * write are committed together by the next write.  The writer may also wait
+ * up to the max wait time for more batches before the write.
+ * <p>
+ * The batches are committed in the queue order and a caller returns only
+ * after its batch is committed, so a caller may close its batch as usual.
+ */
+public final class BatchGroupCommitter {
+  private final BatchOperationHandler handler;
+  private final int maxBatches;
+  private final long maxWaitNanos;
+  private final BatchGroupCommitMetrics metrics;
+
+  /** The batches waiting for a write; guarded by this. */
+  private final Deque<PendingBatch> queue = new ArrayDeque<>();
+  /** Is a write in progress?  Guarded by this. */
+  private boolean writing;
+
+  public BatchGroupCommitter(BatchOperationHandler handler, int maxBatches,
+      long maxWaitNanos, BatchGroupCommitMetrics metrics) {
+    Preconditions.checkArgument(maxBatches > 0,
+        "maxBatches = %s <= 0", maxBatches);
+    this.handler = handler;
+    this.maxBatches = maxBatches;
+    this.maxWaitNanos = maxWaitNanos;
+    this.metrics = metrics;
+  }
+
+  /** Commit the given batch, possibly together with other batches. */
+  public void commit(BatchOperation batch) throws IOException {
+    final PendingBatch pending = new PendingBatch(batch);
+    boolean interrupted = false;
+    try {
+      synchronized (this) {
+        queue.addLast(pending);
+        if (writing) {
+          // wake up the writer waiting for more batches, if any
+          notifyAll();
+        }
+      }
+      while (true) {
+        final List<PendingBatch> group;
+        synchronized (this) {
+          // The batch may be written by another caller at any time,
+          // so it is not possible to leave on interrupt.
+          while (writing && !pending.done) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              interrupted = true;
+            }
+          }
+          if (pending.done) {
+            break;
+          }
+          writing = true;
+          interrupted |= awaitMoreBatches();
+          group = pollGroup();
+        }
+        write(group);
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    pending.throwIfFailed();
+  }
+
+  @VisibleForTesting
+  synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  /** @return true if interrupted. */
+  private boolean awaitMoreBatches() {
+    if (maxWaitNanos <= 0) {
+      return false;
+    }
+    boolean interrupted = false;
+    final long deadline = Time.monotonicNowNanos() + maxWaitNanos;
+    for (long remaining = maxWaitNanos;
+         remaining > 0 && queue.size() < maxBatches;
+         remaining = deadline - Time.monotonicNowNanos()) {
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    return interrupted;
+  }
+
+  private List<PendingBatch> pollGroup() {
+    final List<PendingBatch> group =
+        new ArrayList<>(Math.min(queue.size(), maxBatches));
+    while (group.size() < maxBatches && !queue.isEmpty()) {
+      group.add(queue.pollFirst());
+    }
+    return group;
+  }
+
+  private void write(List<PendingBatch> group) {
+    final long startNanos = Time.monotonicNowNanos();
+    final List<BatchOperation> batches = new ArrayList<>(group.size());
+    for (PendingBatch p : group) {
+      batches.add(p.batch);
+      metrics.addWaitTime(
+          TimeUnit.NANOSECONDS.toMillis(startNanos - p.queuedNanos));
+    }
+    Exception failure = null;
+    boolean committed = false;
+    try {
+      handler.commitBatchOperations(batches);
+      committed = true;
+    } catch (IOException | RuntimeException e) {
+      failure = e;
+    } finally {
+      if (!committed && failure == null) {
+        failure = new IOException("Failed to commit " + batches);
+      }
+      metrics.addWrite(group.size(), TimeUnit.NANOSECONDS.toMillis(
+          Time.monotonicNowNanos() - startNanos));
+      synchronized (this) {
+        for (PendingBatch p : group) {
+          p.done = true;
+          p.failure = failure;
+        }
+        writing = false;
+        notifyAll();
+      }
+    }
+  }
+
+  /** A batch waiting to be committed. */
+  private static final class PendingBatch {
+    private final BatchOperation batch;
+    private final long queuedNanos = Time.monotonicNowNanos();
+    /** Guarded by the committer. */
+    private boolean done;
+    /** Guarded by the committer. */
+    private Exception failure;
+
+    PendingBatch(BatchOperation batch) {
+      this.batch = batch;
+    }
+
+    /** Called after {@link #done} is observed under the committer lock. */
+    void throwIfFailed() throws IOException {
+      if (failure instanceof IOException) {
+        throw (IOException) failure;
+      } else if (failure != null) {
+        throw (RuntimeException) failure;
+      }
+    }
+  }
+}
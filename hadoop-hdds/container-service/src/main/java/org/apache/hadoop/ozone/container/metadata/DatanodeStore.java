@@ -100,6 +100,14 @@ default BlockData getCompleteBlockData(BlockData blockData,
     return blockData;
   }
 
+  /**
+   * Commit the batch of a putBlock.  An implementation may commit the batch
+   * together with the concurrent putBlock batches of the other containers.
+   */
+  default void commitPutBlockBatch(BatchOperation batch) throws IOException {
+    getBatchHandler().commitBatchOperation(batch);
+  }
+
   default void putBlockByID(BatchOperation batch, boolean incremental,
       long localID, BlockData data, KeyValueContainerData containerData,
       boolean endOfBlock)
@@ -19,6 +19,7 @@
 
 import static org.apache.hadoop.ozone.container.metadata.DatanodeSchemaThreeDBDefinition.getContainerKeyPrefix;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
@@ -68,12 +69,51 @@ public class DatanodeStoreSchemaThreeImpl extends DatanodeStoreWithIncrementalCh
 
   private final Table<String, DeletedBlocksTransaction> deleteTransactionTable;
 
+  /** Commit the putBlock batches of the containers on the volume together. */
+  private final BatchGroupCommitter putBlockCommitter;
+  private final BatchGroupCommitMetrics putBlockCommitMetrics;
+
   public DatanodeStoreSchemaThreeImpl(ConfigurationSource config,
       String dbPath, boolean openReadOnly) throws IOException {
     super(config, new DatanodeSchemaThreeDBDefinition(dbPath, config),
         openReadOnly);
     this.deleteTransactionTable = ((DatanodeSchemaThreeDBDefinition) getDbDef())
         .getDeleteTransactionsColumnFamily().getTable(getStore());
+
+    final DatanodeConfiguration dnConf =
+        config.getObject(DatanodeConfiguration.class);
+    if (!openReadOnly && dnConf.isPutBlockGroupCommitEnabled()) {
+      this.putBlockCommitMetrics = BatchGroupCommitMetrics.create(dbPath);
+      this.putBlockCommitter = new BatchGroupCommitter(getBatchHandler(),
+          dnConf.getPutBlockGroupCommitMaxBatches(),
+          dnConf.getPutBlockGroupCommitMaxWait().toNanos(),
+          putBlockCommitMetrics);
+    } else {
+      this.putBlockCommitMetrics = null;
+      this.putBlockCommitter = null;
+    }
+  }
+
+  @Override
+  public void commitPutBlockBatch(BatchOperation batch) throws IOException {
+    if (putBlockCommitter != null) {
+      putBlockCommitter.commit(batch);
+    } else {
+      getBatchHandler().commitBatchOperation(batch);
+    }
+  }
+
+  @VisibleForTesting
+  BatchGroupCommitMetrics getPutBlockCommitMetrics() {
+    return putBlockCommitMetrics;
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (putBlockCommitMetrics != null) {
+      putBlockCommitMetrics.unregister();
+    }
+    super.stop();
   }
 
   @Override
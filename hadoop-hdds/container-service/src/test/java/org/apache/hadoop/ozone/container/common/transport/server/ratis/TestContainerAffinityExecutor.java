@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.transport.server.ratis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.protocol.RaftGroupId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ContainerAffinityExecutor}.
+ */
+public class TestContainerAffinityExecutor {
+  private CSMMetrics metrics;
+  private ContainerAffinityExecutor executor;
+
+  @BeforeEach
+  public void setUp() {
+    metrics = CSMMetrics.create(RaftGroupId.randomId());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+    metrics.unRegister();
+  }
+
+  @Test
+  public void testTasksOfKeyRunInOrder() throws Exception {
+    executor = new ContainerAffinityExecutor("test", 4);
+    final int numKeys = 8;
+    final int tasksPerKey = 100;
+    final List<List<Integer>> results = new ArrayList<>();
+    final List<AtomicInteger> running = new ArrayList<>();
+    for (int k = 0; k < numKeys; k++) {
+      results.add(Collections.synchronizedList(new ArrayList<>()));
+      running.add(new AtomicInteger());
+    }
+
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < tasksPerKey; i++) {
+      for (int k = 0; k < numKeys; k++) {
+        final int key = k;
+        final int task = i;
+        futures.add(CompletableFuture.runAsync(() -> {
+          // the tasks of a key never run concurrently
+          assertEquals(1, running.get(key).incrementAndGet());
+          results.get(key).add(task);
+          running.get(key).decrementAndGet();
+        }, executor.getExecutor((long) key, metrics)));
+      }
+    }
+    for (CompletableFuture<Void> f : futures) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+
+    for (List<Integer> result : results) {
+      assertEquals(tasksPerKey, result.size());
+      for (int i = 0; i < tasksPerKey; i++) {
+        assertEquals(i, result.get(i));
+      }
+    }
+    GenericTestUtils.waitFor(() -> executor.getNumActiveKeys() == 0,
+        10, 10_000);
+    assertEquals(0, metrics.getNumQueuedContainerTasks());
+    assertEquals(numKeys * tasksPerKey,
+        metrics.getContainerTaskWaitNs().lastStat().numSamples());
+  }
+
+  @Test
+  public void testBlockedKeyDoesNotBlockOtherKeys() throws Exception {
+    executor = new ContainerAffinityExecutor("test", 2);
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CompletableFuture<Void> blockedTask = CompletableFuture.runAsync(
+        () -> {
+          started.countDown();
+          try {
+            blocked.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }, executor.getExecutor(0L, metrics));
+    started.await();
+    // queued behind the blocked task of the same key
+    final CompletableFuture<Void> sameKey = CompletableFuture.runAsync(
+        () -> { }, executor.getExecutor(0L, metrics));
+
+    // the other keys run on the other thread
+    final List<CompletableFuture<Void>> others = new ArrayList<>();
+    for (long key = 1; key <= 20; key++) {
+      others.add(CompletableFuture.runAsync(() -> { },
+          executor.getExecutor(key, metrics)));
+    }
+    for (CompletableFuture<Void> f : others) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+    assertFalse(sameKey.isDone());
+    assertEquals(1, metrics.getNumQueuedContainerTasks());
+
+    blocked.countDown();
+    blockedTask.get(10, TimeUnit.SECONDS);
+    sameKey.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testErrorDoesNotBlockKey() throws Exception {
+    executor = new ContainerAffinityExecutor("test", 2);
+    executor.execute(0L, () -> {
+      throw new AssertionError("test");
+    }, metrics);
+    final CompletableFuture<Void> next = CompletableFuture.runAsync(
+        () -> { }, executor.getExecutor(0L, metrics));
+    next.get(10, TimeUnit.SECONDS);
+    GenericTestUtils.waitFor(() -> executor.getNumActiveKeys() == 0,
+        10, 10_000);
+  }
+
+  @Test
+  public void testCancelInterruptsTask() throws Exception {
+    executor = new ContainerAffinityExecutor("test", 2);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final FutureTask<Void> task = new FutureTask<>(() -> {
+      started.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return null;
+    });
+    executor.execute(0L, task, metrics);
+    started.await();
+
+    assertTrue(task.cancel(true));
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    // the key is still usable after the cancellation
+    CompletableFuture.runAsync(() -> { }, executor.getExecutor(0L, metrics))
+        .get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.CLOSED;
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerDataProto.State.OPEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.conf.StorageUnit;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
+import org.apache.hadoop.ozone.container.common.helpers.ContainerMetrics;
+import org.apache.hadoop.ozone.container.common.impl.ContainerLayoutVersion;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BlockDataCache}.
+ */
+public class TestBlockDataCache {
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private ContainerMetrics metrics;
+  private BlockDataCache cache;
+  private KeyValueContainerData containerData;
+
+  @BeforeEach
+  public void setUp() {
+    metrics = ContainerMetrics.create(new OzoneConfiguration());
+    cache = new BlockDataCache(10, metrics);
+    containerData = createContainerData(1);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cache.shutdown();
+    metrics.close();
+    ContainerMetrics.remove();
+  }
+
+  @Test
+  public void testHitAndMiss() throws IOException {
+    final BlockData first = get(containerData, 1);
+    final BlockData second = get(containerData, 1);
+    assertEquals(1, loads.get());
+    assertEquals(1, metrics.getBlockDataCacheMisses());
+    assertEquals(1, metrics.getBlockDataCacheHits());
+    // a copy is returned for each lookup
+    assertNotSame(first, second);
+    assertEquals(first.getBlockID(), second.getBlockID());
+    assertEquals(first.getSize(), second.getSize());
+
+    // a block of another container
+    get(createContainerData(2), 1);
+    assertEquals(2, loads.get());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testOnlyClosedContainersCached() throws IOException {
+    containerData.setState(OPEN);
+    get(containerData, 1);
+    get(containerData, 1);
+    assertEquals(2, loads.get());
+    assertEquals(0, cache.size());
+
+    // the blocks pending deletion may be deleted
+    containerData.setState(CLOSED);
+    containerData.incrPendingDeletionBlocks(1, 100);
+    get(containerData, 1);
+    get(containerData, 1);
+    assertEquals(4, loads.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidate() throws IOException {
+    get(containerData, 1);
+    get(containerData, 2);
+    cache.invalidate(containerData, 1);
+    assertEquals(1, cache.size());
+    get(containerData, 1);
+    assertEquals(3, loads.get());
+
+    cache.invalidateAll(containerData);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testLoadRacingWithInvalidate() throws IOException {
+    // the block is invalidated after it is loaded from the DB
+    cache.get(containerData, 1, () -> {
+      final BlockData loaded = load(containerData, 1);
+      cache.invalidate(containerData, 1);
+      return loaded;
+    });
+    assertEquals(0, cache.size());
+
+    get(containerData, 1);
+    get(containerData, 1);
+    assertEquals(2, loads.get());
+    assertEquals(1, cache.size());
+  }
+
+  private BlockData get(KeyValueContainerData data, long localID)
+      throws IOException {
+    return cache.get(data, localID, () -> load(data, localID));
+  }
+
+  private BlockData load(KeyValueContainerData data, long localID) {
+    loads.incrementAndGet();
+    return new BlockData(new BlockID(data.getContainerID(), localID));
+  }
+
+  private static KeyValueContainerData createContainerData(long id) {
+    final KeyValueContainerData data = new KeyValueContainerData(id,
+        ContainerLayoutVersion.FILE_PER_BLOCK,
+        (long) StorageUnit.GB.toBytes(5), UUID.randomUUID().toString(),
+        UUID.randomUUID().toString());
+    final HddsVolume volume = mock(HddsVolume.class);
+    when(volume.getStorageID()).thenReturn("volume");
+    data.setVolume(volume);
+    data.setState(CLOSED);
+    return data;
+  }
+}
@@ -38,6 +38,7 @@
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
@@ -262,6 +263,31 @@ public void testPutBlockForClosed(ContainerTestVersionInfo versionInfo)
     }
   }
 
+  @ContainerTestVersionInfo.ContainerTest
+  public void testBlockDataCache(ContainerTestVersionInfo versionInfo)
+      throws Exception {
+    initTest(versionInfo);
+    config.setInt(ScmConfigKeys.OZONE_BLOCK_DATA_CACHE_SIZE_KEY, 10);
+    final BlockManagerImpl cachingBlockManager = new BlockManagerImpl(config);
+    cachingBlockManager.putBlock(keyValueContainer, blockData1);
+    keyValueContainer.close();
+
+    BlockData fromGetBlockData = cachingBlockManager.getBlock(
+        keyValueContainer, blockData1.getBlockID());
+    assertEquals(1024, fromGetBlockData.getSize());
+    assertEquals(1, fromGetBlockData.getBlockCommitSequenceId());
+
+    // the block reconciled for the closed container is not read from cache
+    BlockData reconciled = createBlockData(1L, 2L, 1, 0, 2048, 1);
+    cachingBlockManager.putBlockForClosedContainer(keyValueContainer,
+        reconciled, true);
+    fromGetBlockData = cachingBlockManager.getBlock(keyValueContainer,
+        blockData1.getBlockID());
+    assertEquals(2048, fromGetBlockData.getSize());
+    assertEquals(2048, cachingBlockManager.getCommittedBlockLength(
+        keyValueContainer, blockData1.getBlockID()));
+  }
+
   @ContainerTestVersionInfo.ContainerTest
   public void testListBlock(ContainerTestVersionInfo versionInfo)
       throws Exception {
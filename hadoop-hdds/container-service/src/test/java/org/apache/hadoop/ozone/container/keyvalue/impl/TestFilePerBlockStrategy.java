@@ -20,6 +20,8 @@
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.HDDS_DATANODE_DIR_KEY;
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_KEY;
+import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.getChunk;
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
 import static org.apache.hadoop.ozone.container.checksum.ContainerMerkleTreeTestUtils.verifyAllDataChecksumsMatch;
@@ -56,6 +58,7 @@
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
 import org.apache.hadoop.ozone.container.common.volume.MutableVolumeSet;
 import org.apache.hadoop.ozone.container.common.volume.StorageVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
 import org.apache.hadoop.ozone.container.keyvalue.ContainerLayoutTestInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainerData;
@@ -164,6 +167,69 @@ public void testPartialRead() throws Exception {
     assertEquals(data.rewind().toByteString().substring(start, start + length), readData2.toByteString());
   }
 
+  @Test
+  public void testReadChannelCache() throws Exception {
+    final int datalen = 1024;
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    ReadChannelCache cache = new ReadChannelCache(10);
+    ChunkManager subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(new OzoneConfiguration()), cache);
+    subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+
+    for (int i = 0; i < 3; i++) {
+      final ChunkBufferToByteString readData = subject.readChunk(container, blockID, info, null);
+      assertEquals(data.rewind().toByteString(), readData.toByteString());
+    }
+    VolumeIOStats stats = getHddsVolume().getVolumeIOStats();
+    assertEquals(1, stats.getReadChannelCacheMisses());
+    assertEquals(2, stats.getReadChannelCacheHits());
+    assertEquals(1, cache.size());
+
+    // closed before the file is deleted outside of the chunk manager
+    final File file = container.getContainerData().getLayoutVersion()
+        .getChunkFile(container.getContainerData(), blockID, null);
+    subject.closeReadChannel(container, file);
+    assertEquals(0, cache.size());
+    subject.readChunk(container, blockID, info, null);
+    assertEquals(2, stats.getReadChannelCacheMisses());
+    assertEquals(1, cache.size());
+
+    subject.deleteChunk(container, blockID, info);
+    assertEquals(0, cache.size());
+    cache.shutdown();
+  }
+
+  @Test
+  public void testCloseReadChannelUnmaps() throws Exception {
+    final int datalen = 1024;
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OZONE_CHUNK_READ_MAPPED_BUFFER_MAX_COUNT_KEY, 10);
+    conf.set(OZONE_CHUNK_READ_MAPPED_BUFFER_THRESHOLD_KEY, "32B");
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    FilePerBlockStrategy subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf), null);
+    subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+
+    final ChunkBufferToByteString readData = subject.readChunk(container, blockID, info, null);
+    assertEquals(data.rewind().toByteString(), readData.toByteString());
+    final MappedBufferManager mapped = subject.getMappedBufferManager();
+    assertEquals(1, mapped.getRegionCount());
+
+    // unmapped before the file is deleted outside of the chunk manager
+    final File file = container.getContainerData().getLayoutVersion()
+        .getChunkFile(container.getContainerData(), blockID, null);
+    subject.closeReadChannel(container, file);
+    assertEquals(0, mapped.getRegionCount());
+  }
+
   @ParameterizedTest
   @MethodSource("getNonClosedStates")
   public void testWriteChunkAndPutBlockFailureForNonClosedContainer(
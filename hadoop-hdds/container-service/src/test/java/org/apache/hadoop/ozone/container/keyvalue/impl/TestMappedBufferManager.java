@@ -17,29 +17,200 @@
 
 package org.apache.hadoop.ozone.container.keyvalue.impl;
 
+import static org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager.ADAPT_INTERVAL;
+import static org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager.PAGE_SIZE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test for MappedBufferManager.
  */
 public class TestMappedBufferManager {
 
+  private static final int REGION_SIZE = PAGE_SIZE;
+  private static final int REGION_COUNT = ADAPT_INTERVAL + 1;
+
+  @TempDir
+  private File dir;
+
+  private File file;
+  private String path;
+  private byte[] data;
+  private FileChannel channel;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    file = new File(dir, "113750153625600065.block");
+    path = file.getAbsolutePath();
+    data = new byte[REGION_SIZE * REGION_COUNT];
+    ThreadLocalRandom.current().nextBytes(data);
+    Files.write(file.toPath(), data);
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    channel.close();
+  }
+
+  @Test
+  public void testRegionSizeIsPageAligned() {
+    assertEquals(PAGE_SIZE, new MappedBufferManager(1, 1).getRegionSize());
+    assertEquals(2 * PAGE_SIZE, new MappedBufferManager(1, PAGE_SIZE + 1).getRegionSize());
+  }
+
+  @Test
+  public void testOverlappingReadsShareRegion() throws IOException {
+    MappedBufferManager manager = new MappedBufferManager(100, REGION_SIZE);
+    assertContent(0, manager.getMappedBuffer(path, channel, 0, 1024));
+    // the buffer should be sliced from the same region
+    assertContent(512, manager.getMappedBuffer(path, channel, 512, 1024));
+    assertContent(REGION_SIZE - 100, manager.getMappedBuffer(path, channel, REGION_SIZE - 100, 100));
+
+    assertEquals(1, manager.getMisses());
+    assertEquals(2, manager.getHits());
+    assertEquals(1, manager.getRegionCount());
+    assertEquals(99, manager.availableQuota());
+
+    // a range spanning two regions cannot be mapped
+    assertNull(manager.getMappedBuffer(path, channel, REGION_SIZE - 100, 200));
+    // a range beyond the end of file cannot be mapped
+    assertNull(manager.getMappedBuffer(path, channel, data.length - 100, 200));
+  }
+
+  @Test
+  public void testLruEviction() throws Exception {
+    MappedBufferManager manager = new MappedBufferManager(2, REGION_SIZE);
+    assertNotNull(manager.getMappedBuffer(path, channel, 0, 100));
+    assertNotNull(manager.getMappedBuffer(path, channel, REGION_SIZE, 100));
+    // access region 0, so that region 1 is the least recently used
+    assertNotNull(manager.getMappedBuffer(path, channel, 0, 100));
+
+    // the quota of region 1 is released only after it is collected
+    assertNull(manager.getMappedBuffer(path, channel, 2 * REGION_SIZE, 100));
+    assertEquals(1, manager.getEvictions());
+    assertTrue(manager.shouldMap(path, 0, 100));
+    assertEquals(1, manager.getRegionCount());
+
+    GenericTestUtils.waitFor(() -> {
+      System.gc();
+      try {
+        return manager.getMappedBuffer(path, channel, 2 * REGION_SIZE, 100) != null;
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, 100, 10_000);
+    assertEquals(2, manager.getRegionCount());
+  }
+
   @Test
-  public void testComputeIfAbsent() {
-    MappedBufferManager manager = new MappedBufferManager(100);
-    String file = "/CID-fd49f4a7-670d-43c5-a177-8ac03aafceb2/current/containerDir0/2/chunks/113750153625600065.block";
-    long position = 0;
-    int size = 1024;
-    ByteBuffer buffer1 = ByteBuffer.allocate(size);
-    ByteBuffer buffer2 = ByteBuffer.allocate(size + 1);
-    ByteBuffer byteBuffer1 = manager.computeIfAbsent(file, position, size, () -> buffer1);
-    assertEquals(buffer1, byteBuffer1);
-    // buffer should be reused
-    String file2 = "/CID-fd49f4a7-670d-43c5-a177-8ac03aafceb2/current/containerDir0/2/chunks/113750153625600065.block";
-    ByteBuffer byteBuffer2 = manager.computeIfAbsent(file2, position, size, () -> buffer2);
-    assertEquals(buffer1, byteBuffer2);
+  public void testConcurrentReads() throws Exception {
+    final int capacity = 16;
+    MappedBufferManager manager = new MappedBufferManager(capacity, REGION_SIZE);
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      final boolean invalidating = t == 0;
+      futures.add(CompletableFuture.runAsync(() -> {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 2000; i++) {
+          // mostly the hot regions, sometimes the others
+          final int region = random.nextInt(4) > 0 ? random.nextInt(capacity / 2)
+              : random.nextInt(REGION_COUNT);
+          final long offset = (long) region * REGION_SIZE + random.nextInt(REGION_SIZE - 100);
+          try {
+            final ByteBuffer buffer = manager.getMappedBuffer(path, channel, offset, 100);
+            if (buffer != null) {
+              assertContent(offset, buffer);
+            }
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+          if (invalidating && i % 100 == 99) {
+            manager.invalidate(file);
+          }
+        }
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+    assertTrue(manager.getRegionCount() <= capacity);
+    assertTrue(manager.availableQuota() >= 0);
+    assertTrue(manager.getHits() > 0);
+  }
+
+  @Test
+  public void testAdaptiveAdmission() throws Exception {
+    MappedBufferManager manager = new MappedBufferManager(1, REGION_SIZE);
+    assertEquals(1, manager.getAdmissionThreshold());
+    assertTrue(manager.shouldMap(path, 0, 100));
+
+    // A scan evicts the regions without reusing them.
+    for (int i = 0; i < ADAPT_INTERVAL; i++) {
+      manager.getMappedBuffer(path, channel, (long) i * REGION_SIZE, 100);
+    }
+    assertEquals(2, manager.getAdmissionThreshold());
+
+    // A cold file is mapped only on its second read.
+    final String other = new File(dir, "other.block").getAbsolutePath();
+    assertFalse(manager.shouldMap(other, 0, 100));
+    assertTrue(manager.shouldMap(other, 0, 100));
+
+    // Once the quota is returned, a hot region lowers the threshold.
+    final long offset = (long) ADAPT_INTERVAL * REGION_SIZE;
+    GenericTestUtils.waitFor(() -> {
+      System.gc();
+      try {
+        return manager.getMappedBuffer(path, channel, offset, 100) != null;
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }, 100, 10_000);
+    for (int i = 0; i < ADAPT_INTERVAL; i++) {
+      assertContent(offset, manager.getMappedBuffer(path, channel, offset, 100));
+    }
+    assertEquals(1, manager.getAdmissionThreshold());
+  }
+
+  @Test
+  public void testInvalidate() throws IOException {
+    MappedBufferManager manager = new MappedBufferManager(100, REGION_SIZE);
+    assertNotNull(manager.getMappedBuffer(path, channel, 0, 100));
+    assertNotNull(manager.getMappedBuffer(path, channel, REGION_SIZE, 100));
+    assertEquals(2, manager.getRegionCount());
+
+    manager.invalidate(new File(dir, "other.block"));
+    assertEquals(2, manager.getRegionCount());
+    manager.invalidate(file);
+    assertEquals(0, manager.getRegionCount());
+
+    assertNotNull(manager.getMappedBuffer(path, channel, 0, 100));
+    manager.invalidateAll(dir);
+    assertEquals(0, manager.getRegionCount());
+  }
+
+  private void assertContent(long offset, ByteBuffer buffer) {
+    assertNotNull(buffer);
+    for (int i = 0; i < buffer.remaining(); i++) {
+      assertEquals(data[Math.toIntExact(offset + i)], buffer.get(buffer.position() + i));
+    }
   }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.UUID;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.common.volume.VolumeIOStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link ReadChannelCache}.
+ */
+public class TestReadChannelCache {
+
+  @TempDir
+  private File dir;
+
+  private VolumeIOStats stats;
+  private HddsVolume volume;
+
+  @BeforeEach
+  public void setUp() {
+    stats = new VolumeIOStats("TestReadChannelCache-" + UUID.randomUUID(),
+        dir.getPath(), new int[] {60});
+    volume = mock(HddsVolume.class);
+    when(volume.getVolumeIOStats()).thenReturn(stats);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    stats.unregister();
+  }
+
+  @Test
+  public void testHitAndMiss() throws IOException {
+    final File file = createFile(dir, "1.block", "data");
+    final ReadChannelCache cache = new ReadChannelCache(10);
+
+    final FileChannel first;
+    try (ReadChannelCache.CachedChannel cached = cache.acquire(file, volume)) {
+      first = cached.getChannel();
+      assertEquals("data", read(first));
+    }
+    try (ReadChannelCache.CachedChannel cached = cache.acquire(file, volume)) {
+      assertSame(first, cached.getChannel());
+      assertEquals("data", read(cached.getChannel()));
+    }
+    assertTrue(first.isOpen());
+    assertEquals(1, cache.size());
+    assertEquals(1, stats.getReadChannelCacheHits());
+    assertEquals(1, stats.getReadChannelCacheMisses());
+
+    cache.shutdown();
+    assertFalse(first.isOpen());
+  }
+
+  @Test
+  public void testInvalidateWhileInUse() throws IOException {
+    final File file = createFile(dir, "1.block", "data");
+    final ReadChannelCache cache = new ReadChannelCache(10);
+
+    final ReadChannelCache.CachedChannel inUse = cache.acquire(file, volume);
+    cache.invalidate(file);
+    assertEquals(0, cache.size());
+    // The reader can still use the channel until it is released.
+    assertTrue(inUse.getChannel().isOpen());
+    assertEquals("data", read(inUse.getChannel()));
+    inUse.close();
+    assertFalse(inUse.getChannel().isOpen());
+
+    // A new channel is opened after the invalidation.
+    try (ReadChannelCache.CachedChannel cached = cache.acquire(file, volume)) {
+      assertNotSame(inUse.getChannel(), cached.getChannel());
+    }
+    assertEquals(2, stats.getReadChannelCacheMisses());
+    cache.shutdown();
+  }
+
+  @Test
+  public void testInvalidateAll() throws IOException {
+    final File chunks1 = new File(dir, "1");
+    final File chunks11 = new File(dir, "11");
+    assertTrue(chunks1.mkdirs());
+    assertTrue(chunks11.mkdirs());
+    final ReadChannelCache cache = new ReadChannelCache(10);
+
+    final FileChannel a = acquireAndRelease(cache, createFile(chunks1, "a", "a"));
+    final FileChannel b = acquireAndRelease(cache, createFile(chunks1, "b", "b"));
+    final FileChannel c = acquireAndRelease(cache, createFile(chunks11, "c", "c"));
+    assertEquals(3, cache.size());
+
+    cache.invalidateAll(chunks1);
+    assertEquals(1, cache.size());
+    assertFalse(a.isOpen());
+    assertFalse(b.isOpen());
+    assertTrue(c.isOpen());
+    cache.shutdown();
+  }
+
+  @Test
+  public void testEviction() throws IOException {
+    final ReadChannelCache cache = new ReadChannelCache(1);
+    final FileChannel a = acquireAndRelease(cache, createFile(dir, "a", "a"));
+    final FileChannel b = acquireAndRelease(cache, createFile(dir, "b", "b"));
+
+    assertEquals(1, cache.size());
+    assertFalse(a.isOpen());
+    assertTrue(b.isOpen());
+    cache.shutdown();
+  }
+
+  private FileChannel acquireAndRelease(ReadChannelCache cache, File file)
+      throws IOException {
+    try (ReadChannelCache.CachedChannel cached = cache.acquire(file, volume)) {
+      return cached.getChannel();
+    }
+  }
+
+  private static File createFile(File parent, String name, String content)
+      throws IOException {
+    final File file = new File(parent, name);
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    return file;
+  }
+
+  private static String read(FileChannel channel) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+    channel.read(buffer, 0);
+    return new String(buffer.array(), UTF_8);
+  }
+}
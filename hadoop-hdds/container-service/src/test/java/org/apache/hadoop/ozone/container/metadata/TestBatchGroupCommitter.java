@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.metadata;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.BatchOperationHandler;
+import org.apache.hadoop.hdds.utils.db.RocksDatabaseException;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BatchGroupCommitter}.
+ */
+public class TestBatchGroupCommitter {
+  private final List<List<BatchOperation>> writes = new ArrayList<>();
+  private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+  private BatchOperationHandler handler;
+  private BatchGroupCommitMetrics metrics;
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    handler = mock(BatchOperationHandler.class);
+    doAnswer(invocation -> {
+      final List<BatchOperation> batches = invocation.getArgument(0);
+      synchronized (writes) {
+        writes.add(new ArrayList<>(batches));
+      }
+      firstWriteStarted.countDown();
+      releaseFirstWrite.await();
+      return null;
+    }).when(handler).commitBatchOperations(anyList());
+    metrics = BatchGroupCommitMetrics.create("test");
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+    metrics.unregister();
+  }
+
+  @Test
+  public void testCommitQueuedBatchesTogether() throws Exception {
+    final BatchGroupCommitter committer =
+        new BatchGroupCommitter(handler, 4, 0, metrics);
+
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    futures.add(commitAsync(committer));
+    firstWriteStarted.await();
+    // the batches queued while the first write is in progress
+    for (int i = 0; i < 6; i++) {
+      futures.add(commitAsync(committer));
+    }
+    GenericTestUtils.waitFor(() -> committer.getQueueSize() == 6, 10, 10_000);
+    releaseFirstWrite.countDown();
+    for (CompletableFuture<Void> f : futures) {
+      f.get(10, TimeUnit.SECONDS);
+    }
+
+    // the 6 queued batches are committed in the writes of at most 4 batches
+    assertEquals(3, writes.size());
+    assertEquals(1, writes.get(0).size());
+    assertEquals(4, writes.get(1).size());
+    assertEquals(2, writes.get(2).size());
+    assertEquals(3, metrics.getNumWrites());
+    assertEquals(7, metrics.getNumBatches());
+  }
+
+  @Test
+  public void testWriteFailure() throws Exception {
+    final RocksDatabaseException failure = new RocksDatabaseException("test");
+    doAnswer(invocation -> {
+      firstWriteStarted.countDown();
+      releaseFirstWrite.await();
+      throw failure;
+    }).when(handler).commitBatchOperations(anyList());
+    final BatchGroupCommitter committer =
+        new BatchGroupCommitter(handler, 4, 0, metrics);
+
+    final CompletableFuture<Void> first = commitAsync(committer);
+    firstWriteStarted.await();
+    final CompletableFuture<Void> second = commitAsync(committer);
+    GenericTestUtils.waitFor(() -> committer.getQueueSize() == 1, 10, 10_000);
+    releaseFirstWrite.countDown();
+
+    for (CompletableFuture<Void> f : Arrays.asList(first, second)) {
+      final ExecutionException e = assertThrows(ExecutionException.class,
+          () -> f.get(10, TimeUnit.SECONDS));
+      assertSame(failure, e.getCause().getCause());
+    }
+    assertEquals(2, metrics.getNumWrites());
+  }
+
+  private CompletableFuture<Void> commitAsync(BatchGroupCommitter committer) {
+    final BatchOperation batch = mock(BatchOperation.class);
+    return CompletableFuture.runAsync(() -> {
+      try {
+        committer.commit(batch);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }, executor);
+  }
+}
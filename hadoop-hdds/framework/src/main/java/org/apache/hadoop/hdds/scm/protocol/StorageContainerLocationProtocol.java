@@ -43,6 +43,7 @@
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerListResult;
+import org.apache.hadoop.hdds.scm.container.ContainerLocationChanges;
 import org.apache.hadoop.hdds.scm.container.ReplicationManagerReport;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
@@ -146,6 +147,19 @@ List<ContainerWithPipeline> getContainerWithPipelineBatch(
   List<ContainerWithPipeline> getExistContainerWithPipelinesInBatch(
       List<Long> containerIDs);
 
+  /**
+   * Ask SCM which containers changed their locations, i.e. the state,
+   * the pipeline or the replicas, so that the cached locations of the
+   * containers can be invalidated.
+   *
+   * @param sinceSequenceId the sequence id of the last change seen,
+   *                        or negative to get only the latest sequence id.
+   * @param maxCount the max number of changes to return.
+   * @return the changed containers after the given sequence id.
+   */
+  ContainerLocationChanges getContainerLocationChanges(long sinceSequenceId,
+      int maxCount) throws IOException;
+
   /**
    * Ask SCM a list of containers with a range of container names
    * and the limit of count.
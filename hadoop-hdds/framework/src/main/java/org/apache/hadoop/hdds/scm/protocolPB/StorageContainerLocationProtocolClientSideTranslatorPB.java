@@ -73,6 +73,8 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.ForceExitSafeModeResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerCountRequestProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerCountResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerLocationChangesRequestProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerLocationChangesResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerReplicasRequestProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerRequestProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerTokenRequestProto;
@@ -130,6 +132,7 @@
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerListResult;
+import org.apache.hadoop.hdds.scm.container.ContainerLocationChanges;
 import org.apache.hadoop.hdds.scm.container.ReplicationManagerReport;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
@@ -421,6 +424,23 @@ public List<ContainerWithPipeline> getExistContainerWithPipelinesInBatch(
     return cps;
   }
 
+  @Override
+  public ContainerLocationChanges getContainerLocationChanges(
+      long sinceSequenceId, int maxCount) throws IOException {
+    GetContainerLocationChangesRequestProto request =
+        GetContainerLocationChangesRequestProto.newBuilder()
+            .setSinceSequenceId(sinceSequenceId)
+            .setMaxCount(maxCount)
+            .build();
+    GetContainerLocationChangesResponseProto response =
+        submitRequest(Type.GetContainerLocationChanges,
+            builder -> builder.setGetContainerLocationChangesRequest(request))
+            .getGetContainerLocationChangesResponse();
+    return new ContainerLocationChanges(response.getLogId(),
+        response.getSequenceId(), response.getTruncated(),
+        response.getContainerIDsList());
+  }
+
   /**
    * {@inheritDoc}
    */
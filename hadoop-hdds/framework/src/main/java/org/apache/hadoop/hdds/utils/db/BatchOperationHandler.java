@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.hdds.utils.db;
 
+import java.util.List;
+
 /**
  * Create and commit batch operation for one DB.
  */
@@ -37,4 +39,18 @@ public interface BatchOperationHandler {
    * @param operation which contains all the required batch operation.
    */
   void commitBatchOperation(BatchOperation operation) throws RocksDatabaseException;
+
+  /**
+   * Commit the batch operations in the given order, where a later operation
+   * overwrites the same keys of an earlier operation.
+   * An implementation may commit all the operations in one write.
+   *
+   * @param operations the batch operations of this handler.
+   */
+  default void commitBatchOperations(List<? extends BatchOperation> operations)
+      throws RocksDatabaseException {
+    for (BatchOperation operation : operations) {
+      commitBatchOperation(operation);
+    }
+  }
 }
@@ -333,6 +333,8 @@ public DBStoreBuilder setMaxNumberOfOpenFiles(Integer maxNumberOfOpenFiles) {
    */
   private Set<TableConfig> makeTableConfigs() {
     Set<TableConfig> tableConfigs = new HashSet<>();
+    Set<String> epochRingCacheTables =
+        rocksDBConfiguration.getEpochRingCacheTables();
 
     // If default column family was not added, add it with the default options.
     ManagedColumnFamilyOptions usedCFOptions = getFromFileOrDefault(DEFAULT_COLUMN_FAMILY_NAME);
@@ -348,9 +350,11 @@ private Set<TableConfig> makeTableConfigs() {
         LOG.debug("using default column family options for table: {}", name);
         ManagedColumnFamilyOptions fromFileOrDefault = getFromFileOrDefault(name);
         fromFileOrDefault.setWriteBufferSize(rocksDbCfWriteBufferSize);
-        tableConfigs.add(new TableConfig(name, fromFileOrDefault));
+        tableConfigs.add(new TableConfig(name, fromFileOrDefault,
+            epochRingCacheTables.contains(name)));
       } else {
-        tableConfigs.add(new TableConfig(name, options));
+        tableConfigs.add(new TableConfig(name, options,
+            epochRingCacheTables.contains(name)));
       }
     }
 
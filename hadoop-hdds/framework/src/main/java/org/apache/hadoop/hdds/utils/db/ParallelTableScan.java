@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.hdds.StringUtils;
+import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+import org.apache.ratis.util.function.CheckedConsumer;
+import org.rocksdb.LiveFileMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scan a {@link RDBTable} in parallel, where the table is split into key
+ * ranges with similar sizes by the boundaries of its SST files.
+ * <p>
+ * Each range is scanned by a separated RocksDB iterator, so that both the
+ * reading and the processing of the entries, including the decoding in
+ * {@link TypedTable}, scale with the number of threads.
+ */
+final class ParallelTableScan {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelTableScan.class);
+
+  /** The number of ranges per thread, for balancing the threads. */
+  static final int RANGES_PER_THREAD = 4;
+
+  private static final Comparator<byte[]> COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  private ParallelTableScan() { }
+
+  /**
+   * Split the key space of a column family into at most the given number
+   * of ranges, where each range has a similar size of SST files.
+   * Note that the entries in the memtables are not counted.
+   *
+   * @return the sorted split keys, i.e. the start keys of the ranges except
+   *         the first range.  The first range starts from the beginning and
+   *         the last range ends at the end of the table.
+   */
+  static List<byte[]> getSplitKeys(List<LiveFileMetaData> sstFiles,
+      String columnFamily, int maxRanges) {
+    final List<LiveFileMetaData> files = new ArrayList<>();
+    long totalSize = 0;
+    for (LiveFileMetaData f : sstFiles) {
+      if (columnFamily.equals(StringUtils.bytes2String(f.columnFamilyName()))) {
+        files.add(f);
+        totalSize += f.size();
+      }
+    }
+    final List<byte[]> splitKeys = new ArrayList<>();
+    if (maxRanges <= 1 || files.size() <= 1) {
+      return splitKeys;
+    }
+    files.sort((a, b) -> COMPARATOR.compare(a.smallestKey(), b.smallestKey()));
+
+    final long rangeSize = Math.max(1, totalSize / maxRanges);
+    long size = 0;
+    for (LiveFileMetaData f : files) {
+      if (size >= rangeSize && splitKeys.size() < maxRanges - 1) {
+        final byte[] key = f.smallestKey();
+        if (splitKeys.isEmpty()
+            || COMPARATOR.compare(splitKeys.get(splitKeys.size() - 1), key) < 0) {
+          splitKeys.add(key);
+          size = 0;
+        }
+      }
+      size += f.size();
+    }
+    return splitKeys;
+  }
+
+  /**
+   * Scan the given table, see {@link Table#parallelScan}.
+   */
+  static void scan(RDBTable table, List<byte[]> splitKeys, IteratorType type,
+      int parallelism, CheckedConsumer<KeyValue<byte[], byte[]>, IOException> consumer)
+      throws IOException, InterruptedException {
+    // Read the keys for checking the range ends.
+    final IteratorType rangeType = type.readValue()
+        ? IteratorType.KEY_AND_VALUE : IteratorType.KEY_ONLY;
+    if (parallelism <= 1 || splitKeys.isEmpty()) {
+      scanRange(table, null, null, rangeType, consumer, new AtomicBoolean());
+      return;
+    }
+    LOG.debug("Scan {} by {} threads in {} ranges", table.getName(),
+        parallelism, splitKeys.size() + 1);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder()
+            .setNameFormat(table.getName() + "-Scan-%d")
+            .setDaemon(true)
+            .build());
+    final AtomicBoolean failed = new AtomicBoolean();
+    try {
+      final List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i <= splitKeys.size(); i++) {
+        final byte[] start = i == 0 ? null : splitKeys.get(i - 1);
+        final byte[] end = i == splitKeys.size() ? null : splitKeys.get(i);
+        futures.add(executor.submit(() -> {
+          try {
+            scanRange(table, start, end, rangeType, consumer, failed);
+          } catch (Throwable t) {
+            // stop the other ranges without waiting for the earlier futures
+            failed.set(true);
+            throw t;
+          }
+          return null;
+        }));
+      }
+      for (Future<Void> f : futures) {
+        try {
+          f.get();
+        } catch (ExecutionException e) {
+          failed.set(true);
+          final Throwable cause = e.getCause();
+          if (cause instanceof IOException) {
+            throw (IOException) cause;
+          } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw new IOException("Failed to scan " + table.getName(), cause);
+        }
+      }
+    } finally {
+      failed.set(true);
+      executor.shutdownNow();
+    }
+  }
+
+  /** Scan the range [start, end), where null means unbounded. */
+  private static void scanRange(RDBTable table, byte[] start, byte[] end,
+      IteratorType type, CheckedConsumer<KeyValue<byte[], byte[]>, IOException> consumer,
+      AtomicBoolean stopped) throws IOException {
+    try (Table.KeyValueIterator<byte[], byte[]> i = table.iterator((byte[]) null, type)) {
+      if (start != null) {
+        i.seek(start);
+      }
+      while (i.hasNext() && !stopped.get()) {
+        final KeyValue<byte[], byte[]> kv = i.next();
+        if (end != null && COMPARATOR.compare(kv.getKey(), end) >= 0) {
+          return;
+        }
+        consumer.accept(kv);
+      }
+    }
+  }
+}
@@ -22,7 +22,9 @@
 import com.google.common.base.Preconditions;
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -272,11 +274,11 @@ private class FamilyCache {
       }
 
       /** Prepare batch write for the entire family. */
-      void prepareBatchWrite() throws RocksDatabaseException {
+      void prepareBatchWrite(ManagedWriteBatch target) throws RocksDatabaseException {
         Preconditions.checkState(!isCommit, "%s is already committed.", this);
         isCommit = true;
         for (Op op : ops.values()) {
-          op.apply(family, writeBatch);
+          op.apply(family, target);
         }
         debug(this::summary);
       }
@@ -361,10 +363,10 @@ void delete(ColumnFamily family, CodecBuffer key) {
       name2cache.computeIfAbsent(family.getName(), k -> new FamilyCache(family)).delete(key);
     }
 
-    /** Prepare batch write for the entire cache. */
-    UncheckedAutoCloseable prepareBatchWrite() throws RocksDatabaseException {
+    /** Prepare batch write for the entire cache to the given target. */
+    UncheckedAutoCloseable prepareBatchWrite(ManagedWriteBatch target) throws RocksDatabaseException {
       for (Map.Entry<String, FamilyCache> e : name2cache.entrySet()) {
-        e.getValue().prepareBatchWrite();
+        e.getValue().prepareBatchWrite(target);
       }
       return this::clear;
     }
@@ -413,15 +415,38 @@ public String toString() {
   public void commit(RocksDatabase db) throws RocksDatabaseException {
     debug(() -> String.format("%s: commit %s",
         name, opCache.getCommitString()));
-    try (UncheckedAutoCloseable ignored = opCache.prepareBatchWrite()) {
+    try (UncheckedAutoCloseable ignored = opCache.prepareBatchWrite(writeBatch)) {
       db.batchWrite(writeBatch);
     }
   }
 
+  /**
+   * Commit the given batches in one write.  The batches are applied in the
+   * given order, i.e. a later batch overwrites the same keys of an earlier
+   * batch.  The batches are still required to be closed by the caller.
+   */
+  public static void commit(RocksDatabase db, List<RDBBatchOperation> batches) throws RocksDatabaseException {
+    if (batches.isEmpty()) {
+      return;
+    }
+    final ManagedWriteBatch target = batches.get(0).writeBatch;
+    final List<UncheckedAutoCloseable> prepared = new ArrayList<>(batches.size());
+    try {
+      for (RDBBatchOperation batch : batches) {
+        debug(() -> String.format("%s: group-commit %s",
+            batch.name, batch.opCache.getCommitString()));
+        prepared.add(batch.opCache.prepareBatchWrite(target));
+      }
+      db.batchWrite(target);
+    } finally {
+      prepared.forEach(UncheckedAutoCloseable::close);
+    }
+  }
+
   public void commit(RocksDatabase db, ManagedWriteOptions writeOptions) throws RocksDatabaseException {
     debug(() -> String.format("%s: commit-with-writeOptions %s",
         name, opCache.getCommitString()));
-    try (UncheckedAutoCloseable ignored = opCache.prepareBatchWrite()) {
+    try (UncheckedAutoCloseable ignored = opCache.prepareBatchWrite(writeBatch)) {
       db.batchWrite(writeBatch, writeOptions);
     }
   }
@@ -38,11 +38,14 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.RocksDBStoreMetrics;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase.ColumnFamily;
+import org.apache.hadoop.hdds.utils.db.cache.EpochRingTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedCompactRangeOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
@@ -78,6 +81,13 @@ public class RDBStore implements DBStore {
   private final ManagedDBOptions dbOptions;
   private final ManagedStatistics statistics;
   private final boolean readOnly;
+  /** Names of the tables using {@link TableConfig#isEpochRingCache()}. */
+  private final Set<String> epochRingCacheTables;
+  /**
+   * The cleanup executor shared by the {@link EpochRingTableCache}s of
+   * this DB, or null if there are no such tables.
+   */
+  private final ExecutorService epochRingCacheCleanupExecutor;
 
   @SuppressWarnings("parameternumber")
   RDBStore(File dbFile, ManagedDBOptions dbOptions, ManagedStatistics statistics,
@@ -94,6 +104,12 @@ public class RDBStore implements DBStore {
     Objects.requireNonNull(families, "families == null");
     Preconditions.checkArgument(!families.isEmpty());
     this.maxDbUpdatesSizeThreshold = maxDbUpdatesSizeThreshold;
+    this.epochRingCacheTables = families.stream()
+        .filter(TableConfig::isEpochRingCache)
+        .map(TableConfig::getName)
+        .collect(Collectors.toSet());
+    this.epochRingCacheCleanupExecutor = epochRingCacheTables.isEmpty() ? null
+        : EpochRingTableCache.newCleanupExecutor(dbFile.getName());
     dbLocation = dbFile;
     this.dbOptions = dbOptions;
     this.statistics = statistics;
@@ -246,6 +262,9 @@ public void close() {
     }
 
     RDBMetrics.unRegister();
+    if (epochRingCacheCleanupExecutor != null) {
+      epochRingCacheCleanupExecutor.shutdownNow();
+    }
     IOUtils.close(LOG, checkPointManager);
     if (rocksDBCheckpointDiffer != null) {
       RocksDBCheckpointDifferHolder
@@ -283,6 +302,16 @@ public void commitBatchOperation(BatchOperation operation)
     ((RDBBatchOperation) operation).commit(db);
   }
 
+  @Override
+  public void commitBatchOperations(List<? extends BatchOperation> operations)
+      throws RocksDatabaseException {
+    final List<RDBBatchOperation> batches = new ArrayList<>(operations.size());
+    for (BatchOperation operation : operations) {
+      batches.add((RDBBatchOperation) operation);
+    }
+    RDBBatchOperation.commit(db, batches);
+  }
+
   @Override
   public RDBTable getTable(String name) throws RocksDatabaseException {
     final ColumnFamily handle = db.getColumnFamily(name);
@@ -296,7 +325,8 @@ public RDBTable getTable(String name) throws RocksDatabaseException {
   public <K, V> TypedTable<K, V> getTable(
       String name, Codec<K> keyCodec, Codec<V> valueCodec, TableCache.CacheType cacheType)
       throws RocksDatabaseException, CodecException {
-    return new TypedTable<>(getTable(name), keyCodec, valueCodec, cacheType);
+    return new TypedTable<>(getTable(name), keyCodec, valueCodec, cacheType,
+        epochRingCacheTables.contains(name) ? epochRingCacheCleanupExecutor : null);
   }
 
   @Override
@@ -18,14 +18,17 @@
 package org.apache.hadoop.hdds.utils.db;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters.KeyPrefixFilter;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase.ColumnFamily;
 import org.apache.hadoop.util.Time;
+import org.apache.ratis.util.function.CheckedConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -233,6 +236,16 @@ public String getName() {
     return family.getName();
   }
 
+  @Override
+  public void parallelScan(IteratorType type, int parallelism,
+      CheckedConsumer<KeyValue<byte[], byte[]>, IOException> consumer)
+      throws IOException, InterruptedException {
+    final List<byte[]> splitKeys = parallelism <= 1 ? Collections.emptyList()
+        : ParallelTableScan.getSplitKeys(db.getLiveFilesMetaData(), getName(),
+            parallelism * ParallelTableScan.RANGES_PER_THREAD);
+    ParallelTableScan.scan(this, splitKeys, type, parallelism, consumer);
+  }
+
   @Override
   public long getEstimatedKeyCount() throws RocksDatabaseException {
     return db.estimateNumKeys(family);
@@ -19,11 +19,15 @@
 
 import static org.apache.hadoop.hdds.conf.ConfigTag.DATANODE;
 import static org.apache.hadoop.hdds.conf.ConfigTag.OM;
+import static org.apache.hadoop.hdds.conf.ConfigTag.PERFORMANCE;
 import static org.apache.hadoop.hdds.conf.ConfigTag.SCM;
 
+import java.util.HashSet;
+import java.util.Set;
 import org.apache.hadoop.hdds.conf.Config;
 import org.apache.hadoop.hdds.conf.ConfigGroup;
 import org.apache.hadoop.hdds.conf.ConfigType;
+import org.apache.hadoop.util.StringUtils;
 
 /**
  * Holds configuration items for OM RocksDB.
@@ -84,6 +88,17 @@ public class RocksDBConfiguration {
           + "Default 0 means no limit.")
   private long walSizeLimit = 0;
 
+  @Config(key = "hadoop.hdds.db.cache.epoch.ring.tables",
+      type = ConfigType.STRING,
+      defaultValue = "",
+      tags = {OM, SCM, DATANODE, PERFORMANCE},
+      description = "Comma separated list of table names which use the "
+          + "epoch ring table cache instead of the default full or partial "
+          + "table cache. The epoch ring cache tracks the entries to be "
+          + "cleaned up in primitive arrays, does not lock on reads and "
+          + "writes, and cleans up all the tables on a single thread per DB.")
+  private String epochRingCacheTables = "";
+
   public void setRocksdbLoggingEnabled(boolean enabled) {
     this.rocksdbLogEnabled = enabled;
   }
@@ -124,6 +139,14 @@ public long getWalSizeLimit() {
     return walSizeLimit;
   }
 
+  public void setEpochRingCacheTables(String tables) {
+    this.epochRingCacheTables = tables;
+  }
+
+  public Set<String> getEpochRingCacheTables() {
+    return new HashSet<>(StringUtils.getTrimmedStringCollection(epochRingCacheTables));
+  }
+
   public void setMaxLogFileSize(long fileSize) {
     rocksdbMaxLogFileSize = fileSize;
   }
@@ -18,6 +18,7 @@
 package org.apache.hadoop.hdds.utils.db;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,7 @@
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.ratis.util.function.CheckedConsumer;
 
 /**
  * Interface for key-value store that stores ozone metadata. Ozone metadata is
@@ -197,6 +199,30 @@ default TableIterator<KEY, VALUE> valueIterator() throws RocksDatabaseException,
     return valueIterator(null);
   }
 
+  /**
+   * Scan all the elements in this table by multiple threads.
+   * The table is split into key ranges, which are scanned concurrently,
+   * so the consumer must be thread-safe and the elements are not passed to
+   * it in the key order.
+   * <p>
+   * Same as {@link #iterator(Object, IteratorType)}, the table cache is not
+   * included.  This default implementation scans the table sequentially.
+   *
+   * @param type Specify whether key and/or value are required.
+   *             The key may be passed even if it is not required.
+   * @param parallelism The max number of threads.
+   * @param consumer The consumer of the elements.
+   */
+  default void parallelScan(IteratorType type, int parallelism,
+      CheckedConsumer<KeyValue<KEY, VALUE>, IOException> consumer)
+      throws IOException, InterruptedException {
+    try (KeyValueIterator<KEY, VALUE> i = iterator(null, type)) {
+      while (i.hasNext()) {
+        consumer.accept(i.next());
+      }
+    }
+  }
+
   /**
    * Returns the Name of this Table.
    * @return - Table Name.
@@ -257,6 +283,18 @@ default void cleanupCache(List<Long> epochs) {
     throw new NotImplementedException("cacheIterator is not implemented");
   }
 
+  /**
+   * Return cache iterator for the entries with the given prefix, from the
+   * given start key, in the key order.
+   *
+   * @param startKey the first key, or null to start from the prefix.
+   * @param prefix the prefix of the keys, or null for all the keys.
+   */
+  default Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>
+      cacheIterator(KEY startKey, KEY prefix) {
+    throw new NotImplementedException("cacheIterator is not implemented");
+  }
+
   /**
    * Create the metrics datasource that emits table cache metrics.
    */
@@ -32,6 +32,7 @@ public class TableConfig implements AutoCloseable {
 
   private final String name;
   private final ManagedColumnFamilyOptions columnFamilyOptions;
+  private final boolean epochRingCache;
 
   public static String toName(byte[] bytes) {
     return StringUtils.bytes2String(bytes);
@@ -44,8 +45,21 @@ public static String toName(byte[] bytes) {
    * @param columnFamilyOptions - Column Family options.
    */
   public TableConfig(String name, ManagedColumnFamilyOptions columnFamilyOptions) {
+    this(name, columnFamilyOptions, false);
+  }
+
+  /**
+   * Constructs a Table Config.
+   *
+   * @param name                - Name of the Table.
+   * @param columnFamilyOptions - Column Family options.
+   * @param epochRingCache      - Use EpochRingTableCache for the table cache.
+   */
+  public TableConfig(String name, ManagedColumnFamilyOptions columnFamilyOptions,
+      boolean epochRingCache) {
     this.name = name;
     this.columnFamilyOptions = columnFamilyOptions;
+    this.epochRingCache = epochRingCache;
   }
 
   static TableConfig newTableConfig(Path dbPath, String name) {
@@ -86,6 +100,15 @@ public ManagedColumnFamilyOptions getColumnFamilyOptions() {
     return columnFamilyOptions;
   }
 
+  /**
+   * Returns whether the table cache of this Table is an
+   * {@link org.apache.hadoop.hdds.utils.db.cache.EpochRingTableCache}.
+   * @return true if the epoch ring cache is used.
+   */
+  public boolean isEpochRingCache() {
+    return epochRingCache;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
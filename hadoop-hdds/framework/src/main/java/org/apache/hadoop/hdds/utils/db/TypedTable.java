@@ -23,18 +23,21 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters.KeyPrefixFilter;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.EpochRingTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
@@ -42,6 +45,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.TableNoCache;
 import org.apache.ratis.util.Preconditions;
 import org.apache.ratis.util.function.CheckedBiFunction;
+import org.apache.ratis.util.function.CheckedConsumer;
 
 /**
  * Strongly typed table implementation.
@@ -77,6 +81,21 @@
    */
   TypedTable(RDBTable rawTable, Codec<KEY> keyCodec, Codec<VALUE> valueCodec, CacheType cacheType)
       throws RocksDatabaseException, CodecException {
+    this(rawTable, keyCodec, valueCodec, cacheType, null);
+  }
+
+  /**
+   * Create an TypedTable from the raw table with specified cache type.
+   *
+   * @param rawTable The underlying (untyped) table in RocksDB.
+   * @param keyCodec The key codec.
+   * @param valueCodec The value codec.
+   * @param cacheType How to cache the entries?
+   * @param epochRingCleanupExecutor The cleanup executor to use
+   *     {@link EpochRingTableCache} for the cache, or null to use the others.
+   */
+  TypedTable(RDBTable rawTable, Codec<KEY> keyCodec, Codec<VALUE> valueCodec, CacheType cacheType,
+      Executor epochRingCleanupExecutor) throws RocksDatabaseException, CodecException {
     this.rawTable = Objects.requireNonNull(rawTable, "rawTable==null");
     this.keyCodec = Objects.requireNonNull(keyCodec, "keyCodec == null");
     this.valueCodec = Objects.requireNonNull(valueCodec, "valueCodec == null");
@@ -89,7 +108,9 @@
 
     final String threadNamePrefix = rawTable.getName() + "_";
     if (cacheType == CacheType.FULL_CACHE) {
-      cache = new FullTableCache<>(threadNamePrefix);
+      cache = epochRingCleanupExecutor != null
+          ? new EpochRingTableCache<>(cacheType, epochRingCleanupExecutor)
+          : new FullTableCache<>(threadNamePrefix);
       //fill cache
       try (KeyValueIterator<KEY, VALUE> tableIterator = iterator()) {
 
@@ -104,7 +125,9 @@
         }
       }
     } else if (cacheType == CacheType.PARTIAL_CACHE) {
-      cache = new PartialTableCache<>(threadNamePrefix);
+      cache = epochRingCleanupExecutor != null
+          ? new EpochRingTableCache<>(cacheType, epochRingCleanupExecutor)
+          : new PartialTableCache<>(threadNamePrefix);
     } else {
       cache = TableNoCache.instance();
     }
@@ -413,6 +436,19 @@ public String getName() {
     return rawTable.getName();
   }
 
+  @Override
+  public void parallelScan(IteratorType type, int parallelism,
+      CheckedConsumer<KeyValue<KEY, VALUE>, IOException> consumer)
+      throws IOException, InterruptedException {
+    // Decode in the scanning threads.
+    rawTable.parallelScan(type, parallelism, raw -> {
+      final KEY key = type.readKey() ? decodeKey(raw.getKey()) : null;
+      final byte[] valueBytes = raw.getValue();
+      consumer.accept(valueBytes == null ? Table.newKeyValue(key, null)
+          : Table.newKeyValue(key, decodeValue(valueBytes), valueBytes.length));
+    });
+  }
+
   @Override
   public String toString() {
     return info;
@@ -443,6 +479,12 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator() {
     return cache.iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator(
+      KEY startKey, KEY prefix) {
+    return cache.iterator(startKey, prefix);
+  }
+
   @Override
   public TableCacheMetrics createCacheMetrics() {
     return TableCacheMetrics.create(cache, getName());
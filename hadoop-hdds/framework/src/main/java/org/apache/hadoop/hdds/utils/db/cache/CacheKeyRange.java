@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+
+/**
+ * A range of the cache keys, from a start key until the end of a prefix,
+ * in the {@link CacheKey} order.
+ * <p>
+ * Since {@link CacheKey} compares the string forms of the keys, the prefix
+ * is also matched against the string forms of the keys.
+ * @param <KEY>
+ */
+final class CacheKeyRange<KEY> {
+  /** The first key of the range, null to start from the first key. */
+  private final CacheKey<KEY> fromKey;
+  /** The prefix of the keys in the range, null for no prefix. */
+  private final String prefix;
+
+  /**
+   * @param startKey the first key, or null to start from the prefix.
+   * @param prefix the prefix of the keys, or null for all the keys.
+   */
+  CacheKeyRange(KEY startKey, KEY prefix) {
+    this.prefix = prefix == null ? null : prefix.toString();
+    if (startKey == null) {
+      this.fromKey = prefix == null ? null : new CacheKey<>(prefix);
+    } else if (prefix == null
+        || startKey.toString().compareTo(this.prefix) >= 0) {
+      this.fromKey = new CacheKey<>(startKey);
+    } else {
+      this.fromKey = new CacheKey<>(prefix);
+    }
+  }
+
+  private boolean hasPrefix(CacheKey<KEY> key) {
+    return prefix == null || key.getCacheKey().toString().startsWith(prefix);
+  }
+
+  /**
+   * @return an iterator for the entries of the given sorted map in this
+   * range, which seeks to the first key and stops at the end of the prefix.
+   */
+  <VALUE> Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      NavigableMap<CacheKey<KEY>, CacheValue<VALUE>> map) {
+    final Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> tail =
+        (fromKey == null ? map : map.tailMap(fromKey, true))
+            .entrySet().iterator();
+    return new AbstractIterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>() {
+      @Override
+      protected Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> computeNext() {
+        if (tail.hasNext()) {
+          final Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> e = tail.next();
+          if (hasPrefix(e.getKey())) {
+            return e;
+          }
+        }
+        return endOfData();
+      }
+    };
+  }
+
+  /**
+   * @return an iterator for the entries of the given map with the keys of
+   * the given sorted index in this range.  The keys in the index without
+   * an entry in the map are skipped.
+   */
+  <VALUE> Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      NavigableSet<CacheKey<KEY>> index,
+      Map<CacheKey<KEY>, CacheValue<VALUE>> map) {
+    final Iterator<CacheKey<KEY>> tail =
+        (fromKey == null ? index : index.tailSet(fromKey, true)).iterator();
+    return new AbstractIterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>() {
+      @Override
+      protected Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> computeNext() {
+        while (tail.hasNext()) {
+          final CacheKey<KEY> key = tail.next();
+          if (!hasPrefix(key)) {
+            break;
+          }
+          final CacheValue<VALUE> value = map.get(key);
+          if (value != null) {
+            return new AbstractMap.SimpleImmutableEntry<>(key, value);
+          }
+        }
+        return endOfData();
+      }
+    };
+  }
+}
@@ -0,0 +1,547 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
+import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache implementation for the table which tracks the epochs to be cleaned
+ * up in a compact ring of primitive arrays instead of a map of sets.
+ * <p>
+ * It supports both {@link CacheType#FULL_CACHE} and
+ * {@link CacheType#PARTIAL_CACHE} with the same semantics as
+ * {@link FullTableCache} and {@link PartialTableCache}:
+ * <ul>
+ *   <li>Full cache only tracks the deleted entries, and evicts them once any
+ *   epoch greater than or equal to theirs is cleaned up.</li>
+ *   <li>Partial cache tracks all the entries, and evicts them only when their
+ *   own epoch is cleaned up.</li>
+ * </ul>
+ * Reads and writes do not take any lock on the cache.  The writers append
+ * the epochs to a lock-free queue, which is drained in order into the ring
+ * by the cleanup only.  An entry is evicted only if it still has the evicted
+ * value, so a newer value put for the same key concurrently with the cleanup
+ * is never removed.
+ * <p>
+ * Cleanup runs on the given executor, which can be shared by all the tables
+ * of a DB instead of a thread per table; see {@link #newCleanupExecutor}.
+ * @param <KEY>
+ * @param <VALUE>
+ */
+@Private
+@Evolving
+public class EpochRingTableCache<KEY, VALUE> implements TableCache<KEY, VALUE> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(EpochRingTableCache.class);
+
+  private final CacheType cacheType;
+  private final Executor cleanupExecutor;
+  private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  /**
+   * The keys of the partial cache in order, for the range iterators;
+   * null for the full cache, which is sorted itself.
+   */
+  private final NavigableSet<CacheKey<KEY>> sortedKeys;
+  /** Appended by the writers and drained by the cleanup. */
+  private final EpochQueue<CacheKey<KEY>> epochQueue = new EpochQueue<>();
+  /** Accessed only by the cleanup, which is synchronized by the cache. */
+  private final EpochRing<CacheKey<KEY>> epochRing = new EpochRing<>();
+  private final Queue<List<Long>> epochCleanupQueue =
+      new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean cleanupScheduled = new AtomicBoolean();
+  private final CacheStatsRecorder statsRecorder = new CacheStatsRecorder();
+
+  /**
+   * @param cacheType either {@link CacheType#FULL_CACHE}
+   *                  or {@link CacheType#PARTIAL_CACHE}.
+   * @param cleanupExecutor to run the cleanup.  It is owned by the caller,
+   *                        which shuts it down once the cache is not used.
+   */
+  public EpochRingTableCache(CacheType cacheType, Executor cleanupExecutor) {
+    Preconditions.checkArgument(cacheType == CacheType.FULL_CACHE
+        || cacheType == CacheType.PARTIAL_CACHE,
+        "Unsupported cache type %s", cacheType);
+    this.cacheType = cacheType;
+    this.cleanupExecutor = Objects.requireNonNull(cleanupExecutor,
+        "cleanupExecutor == null");
+    // Same as FullTableCache and PartialTableCache, full cache entries are
+    // kept sorted, while partial cache entries are hashed for the lookups
+    // and their keys are sorted in a separate index for the list operations.
+    this.cache = isFullCache() ? new ConcurrentSkipListMap<>()
+        : new ConcurrentHashMap<>();
+    this.sortedKeys = isFullCache() ? null : new ConcurrentSkipListSet<>();
+  }
+
+  /**
+   * @return a new single thread executor for the cleanup of the caches.
+   */
+  public static ExecutorService newCleanupExecutor(String name) {
+    return Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat(name + "-EpochRingTableCache-Cleanup-%d")
+        .build());
+  }
+
+  private boolean isFullCache() {
+    return cacheType == CacheType.FULL_CACHE;
+  }
+
+  @Override
+  public CacheValue<VALUE> get(CacheKey<KEY> cachekey) {
+    CacheValue<VALUE> value = cache.get(cachekey);
+    statsRecorder.recordValue(value);
+    return value;
+  }
+
+  @Override
+  public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
+    // Only full cache is loaded on startup, and no entry has to be tracked
+    // until it is deleted.
+    if (isFullCache()) {
+      cache.put(key, value);
+    }
+  }
+
+  @Override
+  public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    if (sortedKeys == null) {
+      cache.put(cacheKey, value);
+    } else {
+      // Update the index within the map operation on the key,
+      // so that it is consistent with the eviction.
+      cache.compute(cacheKey, (k, v) -> {
+        sortedKeys.add(k);
+        return value;
+      });
+    }
+    // Full cache needs to track only the deleted entries for cleanup.
+    if (!isFullCache() || value.getCacheValue() == null) {
+      epochQueue.add(value.getEpoch(), cacheKey);
+    }
+  }
+
+  @Override
+  public void cleanup(List<Long> epochs) {
+    if (epochs.isEmpty()) {
+      return;
+    }
+    epochCleanupQueue.add(epochs);
+    if (cleanupScheduled.compareAndSet(false, true)) {
+      try {
+        cleanupExecutor.execute(this::cleanupTask);
+      } catch (RejectedExecutionException e) {
+        // The executor is shut down, i.e. the DB is closed.
+        cleanupScheduled.set(false);
+        LOG.debug("Skipped cleanup of epochs {}", epochs, e);
+      }
+    }
+  }
+
+  private void cleanupTask() {
+    // Reset before draining, so that epochs added meanwhile reschedule.
+    cleanupScheduled.set(false);
+    final List<Long> epochs = new ArrayList<>();
+    for (List<Long> polled; (polled = epochCleanupQueue.poll()) != null;) {
+      epochs.addAll(polled);
+    }
+    if (!epochs.isEmpty()) {
+      evictCache(epochs);
+    }
+  }
+
+  @Override
+  public int size() {
+    return cache.size();
+  }
+
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
+    statsRecorder.recordIteration();
+    return cache.entrySet().iterator();
+  }
+
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey, KEY prefix) {
+    statsRecorder.recordIteration();
+    final CacheKeyRange<KEY> range = new CacheKeyRange<>(startKey, prefix);
+    return sortedKeys == null
+        ? range.iterator((NavigableMap<CacheKey<KEY>, CacheValue<VALUE>>) cache)
+        : range.iterator(sortedKeys, cache);
+  }
+
+  @VisibleForTesting
+  @Override
+  public void evictCache(List<Long> epochs) {
+    final long[] array = new long[epochs.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = epochs.get(i);
+    }
+    evict(array);
+  }
+
+  private synchronized void evict(long[] epochs) {
+    if (epochs.length == 0) {
+      return;
+    }
+    Arrays.sort(epochs);
+    final long lastEpoch = epochs[epochs.length - 1];
+    epochQueue.drain(epochRing::add);
+
+    // The ring is in epoch order, so polling stops at the first later entry.
+    // Full cache evicts everything up to the last epoch.  Partial cache
+    // evicts only the given epochs, and the remaining polled entries are
+    // added back in front of the ring.
+    final int polled = epochRing.poll(lastEpoch);
+    int retained = 0;
+    for (int i = 0; i < polled; i++) {
+      final long epoch = epochRing.getPolledEpoch(i);
+      final CacheKey<KEY> cacheKey = epochRing.getPolledKey(i);
+      if (!isFullCache() && Arrays.binarySearch(epochs, epoch) < 0) {
+        epochRing.setPolled(retained++, epoch, cacheKey);
+        continue;
+      }
+
+      final CacheValue<VALUE> value = cache.get(cacheKey);
+      // If cache epoch entry matches with current Epoch, remove entry
+      // from cache.
+      if (value != null && value.getEpoch() == epoch
+          && (!isFullCache() || value.getCacheValue() == null)
+          && remove(cacheKey, value)) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("CacheKey {} with epoch {} is removed from cache",
+              cacheKey.getCacheKey(), epoch);
+        }
+      }
+    }
+    epochRing.addPolled(retained, polled);
+  }
+
+  /** Remove the entry of the key only if it still has the given value. */
+  private boolean remove(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    if (sortedKeys == null) {
+      return cache.remove(cacheKey, value);
+    }
+    final boolean[] removed = {false};
+    cache.computeIfPresent(cacheKey, (k, v) -> {
+      if (!v.equals(value)) {
+        return v;
+      }
+      sortedKeys.remove(k);
+      removed[0] = true;
+      return null;
+    });
+    return removed[0];
+  }
+
+  @Override
+  public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
+    CacheValue<VALUE> cachevalue = cache.get(cachekey);
+    statsRecorder.recordValue(cachevalue);
+    if (cachevalue == null) {
+      return isFullCache()
+          ? new CacheResult<>(CacheResult.CacheStatus.NOT_EXIST, null)
+          : (CacheResult<VALUE>) MAY_EXIST;
+    } else if (cachevalue.getCacheValue() != null) {
+      return new CacheResult<>(CacheResult.CacheStatus.EXISTS, cachevalue);
+    } else {
+      // When entity is marked for delete, cacheValue will be set to null.
+      return new CacheResult<>(CacheResult.CacheStatus.NOT_EXIST, null);
+    }
+  }
+
+  /**
+   * @return a snapshot of the tracked epochs; unlike the other caches,
+   * the returned map is not backed by the cache.
+   */
+  @VisibleForTesting
+  @Override
+  public synchronized NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
+    epochQueue.drain(epochRing::add);
+    final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries = new TreeMap<>();
+    epochRing.forEach((epoch, key) ->
+        epochEntries.computeIfAbsent(epoch, e -> new HashSet<>()).add(key));
+    return epochEntries;
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return statsRecorder.snapshot();
+  }
+
+  @Override
+  public CacheType getCacheType() {
+    return cacheType;
+  }
+
+  /**
+   * Callback for {@link EpochQueue#drain} and {@link EpochRing#forEach}.
+   */
+  @FunctionalInterface
+  private interface EpochConsumer<K> {
+    void accept(long epoch, K key);
+  }
+
+  /**
+   * A lock-free multi-producer single-consumer queue of (epoch, key) pairs,
+   * stored in a linked list of fixed size segments of parallel arrays.
+   * <p>
+   * A writer reserves a slot of the tail segment by incrementing its counter,
+   * and publishes the entry by setting the key after the epoch.  A writer
+   * which overruns the segment links a new one with a CAS.  The single
+   * consumer drains the entries up to the first slot which is not published
+   * yet, and continues from there on the next drain.
+   */
+  private static final class EpochQueue<K> {
+    private static final int SEGMENT_SIZE = 256;
+
+    private static final class Segment {
+      private final long[] epochs = new long[SEGMENT_SIZE];
+      private final AtomicReferenceArray<Object> keys =
+          new AtomicReferenceArray<>(SEGMENT_SIZE);
+      /** Number of reserved slots, which may exceed the segment size. */
+      private final AtomicInteger reserved = new AtomicInteger();
+      private final AtomicReference<Segment> next = new AtomicReference<>();
+    }
+
+    private final AtomicReference<Segment> tail;
+    /** Accessed only by the consumer. */
+    private Segment head;
+    private int headIndex;
+
+    EpochQueue() {
+      head = new Segment();
+      tail = new AtomicReference<>(head);
+    }
+
+    void add(long epoch, K key) {
+      for (;;) {
+        final Segment t = tail.get();
+        final int i = t.reserved.getAndIncrement();
+        if (i < SEGMENT_SIZE) {
+          t.epochs[i] = epoch;
+          // The volatile write publishes the epoch written above.
+          t.keys.set(i, key);
+          return;
+        }
+        // The segment is full: link a new one, or help the writer which did.
+        Segment n = t.next.get();
+        if (n == null) {
+          final Segment s = new Segment();
+          n = t.next.compareAndSet(null, s) ? s : t.next.get();
+        }
+        tail.compareAndSet(t, n);
+      }
+    }
+
+    /** Passes the published entries to the consumer in the queue order. */
+    @SuppressWarnings("unchecked")
+    void drain(EpochConsumer<K> consumer) {
+      for (;;) {
+        for (; headIndex < SEGMENT_SIZE; headIndex++) {
+          final Object key = head.keys.get(headIndex);
+          if (key == null) {
+            // Not reserved or not published yet.
+            return;
+          }
+          consumer.accept(head.epochs[headIndex], (K) key);
+        }
+        final Segment n = head.next.get();
+        if (n == null) {
+          return;
+        }
+        head = n;
+        headIndex = 0;
+      }
+    }
+  }
+
+  /**
+   * A growable ring buffer of (epoch, key) pairs stored in parallel arrays,
+   * sorted by the epochs.
+   * <p>
+   * Entries are inserted from the tail as they are drained from the
+   * {@link EpochQueue}, and polled from the head into a separate polled
+   * buffer.  It is accessed only by the cleanup, which is synchronized by
+   * the cache, so that it does not take any lock itself.
+   */
+  private static final class EpochRing<K> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] epochs = new long[INITIAL_CAPACITY];
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    /** Index of the first entry. */
+    private int head;
+    /** Number of entries. */
+    private int size;
+
+    private long[] polledEpochs = new long[INITIAL_CAPACITY];
+    private Object[] polledKeys = new Object[INITIAL_CAPACITY];
+
+    void add(long epoch, K key) {
+      if (size == epochs.length) {
+        resize(epochs.length << 1);
+      }
+      // The epochs are added almost in order, so that only a few entries,
+      // if any, are shifted to keep the order.
+      final int mask = epochs.length - 1;
+      int i = size;
+      for (; i > 0; i--) {
+        final int prev = (head + i - 1) & mask;
+        if (epochs[prev] <= epoch) {
+          break;
+        }
+        final int index = (head + i) & mask;
+        epochs[index] = epochs[prev];
+        keys[index] = keys[prev];
+      }
+      final int index = (head + i) & mask;
+      epochs[index] = epoch;
+      keys[index] = key;
+      size++;
+    }
+
+    /**
+     * Moves the entries from the head up to the first entry with an epoch
+     * greater than the given epoch to the polled buffer.
+     * @return the number of polled entries.
+     */
+    int poll(long maxEpoch) {
+      final int mask = epochs.length - 1;
+      int count = 0;
+      while (count < size && epochs[(head + count) & mask] <= maxEpoch) {
+        count++;
+      }
+      if (polledEpochs.length < count) {
+        final int capacity = Integer.highestOneBit(count - 1) << 1;
+        polledEpochs = new long[capacity];
+        polledKeys = new Object[capacity];
+      }
+      final int firstPart = Math.min(count, epochs.length - head);
+      copyOut(head, 0, firstPart);
+      copyOut(0, firstPart, count - firstPart);
+      head = (head + count) & mask;
+      size -= count;
+
+      // Shrink back after a burst of entries.
+      if (epochs.length > INITIAL_CAPACITY && size < epochs.length >>> 2) {
+        resize(Math.max(INITIAL_CAPACITY, epochs.length >>> 1));
+      }
+      return count;
+    }
+
+    private void copyOut(int from, int to, int length) {
+      System.arraycopy(epochs, from, polledEpochs, to, length);
+      System.arraycopy(keys, from, polledKeys, to, length);
+      Arrays.fill(keys, from, from + length, null);
+    }
+
+    long getPolledEpoch(int i) {
+      return polledEpochs[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    K getPolledKey(int i) {
+      return (K) polledKeys[i];
+    }
+
+    void setPolled(int i, long epoch, K key) {
+      polledEpochs[i] = epoch;
+      polledKeys[i] = key;
+    }
+
+    /**
+     * Adds back the first polled entries in front of the ring
+     * and clears the polled buffer.  Nothing is added in between,
+     * so the polled entries are still before the remaining ones.
+     */
+    void addPolled(int count, int polled) {
+      if (count > 0) {
+        if (size + count > epochs.length) {
+          resize(Integer.highestOneBit(size + count - 1) << 1);
+        }
+        head = (head - count) & (epochs.length - 1);
+        final int firstPart = Math.min(count, epochs.length - head);
+        System.arraycopy(polledEpochs, 0, epochs, head, firstPart);
+        System.arraycopy(polledKeys, 0, keys, head, firstPart);
+        System.arraycopy(polledEpochs, firstPart, epochs, 0, count - firstPart);
+        System.arraycopy(polledKeys, firstPart, keys, 0, count - firstPart);
+        size += count;
+      }
+      Arrays.fill(polledKeys, 0, polled, null);
+      if (polledEpochs.length > INITIAL_CAPACITY
+          && polled < polledEpochs.length >>> 2) {
+        polledEpochs = new long[INITIAL_CAPACITY];
+        polledKeys = new Object[INITIAL_CAPACITY];
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(EpochConsumer<K> consumer) {
+      final int mask = epochs.length - 1;
+      for (int i = 0; i < size; i++) {
+        final int index = (head + i) & mask;
+        consumer.accept(epochs[index], (K) keys[index]);
+      }
+    }
+
+    private void resize(int capacity) {
+      final long[] newEpochs = new long[capacity];
+      final Object[] newKeys = new Object[capacity];
+      final int firstPart = Math.min(size, epochs.length - head);
+      System.arraycopy(epochs, head, newEpochs, 0, firstPart);
+      System.arraycopy(keys, head, newKeys, 0, firstPart);
+      System.arraycopy(epochs, 0, newEpochs, firstPart, size - firstPart);
+      System.arraycopy(keys, 0, newKeys, firstPart, size - firstPart);
+      epochs = newEpochs;
+      keys = newKeys;
+      head = 0;
+    }
+  }
+}
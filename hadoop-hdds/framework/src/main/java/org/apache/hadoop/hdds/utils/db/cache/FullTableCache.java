@@ -53,7 +53,7 @@
   private static final Logger LOG =
       LoggerFactory.getLogger(FullTableCache.class);
 
-  private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  private final NavigableMap<CacheKey<KEY>, CacheValue<VALUE>> cache;
   private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
   private final ScheduledExecutorService executorService;
   private final Queue<Long> epochCleanupQueue = new ConcurrentLinkedQueue<>();
@@ -150,6 +150,13 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey, KEY prefix) {
+    statsRecorder.recordIteration();
+    return new CacheKeyRange<KEY>(startKey, prefix).iterator(cache);
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
@@ -24,9 +24,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -50,6 +52,8 @@
       LoggerFactory.getLogger(PartialTableCache.class);
 
   private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  /** The keys of the cache in order, for the range iterators. */
+  private final NavigableSet<CacheKey<KEY>> sortedKeys;
   private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
   private final ExecutorService executorService;
   private final CacheStatsRecorder statsRecorder;
@@ -69,6 +73,11 @@ public PartialTableCache(String threadNamePrefix) {
     // 2. During cleanup which removes entry, while request is updating cache
     // that should be guarded by concurrentHashMap guaranty.
     cache = new ConcurrentHashMap<>();
+    // The keys are also kept sorted, so that a list operation iterates only
+    // the entries in its range instead of all the entries.  The index is
+    // updated within the map operations on the same key, so that it is
+    // consistent with the cache.
+    sortedKeys = new ConcurrentSkipListSet<>();
 
     epochEntries = new ConcurrentSkipListMap<>();
     // Created a singleThreadExecutor, so one cleanup will be running at a
@@ -96,7 +105,10 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
 
   @Override
   public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
-    cache.put(cacheKey, value);
+    cache.compute(cacheKey, (k, v) -> {
+      sortedKeys.add(k);
+      return value;
+    });
     epochEntries.computeIfAbsent(value.getEpoch(), v -> new HashSet<>())
             .add(cacheKey);
   }
@@ -117,6 +129,13 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey, KEY prefix) {
+    statsRecorder.recordIteration();
+    return new CacheKeyRange<KEY>(startKey, prefix).iterator(sortedKeys, cache);
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
@@ -143,6 +162,7 @@ public void evictCache(List<Long> epochs) {
                 LOG.debug("CacheKey {} with epoch {} is removed from cache",
                         k.getCacheKey(), currentEpoch);
               }
+              sortedKeys.remove(k);
               return null;
             }
             return v;
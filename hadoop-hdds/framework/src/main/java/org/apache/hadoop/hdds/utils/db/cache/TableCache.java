@@ -78,6 +78,20 @@
    */
   Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator();
 
+  /**
+   * Return an iterator for the cache entries with the given prefix, from
+   * the given start key, in the {@link CacheKey} order.  Unlike filtering
+   * {@link #iterator()}, it seeks to the first key and stops at the end of
+   * the prefix.
+   *
+   * @param startKey the first key to return, or null to start from the
+   *                 prefix.
+   * @param prefix the prefix of the keys to return, or null for all the keys.
+   * @return iterator of the cache entries in the range.
+   */
+  Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey, KEY prefix);
+
   /**
    * Check key exist in cache or not.
    *
@@ -73,6 +73,12 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return Collections.emptyIterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey, KEY prefix) {
+    return Collections.emptyIterator();
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
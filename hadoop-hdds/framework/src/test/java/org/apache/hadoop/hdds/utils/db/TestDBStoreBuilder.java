@@ -19,6 +19,7 @@
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -33,6 +34,9 @@
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.cache.EpochRingTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -128,6 +132,28 @@ public void builderWithDataWrites(@TempDir Path tempDir) throws Exception {
     }
   }
 
+  @Test
+  public void builderWithEpochRingCacheTables(@TempDir Path tempDir)
+      throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set("hadoop.hdds.db.cache.epoch.ring.tables", "First");
+    try (RDBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Test.db")
+        .setPath(tempDir)
+        .addTable("First")
+        .addTable("Second")
+        .build()) {
+      final TypedTable<String, String> firstTable = dbStore.getTable("First",
+          StringCodec.get(), StringCodec.get(), CacheType.FULL_CACHE);
+      assertInstanceOf(EpochRingTableCache.class, firstTable.getCache());
+      assertEquals(CacheType.FULL_CACHE, firstTable.getCache().getCacheType());
+
+      final TypedTable<String, String> secondTable = dbStore.getTable("Second",
+          StringCodec.get(), StringCodec.get(), CacheType.PARTIAL_CACHE);
+      assertInstanceOf(PartialTableCache.class, secondTable.getCache());
+    }
+  }
+
   @Test
   public void builderWithDiskProfileWrites(@TempDir Path tempDir)
       throws Exception {
@@ -23,6 +23,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -179,6 +180,34 @@ public void closeUnderlyingDB() throws Exception {
     assertTrue(rdbStore.isClosed());
   }
 
+  @Test
+  public void commitBatchOperations() throws Exception {
+    final Table<byte[], byte[]> first = rdbStore.getTable("First");
+    final Table<byte[], byte[]> second = rdbStore.getTable("Second");
+    final byte[] key1 = "key1".getBytes(StandardCharsets.UTF_8);
+    final byte[] key2 = "key2".getBytes(StandardCharsets.UTF_8);
+    final byte[] value1 = "value1".getBytes(StandardCharsets.UTF_8);
+    final byte[] value2 = "value2".getBytes(StandardCharsets.UTF_8);
+    first.put(key2, value1);
+
+    try (BatchOperation batch1 = rdbStore.initBatchOperation();
+         BatchOperation batch2 = rdbStore.initBatchOperation();
+         BatchOperation batch3 = rdbStore.initBatchOperation()) {
+      first.putWithBatch(batch1, key1, value1);
+      second.putWithBatch(batch1, key1, value1);
+      second.putWithBatch(batch2, key1, value2);
+      first.deleteWithBatch(batch2, key2);
+      second.putWithBatch(batch3, key2, value2);
+      rdbStore.commitBatchOperations(Arrays.asList(batch1, batch2, batch3));
+    }
+
+    assertArrayEquals(value1, first.get(key1));
+    assertNull(first.get(key2));
+    // the later batch overwrites the earlier batch
+    assertArrayEquals(value2, second.get(key1));
+    assertArrayEquals(value2, second.get(key2));
+  }
+
   @Test
   public void getEstimatedKeyCount() throws Exception {
     assertNotNull(rdbStore, "DB Store cannot be null");
@@ -39,12 +39,18 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters.KeyPrefixFilter;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
+import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -756,6 +762,78 @@ private List<Map<String, String>> generateKVs(List<String> prefixes,
     return data;
   }
 
+  @Test
+  public void testParallelScan() throws Exception {
+    final RDBTable rawTable = rdbStore.getTable("Fourth");
+    final Map<String, String> expected = new HashMap<>();
+    // 3 SST files, less than the default L0 compaction trigger,
+    // and some entries in the memtable.
+    for (int f = 0; f < 4; f++) {
+      for (int i = 0; i < 1000; i++) {
+        final String key = String.format("key-%d-%04d", f, i);
+        expected.put(key, "value-" + key);
+        rawTable.put(key.getBytes(StandardCharsets.UTF_8),
+            expected.get(key).getBytes(StandardCharsets.UTF_8));
+      }
+      if (f < 3) {
+        rdbStore.flushDB();
+      }
+    }
+    final List<byte[]> splitKeys = ParallelTableScan.getSplitKeys(
+        rdbStore.getDb().getLiveFilesMetaData(), "Fourth", 8);
+    assertEquals(2, splitKeys.size());
+
+    final TypedTable<String, String> table = rdbStore.getTable("Fourth",
+        StringCodec.get(), StringCodec.get(), CacheType.NO_CACHE);
+    for (int parallelism : new int[] {1, 4}) {
+      final Map<String, String> scanned = new ConcurrentHashMap<>();
+      table.parallelScan(IteratorType.KEY_AND_VALUE, parallelism,
+          kv -> assertNull(scanned.put(kv.getKey(), kv.getValue())));
+      assertEquals(expected, scanned);
+    }
+
+    final Set<String> keys = ConcurrentHashMap.newKeySet();
+    table.parallelScan(IteratorType.KEY_ONLY, 4, kv -> {
+      assertNull(kv.getValue());
+      assertTrue(keys.add(kv.getKey()));
+    });
+    assertEquals(expected.keySet(), keys);
+
+    // the failure of a range fails the scan
+    final IOException e = assertThrows(IOException.class,
+        () -> table.parallelScan(IteratorType.KEY_ONLY, 4, kv -> {
+          if (kv.getKey().startsWith("key-2-")) {
+            throw new IOException("Failed " + kv.getKey());
+          }
+        }));
+    assertThat(e).hasMessageStartingWith("Failed key-2-");
+
+    // the failure of a later range stops the earlier ranges
+    final AtomicReference<Thread> failedThread = new AtomicReference<>();
+    final CountDownLatch failing = new CountDownLatch(1);
+    final AtomicInteger firstRangeCount = new AtomicInteger();
+    assertThrows(IOException.class,
+        () -> table.parallelScan(IteratorType.KEY_ONLY, 4, kv -> {
+          if (kv.getKey().startsWith("key-2-")) {
+            failedThread.set(Thread.currentThread());
+            failing.countDown();
+            throw new IOException("Failed " + kv.getKey());
+          } else if (kv.getKey().startsWith("key-0-")
+              && firstRangeCount.getAndIncrement() == 0) {
+            try {
+              failing.await();
+              // wait until the failed range task has completed
+              GenericTestUtils.waitFor(
+                  () -> failedThread.get().getState() == Thread.State.WAITING,
+                  10, 10_000);
+            } catch (InterruptedException | TimeoutException ex) {
+              throw new IllegalStateException(ex);
+            }
+          }
+        }));
+    assertEquals(1, firstRangeCount.get());
+  }
+
   private void populatePrefixedTable(Table<byte[], byte[]> table,
       List<Map<String, String>> testData) throws IOException {
     for (Map<String, String> segment : testData) {
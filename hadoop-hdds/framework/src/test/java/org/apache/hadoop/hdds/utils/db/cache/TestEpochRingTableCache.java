@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EpochRingTableCache} with the same cases as the other caches.
+ */
+public class TestEpochRingTableCache extends TestTableCache {
+  private final ExecutorService cleanupExecutor =
+      EpochRingTableCache.newCleanupExecutor("test");
+
+  @AfterEach
+  public void shutdown() {
+    cleanupExecutor.shutdownNow();
+  }
+
+  @Override
+  protected TableCache<String, String> newTableCache(
+      TableCache.CacheType cacheType) {
+    return cacheType == TableCache.CacheType.NO_CACHE
+        ? super.newTableCache(cacheType)
+        : new EpochRingTableCache<>(cacheType, cleanupExecutor);
+  }
+
+  @Test
+  public void testFullCacheOutOfOrderEpochs() {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.FULL_CACHE);
+    cache.put(new CacheKey<>("a"), CacheValue.get(8));
+    cache.put(new CacheKey<>("b"), CacheValue.get(5));
+    cache.put(new CacheKey<>("c"), CacheValue.get(9, "c"));
+
+    // The epochs are kept in order, b is evicted before a.
+    cache.evictCache(Collections.singletonList(5L));
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEpochEntries().size());
+    assertNull(cache.get(new CacheKey<>("b")));
+
+    cache.evictCache(Collections.singletonList(8L));
+    assertEquals(1, cache.size());
+    assertEquals(0, cache.getEpochEntries().size());
+    assertNotNull(cache.get(new CacheKey<>("c")));
+  }
+
+  @Test
+  public void testPartialCacheOutOfOrderEpochs() {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    cache.put(new CacheKey<>("a"), CacheValue.get(8, "a"));
+    cache.put(new CacheKey<>("b"), CacheValue.get(5, "b"));
+
+    cache.evictCache(Collections.singletonList(5L));
+    assertNull(cache.get(new CacheKey<>("b")));
+    assertEquals(1, cache.size());
+
+    cache.evictCache(Collections.singletonList(8L));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getEpochEntries().size());
+  }
+
+  @Test
+  public void testPartialCacheRetainedEpochsInOrder() {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    for (long epoch = 1; epoch <= 5; epoch++) {
+      cache.put(new CacheKey<>("k" + epoch), CacheValue.get(epoch, "v"));
+    }
+
+    // 2 is added back in front of the ring, before 4 and 5.
+    cache.evictCache(Arrays.asList(1L, 3L));
+    assertEquals(3, cache.size());
+    // 0 is inserted before 2.
+    cache.put(new CacheKey<>("k0"), CacheValue.get(0, "v"));
+
+    // Polling up to 2 finds both 0 and 2.
+    cache.evictCache(Arrays.asList(0L, 2L));
+    assertEquals(2, cache.size());
+    assertNull(cache.get(new CacheKey<>("k0")));
+    assertNull(cache.get(new CacheKey<>("k2")));
+
+    cache.evictCache(Arrays.asList(4L, 5L));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getEpochEntries().size());
+  }
+
+  @Test
+  public void testCleanupAfterShutdown() throws Exception {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    cache.put(new CacheKey<>("a"), CacheValue.get(1, "a"));
+    cleanupExecutor.shutdownNow();
+    assertTrue(cleanupExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+    // the cleanup is skipped once the executor is shut down
+    cache.cleanup(Collections.singletonList(1L));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testRingGrowAndShrink() {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    final int count = 10_000;
+    // Evict in a few rounds, so that the ring wraps around while growing.
+    for (int round = 0; round < 4; round++) {
+      final long start = (long) round * count;
+      for (long epoch = start; epoch < start + count; epoch++) {
+        cache.put(new CacheKey<>(Long.toString(epoch)),
+            CacheValue.get(epoch, Long.toString(epoch)));
+      }
+      final List<Long> epochs = new ArrayList<>();
+      LongStream.range(start, start + count / 2).forEach(epochs::add);
+      cache.evictCache(epochs);
+      assertEquals(count / 2 * (round + 1), cache.size());
+    }
+
+    final List<Long> epochs = new ArrayList<>();
+    LongStream.range(0, 4L * count).forEach(epochs::add);
+    cache.evictCache(epochs);
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getEpochEntries().size());
+  }
+
+  @Test
+  public void testConcurrentPutAndCleanup() throws Exception {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    final int threads = 4;
+    final int perThread = 5_000;
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int thread = t;
+      futures.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < perThread; i++) {
+          final long epoch = (long) thread * perThread + i;
+          cache.put(new CacheKey<>(Long.toString(epoch)),
+              CacheValue.get(epoch, Long.toString(epoch)));
+          if (i % 100 == 99) {
+            final List<Long> epochs = new ArrayList<>();
+            LongStream.rangeClosed(epoch - 99, epoch).forEach(epochs::add);
+            cache.cleanup(epochs);
+          }
+        }
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+    GenericTestUtils.waitFor(() -> cache.size() == 0, 100, 10_000);
+    assertEquals(0, cache.getEpochEntries().size());
+  }
+
+  @Test
+  public void testConcurrentPutsAreAllTracked() throws Exception {
+    final TableCache<String, String> cache =
+        newTableCache(TableCache.CacheType.PARTIAL_CACHE);
+    final int threads = 8;
+    final int perThread = 1_000;
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int thread = t;
+      futures.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < perThread; i++) {
+          final long epoch = (long) i * threads + thread;
+          cache.put(new CacheKey<>(Long.toString(epoch)),
+              CacheValue.get(epoch, Long.toString(epoch)));
+        }
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+    final NavigableMap<Long, Set<CacheKey<String>>> epochEntries =
+        cache.getEpochEntries();
+    assertEquals(threads * perThread, epochEntries.size());
+    assertEquals(0, epochEntries.firstKey());
+    assertEquals(threads * perThread - 1, epochEntries.lastKey());
+
+    // Evict in the middle, so that the drained entries are polled in order.
+    final List<Long> epochs = new ArrayList<>();
+    LongStream.range(0, threads * perThread / 2).forEach(epochs::add);
+    cache.evictCache(epochs);
+    assertEquals(threads * perThread / 2, cache.size());
+    assertEquals(threads * perThread / 2, cache.getEpochEntries().firstKey());
+  }
+}
@@ -24,6 +24,8 @@
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
@@ -47,12 +49,17 @@ public static void setLogLevel() {
   }
 
   private void createTableCache(TableCache.CacheType cacheType) {
+    tableCache = newTableCache(cacheType);
+  }
+
+  protected TableCache<String, String> newTableCache(
+      TableCache.CacheType cacheType) {
     if (cacheType == TableCache.CacheType.FULL_CACHE) {
-      tableCache = new FullTableCache<>("");
+      return new FullTableCache<>("");
     } else if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
-      tableCache = new PartialTableCache<>("");
+      return new PartialTableCache<>("");
     } else {
-      tableCache = TableNoCache.instance();
+      return TableNoCache.instance();
     }
   }
 
@@ -589,6 +596,48 @@ public void testTableCacheStats(TableCache.CacheType cacheType) {
     verifyStats(tableCache, 3, 2, 2);
   }
 
+  @ParameterizedTest
+  @MethodSource("cacheTypeList")
+  public void testRangeIterator(TableCache.CacheType cacheType) {
+    createTableCache(cacheType);
+    for (String key : Arrays.asList("/a/", "/a/1", "/a/2", "/a/3", "/a/3/x",
+        "/ab/1", "/b/1", "/")) {
+      tableCache.put(new CacheKey<>(key), CacheValue.get(0, key));
+    }
+    // a deleted entry is also returned
+    tableCache.put(new CacheKey<>("/a/4"), CacheValue.get(1));
+
+    assertEquals(Arrays.asList("/a/", "/a/1", "/a/2", "/a/3", "/a/3/x",
+        "/a/4"), rangeKeys(null, "/a/"));
+    assertEquals(Arrays.asList("/a/2", "/a/3", "/a/3/x", "/a/4"),
+        rangeKeys("/a/2", "/a/"));
+    // a start key before the prefix starts from the prefix
+    assertEquals(Arrays.asList("/a/", "/a/1", "/a/2", "/a/3", "/a/3/x",
+        "/a/4"), rangeKeys("/", "/a/"));
+    // a start key after the prefix returns nothing
+    assertEquals(Collections.emptyList(), rangeKeys("/b/", "/a/"));
+    assertEquals(Arrays.asList("/ab/1", "/b/1"), rangeKeys("/ab", null));
+    assertEquals(9, rangeKeys(null, null).size());
+
+    // the evicted entries are not returned
+    tableCache.evictCache(Collections.singletonList(1L));
+    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+      assertEquals(Arrays.asList("/a/3", "/a/3/x"), rangeKeys(null, "/a/3"));
+      tableCache.evictCache(Collections.singletonList(0L));
+      assertEquals(Collections.emptyList(), rangeKeys(null, "/a/"));
+    } else {
+      assertEquals(Arrays.asList("/a/3", "/a/3/x"), rangeKeys(null, "/a/3"));
+      assertEquals(5, rangeKeys(null, "/a/").size());
+    }
+  }
+
+  private List<String> rangeKeys(String startKey, String prefix) {
+    final List<String> keys = new ArrayList<>();
+    tableCache.iterator(startKey, prefix)
+        .forEachRemaining(e -> keys.add(e.getKey().getCacheKey()));
+    return keys;
+  }
+
   @Test
   public void testNoCache() {
     createTableCache(TableCache.CacheType.NO_CACHE);
@@ -598,6 +647,7 @@ public void testNoCache() {
     assertEquals(0, tableCache.size());
     assertEquals(0, tableCache.getEpochEntries().size());
     assertFalse(tableCache.iterator().hasNext());
+    assertFalse(tableCache.iterator(null, "0").hasNext());
     verifyStats(tableCache, 0, 0, 0);
   }
 
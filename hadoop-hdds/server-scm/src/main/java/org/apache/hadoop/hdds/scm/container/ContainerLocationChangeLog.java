@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The recent changes of the container locations, i.e. the container state
+ * and the replicas, so that the clients caching the locations, such as OM,
+ * can invalidate exactly the changed containers.
+ * <p>
+ * Each change has a sequence id, starting from 1.  Only the latest changes
+ * up to the capacity are kept in a ring buffer.  A client asks for the
+ * changes after the last sequence id it has seen; if some of them are no
+ * longer in the log, or the log is recreated (with a new log id), the client
+ * has to invalidate all its cached locations.
+ * <p>
+ * The log is not persisted nor replicated, so each SCM has its own log.
+ */
+public final class ContainerLocationChangeLog {
+  private final long logId = UUID.randomUUID().getMostSignificantBits();
+  private final long[] containerIDs;
+  /** The sequence id of the latest change; guarded by this. */
+  private long lastSequenceId;
+
+  public ContainerLocationChangeLog(int capacity) {
+    Preconditions.checkArgument(capacity > 0,
+        "capacity = %s <= 0", capacity);
+    this.containerIDs = new long[capacity];
+  }
+
+  public long getLogId() {
+    return logId;
+  }
+
+  /** Record a change of the location of the given container. */
+  public synchronized void add(ContainerID id) {
+    containerIDs[index(++lastSequenceId)] = id.getId();
+  }
+
+  private int index(long sequenceId) {
+    return (int) ((sequenceId - 1) % containerIDs.length);
+  }
+
+  /**
+   * @param sinceSequenceId the last sequence id seen by the client,
+   *                        or negative to get only the latest sequence id.
+   * @param maxCount the max number of changes to return.
+   * @return the changed containers after the given sequence id.
+   */
+  public synchronized ContainerLocationChanges getChanges(
+      long sinceSequenceId, int maxCount) {
+    if (sinceSequenceId < 0) {
+      return new ContainerLocationChanges(logId, lastSequenceId, false,
+          Collections.emptyList());
+    }
+    final long oldest = Math.max(1, lastSequenceId - containerIDs.length + 1);
+    if (sinceSequenceId + 1 < oldest || sinceSequenceId > lastSequenceId) {
+      return new ContainerLocationChanges(logId, lastSequenceId, true,
+          Collections.emptyList());
+    }
+    final long last = Math.min(lastSequenceId,
+        sinceSequenceId + Math.max(1, maxCount));
+    final Set<Long> changed = new LinkedHashSet<>();
+    for (long i = sinceSequenceId + 1; i <= last; i++) {
+      changed.add(containerIDs[index(i)]);
+    }
+    return new ContainerLocationChanges(logId, last, false,
+        new ArrayList<>(changed));
+  }
+}
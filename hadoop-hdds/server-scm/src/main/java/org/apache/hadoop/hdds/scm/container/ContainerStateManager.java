@@ -210,4 +210,12 @@ void removeContainer(HddsProtos.ContainerID containerInfo)
    */
   void reinitialize(Table<ContainerID, ContainerInfo> containerStore)
       throws IOException;
+
+  /**
+   * @return the containers whose locations changed after the given sequence
+   *         id of the change log.
+   * @see ContainerLocationChangeLog#getChanges(long, int)
+   */
+  ContainerLocationChanges getLocationChanges(long sinceSequenceId,
+      int maxCount);
 }
@@ -124,6 +124,13 @@
    */
   private final ContainerReplicaPendingOps containerReplicaPendingOps;
 
+  /**
+   * The recent changes of the container locations, recreated together with
+   * the in-memory container states.
+   */
+  private final int locationChangeLogSize;
+  private volatile ContainerLocationChangeLog locationChangeLog;
+
   /**
    * We use the containers in round-robin fashion for operations like block
    * allocation. This map is used for remembering the last used container.
@@ -163,6 +170,11 @@ private ContainerStateManagerImpl(final Configuration conf,
         OZONE_SCM_CONTAINER_LOCK_STRIPE_SIZE,
         OZONE_SCM_CONTAINER_LOCK_STRIPE_SIZE_DEFAULT));
     this.containerReplicaPendingOps = pendingOps;
+    this.locationChangeLogSize = conf.getInt(
+        ScmConfigKeys.OZONE_SCM_CONTAINER_LOCATION_CHANGE_LOG_SIZE,
+        ScmConfigKeys.OZONE_SCM_CONTAINER_LOCATION_CHANGE_LOG_SIZE_DEFAULT);
+    this.locationChangeLog =
+        new ContainerLocationChangeLog(locationChangeLogSize);
     initialize();
   }
 
@@ -387,6 +399,7 @@ public void updateContainerStateWithSequenceId(final HddsProtos.ContainerID cont
             transactionBuffer.addToBuffer(containerStore, id, currentInfo);
 
           }).execute();
+          locationChangeLog.add(id);
           containerStateChangeActions.getOrDefault(event, info -> { })
               .accept(containerInfo);
         }
@@ -418,6 +431,7 @@ public void transitionDeletingOrDeletedToTargetState(HddsProtos.ContainerID cont
           transactionBuffer.addToBuffer(containerStore, id, oldInfo);
           containers.updateState(id, targetState, oldState);
         }).execute();
+        locationChangeLog.add(id);
       }
     }
   }
@@ -433,7 +447,14 @@ public Set<ContainerReplica> getContainerReplicas(final ContainerID id) {
   public void updateContainerReplica(final ContainerReplica replica) {
     final ContainerID id = replica.getContainerID();
     try (AutoCloseableLock ignored = writeLock(id)) {
-      containers.updateContainerReplica(replica);
+      final ContainerReplica previous =
+          containers.updateContainerReplica(replica);
+      // The same replica is reported again and again by the datanode.
+      if (previous == null
+          || previous.getReplicaIndex() != replica.getReplicaIndex()
+          || previous.getState() != replica.getState()) {
+        locationChangeLog.add(id);
+      }
       // Clear any pending additions for this replica as we have now seen it.
       containerReplicaPendingOps.completeAddReplica(id,
           replica.getDatanodeDetails(), replica.getReplicaIndex());
@@ -444,7 +465,10 @@ public void updateContainerReplica(final ContainerReplica replica) {
   public void removeContainerReplica(final ContainerReplica replica) {
     final ContainerID id = replica.getContainerID();
     try (AutoCloseableLock ignored = writeLock(id)) {
-      containers.removeContainerReplica(id, replica.getDatanodeDetails().getID());
+      if (containers.removeContainerReplica(id,
+          replica.getDatanodeDetails().getID()) != null) {
+        locationChangeLog.add(id);
+      }
       // Remove any pending delete replication operations for the deleted
       // replica.
       containerReplicaPendingOps.completeDeleteReplica(id,
@@ -543,6 +567,7 @@ public void removeContainer(final HddsProtos.ContainerID id)
         transactionBuffer.removeFromBuffer(containerStore, cid);
         containers.removeContainer(cid);
       }).onException(() -> containerStore.put(cid, containerInfo)).execute();
+      locationChangeLog.add(cid);
     }
   }
 
@@ -553,10 +578,18 @@ public void reinitialize(
       this.containerStore = store;
       this.containers = new ContainerStateMap();
       this.lastUsedMap = new ConcurrentHashMap<>();
+      this.locationChangeLog =
+          new ContainerLocationChangeLog(locationChangeLogSize);
       initialize();
     }
   }
 
+  @Override
+  public ContainerLocationChanges getLocationChanges(long sinceSequenceId,
+      int maxCount) {
+    return locationChangeLog.getChanges(sinceSequenceId, maxCount);
+  }
+
   private AutoCloseableLock readLock() {
     return AutoCloseableLock.acquire(lock.readLock());
   }
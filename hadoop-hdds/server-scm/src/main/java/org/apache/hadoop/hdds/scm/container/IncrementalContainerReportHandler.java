@@ -18,6 +18,7 @@
 package org.apache.hadoop.hdds.scm.container;
 
 import java.io.IOException;
+import java.util.function.Consumer;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto.State;
@@ -43,11 +44,23 @@
   private static final Logger LOG = LoggerFactory.getLogger(
       IncrementalContainerReportHandler.class);
 
+  /** Notified with the containers whose replica has been reported. */
+  private final Consumer<ContainerID> replicaChangeListener;
+
   public IncrementalContainerReportHandler(
       final NodeManager nodeManager,
       final ContainerManager containerManager,
       final SCMContext scmContext) {
+    this(nodeManager, containerManager, scmContext, id -> { });
+  }
+
+  public IncrementalContainerReportHandler(
+      final NodeManager nodeManager,
+      final ContainerManager containerManager,
+      final SCMContext scmContext,
+      final Consumer<ContainerID> replicaChangeListener) {
     super(nodeManager, containerManager, scmContext);
+    this.replicaChangeListener = replicaChangeListener;
   }
 
   @Override
@@ -103,6 +116,7 @@ protected void processICR(IncrementalContainerReportFromDatanode report,
           }
           if (ContainerReportValidator.validate(container, dd, replicaProto)) {
             processContainerReplica(dd, container, replicaProto, publisher, detailsForLogging);
+            replicaChangeListener.accept(id);
           }
           success = true;
         } catch (ContainerNotFoundException e) {
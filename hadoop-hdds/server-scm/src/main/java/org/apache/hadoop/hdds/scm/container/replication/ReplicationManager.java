@@ -26,16 +26,21 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType.EC;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import java.io.IOException;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -93,6 +98,7 @@
 import org.apache.hadoop.ozone.protocol.commands.ReplicateContainerCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
 import org.apache.hadoop.util.ExitUtil;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.protocol.exceptions.NotLeaderException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -191,6 +197,17 @@ public class ReplicationManager implements SCMService, ContainerReplicaPendingOp
   private final HealthCheck containerCheckChain;
   private final ReplicationQueue noOpsReplicationQueue =
       new MonitoringReplicationQueue();
+  /** The executor to check the shards of the containers in parallel. */
+  private ExecutorService scanExecutor;
+  /**
+   * The containers changed since the last full scan, e.g. a replica has been
+   * reported or a pending op has completed, which are checked again before
+   * the next full scan.
+   */
+  private final Set<ContainerID> changedContainers =
+      ConcurrentHashMap.newKeySet();
+  /** Set when the next full scan should start without waiting. */
+  private boolean fullScanRequested;
 
   /**
    * Constructs ReplicationManager instance with the given configuration.
@@ -322,6 +339,10 @@ public synchronized void stop() {
       running = false;
       metrics.unRegister();
       replicationMonitor.interrupt();
+      if (scanExecutor != null) {
+        scanExecutor.shutdownNow();
+        scanExecutor = null;
+      }
     } else {
       LOG.info("Replication Monitor Thread is not running.");
     }
@@ -355,6 +376,8 @@ protected void startSubServices() {
    * This in intended to be used in tests.
    */
   public synchronized void processAll() {
+    // The full scan checks the changed containers as well.
+    changedContainers.clear();
     if (!shouldRun()) {
       if (scmContext.isLeader()) {
         LOG.info("Replication Manager is not ready to run until {}ms after " +
@@ -363,29 +386,93 @@ public synchronized void processAll() {
       return;
     }
     final long start = clock.millis();
+    final long startNanos = Time.monotonicNowNanos();
     final List<ContainerInfo> containers =
         containerManager.getContainers();
     ReplicationManagerReport report = new ReplicationManagerReport(
         rmConf.getContainerSampleLimit());
     ReplicationQueue newRepQueue = new ReplicationQueue();
+    final int shardSize = rmConf.getScanShardSize();
+    final int shards;
+    if (rmConf.getScanThreads() > 1 && containers.size() > shardSize) {
+      shards = processShards(containers, shardSize, newRepQueue, report);
+    } else {
+      shards = 1;
+      processContainers(containers, newRepQueue, report);
+    }
+    report.setComplete();
+    replicationQueue.set(newRepQueue);
+    this.containerReport = report;
+    metrics.addContainerScanTime(TimeUnit.NANOSECONDS.toMillis(
+        Time.monotonicNowNanos() - startNanos));
+    LOG.info("Replication Monitor Thread took {} milliseconds for" +
+            " processing {} containers in {} shard(s).",
+        clock.millis() - start, containers.size(), shards);
+  }
+
+  private void processContainers(List<ContainerInfo> containers,
+      ReplicationQueue repQueue, ReplicationManagerReport report) {
     for (ContainerInfo c : containers) {
       if (!shouldRun()) {
         break;
       }
       report.increment(c.getState());
       try {
-        processContainer(c, newRepQueue, report);
+        processContainer(c, repQueue, report);
         // TODO - send any commands contained in the health result
       } catch (ContainerNotFoundException e) {
         LOG.error("Container {} not found", c.getContainerID(), e);
       }
     }
-    report.setComplete();
-    replicationQueue.set(newRepQueue);
-    this.containerReport = report;
-    LOG.info("Replication Monitor Thread took {} milliseconds for" +
-            " processing {} containers.", clock.millis() - start,
-        containers.size());
+  }
+
+  /**
+   * Split the containers into shards of the given size and check the shards
+   * in parallel.  Each shard builds its own queue and report, since the report
+   * also carries the health state of the container being checked, which are
+   * then merged in the shard order.
+   *
+   * @return the number of shards.
+   */
+  private int processShards(List<ContainerInfo> containers, int shardSize,
+      ReplicationQueue repQueue, ReplicationManagerReport report) {
+    final ExecutorService executor = getScanExecutor();
+    final List<CompletableFuture<Pair<ReplicationQueue,
+        ReplicationManagerReport>>> futures = new ArrayList<>();
+    for (int from = 0; from < containers.size(); from += shardSize) {
+      final List<ContainerInfo> shard = containers.subList(
+          from, Math.min(from + shardSize, containers.size()));
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        final long startNanos = Time.monotonicNowNanos();
+        final ReplicationQueue shardQueue = new ReplicationQueue();
+        final ReplicationManagerReport shardReport =
+            new ReplicationManagerReport(report.getSampleLimit());
+        processContainers(shard, shardQueue, shardReport);
+        metrics.addContainerScanShardTime(TimeUnit.NANOSECONDS.toMillis(
+            Time.monotonicNowNanos() - startNanos));
+        return Pair.of(shardQueue, shardReport);
+      }, executor));
+    }
+    for (CompletableFuture<Pair<ReplicationQueue, ReplicationManagerReport>>
+        future : futures) {
+      final Pair<ReplicationQueue, ReplicationManagerReport> shard =
+          future.join();
+      repQueue.merge(shard.getLeft());
+      report.merge(shard.getRight());
+    }
+    return futures.size();
+  }
+
+  private synchronized ExecutorService getScanExecutor() {
+    if (scanExecutor == null) {
+      scanExecutor = Executors.newFixedThreadPool(rmConf.getScanThreads(),
+          new ThreadFactoryBuilder()
+              .setNameFormat(
+                  scmContext.threadNamePrefix() + "ReplicationScan-%d")
+              .setDaemon(true)
+              .build());
+    }
+    return scanExecutor;
   }
 
   public void sendCloseContainerEvent(ContainerID containerID) {
@@ -933,6 +1020,53 @@ public ReplicationManagerReport getContainerReport() {
     return containerReport;
   }
 
+  /**
+   * Notify that the replicas of the given container have changed, so that it
+   * is checked again before the next full scan.
+   */
+  public void notifyContainerChanged(ContainerID containerID) {
+    if (rmConf.getChangedContainerInterval().toMillis() > 0) {
+      changedContainers.add(containerID);
+    }
+  }
+
+  /**
+   * Check the containers changed since the last check.  The containers are
+   * added to the current replication queue, where a container which is
+   * already queued will be discarded when it is processed again.  The report
+   * is not updated, which is rebuilt by the next full scan.
+   */
+  @VisibleForTesting
+  synchronized void processChangedContainers() {
+    if (changedContainers.isEmpty() || !shouldRun()) {
+      return;
+    }
+    final long startNanos = Time.monotonicNowNanos();
+    final ReplicationQueue queue = replicationQueue.get();
+    final ReplicationManagerReport report = new ReplicationManagerReport(
+        rmConf.getContainerSampleLimit());
+    int count = 0;
+    for (Iterator<ContainerID> i = changedContainers.iterator();
+         i.hasNext() && shouldRun();) {
+      final ContainerID id = i.next();
+      i.remove();
+      try {
+        processContainer(containerManager.getContainer(id), queue, report);
+        count++;
+      } catch (ContainerNotFoundException e) {
+        LOG.debug("Changed container {} not found", id, e);
+      }
+    }
+    metrics.incrChangedContainersCheckedTotal(count);
+    LOG.debug("Checked {} changed containers in {} ms", count,
+        TimeUnit.NANOSECONDS.toMillis(Time.monotonicNowNanos() - startNanos));
+  }
+
+  @VisibleForTesting
+  int getChangedContainerCount() {
+    return changedContainers.size();
+  }
+
   public boolean isThreadWaiting() {
     return replicationMonitor.getState() == Thread.State.TIMED_WAITING;
   }
@@ -945,7 +1079,7 @@ private synchronized void run() {
     try {
       while (running) {
         processAll();
-        wait(rmConf.getInterval().toMillis());
+        waitForNextFullScan();
       }
     } catch (Throwable t) {
       if (t instanceof InterruptedException) {
@@ -959,6 +1093,30 @@ private synchronized void run() {
     }
   }
 
+  /**
+   * Wait for the next full scan and meanwhile check the changed containers
+   * at the changed container interval.
+   */
+  private void waitForNextFullScan() throws InterruptedException {
+    fullScanRequested = false;
+    final long interval = rmConf.getInterval().toMillis();
+    final long changedInterval =
+        rmConf.getChangedContainerInterval().toMillis();
+    if (changedInterval <= 0 || changedInterval >= interval) {
+      wait(interval);
+      return;
+    }
+    final long deadline = Time.monotonicNow() + interval;
+    for (long remaining = interval; remaining > 0 && running;
+         remaining = deadline - Time.monotonicNow()) {
+      wait(Math.min(changedInterval, remaining));
+      if (fullScanRequested) {
+        return;
+      }
+      processChangedContainers();
+    }
+  }
+
   /**
    * Given a ContainerID, lookup the ContainerInfo and then return a
    * ContainerReplicaCount object for the container.
@@ -1068,6 +1226,7 @@ ReplicationQueue getQueue() {
 
   @Override
   public void opCompleted(ContainerReplicaOp op, ContainerID containerID, boolean timedOut) {
+    notifyContainerChanged(containerID);
     if (!(timedOut && op.getOpType() == ContainerReplicaOp.PendingOpType.DELETE)) {
       // We only care about expired delete ops. All others should be ignored.
       return;
@@ -1285,6 +1444,41 @@ public void opCompleted(ContainerReplicaOp op, ContainerID containerID, boolean
     )
     private int containerSampleLimit = 100;
 
+    @Config(key = "hdds.scm.replication.scan.threads",
+        type = ConfigType.INT,
+        defaultValue = "1",
+        tags = { SCM },
+        description = "The number of threads to check the containers in " +
+            "each iteration of the replication manager. If it is more than " +
+            "1, the containers are split into shards of " +
+            "hdds.scm.replication.scan.shard.size containers, which are " +
+            "checked in parallel."
+    )
+    private int scanThreads = 1;
+
+    @Config(key = "hdds.scm.replication.scan.shard.size",
+        type = ConfigType.INT,
+        defaultValue = "10000",
+        tags = { SCM },
+        description = "The number of containers in a shard checked by a " +
+            "thread, see hdds.scm.replication.scan.threads."
+    )
+    private int scanShardSize = 10000;
+
+    @Config(key = "hdds.scm.replication.changed.container.interval",
+        type = ConfigType.TIME,
+        defaultValue = "30s",
+        reconfigurable = true,
+        tags = { SCM, OZONE },
+        description = "How frequently to check the containers changed since " +
+            "the last check, e.g. a replica has been reported by an " +
+            "incremental container report or a pending replication or " +
+            "deletion has completed, between the full scans of every " +
+            "hdds.scm.replication.thread.interval.  Set it to 0 to check " +
+            "the containers only by the full scans."
+    )
+    private Duration changedContainerInterval = Duration.ofSeconds(30);
+
     public long getDatanodeTimeoutOffset() {
       return datanodeTimeoutOffset;
     }
@@ -1377,6 +1571,30 @@ public void setContainerSampleLimit(int sampleLimit) {
       this.containerSampleLimit = sampleLimit;
     }
 
+    public int getScanThreads() {
+      return scanThreads;
+    }
+
+    public void setScanThreads(int scanThreads) {
+      this.scanThreads = scanThreads;
+    }
+
+    public int getScanShardSize() {
+      return scanShardSize;
+    }
+
+    public Duration getChangedContainerInterval() {
+      return changedContainerInterval;
+    }
+
+    public void setChangedContainerInterval(Duration changedContainerInterval) {
+      this.changedContainerInterval = changedContainerInterval;
+    }
+
+    public void setScanShardSize(int scanShardSize) {
+      this.scanShardSize = scanShardSize;
+    }
+
     @PostConstruct
     public void validate() {
       if (datanodeTimeoutOffset < 0) {
@@ -1408,6 +1626,10 @@ public void validate() {
             "inflight.limit.factor is set to " + inflightReplicationLimitFactor
                 + " and must be <= 1");
       }
+      if (scanShardSize <= 0) {
+        throw new IllegalArgumentException("scan.shard.size is set to "
+            + scanShardSize + " and must be > 0");
+      }
     }
   }
 
@@ -1566,6 +1788,7 @@ public synchronized boolean notifyNodeStateChange() {
     if (getQueue().isEmpty()) {
       LOG.debug("Waking up replication monitor due to node state change");
       // Notify the replication monitor thread to wake up
+      fullScanRequested = true;
       notify();
       return true;
     } else {
@@ -146,6 +146,15 @@ public final class ReplicationManagerMetrics implements MetricsSource {
   @Metric("Time elapsed for deletion")
   private MutableRate deletionTime;
 
+  @Metric("Number of changed containers checked between the full scans.")
+  private MutableCounterLong changedContainersCheckedTotal;
+
+  @Metric("Time elapsed for checking all the containers")
+  private MutableRate containerScanTime;
+
+  @Metric("Time elapsed for checking a shard of the containers")
+  private MutableRate containerScanShardTime;
+
   @Metric("Number of inflight replication skipped" +
       " due to the configured limit.")
   private MutableCounterLong inflightReplicationSkippedTotal;
@@ -289,6 +298,9 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     partialReplicationTotal.snapshot(builder, all);
     ecPartialReplicationForMisReplicationTotal.snapshot(builder, all);
     partialReplicationForMisReplicationTotal.snapshot(builder, all);
+    changedContainersCheckedTotal.snapshot(builder, all);
+    containerScanTime.snapshot(builder, all);
+    containerScanShardTime.snapshot(builder, all);
   }
 
   public void unRegister() {
@@ -335,6 +347,22 @@ public void incrDeletionBytesCompletedTotal(long bytes) {
     this.deletionBytesCompletedTotal.incr(bytes);
   }
 
+  public void incrChangedContainersCheckedTotal(long count) {
+    this.changedContainersCheckedTotal.incr(count);
+  }
+
+  public long getChangedContainersCheckedTotal() {
+    return this.changedContainersCheckedTotal.value();
+  }
+
+  public void addContainerScanTime(long millis) {
+    this.containerScanTime.add(millis);
+  }
+
+  public void addContainerScanShardTime(long millis) {
+    this.containerScanShardTime.add(millis);
+  }
+
   public void addReplicationTime(long millis) {
     this.replicationTime.add(millis);
   }
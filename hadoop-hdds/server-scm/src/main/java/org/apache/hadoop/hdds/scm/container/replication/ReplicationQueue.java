@@ -97,6 +97,21 @@ public int overReplicatedQueueSize() {
     return overRepQueue.size();
   }
 
+  /**
+   * Move all the containers of the given queue, which is not shared with
+   * other threads, to this queue.
+   */
+  void merge(ReplicationQueue other) {
+    ContainerHealthResult.UnderReplicatedHealthResult under;
+    while ((under = other.underRepQueue.poll()) != null) {
+      underRepQueue.add(under);
+    }
+    ContainerHealthResult.OverReplicatedHealthResult over;
+    while ((over = other.overRepQueue.poll()) != null) {
+      overRepQueue.add(over);
+    }
+  }
+
   public boolean isEmpty() {
     return underRepQueue.isEmpty() && overRepQueue.isEmpty();
   }
@@ -223,19 +223,23 @@ public Set<ContainerReplica> getContainerReplicas(
    * Adds given datanodes as nodes where replica for given containerId exist.
    * Logs a debug entry if a datanode is already added as replica for given
    * ContainerId.
+   *
+   * @return the previous replica of the datanode, if any.
    */
-  public void updateContainerReplica(ContainerReplica replica) {
+  public ContainerReplica updateContainerReplica(ContainerReplica replica) {
     Objects.requireNonNull(replica, "replica == null");
-    containerMap.put(replica);
+    return containerMap.put(replica);
   }
 
   /**
    * Remove a container Replica for given DataNode.
+   *
+   * @return the removed replica, if any.
    */
-  public void removeContainerReplica(final ContainerID containerID, DatanodeID datanodeID) {
+  public ContainerReplica removeContainerReplica(final ContainerID containerID, DatanodeID datanodeID) {
     Objects.requireNonNull(containerID, "containerID == null");
     Objects.requireNonNull(datanodeID, "datanodeID == null");
-    containerMap.removeReplica(containerID, datanodeID);
+    return containerMap.removeReplica(containerID, datanodeID);
   }
 
   /**
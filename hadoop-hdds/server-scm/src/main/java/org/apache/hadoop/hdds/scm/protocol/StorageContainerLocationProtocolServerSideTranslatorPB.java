@@ -71,6 +71,8 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.ForceExitSafeModeRequestProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.ForceExitSafeModeResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerCountResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerLocationChangesRequestProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerLocationChangesResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerReplicasRequestProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerReplicasResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerLocationProtocolProtos.GetContainerRequestProto;
@@ -140,6 +142,7 @@
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerListResult;
+import org.apache.hadoop.hdds.scm.container.ContainerLocationChanges;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.ha.RatisUtil;
@@ -464,6 +467,14 @@ public ScmContainerLocationResponse processRequest(
                     request.getGetExistContainerWithPipelinesInBatchRequest(),
                     request.getVersion()))
             .build();
+      case GetContainerLocationChanges:
+        return ScmContainerLocationResponse.newBuilder()
+            .setCmdType(request.getCmdType())
+            .setStatus(Status.OK)
+            .setGetContainerLocationChangesResponse(
+                getContainerLocationChanges(
+                    request.getGetContainerLocationChangesRequest()))
+            .build();
       case ListContainer:
         return ScmContainerLocationResponse.newBuilder()
             .setCmdType(request.getCmdType())
@@ -843,6 +854,18 @@ public GetContainerWithPipelineResponseProto getContainerWithPipeline(
     return builder.build();
   }
 
+  public GetContainerLocationChangesResponseProto getContainerLocationChanges(
+      GetContainerLocationChangesRequestProto request) throws IOException {
+    ContainerLocationChanges changes = impl.getContainerLocationChanges(
+        request.getSinceSequenceId(), request.getMaxCount());
+    return GetContainerLocationChangesResponseProto.newBuilder()
+        .setLogId(changes.getLogId())
+        .setSequenceId(changes.getSequenceId())
+        .setTruncated(changes.isTruncated())
+        .addAllContainerIDs(changes.getContainerIDs())
+        .build();
+  }
+
   public SCMListContainerResponseProto listContainer(
       SCMListContainerRequestProto request) throws IOException {
 
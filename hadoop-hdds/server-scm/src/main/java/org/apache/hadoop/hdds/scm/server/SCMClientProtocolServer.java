@@ -74,6 +74,7 @@
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerListResult;
+import org.apache.hadoop.hdds.scm.container.ContainerLocationChanges;
 import org.apache.hadoop.hdds.scm.container.ContainerNotFoundException;
 import org.apache.hadoop.hdds.scm.container.ContainerReplica;
 import org.apache.hadoop.hdds.scm.container.ReplicationManagerReport;
@@ -422,6 +423,26 @@ public List<ContainerWithPipeline> getExistContainerWithPipelinesInBatch(
     return cpList;
   }
 
+  @Override
+  public ContainerLocationChanges getContainerLocationChanges(
+      long sinceSequenceId, int maxCount) {
+    final Map<String, String> auditMap = Maps.newHashMap();
+    auditMap.put("sinceSequenceId", String.valueOf(sinceSequenceId));
+    auditMap.put("maxCount", String.valueOf(maxCount));
+    try {
+      ContainerLocationChanges changes = scm.getContainerManager()
+          .getContainerStateManager()
+          .getLocationChanges(sinceSequenceId, maxCount);
+      AUDIT.logReadSuccess(buildAuditMessageForSuccess(
+          SCMAction.GET_CONTAINER_LOCATION_CHANGES, auditMap));
+      return changes;
+    } catch (Exception ex) {
+      AUDIT.logReadFailure(buildAuditMessageForFailure(
+          SCMAction.GET_CONTAINER_LOCATION_CHANGES, auditMap, ex));
+      throw ex;
+    }
+  }
+
   /**
    * Check if container reported replicas are equal or greater than required
    * replication factor.
@@ -515,7 +515,8 @@ private void initializeEventHandlers() {
 
     IncrementalContainerReportHandler incrementalContainerReportHandler =
         new IncrementalContainerReportHandler(
-            scmNodeManager, containerManager, scmContext);
+            scmNodeManager, containerManager, scmContext,
+            replicationManager::notifyContainerChanged);
     PipelineActionHandler pipelineActionHandler =
         new PipelineActionHandler(pipelineManager, scmContext);
 
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ContainerLocationChangeLog}.
+ */
+public class TestContainerLocationChangeLog {
+
+  @Test
+  public void testGetChanges() {
+    final ContainerLocationChangeLog log = new ContainerLocationChangeLog(4);
+    ContainerLocationChanges changes = log.getChanges(-1, 10);
+    assertEquals(0, changes.getSequenceId());
+    assertFalse(changes.isTruncated());
+
+    log.add(ContainerID.valueOf(1));
+    log.add(ContainerID.valueOf(2));
+    log.add(ContainerID.valueOf(1));
+    changes = log.getChanges(0, 10);
+    assertEquals(log.getLogId(), changes.getLogId());
+    assertEquals(3, changes.getSequenceId());
+    assertFalse(changes.isTruncated());
+    assertEquals(asList(1L, 2L), changes.getContainerIDs());
+
+    // partial
+    changes = log.getChanges(1, 1);
+    assertEquals(2, changes.getSequenceId());
+    assertEquals(Collections.singletonList(2L), changes.getContainerIDs());
+
+    // up to date
+    changes = log.getChanges(3, 10);
+    assertEquals(3, changes.getSequenceId());
+    assertFalse(changes.isTruncated());
+    assertTrue(changes.getContainerIDs().isEmpty());
+
+    // latest only
+    changes = log.getChanges(-1, 10);
+    assertEquals(3, changes.getSequenceId());
+    assertTrue(changes.getContainerIDs().isEmpty());
+  }
+
+  @Test
+  public void testTruncated() {
+    final ContainerLocationChangeLog log = new ContainerLocationChangeLog(4);
+    for (long i = 1; i <= 10; i++) {
+      log.add(ContainerID.valueOf(i));
+    }
+    // changes 7 to 10 are kept
+    ContainerLocationChanges changes = log.getChanges(6, 10);
+    assertFalse(changes.isTruncated());
+    assertEquals(asList(7L, 8L, 9L, 10L), changes.getContainerIDs());
+
+    changes = log.getChanges(5, 10);
+    assertTrue(changes.isTruncated());
+    assertEquals(10, changes.getSequenceId());
+    assertTrue(changes.getContainerIDs().isEmpty());
+
+    // from another log
+    changes = log.getChanges(11, 10);
+    assertTrue(changes.isTruncated());
+    assertEquals(10, changes.getSequenceId());
+
+    assertNotEquals(log.getLogId(), new ContainerLocationChangeLog(4).getLogId());
+  }
+}
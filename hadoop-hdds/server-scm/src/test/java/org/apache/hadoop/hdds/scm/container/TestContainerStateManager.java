@@ -36,6 +36,7 @@
 import java.time.Clock;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.TimeoutException;
 import org.apache.hadoop.hdds.HddsConfigKeys;
@@ -411,6 +412,35 @@ public void testSequenceIdOnStateUpdate() throws Exception {
     assertEquals(finalInfo.getSequenceId(), currentSequenceId);
   }
 
+  @Test
+  public void testLocationChanges() throws IOException, TimeoutException {
+    final long since = containerStateManager.getLocationChanges(-1, 100)
+        .getSequenceId();
+    ContainerInfo c1 = allocateContainer();
+    DatanodeDetails d1 = MockDatanodeDetails.randomDatanodeDetails();
+    addReplica(c1, d1);
+    ContainerLocationChanges changes =
+        containerStateManager.getLocationChanges(since, 100);
+    assertEquals(since + 1, changes.getSequenceId());
+    assertEquals(Collections.singletonList(c1.getContainerID()),
+        changes.getContainerIDs());
+
+    // the same replica is reported again
+    addReplica(c1, d1);
+    assertEquals(since + 1,
+        containerStateManager.getLocationChanges(-1, 100).getSequenceId());
+
+    containerStateManager.removeContainerReplica(ContainerReplica.newBuilder()
+        .setContainerID(c1.containerID())
+        .setContainerState(ContainerReplicaProto.State.CLOSED)
+        .setDatanodeDetails(d1)
+        .build());
+    changes = containerStateManager.getLocationChanges(since + 1, 100);
+    assertEquals(since + 2, changes.getSequenceId());
+    assertEquals(Collections.singletonList(c1.getContainerID()),
+        changes.getContainerIDs());
+  }
+
   private void addReplica(ContainerInfo cont, DatanodeDetails node) {
     ContainerReplica replica = ContainerReplica.newBuilder()
         .setContainerID(cont.containerID())
@@ -51,6 +51,7 @@
 import com.google.common.collect.Lists;
 import com.google.protobuf.UnsafeByteOperations;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -1704,6 +1705,89 @@ public synchronized void processAll() {
     customRM.stop();
   }
 
+  @Test
+  public void testProcessAllInShards() {
+    int totalContainers = 120;
+    for (int i = 0; i < totalContainers; i++) {
+      ContainerInfo container = createContainerInfo(
+          RatisReplicationConfig.getInstance(THREE), i,
+          HddsProtos.LifeCycleState.CLOSED);
+      containerInfoSet.add(container);
+
+      Set<ContainerReplica> replicas = new HashSet<>();
+      replicas.add(createContainerReplica(container.containerID(), 0,
+          IN_SERVICE, ContainerReplicaProto.State.CLOSED));
+      replicas.add(createContainerReplica(container.containerID(), 0,
+          IN_SERVICE, ContainerReplicaProto.State.CLOSED));
+      containerReplicaMap.put(container.containerID(), replicas);
+    }
+    rmConf.setScanThreads(4);
+    rmConf.setScanShardSize(25);
+
+    enableProcessAll();
+    replicationManager.processAll();
+
+    ReplicationManagerReport report = replicationManager.getContainerReport();
+    assertEquals(totalContainers,
+        report.getStat(HddsProtos.LifeCycleState.CLOSED));
+    assertEquals(totalContainers,
+        report.getStat(ContainerHealthState.UNDER_REPLICATED));
+    List<ContainerID> sample =
+        report.getSample(ContainerHealthState.UNDER_REPLICATED);
+    assertEquals(rmConf.getContainerSampleLimit(), sample.size());
+    assertEquals(sample.size(), new HashSet<>(sample).size());
+    assertEquals(totalContainers,
+        replicationManager.getQueue().underReplicatedQueueSize());
+    for (ContainerInfo container : containerInfoSet) {
+      assertEquals(ContainerHealthState.UNDER_REPLICATED,
+          container.getHealthState());
+    }
+  }
+
+  @Test
+  public void testProcessChangedContainers() throws ContainerNotFoundException {
+    ContainerInfo container = createContainerInfo(
+        RatisReplicationConfig.getInstance(THREE), 1,
+        HddsProtos.LifeCycleState.CLOSED);
+    containerInfoSet.add(container);
+    Set<ContainerReplica> replicas = new HashSet<>();
+    replicas.add(createContainerReplica(container.containerID(), 0,
+        IN_SERVICE, ContainerReplicaProto.State.CLOSED));
+    replicas.add(createContainerReplica(container.containerID(), 0,
+        IN_SERVICE, ContainerReplicaProto.State.CLOSED));
+    containerReplicaMap.put(container.containerID(), replicas);
+    when(containerManager.getContainer(container.containerID()))
+        .thenReturn(container);
+    when(containerManager.getContainer(ContainerID.valueOf(2)))
+        .thenThrow(ContainerNotFoundException.class);
+
+    enableProcessAll();
+    replicationManager.notifyContainerChanged(container.containerID());
+    replicationManager.notifyContainerChanged(container.containerID());
+    replicationManager.notifyContainerChanged(ContainerID.valueOf(2));
+    assertEquals(2, replicationManager.getChangedContainerCount());
+
+    replicationManager.processChangedContainers();
+    assertEquals(0, replicationManager.getChangedContainerCount());
+    assertEquals(1, replicationManager.getQueue().underReplicatedQueueSize());
+    assertEquals(ContainerHealthState.UNDER_REPLICATED,
+        container.getHealthState());
+    assertEquals(1, replicationManager.getMetrics()
+        .getChangedContainersCheckedTotal());
+
+    // a full scan checks all the containers, so it drops the changed ones
+    replicationManager.notifyContainerChanged(container.containerID());
+    replicationManager.processAll();
+    assertEquals(0, replicationManager.getChangedContainerCount());
+  }
+
+  @Test
+  public void testChangedContainersDisabled() {
+    rmConf.setChangedContainerInterval(Duration.ZERO);
+    replicationManager.notifyContainerChanged(ContainerID.valueOf(1));
+    assertEquals(0, replicationManager.getChangedContainerCount());
+  }
+
   @Test
   public void testReconfigureContainerSampleLimit() {
     // Create 120 under replicated containers
@@ -596,6 +596,17 @@ public OzoneKeyDetails getKey(String key) throws IOException {
     return proxy.getKeyDetails(volumeName, name, key);
   }
 
+  /**
+   * Returns information about the given keys, looked up in one call.
+   * @param keys Names of the keys.
+   * @return OzoneKeyDetails in the order of the given keys, where the
+   *         details is null if the key is not found.
+   * @throws IOException
+   */
+  public List<OzoneKeyDetails> getKeys(List<String> keys) throws IOException {
+    return proxy.getKeyDetails(volumeName, name, keys);
+  }
+
   /**
    *
    * Returns OzoneKey that contains the application generated/visible
@@ -39,6 +39,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
 import org.apache.hadoop.hdds.scm.storage.BufferPool;
+import org.apache.hadoop.hdds.scm.storage.SlabBufferAllocator;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -108,13 +109,17 @@ public BlockOutputStreamEntryPool(KeyOutputStream.Builder b) {
     this.excludeList = createExcludeList();
 
     this.streamBufferArgs = b.getStreamBufferArgs();
+    this.clientMetrics = b.getClientMetrics();
     this.bufferPool =
         new BufferPool(streamBufferArgs.getStreamBufferSize(),
             (int) (streamBufferArgs.getStreamBufferMaxSize() / streamBufferArgs
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()));
-    this.clientMetrics = b.getClientMetrics();
+                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()),
+            config.isStreamBufferSlabEnabled()
+                ? SlabBufferAllocator.getInstance(config.getStreamBufferSlabMaxSize()) : null,
+            config.getStreamBufferSlabWaitTimeout().toMillis(),
+            clientMetrics);
     this.executorServiceSupplier = b.getExecutorServiceSupplier();
   }
 
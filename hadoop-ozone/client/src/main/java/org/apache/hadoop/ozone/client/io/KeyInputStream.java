@@ -31,10 +31,12 @@
 import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.storage.BlockExtendedInputStream;
+import org.apache.hadoop.hdds.scm.storage.BlockInputStream;
 import org.apache.hadoop.hdds.scm.storage.BlockLocationInfo;
 import org.apache.hadoop.hdds.scm.storage.ByteReaderStrategy;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.scm.storage.PartInputStream;
+import org.apache.hadoop.hdds.scm.storage.Readahead;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfo;
@@ -49,9 +51,21 @@ public class KeyInputStream extends MultipartInputStream {
   private static final Logger LOG =
       LoggerFactory.getLogger(KeyInputStream.class);
 
+  // Prefetch the chunks ahead of sequential reads if not null.
+  private final Readahead readahead;
+  // The position following the last read, for detecting sequential reads.
+  private long sequentialPos = 0;
+
   public KeyInputStream(String keyName,
                         List<? extends BlockExtendedInputStream> inputStreams) {
+    this(keyName, inputStreams, null);
+  }
+
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Readahead readahead) {
     super(keyName, inputStreams);
+    this.readahead = readahead;
   }
 
   private static List<BlockExtendedInputStream> createStreams(
@@ -127,12 +141,13 @@ private static LengthInputStream getFromOmKeyInfo(
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       List<OmKeyLocationInfo> locationInfos,
-      OzoneClientConfig config) throws IOException {
+      OzoneClientConfig config,
+      Readahead readahead) throws IOException {
     List<BlockExtendedInputStream> streams = createStreams(keyInfo,
         locationInfos, xceiverClientFactory, retryFunction,
         blockStreamFactory, config);
     KeyInputStream keyInputStream =
-        new KeyInputStream(keyInfo.getKeyName(), streams);
+        new KeyInputStream(keyInfo.getKeyName(), streams, readahead);
     return new LengthInputStream(keyInputStream, keyInputStream.getLength());
   }
 
@@ -144,12 +159,27 @@ public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       OzoneClientConfig config) throws IOException {
+    return getFromOmKeyInfo(keyInfo, xceiverClientFactory, retryFunction,
+        blockStreamFactory, config, null);
+  }
+
+  /**
+   * For each block in keyInfo, add a BlockInputStream to blockStreams.
+   * @param readahead to prefetch sequential reads, can be null.
+   */
+  public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory,
+      OzoneClientConfig config,
+      Readahead readahead) throws IOException {
 
     List<OmKeyLocationInfo> keyLocationInfos = keyInfo
         .getLatestVersionLocations().getBlocksLatestVersionOnly();
 
     return getFromOmKeyInfo(keyInfo, xceiverClientFactory,
-        retryFunction, blockStreamFactory, keyLocationInfos, config);
+        retryFunction, blockStreamFactory, keyLocationInfos, config,
+        readahead);
   }
 
   public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
@@ -157,6 +187,16 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       OzoneClientConfig config) throws IOException {
+    return getStreamsFromKeyInfo(keyInfo, xceiverClientFactory, retryFunction,
+        blockStreamFactory, config, null);
+  }
+
+  public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory,
+      OzoneClientConfig config,
+      Readahead readahead) throws IOException {
 
     List<OmKeyLocationInfo> keyLocationInfos = keyInfo
         .getLatestVersionLocations().getBlocksLatestVersionOnly();
@@ -172,11 +212,45 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
     for (List<OmKeyLocationInfo> locationInfo : partsToBlocksMap.values()) {
       lengthInputStreams.add(getFromOmKeyInfo(keyInfo, xceiverClientFactory,
           retryFunction, blockStreamFactory, locationInfo,
-          config));
+          config, readahead));
     }
     return lengthInputStreams;
   }
 
+  @Override
+  protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
+      throws IOException {
+    if (readahead == null) {
+      return super.readWithStrategy(strategy);
+    }
+    final long pos = getPos();
+    if (pos == sequentialPos) {
+      readahead(pos);
+    }
+    final int n = super.readWithStrategy(strategy);
+    sequentialPos = n > 0 ? getPos() : -1;
+    return n;
+  }
+
+  /**
+   * Prefetch the chunks from the given position up to the readahead size,
+   * across the block boundaries.
+   */
+  private void readahead(long pos) {
+    final long end = Math.min(getLength(), pos + readahead.getSize());
+    final List<BlockExtendedInputStream> parts = getPartStreams();
+    for (int i = getCurrentStreamIndex(); i < parts.size(); i++) {
+      final long offset = getPartOffset(i);
+      if (offset >= end) {
+        break;
+      }
+      final BlockExtendedInputStream part = parts.get(i);
+      if (part instanceof BlockInputStream) {
+        ((BlockInputStream) part).readahead(end - offset, readahead);
+      }
+    }
+  }
+
   @Override
   protected int getNumBytesToRead(ByteReaderStrategy strategy,
                                   PartInputStream current) throws IOException {
@@ -535,6 +535,18 @@ OzoneKeyDetails getKeyDetails(String volumeName, String bucketName,
                                 String keyName)
       throws IOException;
 
+  /**
+   * Get the OzoneKeys of the given keys in one call if OM supports it.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyNames Key names
+   * @return the {@link OzoneKeyDetails} in the order of the key names,
+   *         where the details is null if the key is not found.
+   * @throws IOException
+   */
+  List<OzoneKeyDetails> getKeyDetails(String volumeName, String bucketName,
+      List<String> keyNames) throws IOException;
+
   /**
    * Close and release the resources.
    */
@@ -52,6 +52,7 @@
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -88,6 +89,7 @@
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.storage.ByteBufferStreamOutput;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.apache.hadoop.hdds.scm.storage.Readahead;
 import org.apache.hadoop.hdds.security.x509.certificate.client.CACertificateProvider;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.IOUtils;
@@ -222,6 +224,8 @@ public class RpcClient implements ClientProtocol {
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> readaheadExecutor;
+  private final Readahead readahead;
   private final AtomicBoolean isS3GRequest = new AtomicBoolean(false);
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
@@ -248,6 +252,8 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    this.readaheadExecutor = MemoizedSupplier.valueOf(() -> createReadaheadExecutor(
+        clientConfig.getReadaheadThreads()));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -330,6 +336,9 @@ public void onRemoval(
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
         .getInstance(byteBufferPool, ecReconstructExecutor);
     this.clientMetrics = ContainerClientMetrics.acquire();
+    this.readahead = clientConfig.getReadaheadSize() > 0
+        ? new Readahead(clientConfig.getReadaheadSize(), readaheadExecutor, clientMetrics)
+        : null;
 
     this.serverDefaultsValidityPeriod = conf.getTimeDuration(
         OZONE_CLIENT_SERVER_DEFAULTS_VALIDITY_PERIOD_MS,
@@ -1740,6 +1749,43 @@ public OzoneKeyDetails getKeyDetails(
     return getOzoneKeyDetails(keyInfo);
   }
 
+  @Override
+  public List<OzoneKeyDetails> getKeyDetails(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    final List<OzoneKeyDetails> details = new ArrayList<>(keyNames.size());
+    if (omVersion.compareTo(OzoneManagerVersion.BATCH_GET_KEY_INFO) < 0) {
+      for (String keyName : keyNames) {
+        try {
+          details.add(getKeyDetails(volumeName, bucketName, keyName));
+        } catch (OMException e) {
+          if (e.getResult() != OMException.ResultCodes.KEY_NOT_FOUND) {
+            throw e;
+          }
+          details.add(null);
+        }
+      }
+      return details;
+    }
+
+    final List<OmKeyArgs> args = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      Objects.requireNonNull(keyName, "keyName == null");
+      args.add(new OmKeyArgs.Builder()
+          .setVolumeName(volumeName)
+          .setBucketName(bucketName)
+          .setKeyName(keyName)
+          .setSortDatanodesInPipeline(topologyAwareReadEnabled)
+          .setLatestVersionLocation(getLatestVersionLocation)
+          .build());
+    }
+    for (OmKeyInfo keyInfo : ozoneManagerClient.getKeyInfos(args)) {
+      details.add(keyInfo == null ? null : getOzoneKeyDetails(keyInfo));
+    }
+    return details;
+  }
+
   @Nonnull
   private OzoneKeyDetails getOzoneKeyDetails(OmKeyInfo keyInfo) {
     List<OzoneKeyLocation> ozoneKeyLocations = new ArrayList<>();
@@ -1875,6 +1921,9 @@ public void close() throws IOException {
     if (writeExecutor.isInitialized()) {
       writeExecutor.get().shutdownNow();
     }
+    if (readaheadExecutor.isInitialized()) {
+      readaheadExecutor.get().shutdownNow();
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -2400,7 +2449,7 @@ private OzoneInputStream createInputStream(
     if (feInfo == null) {
       LengthInputStream lengthInputStream = KeyInputStream
           .getFromOmKeyInfo(keyInfo, xceiverClientManager, retryFunction,
-              blockInputStreamFactory, clientConfig);
+              blockInputStreamFactory, clientConfig, readahead);
       try {
         final GDPRSymmetricKey gk = getGDPRSymmetricKey(
             keyInfo.getMetadata(), Cipher.DECRYPT_MODE);
@@ -2416,7 +2465,7 @@ private OzoneInputStream createInputStream(
       // Regular Key with FileEncryptionInfo
       LengthInputStream lengthInputStream = KeyInputStream
           .getFromOmKeyInfo(keyInfo, xceiverClientManager, retryFunction,
-              blockInputStreamFactory, clientConfig);
+              blockInputStreamFactory, clientConfig, readahead);
       final KeyProvider.KeyVersion decrypted = getDEK(feInfo);
       final CryptoInputStream cryptoIn =
           new CryptoInputStream(lengthInputStream.getWrappedStream(),
@@ -2427,7 +2476,7 @@ private OzoneInputStream createInputStream(
       // Multipart Key with FileEncryptionInfo
       List<LengthInputStream> lengthInputStreams = KeyInputStream
           .getStreamsFromKeyInfo(keyInfo, xceiverClientManager, retryFunction,
-              blockInputStreamFactory, clientConfig);
+              blockInputStreamFactory, clientConfig, readahead);
       final KeyProvider.KeyVersion decrypted = getDEK(feInfo);
 
       List<OzoneCryptoInputStream> cryptoInputStreams = new ArrayList<>();
@@ -2780,4 +2829,16 @@ private static ExecutorService createThreadPoolExecutor(
                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build(),
                new ThreadPoolExecutor.CallerRunsPolicy());
   }
+
+  /**
+   * Unlike the other executors, the readers do not run the tasks when the
+   * threads are busy, and the tasks are bounded by the readahead size.
+   */
+  private static ExecutorService createReadaheadExecutor(int threads) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("client-readahead-TID-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
 }
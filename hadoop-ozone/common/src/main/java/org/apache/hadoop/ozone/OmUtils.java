@@ -248,6 +248,7 @@ public static boolean isReadOnly(OMRequest omRequest) {
       // Although indirectly the Ranger sync service task could invoke write
       // operation SetRangerServiceVersion.
     case GetKeyInfo:
+    case GetKeyInfos:
     case SnapshotDiff:
     case CancelSnapshotDiff:
     case ListSnapshotDiffJobs:
@@ -373,6 +374,7 @@ public static boolean shouldSendToFollower(OMRequest omRequest) {
     case ListSnapshot:
     case RefetchSecretKey:
     case GetKeyInfo:
+    case GetKeyInfos:
     case GetSnapshotInfo:
     case GetObjectTagging:
       return true;
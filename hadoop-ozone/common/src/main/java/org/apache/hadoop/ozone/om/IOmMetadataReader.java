@@ -47,6 +47,16 @@ KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args,
                                       boolean assumeS3Context)
       throws IOException;
 
+  /**
+   * Look up for the containers of the given keys in one call.
+   * The keys may be in different buckets.
+   *
+   * @param args the args of the keys.
+   * @return the key infos in the order of the args, where the key info is
+   *         null if the key is not found.
+   */
+  List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args) throws IOException;
+
   /**
    * List the status for a file or a directory and its contents.
    *
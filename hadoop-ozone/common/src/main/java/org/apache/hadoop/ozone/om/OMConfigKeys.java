@@ -464,6 +464,15 @@ public final class OMConfigKeys {
   public static final boolean OZONE_OM_S3_GRPC_SERVER_ENABLED_DEFAULT =
       true;
 
+  /**
+   * The max number of the cached AWS V4 signing keys, i.e. the keys derived
+   * from the S3 secrets per access id, date, region and service.
+   * Set it to zero for disabling the cache.
+   */
+  public static final String OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE =
+      "ozone.om.s3.signing.key.cache.size";
+  public static final int OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE_DEFAULT = 10000;
+
   public static final String OZONE_OM_NAMESPACE_STRICT_S3 =
       "ozone.om.namespace.s3.strict";
   public static final boolean OZONE_OM_NAMESPACE_STRICT_S3_DEFAULT =
@@ -489,6 +498,19 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT
       = 10000;
 
+  public static final String OZONE_OM_RATIS_APPLY_PARALLEL_ENABLED =
+      "ozone.om.ratis.apply.parallel.enabled";
+  public static final boolean OZONE_OM_RATIS_APPLY_PARALLEL_ENABLED_DEFAULT
+      = false;
+  public static final String OZONE_OM_RATIS_APPLY_PARALLEL_THREAD_COUNT =
+      "ozone.om.ratis.apply.parallel.thread.count";
+  public static final int OZONE_OM_RATIS_APPLY_PARALLEL_THREAD_COUNT_DEFAULT
+      = 8;
+  public static final String OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED =
+      "ozone.om.double.buffer.pipelined.flush.enabled";
+  public static final boolean
+      OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED_DEFAULT = false;
+
   /**
    * This configuration shall be enabled to utilize the functionality of the
    * fine-grained KEY_PATH_LOCK.
@@ -549,6 +571,44 @@ public final class OMConfigKeys {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  public static final String OZONE_OM_SORT_DATANODES_CACHE_SIZE
+      = "ozone.om.sort.datanodes.cache.size";
+  public static final int OZONE_OM_SORT_DATANODES_CACHE_SIZE_DEFAULT
+      = 10_000;
+
+  public static final String OZONE_OM_CONTAINER_LOCATION_CHANGE_POLL_INTERVAL
+      = "ozone.om.container.location.change.poll.interval";
+  public static final TimeDuration
+      OZONE_OM_CONTAINER_LOCATION_CHANGE_POLL_INTERVAL_DEFAULT
+      = TimeDuration.valueOf(0, TimeUnit.SECONDS);
+
+  public static final String OZONE_OM_CONTAINER_LOCATION_CHANGE_BATCH_SIZE
+      = "ozone.om.container.location.change.batch.size";
+  public static final int OZONE_OM_CONTAINER_LOCATION_CHANGE_BATCH_SIZE_DEFAULT
+      = 10_000;
+
+  public static final String OZONE_OM_DELTA_UPDATE_MAX_WAIT
+      = "ozone.om.delta.update.max.wait";
+  public static final TimeDuration OZONE_OM_DELTA_UPDATE_MAX_WAIT_DEFAULT
+      = TimeDuration.valueOf(10, TimeUnit.SECONDS);
+
+  public static final String OZONE_OM_BLOCK_LEASE_BATCH_SIZE
+      = "ozone.om.block.lease.batch.size";
+  public static final int OZONE_OM_BLOCK_LEASE_BATCH_SIZE_DEFAULT = 0;
+
+  public static final String OZONE_OM_BLOCK_LEASE_TIMEOUT
+      = "ozone.om.block.lease.timeout";
+  public static final TimeDuration OZONE_OM_BLOCK_LEASE_TIMEOUT_DEFAULT
+      = TimeDuration.valueOf(30, TimeUnit.SECONDS);
+
+  public static final String OZONE_OM_BLOCK_LEASE_MAX_POOLS
+      = "ozone.om.block.lease.max.pools";
+  public static final int OZONE_OM_BLOCK_LEASE_MAX_POOLS_DEFAULT = 128;
+
+  public static final String OZONE_OM_BLOCK_LEASE_REFILL_THREADS
+      = "ozone.om.block.lease.refill.threads";
+  public static final int OZONE_OM_BLOCK_LEASE_REFILL_THREADS_DEFAULT = 2;
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
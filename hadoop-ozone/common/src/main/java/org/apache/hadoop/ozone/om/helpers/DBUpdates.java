@@ -33,6 +33,8 @@ public class DBUpdates {
 
   private boolean isDBUpdateSuccess = true;
 
+  private long waitTimeoutMs;
+
   public DBUpdates() {
     this.dataList = new ArrayList<>();
   }
@@ -75,4 +77,16 @@ public boolean isDBUpdateSuccess() {
   public void setDBUpdateSuccess(boolean dbUpdateSuccess) {
     this.isDBUpdateSuccess = dbUpdateSuccess;
   }
+
+  /**
+   * @return the wait timeout applied by OM for new updates,
+   * or 0 if OM has not waited.
+   */
+  public long getWaitTimeoutMs() {
+    return waitTimeoutMs;
+  }
+
+  public void setWaitTimeoutMs(long waitTimeoutMs) {
+    this.waitTimeoutMs = waitTimeoutMs;
+  }
 }
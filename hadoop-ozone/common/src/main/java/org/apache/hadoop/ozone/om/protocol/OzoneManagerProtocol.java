@@ -320,6 +320,19 @@ default OmKeyLocationInfo allocateBlock(OmKeyArgs args, long clientID,
   KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args, boolean assumeS3Context)
       throws IOException;
 
+  /**
+   * Lookup for the containers of the given keys in one call.
+   * <p>
+   * OM returns at most ozone.om.server.list.max.size key infos;
+   * the client side translator looks up the remaining keys by more calls.
+   *
+   * @param args the args of the keys, which may be in different buckets.
+   * @return the key infos in the order of the args, where the key info is
+   *         null if the key is not found.
+   */
+  @Override
+  List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args) throws IOException;
+
   /**
    * Rename an existing key within a bucket.
    * @param args the args of the key.
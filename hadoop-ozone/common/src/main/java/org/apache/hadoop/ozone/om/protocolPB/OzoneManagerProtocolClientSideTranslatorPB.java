@@ -139,6 +139,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfosRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfosResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetS3SecretRequest;
@@ -893,6 +895,33 @@ public KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args,
     return KeyInfoWithVolumeContext.fromProtobuf(resp);
   }
 
+  @Override
+  public List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args) throws IOException {
+    final List<OmKeyInfo> keyInfos = new ArrayList<>(args.size());
+    while (keyInfos.size() < args.size()) {
+      // OM may return fewer key infos than requested; request the rest again.
+      final GetKeyInfosRequest.Builder req = GetKeyInfosRequest.newBuilder();
+      for (OmKeyArgs keyArgs : args.subList(keyInfos.size(), args.size())) {
+        req.addKeyArgs(keyArgs.toProtobuf());
+      }
+
+      final OMRequest omRequest = createOMRequest(Type.GetKeyInfos)
+          .setGetKeyInfosRequest(req)
+          .build();
+      final GetKeyInfosResponse resp =
+          handleError(submitRequest(omRequest)).getGetKeyInfosResponse();
+      if (resp.getKeyInfosCount() == 0) {
+        throw new OMException("Unexpected empty GetKeyInfosResponse for "
+            + req.getKeyArgsCount() + " keys", ResultCodes.INTERNAL_ERROR);
+      }
+      for (GetKeyInfoResponse keyInfo : resp.getKeyInfosList()) {
+        keyInfos.add(keyInfo.hasKeyInfo()
+            ? OmKeyInfo.getFromProtobuf(keyInfo.getKeyInfo()) : null);
+      }
+    }
+    return keyInfos;
+  }
+
   @Override
   @Deprecated
   public void renameKeys(OmRenameKeys omRenameKeys) throws IOException {
@@ -2287,6 +2316,7 @@ public DBUpdates getDBUpdates(DBUpdatesRequest dbUpdatesRequest)
     dbUpdatesWrapper.setLatestSequenceNumber(
         dbUpdatesResponse.getLatestSequenceNumber());
     dbUpdatesWrapper.setDBUpdateSuccess(dbUpdatesResponse.getDbUpdateSuccess());
+    dbUpdatesWrapper.setWaitTimeoutMs(dbUpdatesResponse.getWaitTimeoutMs());
     return dbUpdatesWrapper;
   }
 
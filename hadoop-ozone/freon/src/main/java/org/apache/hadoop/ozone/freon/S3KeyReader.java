@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.freon;
+
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import java.util.concurrent.Callable;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.kohsuke.MetaInfServices;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Read the keys via the s3 interface, e.g. the keys generated by
+ * {@link S3KeyGenerator}, for measuring the GET throughput of s3g.
+ */
+@Command(name = "s3kr",
+    aliases = "s3-key-reader",
+    description = "Read keys via the s3 interface. " +
+        "Command requires AWS authentication environment " +
+        "variables set, AWS_ACCESS_KEY_ID and " +
+        "AWS_SECRET_ACCESS_KEY",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+@MetaInfServices(FreonSubcommand.class)
+public class S3KeyReader extends S3EntityGenerator
+    implements Callable<Void> {
+
+  @Option(names = {"-b", "--bucket"},
+      description =
+          "Name of the (S3!) bucket which contains the test data.",
+      defaultValue = "bucket1")
+  private String bucketName;
+
+  @Option(names = {"--range-offset"},
+      description = "Start offset of the range to read, used only if " +
+          "--range-length is positive.",
+      defaultValue = "0")
+  private long rangeOffset;
+
+  @Option(names = {"--range-length"},
+      description = "Length of the range to read; non-positive means " +
+          "reading the whole key.",
+      defaultValue = "0")
+  private long rangeLength;
+
+  @Option(names = {"--buffer-size"},
+      description = "Size of the buffer for reading the content.",
+      defaultValue = "4194304")
+  private int bufferSize;
+
+  private Timer timer;
+  private Meter bytesRead;
+
+  @Override
+  public Void call() throws Exception {
+    s3ClientInit();
+
+    timer = getMetrics().timer("key-read");
+    bytesRead = getMetrics().meter("bytes-read");
+
+    runTests(this::readKey);
+    return null;
+  }
+
+  private void readKey(long counter) throws Exception {
+    final GetObjectRequest request = new GetObjectRequest(bucketName,
+        generateObjectName(counter));
+    if (rangeLength > 0) {
+      request.setRange(rangeOffset, rangeOffset + rangeLength - 1);
+    }
+    timer.time(() -> {
+      final byte[] buffer = new byte[bufferSize];
+      long total = 0;
+      try (S3Object object = getS3().getObject(request);
+           S3ObjectInputStream in = object.getObjectContent()) {
+        for (int n; (n = in.read(buffer)) >= 0;) {
+          total += n;
+        }
+      }
+      bytesRead.mark(total);
+      return null;
+    });
+  }
+}
@@ -74,6 +74,12 @@ boolean isWriteLockedByCurrentThread(Resource resource,
 
   OMLockMetrics getOMLockMetrics();
 
+  /**
+   * @return the lock hotspots in JSON, i.e. the most contended lock keys and
+   *         stripes, and the current lock holders.
+   */
+  String getLockHotspots();
+
   default UncheckedAutoCloseableSupplier<OMLockDetails> acquireResourceLock(Resource resource) {
 
     OMLockDetails lockDetails = acquireResourceWriteLock(resource);
@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.ozone.om.lock;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.metrics2.MetricsCollector;
 import org.apache.hadoop.metrics2.MetricsRecordBuilder;
@@ -27,6 +29,7 @@
 import org.apache.hadoop.metrics2.lib.MetricsRegistry;
 import org.apache.hadoop.metrics2.lib.MutableStat;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.util.StringUtils;
 
 /**
  * This class is for maintaining the various Ozone Manager Lock Metrics.
@@ -42,6 +45,9 @@ public final class OMLockMetrics implements MetricsSource {
   private final MutableStat readLockHeldTimeMsStat;
   private final MutableStat writeLockWaitingTimeMsStat;
   private final MutableStat writeLockHeldTimeMsStat;
+  /** Resource name -> the waiting time of the contended acquisitions. */
+  private final Map<String, MutableStat> contendedWaitingTimeMsStats =
+      new ConcurrentHashMap<>();
 
   private OMLockMetrics() {
     registry = new MetricsRegistry(SOURCE_NAME);
@@ -114,6 +120,36 @@ public void setWriteLockHeldTimeMsStat(long writeLockHeldTimeMs) {
     this.writeLockHeldTimeMsStat.add(writeLockHeldTimeMs);
   }
 
+  /**
+   * Adds a snapshot to the contended waiting time metric of the resource,
+   * i.e. the waiting time of the lock acquisitions which found the lock
+   * held by another thread.
+   *
+   * @param resourceName name of the lock resource
+   * @param contendedWaitingTimeMs lock waiting time (ms)
+   */
+  public void addContendedWaitingTimeMs(String resourceName,
+      long contendedWaitingTimeMs) {
+    contendedWaitingTimeMsStats.computeIfAbsent(resourceName,
+        name -> registry.newStat(
+            StringUtils.camelize(name) + "ContendedWaitingTime",
+            "Time (in milliseconds) spent waiting for acquiring a contended "
+                + name, "Ops", "Time", true))
+        .add(contendedWaitingTimeMs);
+  }
+
+  /**
+   * Returns a string representation of the contended waiting time metric of
+   * the resource, or null if the resource has not been contended.
+   *
+   * @param resourceName name of the lock resource
+   * @return String representation of object
+   */
+  public String getContendedWaitingTimeMsStat(String resourceName) {
+    final MutableStat stat = contendedWaitingTimeMsStats.get(resourceName);
+    return stat == null ? null : stat.toString();
+  }
+
   /**
    * Returns a string representation of the object. Provides information on the
    * total number of samples, minimum value, maximum value, arithmetic mean,
@@ -205,5 +241,8 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     readLockWaitingTimeMsStat.snapshot(builder, all);
     writeLockHeldTimeMsStat.snapshot(builder, all);
     writeLockWaitingTimeMsStat.snapshot(builder, all);
+    for (MutableStat stat : contendedWaitingTimeMsStats.values()) {
+      stat.snapshot(builder, all);
+    }
   }
 }
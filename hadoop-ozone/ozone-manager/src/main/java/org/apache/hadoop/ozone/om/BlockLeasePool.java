@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_MAX_POOLS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_MAX_POOLS_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_REFILL_THREADS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_REFILL_THREADS_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_TIMEOUT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_LEASE_TIMEOUT_DEFAULT;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Blocks allocated from SCM in advance, so that the blocks of a key can be
+ * handed out without an SCM round trip.
+ * <p>
+ * There is a pool of blocks for each block size, replication config, owner
+ * and client machine, since SCM sorts the datanodes of the pipeline of a
+ * block by the distance to the client.  A pool is refilled in the
+ * background, by one batched allocation from SCM, once half of its blocks
+ * are used.  A block is leased for a limited time only, since its container
+ * may be closed afterwards.  SCM does not account the space of an allocated
+ * block, so an expired block wastes only its local ID.
+ */
+public final class BlockLeasePool implements Closeable {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BlockLeasePool.class);
+
+  private final ScmBlockLocationProtocol blockClient;
+  private final int batchSize;
+  private final long leaseTimeoutNanos;
+  private final Cache<PoolKey, Pool> pools;
+  private final ExecutorService refiller;
+
+  @VisibleForTesting
+  BlockLeasePool(ScmBlockLocationProtocol blockClient, int batchSize,
+      long leaseTimeoutNanos, int maxPools, int refillThreads) {
+    this.blockClient = blockClient;
+    this.batchSize = batchSize;
+    this.leaseTimeoutNanos = leaseTimeoutNanos;
+    this.pools = CacheBuilder.newBuilder()
+        .maximumSize(maxPools)
+        .expireAfterAccess(leaseTimeoutNanos, TimeUnit.NANOSECONDS)
+        .build();
+    this.refiller = Executors.newFixedThreadPool(refillThreads,
+        new ThreadFactoryBuilder()
+            .setNameFormat("BlockLeaseRefill-%d")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * @return the pool configured by the given configuration,
+   *         or null if the block leases are disabled.
+   */
+  static BlockLeasePool create(ScmBlockLocationProtocol blockClient,
+      OzoneConfiguration conf) {
+    final int batchSize = conf.getInt(OZONE_OM_BLOCK_LEASE_BATCH_SIZE,
+        OZONE_OM_BLOCK_LEASE_BATCH_SIZE_DEFAULT);
+    if (batchSize <= 0) {
+      return null;
+    }
+    final long timeoutNanos = conf.getTimeDuration(
+        OZONE_OM_BLOCK_LEASE_TIMEOUT,
+        OZONE_OM_BLOCK_LEASE_TIMEOUT_DEFAULT.toLong(TimeUnit.NANOSECONDS),
+        TimeUnit.NANOSECONDS);
+    final int maxPools = conf.getInt(OZONE_OM_BLOCK_LEASE_MAX_POOLS,
+        OZONE_OM_BLOCK_LEASE_MAX_POOLS_DEFAULT);
+    final int refillThreads = conf.getInt(OZONE_OM_BLOCK_LEASE_REFILL_THREADS,
+        OZONE_OM_BLOCK_LEASE_REFILL_THREADS_DEFAULT);
+    LOG.info("Block leases enabled: batchSize={}, timeout={}ms, maxPools={}",
+        batchSize, TimeUnit.NANOSECONDS.toMillis(timeoutNanos), maxPools);
+    return new BlockLeasePool(blockClient, batchSize, timeoutNanos,
+        maxPools, Math.max(1, refillThreads));
+  }
+
+  /**
+   * Allocate blocks from the pool, where the blocks missing in the pool
+   * are allocated from SCM directly.
+   * See {@link ScmBlockLocationProtocol#allocateBlock}.
+   */
+  public List<AllocatedBlock> allocateBlock(long size, int numBlocks,
+      ReplicationConfig replicationConfig, String owner, String clientMachine,
+      OMMetrics metrics) throws IOException {
+    final PoolKey key = new PoolKey(size, replicationConfig, owner,
+        clientMachine);
+    final Pool pool = pools.asMap().computeIfAbsent(key, Pool::new);
+    final List<AllocatedBlock> blocks = new ArrayList<>(numBlocks);
+    pool.poll(numBlocks, blocks, metrics);
+    metrics.incNumBlockLeaseHits(blocks.size());
+    final int missing = numBlocks - blocks.size();
+    if (missing > 0) {
+      metrics.incNumBlockLeaseMisses(missing);
+      blocks.addAll(blockClient.allocateBlock(size, missing,
+          replicationConfig, owner, new ExcludeList(), clientMachine));
+    }
+    pool.refillIfNeeded(metrics);
+    return blocks;
+  }
+
+  @VisibleForTesting
+  int getLeasedBlockCount() {
+    return pools.asMap().values().stream().mapToInt(p -> p.count.get()).sum();
+  }
+
+  @Override
+  public void close() {
+    refiller.shutdownNow();
+    pools.invalidateAll();
+  }
+
+  /** The blocks allocated from SCM in advance for one {@link PoolKey}. */
+  private final class Pool {
+    private final PoolKey key;
+    /** The leases ordered by expiry. */
+    private final Deque<Lease> leases = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    Pool(PoolKey key) {
+      this.key = key;
+    }
+
+    void poll(int numBlocks, List<AllocatedBlock> blocks, OMMetrics metrics) {
+      final long now = Time.monotonicNowNanos();
+      while (blocks.size() < numBlocks) {
+        final Lease lease = leases.pollFirst();
+        if (lease == null) {
+          return;
+        }
+        count.decrementAndGet();
+        if (now - lease.expiryNanos >= 0) {
+          metrics.incNumBlockLeaseExpired();
+        } else {
+          blocks.add(lease.block);
+        }
+      }
+    }
+
+    void refillIfNeeded(OMMetrics metrics) {
+      if (count.get() > batchSize / 2
+          || !refilling.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        refiller.execute(() -> refill(metrics));
+      } catch (RejectedExecutionException e) {
+        refilling.set(false);
+      }
+    }
+
+    private void refill(OMMetrics metrics) {
+      try {
+        final int numBlocks = batchSize - count.get();
+        if (numBlocks <= 0) {
+          return;
+        }
+        final List<AllocatedBlock> blocks = blockClient.allocateBlock(
+            key.size, numBlocks, key.replicationConfig, key.owner,
+            new ExcludeList(), key.clientMachine);
+        final long expiryNanos = Time.monotonicNowNanos() + leaseTimeoutNanos;
+        for (AllocatedBlock block : blocks) {
+          leases.addLast(new Lease(block, expiryNanos));
+          count.incrementAndGet();
+        }
+      } catch (IOException | RuntimeException e) {
+        metrics.incNumBlockLeaseRefillFails();
+        LOG.warn("Failed to allocate {} blocks in advance for {}",
+            batchSize, key, e);
+      } finally {
+        refilling.set(false);
+      }
+    }
+  }
+
+  /** A block which can be handed out until the expiry. */
+  private static final class Lease {
+    private final AllocatedBlock block;
+    private final long expiryNanos;
+
+    Lease(AllocatedBlock block, long expiryNanos) {
+      this.block = block;
+      this.expiryNanos = expiryNanos;
+    }
+  }
+
+  /** The parameters of the blocks in a {@link Pool}. */
+  private static final class PoolKey {
+    private final long size;
+    private final ReplicationConfig replicationConfig;
+    private final String owner;
+    private final String clientMachine;
+
+    PoolKey(long size, ReplicationConfig replicationConfig, String owner,
+        String clientMachine) {
+      this.size = size;
+      this.replicationConfig = replicationConfig;
+      this.owner = owner;
+      this.clientMachine = clientMachine;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PoolKey)) {
+        return false;
+      }
+      final PoolKey that = (PoolKey) o;
+      return size == that.size
+          && Objects.equals(replicationConfig, that.replicationConfig)
+          && Objects.equals(owner, that.owner)
+          && Objects.equals(clientMachine, that.clientMachine);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, replicationConfig, owner, clientMachine);
+    }
+
+    @Override
+    public String toString() {
+      return replicationConfig + ", size=" + size + ", owner=" + owner
+          + ", client=" + clientMachine;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CHANGE_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CHANGE_BATCH_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CHANGE_POLL_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CHANGE_POLL_INTERVAL_DEFAULT;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.container.ContainerLocationChanges;
+import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invalidate the container location cache of OM by the container location
+ * changes polled from SCM, so that the cache can be long-lived but still
+ * not serving stale pipelines after datanode failures.
+ * <p>
+ * SCM keeps only the recent changes in memory.  When the changes are no
+ * longer available, or the log of SCM is changed, e.g. after SCM restart or
+ * failover, the whole cache is invalidated.  When SCM cannot be reached,
+ * nothing is invalidated until the next successful poll, where the cache
+ * TTL is still the upper bound of the staleness.
+ */
+public final class ContainerLocationCacheInvalidator implements Closeable {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ContainerLocationCacheInvalidator.class);
+
+  private final StorageContainerLocationProtocol containerClient;
+  private final Cache<Long, ?> cache;
+  private final int batchSize;
+  private final ScheduledExecutorService executor;
+
+  /** The log id of the last changes, or null before the first poll. */
+  private Long logId;
+  /** The sequence id of the last changes. */
+  private long sequenceId = -1;
+  private boolean failed;
+
+  @VisibleForTesting
+  ContainerLocationCacheInvalidator(
+      StorageContainerLocationProtocol containerClient, Cache<Long, ?> cache,
+      int batchSize) {
+    this.containerClient = containerClient;
+    this.cache = cache;
+    this.batchSize = batchSize;
+    this.executor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("ContainerLocationCacheInvalidator")
+            .setDaemon(true)
+            .build());
+  }
+
+  /**
+   * @return the started invalidator configured by the given configuration,
+   *         or null if the polling is disabled.
+   */
+  static ContainerLocationCacheInvalidator create(
+      StorageContainerLocationProtocol containerClient, Cache<Long, ?> cache,
+      OzoneConfiguration conf) {
+    final long intervalMs = conf.getTimeDuration(
+        OZONE_OM_CONTAINER_LOCATION_CHANGE_POLL_INTERVAL,
+        OZONE_OM_CONTAINER_LOCATION_CHANGE_POLL_INTERVAL_DEFAULT
+            .toLong(TimeUnit.MILLISECONDS),
+        TimeUnit.MILLISECONDS);
+    if (intervalMs <= 0) {
+      return null;
+    }
+    final int batchSize = conf.getInt(
+        OZONE_OM_CONTAINER_LOCATION_CHANGE_BATCH_SIZE,
+        OZONE_OM_CONTAINER_LOCATION_CHANGE_BATCH_SIZE_DEFAULT);
+    LOG.info("Container location change polling enabled: interval={}ms, "
+        + "batchSize={}", intervalMs, batchSize);
+    final ContainerLocationCacheInvalidator invalidator =
+        new ContainerLocationCacheInvalidator(containerClient, cache,
+            Math.max(1, batchSize));
+    invalidator.executor.scheduleWithFixedDelay(invalidator::run,
+        0, intervalMs, TimeUnit.MILLISECONDS);
+    return invalidator;
+  }
+
+  private void run() {
+    try {
+      poll();
+      if (failed) {
+        failed = false;
+        LOG.info("Resumed polling container location changes from SCM");
+      }
+    } catch (Exception e) {
+      if (!failed) {
+        failed = true;
+        LOG.warn("Failed to poll container location changes from SCM, "
+            + "will retry", e);
+      }
+    }
+  }
+
+  /** Poll the changes from SCM and invalidate the changed containers. */
+  @VisibleForTesting
+  synchronized void poll() throws IOException {
+    while (true) {
+      final ContainerLocationChanges changes =
+          containerClient.getContainerLocationChanges(
+              logId == null ? -1 : sequenceId, batchSize);
+      final boolean all = logId == null || logId != changes.getLogId()
+          || changes.isTruncated();
+      if (all) {
+        LOG.info("Invalidate all the cached container locations: "
+            + "logId={}, sequenceId={}, {}", logId, sequenceId, changes);
+        cache.invalidateAll();
+      } else {
+        cache.invalidateAll(changes.getContainerIDs());
+      }
+      // A full batch means there may be more changes.
+      final boolean more = !all
+          && changes.getSequenceId() - sequenceId >= batchSize;
+      logId = changes.getLogId();
+      sequenceId = changes.getSequenceId();
+      if (!more) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
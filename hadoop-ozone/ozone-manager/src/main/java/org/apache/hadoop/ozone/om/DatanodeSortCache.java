@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
+import org.apache.hadoop.hdds.scm.net.NetworkTopology;
+import org.apache.hadoop.hdds.scm.net.Node;
+
+/**
+ * Cache the datanodes sorted by the distance to the clients, for a network
+ * topology.  The cache is recreated once the topology is changed.
+ * <p>
+ * It caches
+ * (1) the client nodes successfully resolved from the client machines, and
+ * (2) the datanodes of a pipeline grouped by the distance cost to a client
+ *     location, i.e. the client datanode or the rack of the client.
+ * Same as {@link NetworkTopology#sortByDistanceCost}, the datanodes with the
+ * same distance cost are shuffled for each call, so that the reads are still
+ * spread over the datanodes.
+ */
+final class DatanodeSortCache {
+  private final int maxSize;
+  private volatile Entries entries;
+
+  DatanodeSortCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param topology the current network topology.
+   * @param clientMachine the client hostname or IP address.
+   * @param resolver resolve the client node of a client machine which is not
+   *                 a datanode of the pipeline, or return null if unknown.
+   *                 An unknown client is resolved again in the next call.
+   * @param clientDatanode the datanode of the pipeline at the client
+   *                       machine, or null if there is none.
+   * @param nodes the datanodes of a pipeline.
+   * @param metrics to count the cache hits and misses.
+   * @return the datanodes sorted by the distance to the client.
+   */
+  List<? extends DatanodeDetails> sort(NetworkTopology topology,
+      String clientMachine,
+      Function<String, Node> resolver, DatanodeDetails clientDatanode,
+      List<? extends DatanodeDetails> nodes, OMMetrics metrics) {
+    final Entries e = getEntries(topology);
+
+    final Node client;
+    final String clientLocation;
+    if (clientDatanode != null) {
+      client = clientDatanode;
+      clientLocation = clientDatanode.getUuidString();
+    } else {
+      Node resolved = e.clientNodes.getIfPresent(clientMachine);
+      if (resolved == null) {
+        metrics.incNumClientLocationCacheMisses();
+        resolved = resolver.apply(clientMachine);
+        // Do not cache a failed resolution, which may be transient.
+        if (resolved != null) {
+          e.clientNodes.put(clientMachine, resolved);
+        }
+      } else {
+        metrics.incNumClientLocationCacheHits();
+      }
+      client = resolved;
+      if (client == null) {
+        // unknown client: no distance to sort by, only shuffle.
+        return topology.sortByDistanceCost(null, nodes, nodes.size());
+      }
+      clientLocation = client.getNetworkLocation();
+    }
+
+    final Set<DatanodeID> ids = new HashSet<>(nodes.size() * 2);
+    for (DatanodeDetails node : nodes) {
+      ids.add(node.getID());
+    }
+    final SortKey key = new SortKey(clientLocation, ids);
+    List<List<DatanodeID>> tiers = e.sortedNodes.getIfPresent(key);
+    if (tiers == null) {
+      metrics.incNumSortDatanodesCacheMisses();
+      final List<? extends DatanodeDetails> sorted =
+          topology.sortByDistanceCost(client, nodes, nodes.size());
+      e.sortedNodes.put(key, toTiers(topology, client, sorted));
+      return sorted;
+    }
+    metrics.incNumSortDatanodesCacheHits();
+    return fromTiers(tiers, nodes);
+  }
+
+  private Entries getEntries(NetworkTopology topology) {
+    final Entries e = entries;
+    if (e != null && e.topology == topology) {
+      return e;
+    }
+    synchronized (this) {
+      if (entries == null || entries.topology != topology) {
+        entries = new Entries(topology, maxSize);
+      }
+      return entries;
+    }
+  }
+
+  private static List<List<DatanodeID>> toTiers(NetworkTopology topology,
+      Node client, List<? extends DatanodeDetails> sorted) {
+    final List<List<DatanodeID>> tiers = new ArrayList<>();
+    int tierCost = -1;
+    for (DatanodeDetails node : sorted) {
+      final int cost = topology.getDistanceCost(client, node);
+      if (tiers.isEmpty() || cost != tierCost) {
+        tiers.add(new ArrayList<>());
+        tierCost = cost;
+      }
+      tiers.get(tiers.size() - 1).add(node.getID());
+    }
+    return tiers;
+  }
+
+  private static List<DatanodeDetails> fromTiers(List<List<DatanodeID>> tiers,
+      List<? extends DatanodeDetails> nodes) {
+    final Map<DatanodeID, DatanodeDetails> map = new HashMap<>();
+    for (DatanodeDetails node : nodes) {
+      map.put(node.getID(), node);
+    }
+    final List<DatanodeDetails> sorted = new ArrayList<>(nodes.size());
+    for (List<DatanodeID> tier : tiers) {
+      final int start = sorted.size();
+      for (DatanodeID id : tier) {
+        sorted.add(map.get(id));
+      }
+      Collections.shuffle(sorted.subList(start, sorted.size()),
+          ThreadLocalRandom.current());
+    }
+    return sorted;
+  }
+
+  /** The cache entries of a network topology. */
+  private static final class Entries {
+    private final NetworkTopology topology;
+    private final Cache<String, Node> clientNodes;
+    private final Cache<SortKey, List<List<DatanodeID>>> sortedNodes;
+
+    Entries(NetworkTopology topology, int maxSize) {
+      this.topology = topology;
+      this.clientNodes = CacheBuilder.newBuilder()
+          .maximumSize(maxSize)
+          .build();
+      this.sortedNodes = CacheBuilder.newBuilder()
+          .maximumSize(maxSize)
+          .build();
+    }
+  }
+
+  /** The client location and the datanodes of a pipeline. */
+  private static final class SortKey {
+    private final String clientLocation;
+    private final Set<DatanodeID> nodes;
+
+    SortKey(String clientLocation, Set<DatanodeID> nodes) {
+      this.clientLocation = clientLocation;
+      this.nodes = nodes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SortKey)) {
+        return false;
+      }
+      final SortKey that = (SortKey) o;
+      return clientLocation.equals(that.clientLocation)
+          && nodes.equals(that.nodes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(clientLocation, nodes);
+    }
+  }
+}
@@ -87,6 +87,21 @@ OmKeyInfo lookupKey(OmKeyArgs args, ResolvedBucket bucketLayout,
   OmKeyInfo getKeyInfo(OmKeyArgs args, ResolvedBucket buctket,
       String clientAddress) throws IOException;
 
+  /**
+   * Batch version of {@link #getKeyInfo(OmKeyArgs, ResolvedBucket, String)}
+   * for the keys in the same bucket.  The keys are read under a single
+   * bucket lock, and the container locations of all the keys are refreshed
+   * by a single call to SCM.
+   *
+   * @param args the args of the keys, all in the given bucket.
+   * @param clientAddress a hint to key manager, order the datanode in returned
+   *                      pipeline by distance between client and datanode.
+   * @return the key infos in the order of the args, where the key info is
+   *         null if the key is not found.
+   */
+  List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args, ResolvedBucket bucket,
+      String clientAddress) throws IOException;
+
   /**
    * Returns a list of keys represented by {@link OmKeyInfo}
    * in the given bucket.
@@ -58,6 +58,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_INTERVAL_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_TIMEOUT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_OPEN_KEY_CLEANUP_SERVICE_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SORT_DATANODES_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SORT_DATANODES_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEEP_CLEANING_ENABLED;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEEP_CLEANING_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_SNAPSHOT_DEFRAG_SERVICE_INTERVAL;
@@ -124,6 +126,7 @@
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerWithPipeline;
 import org.apache.hadoop.hdds.scm.net.InnerNode;
+import org.apache.hadoop.hdds.scm.net.NetworkTopology;
 import org.apache.hadoop.hdds.scm.net.Node;
 import org.apache.hadoop.hdds.scm.net.NodeImpl;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
@@ -219,6 +222,8 @@ public class KeyManagerImpl implements KeyManager {
   private BackgroundService openKeyCleanupService;
   private BackgroundService multipartUploadCleanupService;
   private DNSToSwitchMapping dnsToSwitchMapping;
+  private DatanodeSortCache datanodeSortCache;
+  private final boolean useDatanodeHostname;
   private CompactionService compactionService;
 
   public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
@@ -245,6 +250,9 @@ public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
     this.secretManager = secretManager;
     this.kmsProvider = kmsProvider;
     this.metrics = metrics;
+    this.useDatanodeHostname = conf.getBoolean(
+        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME,
+        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME_DEFAULT);
   }
 
   @Override
@@ -368,6 +376,11 @@ public void start(OzoneConfiguration configuration) {
     dnsToSwitchMapping =
         ((newInstance instanceof CachedDNSToSwitchMapping) ? newInstance
             : new CachedDNSToSwitchMapping(newInstance));
+    int sortCacheSize = configuration.getInt(
+        OZONE_OM_SORT_DATANODES_CACHE_SIZE,
+        OZONE_OM_SORT_DATANODES_CACHE_SIZE_DEFAULT);
+    datanodeSortCache = sortCacheSize > 0
+        ? new DatanodeSortCache(sortCacheSize) : null;
   }
 
   /**
@@ -586,13 +599,68 @@ public OmKeyInfo lookupKey(OmKeyArgs args, ResolvedBucket bucket,
 
   private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
       throws IOException {
-    String volumeName = args.getVolumeName();
-    String bucketName = args.getBucketName();
-    String keyName = args.getKeyName();
-    OmKeyInfo value = null;
+    final String volumeName = args.getVolumeName();
+    final String bucketName = args.getBucketName();
+    final OmKeyInfo value;
+
+    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
+        bucketName);
+    try {
+      value = readKeyInfoUnderLock(args, bucketLayout);
+    } finally {
+      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+
+    if (value == null) {
+      throw new OMException("Key:" + args.getKeyName() + " not found",
+          KEY_NOT_FOUND);
+    }
+    return processKeyInfo(args, value);
+  }
+
+  /**
+   * Read the infos of the given keys in the same bucket under a single
+   * bucket lock.
+   *
+   * @return the infos in the order of the args, null if the key is not found.
+   */
+  private List<OmKeyInfo> readKeyInfos(List<OmKeyArgs> args,
+      BucketLayout bucketLayout) throws IOException {
+    final String volumeName = args.get(0).getVolumeName();
+    final String bucketName = args.get(0).getBucketName();
+    final List<OmKeyInfo> values = new ArrayList<>(args.size());
 
     metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
         bucketName);
+    try {
+      for (OmKeyArgs keyArgs : args) {
+        Preconditions.checkArgument(
+            volumeName.equals(keyArgs.getVolumeName())
+                && bucketName.equals(keyArgs.getBucketName()),
+            "Keys not in the same bucket: %s", keyArgs);
+        values.add(readKeyInfoUnderLock(keyArgs, bucketLayout));
+      }
+    } finally {
+      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+
+    for (int i = 0; i < values.size(); i++) {
+      if (values.get(i) != null) {
+        values.set(i, processKeyInfo(args.get(i), values.get(i)));
+      }
+    }
+    return values;
+  }
+
+  /** @return the key info, or null if the key is not found. */
+  private OmKeyInfo readKeyInfoUnderLock(OmKeyArgs args,
+      BucketLayout bucketLayout) throws IOException {
+    final String volumeName = args.getVolumeName();
+    final String bucketName = args.getBucketName();
+    String keyName = args.getKeyName();
+    OmKeyInfo value;
     try {
       keyName = OMClientRequest
           .validateAndNormalizeKey(ozoneManager.getEnableFileSystemPaths(), keyName,
@@ -616,18 +684,16 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
           format("Error reading key metadata: /%s/%s/%s",
               volumeName, bucketName, keyName),
           ex, INTERNAL_ERROR);
-    } finally {
-      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
-          bucketName);
     }
 
-    if (value == null) {
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("volume:{} bucket:{} Key:{} not found", volumeName,
-            bucketName, keyName);
-      }
-      throw new OMException("Key:" + keyName + " not found", KEY_NOT_FOUND);
+    if (value == null && LOG.isDebugEnabled()) {
+      LOG.debug("volume:{} bucket:{} Key:{} not found", volumeName,
+          bucketName, keyName);
     }
+    return value;
+  }
+
+  private OmKeyInfo processKeyInfo(OmKeyArgs args, OmKeyInfo value) {
     if (args.getLatestVersionLocation()) {
       slimLocationVersion(value);
     }
@@ -1609,7 +1675,7 @@ private OmKeyInfo createFakeDirIfShould(String volume, String bucket,
 
     Table<String, OmKeyInfo> keyTable = metadataManager.getKeyTable(layout);
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> cacheIterator =
-        keyTable.cacheIterator();
+        keyTable.cacheIterator(null, targetKey);
     Set<String> deletedKeys = new HashSet<>();
     while (cacheIterator.hasNext()) {
       Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>> cacheEntry =
@@ -2002,9 +2068,10 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       TreeMap<String, OzoneFileStatus> cacheKeyMap, String keyArgs,
       Table<String, OmKeyInfo> keyTable) throws IOException {
     TableIterator<String, ? extends KeyValue<String, OmKeyInfo>> iterator;
-    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
-        cacheIter = keyTable.cacheIterator();
     String startCacheKey = metadataManager.getOzoneKey(volumeName, bucketName, startKey);
+    // Iterate only the cached keys under the directory from the start key.
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
+        cacheIter = keyTable.cacheIterator(startCacheKey, keyArgs);
 
     // First, find key in TableCache
     listStatusFindKeyInTableCache(cacheIter, keyArgs, startCacheKey,
@@ -2204,25 +2271,31 @@ private void sortDatanodes(String clientMachine, List<OmKeyInfo> keyInfos) {
   @VisibleForTesting
   public List<? extends DatanodeDetails> sortDatanodes(List<? extends DatanodeDetails> nodes,
                                              String clientMachine) {
-    final Node client = getClientNode(clientMachine, nodes);
-    return ozoneManager.getClusterMap()
-        .sortByDistanceCost(client, nodes, nodes.size());
+    final NetworkTopology clusterMap = ozoneManager.getClusterMap();
+    final DatanodeDetails clientDatanode =
+        getClientDatanode(clientMachine, nodes);
+    if (datanodeSortCache != null) {
+      return datanodeSortCache.sort(clusterMap, clientMachine,
+          this::getOtherNode, clientDatanode, nodes,
+          ozoneManager.getMetrics());
+    }
+    final Node client = clientDatanode != null ? clientDatanode
+        : getOtherNode(clientMachine);
+    return clusterMap.sortByDistanceCost(client, nodes, nodes.size());
   }
 
-  private Node getClientNode(String clientMachine,
-                             List<? extends DatanodeDetails> nodes) {
-    List<DatanodeDetails> matchingNodes = new ArrayList<>();
-    boolean useHostname = ozoneManager.getConfiguration().getBoolean(
-        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME,
-        HddsConfigKeys.HDDS_DATANODE_USE_DN_HOSTNAME_DEFAULT);
+  /**
+   * @return the first datanode at the client machine, or null if none.
+   */
+  private DatanodeDetails getClientDatanode(String clientMachine,
+      List<? extends DatanodeDetails> nodes) {
     for (DatanodeDetails node : nodes) {
-      if ((useHostname ? node.getHostName() : node.getIpAddress()).equals(
-          clientMachine)) {
-        matchingNodes.add(node);
+      if ((useDatanodeHostname ? node.getHostName() : node.getIpAddress())
+          .equals(clientMachine)) {
+        return node;
       }
     }
-    return !matchingNodes.isEmpty() ? matchingNodes.get(0) :
-        getOtherNode(clientMachine);
+    return null;
   }
 
   private Node getOtherNode(String clientMachine) {
@@ -2367,18 +2440,71 @@ public OmKeyInfo getKeyInfo(OmKeyArgs args, ResolvedBucket bucket,
     return value;
   }
 
+  @Override
+  public List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args,
+      ResolvedBucket bucket, String clientAddress) throws IOException {
+    Objects.requireNonNull(args, "args == null");
+    if (args.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<OmKeyInfo> values = captureLatencyNs(
+        metrics.getGetKeyInfoReadKeyInfoLatencyNs(),
+        () -> readKeyInfos(args, bucket.bucketLayout()));
+
+    final List<OmKeyInfo> toRefresh = new ArrayList<>();
+    final List<OmKeyInfo> toSort = new ArrayList<>();
+    boolean forceRefresh = false;
+    for (int i = 0; i < values.size(); i++) {
+      final OmKeyInfo value = values.get(i);
+      final OmKeyArgs keyArgs = args.get(i);
+      if (value != null && !keyArgs.isHeadOp()) {
+        toRefresh.add(value);
+        forceRefresh |= keyArgs.isForceUpdateContainerCacheFromSCM();
+        if (keyArgs.getSortDatanodes()) {
+          toSort.add(value);
+        }
+      }
+    }
+
+    if (!toRefresh.isEmpty()) {
+      captureLatencyNs(metrics.getGetKeyInfoGenerateBlockTokenLatencyNs(),
+          () -> {
+            for (OmKeyInfo value : toRefresh) {
+              addBlockToken4Read(value);
+            }
+          });
+
+      // get the container pipelines of all the keys by one call.
+      final boolean force = forceRefresh;
+      metrics.setForceContainerCacheRefresh(force);
+      captureLatencyNs(metrics.getGetKeyInfoRefreshLocationLatencyNs(),
+          () -> refreshPipelineFromCache(toRefresh, force));
+    }
+    if (!toSort.isEmpty()) {
+      captureLatencyNs(metrics.getGetKeyInfoSortDatanodesLatencyNs(),
+          () -> sortDatanodes(clientAddress, toSort));
+    }
+    return values;
+  }
+
   private void refreshPipelineFromCache(Iterable<OmKeyInfo> keyInfos)
       throws IOException {
+    // List API never force cache refresh. If a client detects a block
+    // location is outdated, it'll call getKeyInfo with cacheRefresh=true
+    // to request cache refresh on individual container.
+    refreshPipelineFromCache(keyInfos, false);
+  }
+
+  private void refreshPipelineFromCache(Iterable<OmKeyInfo> keyInfos,
+      boolean forceRefresh) throws IOException {
     Set<Long> containerIds = new HashSet<>();
     for (OmKeyInfo keyInfo : keyInfos) {
       extractContainerIDs(keyInfo).forEach(containerIds::add);
     }
 
-    // List API never force cache refresh. If a client detects a block
-    // location is outdated, it'll call getKeyInfo with cacheRefresh=true
-    // to request cache refresh on individual container.
     Map<Long, Pipeline> containerLocations =
-        scmClient.getContainerLocations(containerIds, false);
+        scmClient.getContainerLocations(containerIds, forceRefresh);
 
     for (OmKeyInfo keyInfo : keyInfos) {
       setUpdatedContainerLocation(keyInfo, containerLocations);
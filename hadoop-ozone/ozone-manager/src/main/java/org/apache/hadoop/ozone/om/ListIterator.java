@@ -306,7 +306,8 @@ public static class MinHeapIterator implements ClosableIterator {
         int iteratorId = 0;
         for (Table table : tables) {
           CacheIter cacheIter = new CacheIter<>(iteratorId, table.getName(),
-              table.cacheIterator(), startKey, prefixKey);
+              table.cacheIterator(StringUtils.isBlank(startKey) ? null
+                  : startKey, prefixKey), startKey, prefixKey);
           Predicate<String> doesKeyExistInCache = cacheIter::doesKeyExistInCache;
           iterators.add(cacheIter);
           iteratorId++;
@@ -41,4 +41,12 @@ public interface OMMXBean extends ServiceRuntimeInfo {
    * @return the OM hostname for the datanode.
    */
   String getHostname();
+
+  /**
+   * Gets the lock hotspots, i.e. the most contended lock keys and stripes,
+   * and the current lock holders.
+   *
+   * @return the lock hotspots in JSON.
+   */
+  String getLockHotspots();
 }
@@ -133,6 +133,14 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numVolumeListFails;
   private @Metric MutableCounterLong numKeyCommitFails;
   private @Metric MutableCounterLong numBlockAllocationFails;
+  private @Metric MutableCounterLong numBlockLeaseHits;
+  private @Metric MutableCounterLong numBlockLeaseMisses;
+  private @Metric MutableCounterLong numBlockLeaseExpired;
+  private @Metric MutableCounterLong numBlockLeaseRefillFails;
+  private @Metric MutableCounterLong numSortDatanodesCacheHits;
+  private @Metric MutableCounterLong numSortDatanodesCacheMisses;
+  private @Metric MutableCounterLong numClientLocationCacheHits;
+  private @Metric MutableCounterLong numClientLocationCacheMisses;
   private @Metric MutableCounterLong numGetServiceListFails;
   private @Metric MutableCounterLong numBucketS3ListFails;
   private @Metric MutableCounterLong numInitiateMultipartUploadFails;
@@ -844,6 +852,38 @@ public void incNumBlockAllocateCallFails() {
     numBlockAllocationFails.incr();
   }
 
+  public void incNumBlockLeaseHits(long count) {
+    numBlockLeaseHits.incr(count);
+  }
+
+  public void incNumBlockLeaseMisses(long count) {
+    numBlockLeaseMisses.incr(count);
+  }
+
+  public void incNumBlockLeaseExpired() {
+    numBlockLeaseExpired.incr();
+  }
+
+  public void incNumBlockLeaseRefillFails() {
+    numBlockLeaseRefillFails.incr();
+  }
+
+  public void incNumSortDatanodesCacheHits() {
+    numSortDatanodesCacheHits.incr();
+  }
+
+  public void incNumSortDatanodesCacheMisses() {
+    numSortDatanodesCacheMisses.incr();
+  }
+
+  public void incNumClientLocationCacheHits() {
+    numClientLocationCacheHits.incr();
+  }
+
+  public void incNumClientLocationCacheMisses() {
+    numClientLocationCacheMisses.incr();
+  }
+
   public void incNumBucketListFails() {
     numBucketListFails.incr();
   }
@@ -1226,6 +1266,41 @@ public long getNumBlockAllocateFails() {
     return numBlockAllocationFails.value();
   }
 
+  @VisibleForTesting
+  public long getNumBlockLeaseHits() {
+    return numBlockLeaseHits.value();
+  }
+
+  @VisibleForTesting
+  public long getNumBlockLeaseMisses() {
+    return numBlockLeaseMisses.value();
+  }
+
+  @VisibleForTesting
+  public long getNumBlockLeaseExpired() {
+    return numBlockLeaseExpired.value();
+  }
+
+  @VisibleForTesting
+  public long getNumSortDatanodesCacheHits() {
+    return numSortDatanodesCacheHits.value();
+  }
+
+  @VisibleForTesting
+  public long getNumSortDatanodesCacheMisses() {
+    return numSortDatanodesCacheMisses.value();
+  }
+
+  @VisibleForTesting
+  public long getNumClientLocationCacheHits() {
+    return numClientLocationCacheHits.value();
+  }
+
+  @VisibleForTesting
+  public long getNumClientLocationCacheMisses() {
+    return numClientLocationCacheMisses.value();
+  }
+
   @VisibleForTesting
   public long getNumGetServiceListFails() {
     return numGetServiceListFails.value();
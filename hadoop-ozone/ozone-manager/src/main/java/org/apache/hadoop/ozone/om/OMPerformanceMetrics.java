@@ -52,6 +52,9 @@ public class OMPerformanceMetrics {
   @Metric(about = "Overall getKeyInfo in nanoseconds")
   private MutableRate getKeyInfoLatencyNs;
 
+  @Metric(about = "Overall getKeyInfos in nanoseconds")
+  private MutableRate getKeyInfosLatencyNs;
+
   @Metric(about = "Read key info from db in getKeyInfo")
   private MutableRate getKeyInfoReadKeyInfoLatencyNs;
 
@@ -213,6 +216,10 @@ public void addGetKeyInfoLatencyNs(long value) {
     getKeyInfoLatencyNs.add(value);
   }
 
+  public void addGetKeyInfosLatencyNs(long value) {
+    getKeyInfosLatencyNs.add(value);
+  }
+
   MutableRate getGetKeyInfoAclCheckLatencyNs() {
     return getKeyInfoAclCheckLatencyNs;
   }
@@ -1073,17 +1073,10 @@ public ListKeysResult listKeys(String volumeName, String bucketName,
     }
 
     TreeMap<String, OmKeyInfo> cacheKeyMap = new TreeMap<>();
+    // The cache iterates only the keys which match with keyPrefix and are
+    // greater than or equal to startKey.
     Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>> iterator =
-        keyTable.cacheIterator();
-
-    //TODO: We can avoid this iteration if table cache has stored entries in
-    // treemap. Currently HashMap is used in Cache. HashMap get operation is an
-    // constant time operation, where as for treeMap get is log(n).
-    // So if we move to treemap, the get operation will be affected. As get
-    // is frequent operation on table. So, for now in list we iterate cache map
-    // and construct treeMap which match with keyPrefix and are greater than or
-    // equal to startKey. Later we can revisit this, if list operation
-    // is becoming slow.
+        keyTable.cacheIterator(seekKey, seekPrefix);
     while (iterator.hasNext()) {
       Map.Entry< CacheKey<String>, CacheValue<OmKeyInfo>> entry =
           iterator.next();
@@ -29,6 +29,9 @@
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -212,6 +215,93 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
     }
   }
 
+  /**
+   * Get the infos of the given keys.  The keys are grouped by bucket, so
+   * that each bucket is resolved once, and the keys of a bucket are read by
+   * a single call to {@link KeyManager#getKeyInfos}.
+   */
+  @Override
+  public List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args) throws IOException {
+    long start = Time.monotonicNowNanos();
+    try {
+      final Map<Pair<String, String>, List<Integer>> buckets = new LinkedHashMap<>();
+      for (int i = 0; i < args.size(); i++) {
+        final OmKeyArgs keyArgs = args.get(i);
+        buckets.computeIfAbsent(
+            Pair.of(keyArgs.getVolumeName(), keyArgs.getBucketName()),
+            k -> new ArrayList<>()).add(i);
+      }
+
+      final OmKeyInfo[] keyInfos = new OmKeyInfo[args.size()];
+      for (List<Integer> indexes : buckets.values()) {
+        getKeyInfos(args, indexes, keyInfos);
+      }
+      return Arrays.asList(keyInfos);
+    } finally {
+      perfMetrics.addGetKeyInfosLatencyNs(Time.monotonicNowNanos() - start);
+    }
+  }
+
+  /** Get the infos of the keys at the given indexes, all in the same bucket. */
+  private void getKeyInfos(List<OmKeyArgs> args, List<Integer> indexes,
+      OmKeyInfo[] keyInfos) throws IOException {
+    final OmKeyArgs first = args.get(indexes.get(0));
+    final ResolvedBucket bucket = captureLatencyNs(
+        perfMetrics.getGetKeyInfoResolveBucketLatencyNs(),
+        () -> ozoneManager.resolveBucketLink(first));
+    final Map<String, String> auditMap = bucket.audit(first.toAuditMap());
+    auditMap.put(OzoneConsts.KEY, indexes.stream()
+        .map(i -> args.get(i).getKeyName())
+        .collect(Collectors.joining(",")));
+
+    try {
+      final List<Integer> readable = new ArrayList<>(indexes.size());
+      final List<OmKeyArgs> resolvedArgs = new ArrayList<>(indexes.size());
+      for (int i : indexes) {
+        final OmKeyArgs keyArgs = args.get(i);
+        if (isAclEnabled && !checkKeyReadAcl(bucket, keyArgs.getKeyName())) {
+          continue;
+        }
+        metrics.incNumGetKeyInfo();
+        readable.add(i);
+        resolvedArgs.add(bucket.update(keyArgs));
+      }
+
+      final List<OmKeyInfo> infos = keyManager.getKeyInfos(resolvedArgs,
+          bucket, OmMetadataReader.getClientAddress());
+      for (int j = 0; j < readable.size(); j++) {
+        keyInfos[readable.get(j)] = infos.get(j);
+      }
+    } catch (Exception ex) {
+      metrics.incNumGetKeyInfoFails();
+      audit.logReadFailure(buildAuditMessageForFailure(OMAction.READ_KEYS,
+          auditMap, ex));
+      throw ex;
+    }
+    audit.logReadSuccess(buildAuditMessageForSuccess(OMAction.READ_KEYS,
+        auditMap));
+  }
+
+  /**
+   * @return true if the key is readable, or false if the key is not found.
+   * @throws OMException if the permission is denied.
+   */
+  private boolean checkKeyReadAcl(ResolvedBucket bucket, String keyName)
+      throws IOException {
+    try {
+      captureLatencyNs(perfMetrics.getGetKeyInfoAclCheckLatencyNs(), () ->
+          checkAcls(ResourceType.KEY, StoreType.OZONE, ACLType.READ,
+              bucket, keyName));
+      return true;
+    } catch (OMException e) {
+      if (e.getResult() == ResultCodes.KEY_NOT_FOUND
+          || e.getResult() == ResultCodes.FILE_NOT_FOUND) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
   @Override
   public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       String startKey, long numEntries, boolean allowPartialPrefixes)
@@ -116,6 +116,16 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
         assumeS3Context));
   }
 
+  @Override
+  public List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args) throws IOException {
+    final List<OmKeyArgs> normalized = args.stream()
+        .map(this::normalizeOmKeyArgs)
+        .collect(Collectors.toList());
+    return omMetadataReader.getKeyInfos(normalized).stream()
+        .map(k -> k == null ? null : denormalizeOmKeyInfo(k))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       String startKey, long numEntries, boolean allowPartialPrefixes)
@@ -56,6 +56,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADDRESS_KEY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELTA_UPDATE_MAX_WAIT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DELTA_UPDATE_MAX_WAIT_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INITIAL_DELAY_MS_KEY;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_EDEKCACHELOADER_INTERVAL_MS_DEFAULT;
@@ -116,6 +118,7 @@
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.net.InetAddress;
@@ -207,7 +210,10 @@
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
+import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.hdds.utils.db.DBUpdatesWrapper;
+import org.apache.hadoop.hdds.utils.db.RDBStore;
+import org.apache.hadoop.hdds.utils.db.RocksDatabase;
 import org.apache.hadoop.hdds.utils.db.SequenceNumberNotFoundException;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
@@ -305,6 +311,7 @@
 import org.apache.hadoop.ozone.protocolPB.OMAdminProtocolServerSideImpl;
 import org.apache.hadoop.ozone.protocolPB.OMInterServiceProtocolServerSideImpl;
 import org.apache.hadoop.ozone.protocolPB.OzoneManagerProtocolServerSideTranslatorPB;
+import org.apache.hadoop.ozone.security.AWSV4SigningKeyCache;
 import org.apache.hadoop.ozone.security.OMCertificateClient;
 import org.apache.hadoop.ozone.security.OzoneDelegationTokenSecretManager;
 import org.apache.hadoop.ozone.security.OzoneTokenIdentifier;
@@ -428,6 +435,7 @@ public final class OzoneManager extends ServiceRuntimeInfoImpl
   private static final ObjectReader READER =
       new ObjectMapper().readerFor(OmMetricsInfo.class);
   private static final int SHUTDOWN_HOOK_PRIORITY = 30;
+  private static final long DB_UPDATES_CHECK_INTERVAL_MS = 10;
   private final File omMetaDir;
   private boolean isAclEnabled;
   private final boolean isSpnegoEnabled;
@@ -467,6 +475,8 @@ public final class OzoneManager extends ServiceRuntimeInfoImpl
 
   private final boolean isS3MultiTenancyEnabled;
   private final boolean isStrictS3;
+  /** The max time to wait for new DB updates, see {@link #getDBUpdates}. */
+  private final long deltaUpdateMaxWaitMs;
   private ExitManager exitManager;
 
   private OzoneManagerPrepareState prepareState;
@@ -576,6 +586,10 @@ private OzoneManager(OzoneConfiguration conf, StartupOption startupOption)
         OZONE_KEY_PREALLOCATION_BLOCKS_MAX_DEFAULT);
     this.grpcBlockTokenEnabled = conf.getBoolean(HDDS_BLOCK_TOKEN_ENABLED,
         HDDS_BLOCK_TOKEN_ENABLED_DEFAULT);
+    this.deltaUpdateMaxWaitMs = conf.getTimeDuration(
+        OZONE_OM_DELTA_UPDATE_MAX_WAIT,
+        OZONE_OM_DELTA_UPDATE_MAX_WAIT_DEFAULT.toLong(TimeUnit.MILLISECONDS),
+        TimeUnit.MILLISECONDS);
     this.isStrictS3 = conf.getBoolean(
         OZONE_OM_NAMESPACE_STRICT_S3,
         OZONE_OM_NAMESPACE_STRICT_S3_DEFAULT);
@@ -952,7 +966,8 @@ private void instantiateServices(boolean withNewSnapshot) throws IOException {
     s3SecretManager = new S3SecretLockedManager(
         new S3SecretManagerImpl(
             store,
-            secretCacheProvider.get(configuration)
+            secretCacheProvider.get(configuration),
+            AWSV4SigningKeyCache.create(configuration)
         ),
         metadataManager.getLock()
     );
@@ -3065,6 +3080,44 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<OmKeyInfo> getKeyInfos(List<OmKeyArgs> args) throws IOException {
+    // Group the keys by reader, i.e. the active DB or a snapshot.
+    final Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < args.size(); i++) {
+      groups.computeIfAbsent(getReaderKey(args.get(i)), k -> new ArrayList<>())
+          .add(i);
+    }
+
+    final OmKeyInfo[] keyInfos = new OmKeyInfo[args.size()];
+    for (List<Integer> indexes : groups.values()) {
+      final List<OmKeyArgs> group = indexes.stream()
+          .map(args::get)
+          .collect(Collectors.toList());
+      try (UncheckedAutoCloseableSupplier<IOmMetadataReader> rcReader = getReader(group.get(0))) {
+        final List<OmKeyInfo> infos = rcReader.get().getKeyInfos(group);
+        for (int j = 0; j < indexes.size(); j++) {
+          keyInfos[indexes.get(j)] = infos.get(j);
+        }
+      }
+    }
+    return Arrays.asList(keyInfos);
+  }
+
+  /** @return the snapshot of the key, or an empty list for the active DB. */
+  private static List<String> getReaderKey(OmKeyArgs args) {
+    if (args.getKeyName() != null) {
+      final String[] keyParts = args.getKeyName().split(OM_KEY_PREFIX);
+      if (OmSnapshotManager.isSnapshotKey(keyParts)) {
+        return Arrays.asList(args.getVolumeName(), args.getBucketName(), keyParts[1]);
+      }
+    }
+    return Collections.emptyList();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -3265,6 +3318,11 @@ public String getHostname() {
     return omHostName;
   }
 
+  @Override
+  public String getLockHotspots() {
+    return metadataManager.getLock().getLockHotspots();
+  }
+
   @VisibleForTesting
   public OzoneManagerHttpServer getHttpServer() {
     return httpServer;
@@ -4570,6 +4628,9 @@ public boolean isFilesystemSnapshotEnabled() {
 
   /**
    * Get DB updates since a specific sequence number.
+   * When the request has a wait timeout and there are no updates yet,
+   * wait for new updates up to the timeout, capped by
+   * {@link OMConfigKeys#OZONE_OM_DELTA_UPDATE_MAX_WAIT}.
    *
    * @param dbUpdatesRequest request that encapsulates a sequence number.
    * @return Wrapper containing the updates.
@@ -4583,15 +4644,47 @@ public DBUpdates getDBUpdates(
     if (dbUpdatesRequest.hasLimitCount()) {
       limitCount = dbUpdatesRequest.getLimitCount();
     }
+    final long waitMs = Math.min(dbUpdatesRequest.getWaitTimeoutMs(),
+        deltaUpdateMaxWaitMs);
+    if (waitMs > 0) {
+      waitForDBUpdates(dbUpdatesRequest.getSequenceNumber(), waitMs);
+    }
     DBUpdatesWrapper updatesSince = metadataManager.getStore()
         .getUpdatesSince(dbUpdatesRequest.getSequenceNumber(), limitCount);
     DBUpdates dbUpdates = new DBUpdates(updatesSince.getData());
     dbUpdates.setCurrentSequenceNumber(updatesSince.getCurrentSequenceNumber());
     dbUpdates.setLatestSequenceNumber(updatesSince.getLatestSequenceNumber());
     dbUpdates.setDBUpdateSuccess(updatesSince.isDBUpdateSuccess());
+    // Tell the caller that it has waited, since it cannot tell by the time.
+    dbUpdates.setWaitTimeoutMs(Math.max(waitMs, 0));
     return dbUpdates;
   }
 
+  /** Wait until the DB has any update after the given sequence number. */
+  private void waitForDBUpdates(long sequenceNumber, long timeoutMs)
+      throws IOException {
+    final DBStore store = metadataManager.getStore();
+    if (!(store instanceof RDBStore)) {
+      return;
+    }
+    final RocksDatabase db = ((RDBStore) store).getDb();
+    final long deadline = Time.monotonicNow() + timeoutMs;
+    try {
+      while (db.getLatestSequenceNumber() <= sequenceNumber) {
+        final long remaining = deadline - Time.monotonicNow();
+        if (remaining <= 0) {
+          return;
+        }
+        // The latest sequence number is in memory, cheap to poll.
+        Thread.sleep(Math.min(remaining, DB_UPDATES_CHECK_INTERVAL_MS));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+          "Interrupted while waiting for DB updates since " + sequenceNumber);
+    }
+  }
+
   public OzoneDelegationTokenSecretManager getDelegationTokenMgr() {
     return delegationTokenMgr;
   }
@@ -23,6 +23,7 @@
 import java.util.List;
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
 import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock;
+import org.apache.hadoop.ozone.security.AWSV4SigningKeyCache;
 
 /**
  * Wrapper with lock logic of {@link S3SecretManager}.
@@ -108,4 +109,9 @@ public S3Batcher batcher() {
   public S3SecretCache cache() {
     return secretManager.cache();
   }
+
+  @Override
+  public AWSV4SigningKeyCache signingKeyCache() {
+    return secretManager.signingKeyCache();
+  }
 }
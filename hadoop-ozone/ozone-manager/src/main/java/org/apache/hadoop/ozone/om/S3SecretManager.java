@@ -20,6 +20,7 @@
 import java.io.IOException;
 import java.util.List;
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
+import org.apache.hadoop.ozone.security.AWSV4SigningKeyCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,12 +98,21 @@ default boolean isBatchSupported() {
    */
   S3SecretCache cache();
 
+  /**
+   * The cache of the signing keys derived from the secrets.
+   * @return the signing key cache, or null if there is none.
+   */
+  default AWSV4SigningKeyCache signingKeyCache() {
+    return null;
+  }
+
   default void updateCache(String accessId, S3SecretValue secret) {
     S3SecretCache cache = cache();
     if (cache != null) {
       LOG.info("Updating cache for accessId/user: {}.", accessId);
       cache.put(accessId, secret);
     }
+    invalidateSigningKeys(accessId);
   }
 
   default void invalidateCacheEntry(String id) {
@@ -110,6 +120,14 @@ default void invalidateCacheEntry(String id) {
     if (cache != null) {
       cache.invalidate(id);
     }
+    invalidateSigningKeys(id);
+  }
+
+  default void invalidateSigningKeys(String accessId) {
+    AWSV4SigningKeyCache cache = signingKeyCache();
+    if (cache != null) {
+      cache.invalidate(accessId);
+    }
   }
 
   default void clearCache(List<Long> flushedTransactionIds) {
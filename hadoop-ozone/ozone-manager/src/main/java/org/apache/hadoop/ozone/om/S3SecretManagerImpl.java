@@ -25,6 +25,7 @@
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.security.exception.OzoneSecurityException;
 import org.apache.hadoop.ozone.om.helpers.S3SecretValue;
+import org.apache.hadoop.ozone.security.AWSV4SigningKeyCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +38,7 @@ public class S3SecretManagerImpl implements S3SecretManager {
 
   private final S3SecretStore s3SecretStore;
   private final S3SecretCache s3SecretCache;
+  private final AWSV4SigningKeyCache signingKeyCache;
 
   /**
    * Constructs S3SecretManager.
@@ -45,8 +47,21 @@ public class S3SecretManagerImpl implements S3SecretManager {
    */
   public S3SecretManagerImpl(S3SecretStore s3SecretStore,
                              S3SecretCache s3SecretCache) {
+    this(s3SecretStore, s3SecretCache, null);
+  }
+
+  /**
+   * Constructs S3SecretManager.
+   * @param s3SecretStore s3 secret store.
+   * @param s3SecretCache s3 secret cache.
+   * @param signingKeyCache signing key cache, or null if there is none.
+   */
+  public S3SecretManagerImpl(S3SecretStore s3SecretStore,
+                             S3SecretCache s3SecretCache,
+                             AWSV4SigningKeyCache signingKeyCache) {
     this.s3SecretStore = s3SecretStore;
     this.s3SecretCache = s3SecretCache;
+    this.signingKeyCache = signingKeyCache;
   }
 
   @Override
@@ -122,6 +137,11 @@ public S3SecretCache cache() {
     return s3SecretCache;
   }
 
+  @Override
+  public AWSV4SigningKeyCache signingKeyCache() {
+    return signingKeyCache;
+  }
+
   @Override
   public S3Batcher batcher() {
     return s3SecretStore.batcher();
@@ -52,6 +52,8 @@ public class ScmClient {
   private final StorageContainerLocationProtocol containerClient;
   private final LoadingCache<Long, Pipeline> containerLocationCache;
   private final CacheMetrics containerCacheMetrics;
+  private final BlockLeasePool blockLeasePool;
+  private final ContainerLocationCacheInvalidator containerCacheInvalidator;
 
   ScmClient(ScmBlockLocationProtocol blockClient,
             StorageContainerLocationProtocol containerClient,
@@ -62,6 +64,9 @@ public class ScmClient {
         createContainerLocationCache(configuration, containerClient);
     this.containerCacheMetrics = CacheMetrics.create(containerLocationCache,
         "ContainerInfo");
+    this.blockLeasePool = BlockLeasePool.create(blockClient, configuration);
+    this.containerCacheInvalidator = ContainerLocationCacheInvalidator.create(
+        containerClient, containerLocationCache, configuration);
   }
 
   static LoadingCache<Long, Pipeline> createContainerLocationCache(
@@ -102,6 +107,14 @@ public ScmBlockLocationProtocol getBlockClient() {
     return this.blockClient;
   }
 
+  /**
+   * @return the blocks allocated from SCM in advance,
+   *         or null if the block leases are disabled.
+   */
+  public BlockLeasePool getBlockLeasePool() {
+    return blockLeasePool;
+  }
+
   public StorageContainerLocationProtocol getContainerClient() {
     return this.containerClient;
   }
@@ -166,6 +179,12 @@ private <T> T handleCacheExecutionException(ExecutionException e)
 
   public void close() {
     containerCacheMetrics.unregister();
+    if (blockLeasePool != null) {
+      blockLeasePool.close();
+    }
+    if (containerCacheInvalidator != null) {
+      containerCacheInvalidator.close();
+    }
   }
 
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The top-N most contended lock keys, estimated from a sample of the
+ * contended lock acquisitions by the space-saving algorithm: when a new key
+ * is sampled and all the N slots are taken, the key with the minimum count
+ * is replaced and the new key inherits its count.
+ */
+final class HotLockKeys {
+  private final int size;
+  private final int sampleRate;
+  /** Key -> {count, error}, where error is the inherited count. */
+  private final Map<String, long[]> counts = new HashMap<>();
+
+  HotLockKeys(int size, int sampleRate) {
+    Preconditions.checkArgument(size > 0, "size = %s <= 0", size);
+    Preconditions.checkArgument(sampleRate > 0,
+        "sampleRate = %s <= 0", sampleRate);
+    this.size = size;
+    this.sampleRate = sampleRate;
+  }
+
+  void sample(IOzoneManagerLock.Resource resource, String[] keys) {
+    if (keys == null || keys.length == 0
+        || (sampleRate > 1
+        && ThreadLocalRandom.current().nextInt(sampleRate) != 0)) {
+      return;
+    }
+    add(resource.getName() + ":" + String.join("/", keys));
+  }
+
+  synchronized void add(String key) {
+    final long[] count = counts.get(key);
+    if (count != null) {
+      count[0]++;
+      return;
+    }
+    if (counts.size() < size) {
+      counts.put(key, new long[] {1, 0});
+      return;
+    }
+    Map.Entry<String, long[]> min = null;
+    for (Map.Entry<String, long[]> e : counts.entrySet()) {
+      if (min == null || e.getValue()[0] < min.getValue()[0]) {
+        min = e;
+      }
+    }
+    counts.remove(min.getKey());
+    final long minCount = min.getValue()[0];
+    counts.put(key, new long[] {minCount + 1, minCount});
+  }
+
+  /** @return the hot keys, the most contended first. */
+  synchronized List<Map<String, Object>> getHotKeys() {
+    final List<Map.Entry<String, long[]>> entries =
+        new ArrayList<>(counts.entrySet());
+    entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+    final List<Map<String, Object>> hotKeys = new ArrayList<>(entries.size());
+    for (Map.Entry<String, long[]> e : entries) {
+      final Map<String, Object> hotKey = new LinkedHashMap<>();
+      hotKey.put("key", e.getKey());
+      hotKey.put("sampled", e.getValue()[0]);
+      hotKey.put("error", e.getValue()[1]);
+      hotKeys.add(hotKey);
+    }
+    return hotKeys;
+  }
+}
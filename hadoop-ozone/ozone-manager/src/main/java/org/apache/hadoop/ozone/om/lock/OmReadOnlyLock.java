@@ -117,4 +117,10 @@ public OMLockMetrics getOMLockMetrics() {
     throw new UnsupportedOperationException(
         "OmReadOnlyLock does not support this operation.");
   }
+
+  @Override
+  public String getLockHotspots() {
+    throw new UnsupportedOperationException(
+        "OmReadOnlyLock does not support this operation.");
+  }
 }
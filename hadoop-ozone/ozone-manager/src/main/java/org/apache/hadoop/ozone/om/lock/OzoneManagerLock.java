@@ -20,17 +20,24 @@
 import static org.apache.hadoop.hdds.utils.CompositeKey.combineKeys;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_FAIR_LOCK;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_FAIR_LOCK_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_LOCK_HOT_KEYS_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_LOCK_HOT_KEYS_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_MANAGER_STRIPED_LOCK_SIZE_PREFIX;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Striped;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,8 +50,8 @@
 import java.util.stream.StreamSupport;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.server.JsonUtils;
 import org.apache.hadoop.hdds.utils.CompositeKey;
-import org.apache.hadoop.hdds.utils.SimpleStriped;
 import org.apache.hadoop.ipc_.ProcessingDetails.Timing;
 import org.apache.hadoop.ipc_.Server;
 import org.apache.hadoop.util.Time;
@@ -96,11 +103,15 @@
 public class OzoneManagerLock implements IOzoneManagerLock {
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerLock.class);
+  /** The number of the most contended stripes to report per resource. */
+  private static final int HOT_STRIPES = 10;
 
   private final Map<Class<? extends Resource>,
       Pair<Map<Resource, Striped<ReadWriteLock>>, ResourceLockTracker>> resourcelockMap;
 
   private OMLockMetrics omLockMetrics;
+  /** The sampled hot lock keys, null if disabled. */
+  private final HotLockKeys hotLockKeys;
 
   /**
    * Creates new OzoneManagerLock instance.
@@ -108,6 +119,11 @@ public class OzoneManagerLock implements IOzoneManagerLock {
    */
   public OzoneManagerLock(ConfigurationSource conf) {
     omLockMetrics = OMLockMetrics.create();
+    final int hotKeysSize = conf.getInt(OZONE_MANAGER_LOCK_HOT_KEYS_SIZE,
+        OZONE_MANAGER_LOCK_HOT_KEYS_SIZE_DEFAULT);
+    hotLockKeys = hotKeysSize > 0 ? new HotLockKeys(hotKeysSize,
+        conf.getInt(OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE,
+            OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE_DEFAULT)) : null;
     this.resourcelockMap = ImmutableMap.of(LeveledResource.class, getLeveledLocks(conf), DAGLeveledResource.class,
         getFlatLocks(conf));
   }
@@ -138,7 +154,8 @@ private Striped<ReadWriteLock> createStripeLock(Resource r,
         r.getName().toLowerCase();
     int size = conf.getInt(stripeSizeKey,
         OZONE_MANAGER_STRIPED_LOCK_SIZE_DEFAULT);
-    return SimpleStriped.readWriteLock(size, fair);
+    // Like SimpleStriped, but the stripes also track their contention.
+    return Striped.custom(size, () -> new StripeLock(fair));
   }
 
   private Iterable<ReadWriteLock> getAllLocks(Striped<ReadWriteLock> striped) {
@@ -261,13 +278,33 @@ public OMLockDetails acquireResourceWriteLock(Resource resource) {
   }
 
   private void acquireLock(Resource resource, boolean isReadLock, ReadWriteLock lock,
-                           long startWaitingTimeNanos) {
+                           long startWaitingTimeNanos, String[] keys) {
+    StripeLock stripe = (StripeLock) lock;
+    boolean contended = stripe.isContended(isReadLock);
+    long contendedSinceNanos = contended ? Time.monotonicNowNanos() : 0;
     if (isReadLock) {
       lock.readLock().lock();
-      updateReadLockMetrics(resource, (ReentrantReadWriteLock) lock, startWaitingTimeNanos);
+      updateReadLockMetrics(resource, stripe, startWaitingTimeNanos);
     } else {
       lock.writeLock().lock();
-      updateWriteLockMetrics(resource, (ReentrantReadWriteLock) lock, startWaitingTimeNanos);
+      updateWriteLockMetrics(resource, stripe, startWaitingTimeNanos);
+      if (stripe.getWriteHoldCount() == 1) {
+        stripe.setWriteHolderKeys(keys);
+      }
+    }
+    if (contended) {
+      updateContendedLockMetrics(resource, stripe,
+          Time.monotonicNowNanos() - contendedSinceNanos, keys);
+    }
+  }
+
+  private void updateContendedLockMetrics(Resource resource, StripeLock stripe,
+      long waitingTimeNanos, String[] keys) {
+    stripe.addContended(waitingTimeNanos);
+    omLockMetrics.addContendedWaitingTimeMs(resource.getName(),
+        TimeUnit.NANOSECONDS.toMillis(waitingTimeNanos));
+    if (hotLockKeys != null) {
+      hotLockKeys.sample(resource, keys);
     }
   }
 
@@ -286,7 +323,7 @@ private OMLockDetails acquireLocks(Resource resource, boolean isReadLock,
     long startWaitingTimeNanos = Time.monotonicNowNanos();
 
     for (ReadWriteLock lock : lockListProvider.apply(resourceLockPair.getKey().get(resource))) {
-      acquireLock(resource, isReadLock, lock, startWaitingTimeNanos);
+      acquireLock(resource, isReadLock, lock, startWaitingTimeNanos, null);
     }
     return resourceLockTracker.lockResource(resource);
   }
@@ -305,7 +342,7 @@ private OMLockDetails acquireLock(Resource resource, boolean isReadLock, String.
     long startWaitingTimeNanos = Time.monotonicNowNanos();
 
     ReentrantReadWriteLock lock = getLock(resourceLockPair.getKey(), resource, keys);
-    acquireLock(resource, isReadLock, lock, startWaitingTimeNanos);
+    acquireLock(resource, isReadLock, lock, startWaitingTimeNanos, keys);
     return resourceLockTracker.lockResource(resource);
   }
 
@@ -461,6 +498,7 @@ private OMLockDetails releaseLock(Resource resource, boolean isReadLock,
       updateReadUnlockMetrics(resource, lock);
     } else {
       boolean isWriteLocked = lock.isWriteLockedByCurrentThread();
+      clearWriteHolderKeys(lock);
       lock.writeLock().unlock();
       updateWriteUnlockMetrics(resource, lock, isWriteLocked);
     }
@@ -483,6 +521,7 @@ private OMLockDetails releaseLocks(Resource resource, boolean isReadLock,
         updateReadUnlockMetrics(resource, (ReentrantReadWriteLock) lock);
       } else {
         boolean isWriteLocked = ((ReentrantReadWriteLock)lock).isWriteLockedByCurrentThread();
+        clearWriteHolderKeys(lock);
         lock.writeLock().unlock();
         updateWriteUnlockMetrics(resource, (ReentrantReadWriteLock) lock, isWriteLocked);
       }
@@ -490,6 +529,13 @@ private OMLockDetails releaseLocks(Resource resource, boolean isReadLock,
     return resourceLockTracker.unlockResource(resource);
   }
 
+  private static void clearWriteHolderKeys(ReadWriteLock lock) {
+    StripeLock stripe = (StripeLock) lock;
+    if (stripe.getWriteHoldCount() == 1 && stripe.isWriteLockedByCurrentThread()) {
+      stripe.setWriteHolderKeys(null);
+    }
+  }
+
   private void updateReadUnlockMetrics(Resource resource,
       ReentrantReadWriteLock lock) {
     /*
@@ -577,6 +623,67 @@ public OMLockMetrics getOMLockMetrics() {
     return omLockMetrics;
   }
 
+  /**
+   * Returns the lock hotspots in JSON: the sampled hot keys and, for each
+   * resource, the most contended stripes and the current holders.
+   */
+  @Override
+  public String getLockHotspots() {
+    Map<String, Object> hotspots = new LinkedHashMap<>();
+    if (hotLockKeys != null) {
+      hotspots.put("hotKeys", hotLockKeys.getHotKeys());
+    }
+    List<Map<String, Object>> resources = new ArrayList<>();
+    for (Pair<Map<Resource, Striped<ReadWriteLock>>, ResourceLockTracker> pair
+        : resourcelockMap.values()) {
+      for (Map.Entry<Resource, Striped<ReadWriteLock>> e : pair.getKey().entrySet()) {
+        resources.add(getHotspots(e.getKey(), e.getValue()));
+      }
+    }
+    hotspots.put("resources", resources);
+    try {
+      return JsonUtils.toJsonString(hotspots);
+    } catch (IOException e) {
+      LOG.warn("Failed to convert lock hotspots to JSON", e);
+      return "{}";
+    }
+  }
+
+  private static Map<String, Object> getHotspots(Resource resource,
+      Striped<ReadWriteLock> striped) {
+    long contended = 0;
+    long contendedWaitNanos = 0;
+    List<Integer> contendedStripes = new ArrayList<>();
+    List<Map<String, Object>> holders = new ArrayList<>();
+    for (int i = 0; i < striped.size(); i++) {
+      StripeLock stripe = (StripeLock) striped.getAt(i);
+      if (stripe.getContendedCount() > 0) {
+        contended += stripe.getContendedCount();
+        contendedWaitNanos += stripe.getContendedWaitNanos();
+        contendedStripes.add(i);
+      }
+      Map<String, Object> holder = stripe.getHolders(i);
+      if (holder != null) {
+        holders.add(holder);
+      }
+    }
+    contendedStripes.sort(Comparator.comparingLong(
+        i -> -((StripeLock) striped.getAt(i)).getContendedCount()));
+
+    Map<String, Object> hotspots = new LinkedHashMap<>();
+    hotspots.put("resource", resource.getName());
+    hotspots.put("stripes", striped.size());
+    hotspots.put("contended", contended);
+    hotspots.put("contendedWaitMs",
+        TimeUnit.NANOSECONDS.toMillis(contendedWaitNanos));
+    hotspots.put("hotStripes", contendedStripes.stream()
+        .limit(HOT_STRIPES)
+        .map(i -> ((StripeLock) striped.getAt(i)).getContention(i))
+        .collect(Collectors.toList()));
+    hotspots.put("holders", holders);
+    return hotspots;
+  }
+
   /**
    * Leveled Resource defined in Ozone.
    * Enforces lock acquisition ordering based on the resource level. A resource at lower level cannot be acquired
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A stripe of {@link OzoneManagerLock}, which counts how often it is
+ * contended and remembers the key of the current write lock holder,
+ * so that the hot stripes and the holders can be reported.
+ */
+final class StripeLock extends ReentrantReadWriteLock {
+  private static final long serialVersionUID = 1L;
+
+  private final LongAdder contendedCount = new LongAdder();
+  private final LongAdder contendedWaitNanos = new LongAdder();
+  /** The keys of the current write lock holder, if known. */
+  private transient volatile String[] writeHolderKeys;
+
+  StripeLock(boolean fair) {
+    super(fair);
+  }
+
+  /**
+   * @return true if acquiring the lock by the current thread has to wait,
+   *         i.e. the lock is held by another thread or threads are queued.
+   */
+  boolean isContended(boolean isReadLock) {
+    if (isWriteLockedByCurrentThread()) {
+      return false;
+    }
+    if (hasQueuedThreads() || isWriteLocked()) {
+      // a reentrant read lock does not wait
+      return !isReadLock || getReadHoldCount() == 0;
+    }
+    return !isReadLock && getReadLockCount() > 0;
+  }
+
+  void addContended(long waitNanos) {
+    contendedCount.increment();
+    contendedWaitNanos.add(waitNanos);
+  }
+
+  long getContendedCount() {
+    return contendedCount.sum();
+  }
+
+  long getContendedWaitNanos() {
+    return contendedWaitNanos.sum();
+  }
+
+  void setWriteHolderKeys(String[] keys) {
+    writeHolderKeys = keys;
+  }
+
+  /** @return the state of this stripe if it is locked, otherwise null. */
+  Map<String, Object> getHolders(int index) {
+    final Thread owner = getOwner();
+    final int readers = getReadLockCount();
+    if (owner == null && readers == 0) {
+      return null;
+    }
+    final Map<String, Object> holders = new LinkedHashMap<>();
+    holders.put("stripe", index);
+    if (owner != null) {
+      holders.put("writer", owner.getName());
+      final String[] keys = writeHolderKeys;
+      if (keys != null) {
+        holders.put("key", String.join("/", keys));
+      }
+    }
+    holders.put("readers", readers);
+    holders.put("queued", getQueueLength());
+    return holders;
+  }
+
+  Map<String, Object> getContention(int index) {
+    final Map<String, Object> contention = new LinkedHashMap<>();
+    contention.put("stripe", index);
+    contention.put("contended", getContendedCount());
+    contention.put("contendedWaitMs",
+        TimeUnit.NANOSECONDS.toMillis(getContendedWaitNanos()));
+    return contention;
+  }
+}
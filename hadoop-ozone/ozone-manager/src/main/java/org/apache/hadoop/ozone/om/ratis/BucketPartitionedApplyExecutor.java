@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
+import org.apache.ratis.server.raftlog.RaftLog;
+import org.apache.ratis.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes {@link OzoneManagerStateMachine} transactions on a pool of threads
+ * partitioned by volume/bucket.
+ * <p>
+ * Key level requests are routed to a partition derived from their
+ * volume/bucket, so requests on the same bucket are still applied in log
+ * order while requests on different buckets are applied concurrently.  Every
+ * other request (volume, bucket, snapshot, tenant, purge, ...) is a barrier:
+ * it waits for all partitions to drain and every later transaction waits for
+ * it to complete.
+ * <p>
+ * Since transactions may complete out of log order, the highest index up to
+ * which every dispatched transaction has completed is exposed by
+ * {@link #getAppliedIndexWatermark()}; {@link OzoneManagerDoubleBuffer} must
+ * not flush beyond it, otherwise the persisted transaction info could skip a
+ * transaction which is still being applied.
+ */
+final class BucketPartitionedApplyExecutor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BucketPartitionedApplyExecutor.class);
+
+  private final ExecutorService executor;
+  /** The last submitted future of each partition. */
+  private final CompletableFuture<?>[] tails;
+  /** Indices of the transactions dispatched but not yet completed. */
+  private final ConcurrentSkipListSet<Long> inFlight =
+      new ConcurrentSkipListSet<>();
+  private volatile long lastDispatchedIndex = RaftLog.INVALID_LOG_INDEX;
+
+  BucketPartitionedApplyExecutor(int partitions, String threadPrefix) {
+    Preconditions.assertTrue(partitions > 0,
+        () -> "partitions = " + partitions + " <= 0");
+    ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat(threadPrefix +
+            "OMStateMachineApplyTransactionThread - %d").build();
+    this.executor = HadoopExecutors.newFixedThreadPool(partitions,
+        threadFactory);
+    this.tails = new CompletableFuture<?>[partitions];
+    Arrays.fill(tails, CompletableFuture.completedFuture(null));
+  }
+
+  /**
+   * Submits the given command for the transaction at the given index.
+   * Must be called in log order.
+   */
+  synchronized <T> CompletableFuture<T> submit(OMRequest request, long index,
+      Supplier<T> command) {
+    Preconditions.assertTrue(index > lastDispatchedIndex,
+        () -> "index = " + index + " <= lastDispatchedIndex = "
+            + lastDispatchedIndex);
+    // Must be added before lastDispatchedIndex is updated,
+    // see getAppliedIndexWatermark().
+    inFlight.add(index);
+    lastDispatchedIndex = index;
+
+    final Supplier<T> tracked = () -> {
+      try {
+        return command.get();
+      } finally {
+        inFlight.remove(index);
+      }
+    };
+
+    final String partitionKey = getPartitionKey(request);
+    if (partitionKey == null) {
+      final CompletableFuture<T> future = CompletableFuture.allOf(tails)
+          .handle((v, e) -> null)
+          .thenApplyAsync(v -> tracked.get(), executor);
+      Arrays.fill(tails, future);
+      return future;
+    }
+
+    final int partition = Math.floorMod(partitionKey.hashCode(), tails.length);
+    final CompletableFuture<T> future = tails[partition]
+        .handle((v, e) -> null)
+        .thenApplyAsync(v -> tracked.get(), executor);
+    tails[partition] = future;
+    return future;
+  }
+
+  /**
+   * @return the highest index such that all the transactions dispatched
+   * with an index less than or equal to it have completed.
+   */
+  long getAppliedIndexWatermark() {
+    // Read lastDispatchedIndex before inFlight: any index <= last was added
+    // to inFlight before last was published, so it is either still present
+    // or it has completed.
+    final long last = lastDispatchedIndex;
+    final Long first = inFlight.ceiling(Long.MIN_VALUE);
+    return first == null ? last : Math.min(first - 1, last);
+  }
+
+  int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  void shutdown() {
+    HadoopExecutors.shutdown(executor, LOG, 5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * @return the volume/bucket partition key of the given request,
+   * or null if the request must be applied as a barrier.
+   */
+  static String getPartitionKey(OMRequest request) {
+    final KeyArgs keyArgs;
+    switch (request.getCmdType()) {
+    case CreateDirectory:
+      keyArgs = request.getCreateDirectoryRequest().getKeyArgs();
+      break;
+    case CreateFile:
+      keyArgs = request.getCreateFileRequest().getKeyArgs();
+      break;
+    case CreateKey:
+      keyArgs = request.getCreateKeyRequest().getKeyArgs();
+      break;
+    case AllocateBlock:
+      keyArgs = request.getAllocateBlockRequest().getKeyArgs();
+      break;
+    case CommitKey:
+      keyArgs = request.getCommitKeyRequest().getKeyArgs();
+      break;
+    case DeleteKey:
+      keyArgs = request.getDeleteKeyRequest().getKeyArgs();
+      break;
+    case RenameKey:
+      keyArgs = request.getRenameKeyRequest().getKeyArgs();
+      break;
+    case InitiateMultiPartUpload:
+      keyArgs = request.getInitiateMultiPartUploadRequest().getKeyArgs();
+      break;
+    case CommitMultiPartUpload:
+      keyArgs = request.getCommitMultiPartUploadRequest().getKeyArgs();
+      break;
+    case AbortMultiPartUpload:
+      keyArgs = request.getAbortMultiPartUploadRequest().getKeyArgs();
+      break;
+    case CompleteMultiPartUpload:
+      keyArgs = request.getCompleteMultiPartUploadRequest().getKeyArgs();
+      break;
+    case SetTimes:
+      keyArgs = request.getSetTimesRequest().getKeyArgs();
+      break;
+    case PutObjectTagging:
+      keyArgs = request.getPutObjectTaggingRequest().getKeyArgs();
+      break;
+    case DeleteObjectTagging:
+      keyArgs = request.getDeleteObjectTaggingRequest().getKeyArgs();
+      break;
+    default:
+      // DeleteKeys and RenameKeys resolve the bucket links only in
+      // validateAndUpdateCache, so the bucket in the request may be a link
+      // of the bucket of other requests; they must be barriers.
+      return null;
+    }
+    return toPartitionKey(keyArgs.getVolumeName(), keyArgs.getBucketName());
+  }
+
+  private static String toPartitionKey(String volume, String bucket) {
+    return volume + "/" + bucket;
+  }
+}
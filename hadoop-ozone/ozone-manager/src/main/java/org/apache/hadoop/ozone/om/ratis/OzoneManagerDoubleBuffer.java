@@ -20,23 +20,33 @@
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
@@ -50,6 +60,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.util.Daemon;
 import org.apache.hadoop.util.Time;
+import org.apache.hadoop.util.concurrent.HadoopExecutors;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.Preconditions;
@@ -63,17 +74,37 @@
  * readyBuffer. The current OM requests will always be added to currentBuffer.
  * Flush thread will be running in background, it checks if currentBuffer has
  * any entries, it swaps the buffer and creates a batch and commit to DB.
- * Adding OM request to doubleBuffer and swap of buffer are synchronized
- * methods.
- *
+ * Adding OM request to doubleBuffer and swap of buffer are guarded by a
+ * read/write lock, so that concurrent adds do not contend with each other.
+ * <p>
+ * When pipelined flush is enabled, the post-commit stage of a flush (cache
+ * cleanup, releasing unflushed transactions and flush notification) runs on
+ * a separate thread, so that the flush thread can build and commit the next
+ * batch in the meantime.
  */
 public final class OzoneManagerDoubleBuffer {
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerDoubleBuffer.class);
 
-  private Queue<Entry> currentBuffer;
+  private volatile Queue<Entry> currentBuffer;
   private Queue<Entry> readyBuffer;
+  /** Guard {@link #currentBuffer}: read lock to add, write lock to swap. */
+  private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+  /** Is the {@link #daemon} waiting for entries to be added? */
+  private volatile boolean waitingForEntries;
+  /**
+   * Entries above the {@link #appliedIndexWatermark}, held back from the
+   * {@link #readyBuffer} until all the preceding transactions are added;
+   * ordered by the transaction index.
+   */
+  private final Queue<Entry> heldBackBuffer = new PriorityQueue<>(
+      Comparator.comparingLong(e -> e.getTermIndex().getIndex()));
+  /**
+   * When transactions are applied out of order, supplies the highest index
+   * up to which all transactions have been added; null if applied in order.
+   */
+  private final LongSupplier appliedIndexWatermark;
   /**
    * Limit the number of un-flushed transactions for {@link OzoneManagerStateMachine}.
    */
@@ -86,6 +117,8 @@ public final class OzoneManagerDoubleBuffer {
   private final AtomicBoolean isPaused = new AtomicBoolean(false);
   /** Notify flush operations are completed by the {@link #daemon}. */
   private final FlushNotifier flushNotifier;
+  /** Run the post-commit stage of flushes; null if run by the {@link #daemon}. */
+  private final ExecutorService postCommitExecutor;
 
   private final OMMetadataManager omMetadataManager;
 
@@ -131,6 +164,8 @@ public static final class Builder {
     private int maxUnFlushedTransactionCount = 0;
     private FlushNotifier flushNotifier;
     private S3SecretManager s3SecretManager;
+    private LongSupplier appliedIndexWatermark;
+    private boolean isPipelinedFlushEnabled = false;
     private String threadPrefix = "";
 
     private Builder() { }
@@ -150,6 +185,11 @@ public Builder enableTracing(boolean enableTracing) {
       return this;
     }
 
+    public Builder enablePipelinedFlush(boolean enablePipelinedFlush) {
+      this.isPipelinedFlushEnabled = enablePipelinedFlush;
+      return this;
+    }
+
     public Builder setMaxUnFlushedTransactionCount(int maxUnFlushedTransactionCount) {
       this.maxUnFlushedTransactionCount = maxUnFlushedTransactionCount;
       return this;
@@ -170,6 +210,11 @@ public Builder setS3SecretManager(S3SecretManager s3SecretManager) {
       return this;
     }
 
+    Builder setAppliedIndexWatermark(LongSupplier appliedIndexWatermark) {
+      this.appliedIndexWatermark = appliedIndexWatermark;
+      return this;
+    }
+
     public OzoneManagerDoubleBuffer build() {
       Preconditions.assertTrue(maxUnFlushedTransactionCount > 0L,
           () -> "maxUnFlushedTransactionCount = " + maxUnFlushedTransactionCount);
@@ -196,6 +241,7 @@ private OzoneManagerDoubleBuffer(Builder b) {
     this.omMetadataManager = b.omMetadataManager;
     this.s3SecretManager = b.s3SecretManager;
     this.updateLastAppliedIndex = b.updateLastAppliedIndex;
+    this.appliedIndexWatermark = b.appliedIndexWatermark;
     this.flushNotifier = b.flushNotifier;
     this.unFlushedTransactions = newSemaphore(b.maxUnFlushedTransactionCount);
 
@@ -204,6 +250,16 @@ private OzoneManagerDoubleBuffer(Builder b) {
     // Daemon thread which runs in background and flushes transactions to DB.
     daemon = new Daemon(this::flushTransactions);
     daemon.setName(b.threadPrefix + "OMDoubleBufferFlushThread");
+
+    if (b.isPipelinedFlushEnabled) {
+      // Single thread, so that the post-commit stages run in flush order.
+      ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
+          .setNameFormat(b.threadPrefix + "OMDoubleBufferPostCommitThread")
+          .build();
+      postCommitExecutor = HadoopExecutors.newSingleThreadExecutor(threadFactory);
+    } else {
+      postCommitExecutor = null;
+    }
   }
 
   public OzoneManagerDoubleBuffer start() {
@@ -318,7 +374,12 @@ public void flushTransactions() {
   @VisibleForTesting
   void flushCurrentBuffer() {
     try {
+      // The watermark must be read before the swap so that every entry
+      // at or below it is already in the buffer being swapped.
+      final long watermark = appliedIndexWatermark != null
+          ? appliedIndexWatermark.getAsLong() : Long.MAX_VALUE;
       swapCurrentAndReadyBuffer();
+      holdBackEntriesAbove(watermark);
 
       // For snapshot, we want to include all the keys that were committed
       // before the snapshot `create` command was executed. To achieve
@@ -343,7 +404,7 @@ void flushCurrentBuffer() {
       }
 
       clearReadyBuffer();
-      flushNotifier.notifyFlush();
+      notifyFlush();
     } catch (IOException ex) {
       terminate(ex, 1);
     } catch (Throwable t) {
@@ -364,6 +425,7 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     try (BatchOperation batchOperation = omMetadataManager.getStore()
         .initBatchOperation()) {
 
+      long startTime = Time.monotonicNow();
       String lastTraceId = addToBatch(buffer, batchOperation);
 
       buffer.iterator().forEachRemaining(
@@ -374,8 +436,9 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
           lastTransaction.getIndex(),
           () -> omMetadataManager.getTransactionInfoTable().putWithBatch(
               batchOperation, TRANSACTION_INFO_KEY, TransactionInfo.valueOf(lastTransaction)));
+      metrics.updateBatchBuildTime(Time.monotonicNow() - startTime);
 
-      long startTime = Time.monotonicNow();
+      startTime = Time.monotonicNow();
       flushBatchWithTrace(lastTraceId, buffer.size(),
           () -> omMetadataManager.getStore()
               .commitBatchOperation(batchOperation));
@@ -388,10 +451,12 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     LOG.debug("Sync iteration: {}, size in this iteration: {}, accumulative count: {}",
         flushedIterations, flushedTransactionsSize, accumulativeCount);
 
-    // Clean up committed transactions.
-    cleanupCache(cleanupEpochs);
+    runPostCommit(() -> {
+      // Clean up committed transactions.
+      cleanupCache(cleanupEpochs);
 
-    releaseUnFlushedTransactions(flushedTransactionsSize);
+      releaseUnFlushedTransactions(flushedTransactionsSize);
+    });
     // update the last updated index in OzoneManagerStateMachine.
     updateLastAppliedIndex.accept(lastTransaction);
 
@@ -399,6 +464,42 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     metrics.updateFlush(flushedTransactionsSize);
   }
 
+  /**
+   * Run the post-commit stage of a flush, either inline or, when pipelined
+   * flush is enabled, on the {@link #postCommitExecutor}.
+   */
+  private void runPostCommit(Runnable postCommit) {
+    if (postCommitExecutor == null) {
+      final long startTime = Time.monotonicNow();
+      postCommit.run();
+      metrics.updatePostCommitTime(Time.monotonicNow() - startTime);
+      return;
+    }
+
+    final long submitTime = Time.monotonicNow();
+    postCommitExecutor.execute(() -> {
+      final long startTime = Time.monotonicNow();
+      metrics.updatePostCommitQueueTime(startTime - submitTime);
+      try {
+        postCommit.run();
+      } catch (Throwable t) {
+        terminate(t, 2);
+      }
+      metrics.updatePostCommitTime(Time.monotonicNow() - startTime);
+    });
+  }
+
+  /**
+   * Notify the flush, after the post-commit stages of the preceding flushes.
+   */
+  private void notifyFlush() {
+    if (postCommitExecutor == null) {
+      flushNotifier.notifyFlush();
+    } else {
+      postCommitExecutor.execute(flushNotifier::notifyFlush);
+    }
+  }
+
   private String addToBatch(Queue<Entry> buffer, BatchOperation batchOperation) {
     String lastTraceId = null;
     for (Entry entry: buffer) {
@@ -507,6 +608,42 @@ private void cleanupCache(Map<String, List<Long>> cleanupEpochs) {
     });
   }
 
+  /**
+   * Moves the entries above the given watermark from the readyBuffer to the
+   * heldBackBuffer, and the held back entries at or below it to the front of
+   * the readyBuffer, so that a flush never persists a transaction info
+   * beyond a transaction which has not been added yet.
+   * The entries remaining held back are not touched.
+   */
+  private synchronized void holdBackEntriesAbove(long watermark) {
+    if (heldBackBuffer.isEmpty() && watermark == Long.MAX_VALUE) {
+      return;
+    }
+    for (Iterator<Entry> i = readyBuffer.iterator(); i.hasNext();) {
+      final Entry entry = i.next();
+      if (entry.getTermIndex().getIndex() > watermark) {
+        i.remove();
+        heldBackBuffer.add(entry);
+      }
+    }
+    if (!canFlushHeldBackEntries(watermark)) {
+      return;
+    }
+    // The released entries were added before the entries in the readyBuffer.
+    final Queue<Entry> released = new ConcurrentLinkedQueue<>();
+    while (canFlushHeldBackEntries(watermark)) {
+      released.add(heldBackBuffer.poll());
+    }
+    released.addAll(readyBuffer);
+    readyBuffer = released;
+  }
+
+  /** @return true if some held back entries are at or below the watermark. */
+  private boolean canFlushHeldBackEntries(long watermark) {
+    final Entry first = heldBackBuffer.peek();
+    return first != null && first.getTermIndex().getIndex() <= watermark;
+  }
+
   private synchronized void clearReadyBuffer() {
     readyBuffer.clear();
   }
@@ -519,6 +656,9 @@ private synchronized void clearReadyBuffer() {
   @SuppressWarnings("squid:S2142")
   public void stop() {
     stopDaemon();
+    if (postCommitExecutor != null) {
+      HadoopExecutors.shutdown(postCommitExecutor, LOG, 5, TimeUnit.SECONDS);
+    }
     metrics.unRegister();
   }
 
@@ -554,9 +694,33 @@ private void terminate(Throwable t, int status, OMResponse omResponse) {
   /**
    * Add OmResponseBufferEntry to buffer.
    */
-  public synchronized void add(OMClientResponse response, TermIndex termIndex) {
-    currentBuffer.add(new Entry(termIndex, response));
-    notify();
+  public void add(OMClientResponse response, TermIndex termIndex) {
+    bufferLock.readLock().lock();
+    try {
+      currentBuffer.add(new Entry(termIndex, response));
+    } finally {
+      bufferLock.readLock().unlock();
+    }
+    // The flag is set before canFlush() checks the buffer, so either the
+    // entry is seen there or the daemon is notified here.
+    if (waitingForEntries) {
+      synchronized (this) {
+        notify();
+      }
+    }
+  }
+
+  /**
+   * Notify the flush thread that the {@link #appliedIndexWatermark} may have
+   * advanced, so that the held back entries can be flushed.
+   */
+  void notifyAppliedIndexWatermark() {
+    // Same as add(..), the watermark is advanced before the flag is read.
+    if (waitingForEntries) {
+      synchronized (this) {
+        notify();
+      }
+    }
   }
 
   /**
@@ -568,12 +732,21 @@ public synchronized void add(OMClientResponse response, TermIndex termIndex) {
    */
   private synchronized boolean canFlush() {
     try {
+      waitingForEntries = true;
       while (currentBuffer.isEmpty()) {
-        // canFlush() only gets called when the readyBuffer is empty.
-        // Since both buffers are empty, notify once for each.
-        flushNotifier.notifyFlush();
-        flushNotifier.notifyFlush();
-        wait(1000L);
+        if (heldBackBuffer.isEmpty()) {
+          // canFlush() only gets called when the readyBuffer is empty.
+          // Since both buffers are empty, notify once for each.
+          notifyFlush();
+          notifyFlush();
+          wait(1000L);
+        } else if (canFlushHeldBackEntries(
+            appliedIndexWatermark.getAsLong())) {
+          break;
+        } else {
+          // Notified by notifyAppliedIndexWatermark().
+          wait(1000L);
+        }
       }
       return true;
     } catch (InterruptedException ex) {
@@ -587,6 +760,8 @@ private synchronized boolean canFlush() {
       LOG.info("OMDoubleBuffer flush thread {} is interrupted and will "
           + "exit.", Thread.currentThread().getName());
       return false;
+    } finally {
+      waitingForEntries = false;
     }
   }
 
@@ -595,9 +770,14 @@ private synchronized boolean canFlush() {
    * used by sync thread to flush transactions to DB.
    */
   private synchronized void swapCurrentAndReadyBuffer() {
-    final Queue<Entry> temp = currentBuffer;
-    currentBuffer = readyBuffer;
-    readyBuffer = temp;
+    bufferLock.writeLock().lock();
+    try {
+      final Queue<Entry> temp = currentBuffer;
+      currentBuffer = readyBuffer;
+      readyBuffer = temp;
+    } finally {
+      bufferLock.writeLock().unlock();
+    }
   }
 
   OzoneManagerDoubleBufferMetrics getMetrics() {
@@ -622,6 +802,10 @@ synchronized int getReadyBufferSize() {
     return readyBuffer.size();
   }
 
+  synchronized int getHeldBackBufferSize() {
+    return heldBackBuffer.size();
+  }
+
   @VisibleForTesting
   public void resume() {
     isRunning.set(true);
@@ -52,6 +52,20 @@ public class OzoneManagerDoubleBufferMetrics {
       " rocksdb batch commit time.")
   private MutableRate flushTime;
 
+  @Metric(about = "DoubleBuffer batch build time. This metrics captures the" +
+      " time to add the responses of a flush to the rocksdb batch.")
+  private MutableRate batchBuildTime;
+
+  @Metric(about = "DoubleBuffer post-commit time. This metrics captures the" +
+      " time to cleanup the table caches and release the flushed" +
+      " transactions after a batch commit.")
+  private MutableRate postCommitTime;
+
+  @Metric(about = "DoubleBuffer post-commit queue time. This metrics captures" +
+      " the time a committed batch waited for the post-commit thread when" +
+      " pipelined flush is enabled.")
+  private MutableRate postCommitQueueTime;
+
   @Metric(about = "Average number of transactions flushed in a single " +
       "iteration")
   private MutableGaugeFloat avgFlushTransactionsInOneIteration;
@@ -115,6 +129,30 @@ MutableRate getFlushTime() {
     return flushTime;
   }
 
+  public void updateBatchBuildTime(long time) {
+    batchBuildTime.add(time);
+  }
+
+  MutableRate getBatchBuildTime() {
+    return batchBuildTime;
+  }
+
+  public void updatePostCommitTime(long time) {
+    postCommitTime.add(time);
+  }
+
+  MutableRate getPostCommitTime() {
+    return postCommitTime;
+  }
+
+  public void updatePostCommitQueueTime(long time) {
+    postCommitQueueTime.add(time);
+  }
+
+  MutableRate getPostCommitQueueTime() {
+    return postCommitQueueTime;
+  }
+
   public float getAvgFlushTransactionsInOneIteration() {
     return avgFlushTransactionsInOneIteration.value();
   }
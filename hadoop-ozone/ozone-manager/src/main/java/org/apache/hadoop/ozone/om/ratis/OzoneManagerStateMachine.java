@@ -98,6 +98,8 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private RequestHandler handler;
   private volatile OzoneManagerDoubleBuffer ozoneManagerDoubleBuffer;
   private final ExecutorService executorService;
+  /** Non-null iff transactions are applied in parallel by volume/bucket. */
+  private final BucketPartitionedApplyExecutor partitionedApplyExecutor;
   private final ExecutorService installSnapshotExecutor;
   private final boolean isTracingEnabled;
   private final AtomicInteger statePausedCount = new AtomicInteger(0);
@@ -118,14 +120,27 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
     loadSnapshotInfoFromDB();
     this.threadPrefix = ozoneManager.getThreadNamePrefix();
 
+    final boolean parallelApply = ozoneManager.getConfiguration().getBoolean(
+        OMConfigKeys.OZONE_OM_RATIS_APPLY_PARALLEL_ENABLED,
+        OMConfigKeys.OZONE_OM_RATIS_APPLY_PARALLEL_ENABLED_DEFAULT);
+    if (parallelApply) {
+      final int threadCount = ozoneManager.getConfiguration().getInt(
+          OMConfigKeys.OZONE_OM_RATIS_APPLY_PARALLEL_THREAD_COUNT,
+          OMConfigKeys.OZONE_OM_RATIS_APPLY_PARALLEL_THREAD_COUNT_DEFAULT);
+      LOG.info("Applying transactions in parallel by volume/bucket with {} threads", threadCount);
+      this.partitionedApplyExecutor = new BucketPartitionedApplyExecutor(threadCount, threadPrefix);
+      this.executorService = null;
+    } else {
+      this.partitionedApplyExecutor = null;
+      ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
+          .setNameFormat(threadPrefix +
+              "OMStateMachineApplyTransactionThread - %d").build();
+      this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
+    }
+
     this.ozoneManagerDoubleBuffer = buildDoubleBufferForRatis();
     this.handler = new OzoneManagerRequestHandler(ozoneManager);
 
-    ThreadFactory build = new ThreadFactoryBuilder().setDaemon(true)
-        .setNameFormat(threadPrefix +
-            "OMStateMachineApplyTransactionThread - %d").build();
-    this.executorService = HadoopExecutors.newSingleThreadExecutor(build);
-
     ThreadFactory installSnapshotThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat(threadPrefix + "InstallSnapshotThread").build();
     this.installSnapshotExecutor =
@@ -139,12 +154,23 @@ public OzoneManagerStateMachine(OzoneManagerRatisServer ratisServer,
       RequestHandler handler,
       ExecutorService executorService,
       NettyMetrics nettyMetrics) {
+    this(ozoneManager, doubleBuffer, handler, executorService, null, nettyMetrics);
+  }
+
+  @VisibleForTesting
+  OzoneManagerStateMachine(OzoneManager ozoneManager,
+      OzoneManagerDoubleBuffer doubleBuffer,
+      RequestHandler handler,
+      ExecutorService executorService,
+      BucketPartitionedApplyExecutor partitionedApplyExecutor,
+      NettyMetrics nettyMetrics) {
     this.isTracingEnabled = false;
     this.ozoneManager = ozoneManager;
     this.threadPrefix = "";
     this.ozoneManagerDoubleBuffer = doubleBuffer;
     this.handler = handler;
     this.executorService = executorService;
+    this.partitionedApplyExecutor = partitionedApplyExecutor;
     ThreadFactory installSnapshotThreadFactory = new ThreadFactoryBuilder()
         .setNameFormat("TestInstallSnapshotThread").build();
     this.installSnapshotExecutor =
@@ -410,23 +436,27 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
           trx.getStateMachineLogEntry().getLogData());
       final TermIndex termIndex = TermIndex.valueOf(trx.getLogEntry());
       LOG.debug("{}: applyTransaction {}", getId(), termIndex);
-      // In the current approach we have one single global thread executor.
+      // By default, we have one single global thread executor.
       // with single thread. Right now this is being done for correctness, as
       // applyTransaction will be run on multiple OM's we want to execute the
       // transactions in the same order on all OM's, otherwise there is a
       // chance that OM replica's can be out of sync.
-      // TODO: In this way we are making all applyTransactions in
-      // OM serial order. Revisit this in future to use multiple executors for
-      // volume/bucket.
 
-      // Reason for not immediately implementing executor per volume is, if
-      // one executor operations are slow, we cannot update the
-      // lastAppliedIndex in OzoneManager StateMachine, even if other
-      // executor has completed the transactions with id more.
+      // When ozone.om.ratis.apply.parallel.enabled is set, transactions on
+      // different buckets are applied concurrently while transactions on the
+      // same bucket, and all non key requests, keep the log order.  Since a
+      // slow bucket can hold back the lastAppliedIndex, the double buffer
+      // only flushes up to the watermark below which every transaction
+      // has completed, see BucketPartitionedApplyExecutor.
 
       //if there are too many pending requests, wait for doubleBuffer flushing
       ozoneManagerDoubleBuffer.acquireUnFlushedTransactions(1);
 
+      if (partitionedApplyExecutor != null) {
+        return partitionedApplyExecutor.submit(request, termIndex.getIndex(), () -> runCommand(request, termIndex))
+            .whenComplete((r, e) -> ozoneManagerDoubleBuffer.notifyAppliedIndexWatermark())
+            .thenApply(this::processResponse);
+      }
       return CompletableFuture.supplyAsync(() -> runCommand(request, termIndex), executorService)
           .thenApply(this::processResponse);
     } catch (Exception e) {
@@ -513,12 +543,18 @@ public OzoneManagerDoubleBuffer buildDoubleBufferForRatis() {
     final int maxUnFlushedTransactionCount = ozoneManager.getConfiguration()
         .getInt(OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT,
             OMConfigKeys.OZONE_OM_UNFLUSHED_TRANSACTION_MAX_COUNT_DEFAULT);
+    final boolean pipelinedFlush = ozoneManager.getConfiguration()
+        .getBoolean(OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED,
+            OMConfigKeys.OZONE_OM_DOUBLE_BUFFER_PIPELINED_FLUSH_ENABLED_DEFAULT);
     return OzoneManagerDoubleBuffer.newBuilder()
         .setOmMetadataManager(ozoneManager.getMetadataManager())
         .setUpdateLastAppliedIndex(this::updateLastAppliedTermIndex)
         .setMaxUnFlushedTransactionCount(maxUnFlushedTransactionCount)
+        .enablePipelinedFlush(pipelinedFlush)
         .setThreadPrefix(threadPrefix)
         .setS3SecretManager(ozoneManager.getS3SecretManager())
+        .setAppliedIndexWatermark(partitionedApplyExecutor == null ? null
+            : partitionedApplyExecutor::getAppliedIndexWatermark)
         .enableTracing(isTracingEnabled)
         .build()
         .start();
@@ -702,7 +738,11 @@ public OzoneManagerRequestHandler getHandler() {
 
   public void stop() {
     ozoneManagerDoubleBuffer.stop();
-    HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    if (partitionedApplyExecutor != null) {
+      partitionedApplyExecutor.shutdown();
+    } else {
+      HadoopExecutors.shutdown(executorService, LOG, 5, TimeUnit.SECONDS);
+    }
     HadoopExecutors.shutdown(installSnapshotExecutor, LOG, 5, TimeUnit.SECONDS);
     if (this.nettyMetrics != null) {
       this.nettyMetrics.unregister();
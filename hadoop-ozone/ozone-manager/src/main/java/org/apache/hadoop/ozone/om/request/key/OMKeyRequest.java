@@ -66,6 +66,7 @@
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.BlockLeasePool;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.ozone.om.OmConfig;
@@ -205,10 +206,16 @@ protected List< OmKeyLocationInfo > allocateBlock(ScmClient scmClient,
     List<OmKeyLocationInfo> locationInfos = new ArrayList<>(numBlocks);
     String remoteUser = getRemoteUser().getShortUserName();
     List<AllocatedBlock> allocatedBlocks;
+    final BlockLeasePool blockLeasePool = scmClient.getBlockLeasePool();
     try {
-      allocatedBlocks = scmClient.getBlockClient()
-          .allocateBlock(scmBlockSize, numBlocks, replicationConfig, serviceID,
-              excludeList, clientMachine);
+      if (blockLeasePool != null && excludeList.isEmpty()) {
+        allocatedBlocks = blockLeasePool.allocateBlock(scmBlockSize, numBlocks,
+            replicationConfig, serviceID, clientMachine, omMetrics);
+      } else {
+        allocatedBlocks = scmClient.getBlockClient()
+            .allocateBlock(scmBlockSize, numBlocks, replicationConfig,
+                serviceID, excludeList, clientMachine);
+      }
     } catch (SCMException ex) {
       omMetrics.incNumBlockAllocateCallFails();
       if (ex.getResult()
@@ -33,15 +33,11 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.io.FileUtils;
@@ -70,7 +66,6 @@
 public class QuotaRepairTask {
   private static final Logger LOG = LoggerFactory.getLogger(
       QuotaRepairTask.class);
-  private static final int BATCH_SIZE = 5000;
   private static final int TASK_THREAD_CNT = 3;
   private static final AtomicBoolean IN_PROGRESS = new AtomicBoolean(false);
   private static final RepairStatus REPAIR_STATUS = new RepairStatus();
@@ -102,8 +97,9 @@ public static String getStatus() {
 
   private boolean repairTask(List<String> buckets) {
     LOG.info("Starting quota repair task {}", REPAIR_STATUS);
-    // thread pool with 3 Table type * (1 task each + 3 thread for each task)
-    executor = Executors.newFixedThreadPool(3 * (1 + TASK_THREAD_CNT));
+    // thread pool with 1 task for each of the 3 Table types,
+    // where each task scans its table by TASK_THREAD_CNT threads.
+    executor = Executors.newFixedThreadPool(3);
     try (OMMetadataManager activeMetaManager =
         createActiveDBCheckpoint(om.getMetadataManager(), om.getConfiguration())) {
       OzoneManagerProtocolProtos.QuotaRepairRequest.Builder builder
@@ -331,63 +327,24 @@ private void repairCount(
 
   private <VALUE> void recalculateUsages(
       Table<String, VALUE> table, Map<String, CountPair> prefixUsageMap,
-      String strType, boolean haveValue) throws UncheckedIOException,
-      UncheckedExecutionException {
+      String strType, boolean haveValue) throws UncheckedIOException {
     LOG.info("Starting recalculate {}", strType);
 
-    List<Table.KeyValue<String, VALUE>> kvList = new ArrayList<>(BATCH_SIZE);
-    BlockingQueue<List<Table.KeyValue<String, VALUE>>> q
-        = new ArrayBlockingQueue<>(TASK_THREAD_CNT);
-    List<Future<?>> tasks = new ArrayList<>();
-    AtomicBoolean isRunning = new AtomicBoolean(true);
-    for (int i = 0; i < TASK_THREAD_CNT; ++i) {
-      tasks.add(executor.submit(() -> captureCount(
-          prefixUsageMap, q, isRunning, haveValue)));
-    }
-    int count = 0;
+    AtomicLong count = new AtomicLong();
     long startTime = Time.monotonicNow();
-    try (Table.KeyValueIterator<String, VALUE> keyIter
-        = table.iterator(null, haveValue ? KEY_AND_VALUE : KEY_ONLY)) {
-      while (keyIter.hasNext()) {
-        count++;
-        kvList.add(keyIter.next());
-        if (kvList.size() == BATCH_SIZE) {
-          q.put(kvList);
-          kvList = new ArrayList<>(BATCH_SIZE);
-        }
-      }
-      q.put(kvList);
-      isRunning.set(false);
-      for (Future<?> f : tasks) {
-        f.get();
-      }
+    try {
+      // scan the key ranges of the table, including the decoding, in parallel
+      table.parallelScan(haveValue ? KEY_AND_VALUE : KEY_ONLY,
+          TASK_THREAD_CNT, kv -> {
+            count.incrementAndGet();
+            extractCount(kv, prefixUsageMap, haveValue);
+          });
       LOG.info("Recalculate {} completed, count {} time {}ms", strType,
           count, (Time.monotonicNow() - startTime));
     } catch (IOException ex) {
       throw new UncheckedIOException(ex);
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
-    } catch (ExecutionException ex) {
-      throw new UncheckedExecutionException(ex);
-    }
-  }
-  
-  private static <VALUE> void captureCount(
-      Map<String, CountPair> prefixUsageMap,
-      BlockingQueue<List<Table.KeyValue<String, VALUE>>> q,
-      AtomicBoolean isRunning, boolean haveValue) throws UncheckedIOException {
-    try {
-      while (isRunning.get() || !q.isEmpty()) {
-        List<Table.KeyValue<String, VALUE>> kvList
-            = q.poll(100, TimeUnit.MILLISECONDS);
-        if (null != kvList) {
-          for (Table.KeyValue<String, VALUE> kv : kvList) {
-            extractCount(kv, prefixUsageMap, haveValue);
-          }
-        }
-      }
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
     }
   }
   
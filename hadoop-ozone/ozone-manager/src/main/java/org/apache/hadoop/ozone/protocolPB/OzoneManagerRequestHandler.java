@@ -112,6 +112,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfosRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfosResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetObjectTaggingResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetS3VolumeContextResponse;
@@ -328,6 +330,10 @@ public OMResponse handleReadRequest(OMRequest request) {
         responseBuilder.setGetKeyInfoResponse(
             getKeyInfo(request.getGetKeyInfoRequest(), request.getVersion()));
         break;
+      case GetKeyInfos:
+        responseBuilder.setGetKeyInfosResponse(
+            getKeyInfos(request.getGetKeyInfosRequest(), request.getVersion()));
+        break;
       case ListSnapshot:
         OzoneManagerProtocolProtos.ListSnapshotResponse listSnapshotResponse =
             getSnapshots(request.getListSnapshotRequest());
@@ -462,6 +468,9 @@ private DBUpdatesResponse getOMDBUpdates(
     builder.setSequenceNumber(dbUpdatesWrapper.getCurrentSequenceNumber());
     builder.setLatestSequenceNumber(dbUpdatesWrapper.getLatestSequenceNumber());
     builder.setDbUpdateSuccess(dbUpdatesWrapper.isDBUpdateSuccess());
+    if (dbUpdatesWrapper.getWaitTimeoutMs() > 0) {
+      builder.setWaitTimeoutMs(dbUpdatesWrapper.getWaitTimeoutMs());
+    }
     return builder.build();
   }
 
@@ -639,8 +648,36 @@ private LookupKeyResponse lookupKey(LookupKeyRequest request,
 
   private GetKeyInfoResponse getKeyInfo(GetKeyInfoRequest request,
                                         int clientVersion) throws IOException {
-    KeyArgs keyArgs = request.getKeyArgs();
-    OmKeyArgs omKeyArgs = new OmKeyArgs.Builder()
+    OmKeyArgs omKeyArgs = getKeyInfoArgs(request.getKeyArgs());
+    KeyInfoWithVolumeContext keyInfo = impl.getKeyInfo(omKeyArgs,
+        request.getAssumeS3Context());
+
+    return keyInfo.toProtobuf(clientVersion);
+  }
+
+  private GetKeyInfosResponse getKeyInfos(GetKeyInfosRequest request,
+      int clientVersion) throws IOException {
+    // Return at most the max list size; the client requests the rest again.
+    final int size = limitListSizeInt(request.getKeyArgsCount());
+    final List<OmKeyArgs> args = new ArrayList<>(size);
+    for (KeyArgs keyArgs : request.getKeyArgsList().subList(0, size)) {
+      args.add(getKeyInfoArgs(keyArgs));
+    }
+    final List<OmKeyInfo> keyInfos = impl.getKeyInfos(args);
+
+    final GetKeyInfosResponse.Builder resp = GetKeyInfosResponse.newBuilder();
+    for (OmKeyInfo keyInfo : keyInfos) {
+      final GetKeyInfoResponse.Builder builder = GetKeyInfoResponse.newBuilder();
+      if (keyInfo != null) {
+        builder.setKeyInfo(keyInfo.getProtobuf(clientVersion));
+      }
+      resp.addKeyInfos(builder);
+    }
+    return resp.build();
+  }
+
+  private static OmKeyArgs getKeyInfoArgs(KeyArgs keyArgs) {
+    return new OmKeyArgs.Builder()
         .setVolumeName(keyArgs.getVolumeName())
         .setBucketName(keyArgs.getBucketName())
         .setKeyName(keyArgs.getKeyName())
@@ -651,10 +688,6 @@ private GetKeyInfoResponse getKeyInfo(GetKeyInfoRequest request,
             keyArgs.getForceUpdateContainerCacheFromSCM())
         .setMultipartUploadPartNumber(keyArgs.getMultipartNumber())
         .build();
-    KeyInfoWithVolumeContext keyInfo = impl.getKeyInfo(omKeyArgs,
-        request.getAssumeS3Context());
-
-    return keyInfo.toProtobuf(clientVersion);
   }
 
   @RequestFeatureValidator(
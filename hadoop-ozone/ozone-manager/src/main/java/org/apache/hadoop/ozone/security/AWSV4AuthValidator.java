@@ -79,7 +79,7 @@ private static byte[] sign(byte[] key, String msg) {
    * Returns signing key.
    *
    * @param key
-   * @param strToSign
+   * @param scope the credential scope, i.e. date/region/service/aws4_request.
    *
    * SignatureKey = HMAC-SHA256(HMAC-SHA256(HMAC-SHA256(HMAC-SHA256("AWS4" +
    * "<YourSecretAccessKey>","20130524"),"us-east-1"),"s3"),"aws4_request")
@@ -88,9 +88,8 @@ private static byte[] sign(byte[] key, String msg) {
    * .com/AmazonS3/latest/API/sig-v4-header-based-auth.html
    *
    * */
-  private static byte[] getSigningKey(String key, String strToSign) {
-    String[] signData = StringUtils.split(StringUtils.split(strToSign,
-        '\n')[2], '/');
+  private static byte[] getSigningKey(String key, String scope) {
+    String[] signData = StringUtils.split(scope, '/');
     String dateStamp = signData[0];
     String regionName = signData[1];
     String serviceName = signData[2];
@@ -115,8 +114,27 @@ private static byte[] getSigningKey(String key, String strToSign) {
    */
   public static boolean validateRequest(String strToSign, String signature,
       String userKey) {
-    String expectedSignature = Hex.encode(sign(getSigningKey(userKey,
-        strToSign), strToSign));
-    return expectedSignature.equals(signature);
+    return validateRequest(strToSign, signature, userKey, null, null);
+  }
+
+  /**
+   * Same as {@link #validateRequest(String, String, String)} except that
+   * the signing key is looked up from the given cache, if it is non-null.
+   */
+  public static boolean validateRequest(String strToSign, String signature,
+      String userKey, String accessId, AWSV4SigningKeyCache cache) {
+    final String scope = StringUtils.split(strToSign, '\n')[2];
+    final byte[] cached = cache == null ? null
+        : cache.getSigningKey(accessId, userKey, scope);
+    final byte[] signingKey = cached != null ? cached
+        : getSigningKey(userKey, scope);
+    String expectedSignature = Hex.encode(sign(signingKey, strToSign));
+    if (!expectedSignature.equals(signature)) {
+      return false;
+    }
+    if (cache != null && cached == null) {
+      cache.putSigningKey(accessId, userKey, scope, signingKey);
+    }
+    return true;
   }
 }
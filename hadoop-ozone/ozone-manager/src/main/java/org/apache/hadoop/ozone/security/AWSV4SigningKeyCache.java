@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.security;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE_DEFAULT;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+
+/**
+ * Cache the AWS V4 signing keys, so that the HMAC chain deriving a signing
+ * key from an S3 secret is computed once per access id, date, region and
+ * service, instead of once per request.
+ * <p>
+ * A cached key is used only if it was derived from the current secret, so
+ * that a stale key is never used even if an invalidation is missed.
+ */
+public final class AWSV4SigningKeyCache {
+  private final Cache<Key, Value> cache;
+
+  AWSV4SigningKeyCache(int maxSize) {
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .build();
+  }
+
+  /**
+   * @return a new cache configured by the given configuration,
+   *         or null if the cache is disabled.
+   */
+  public static AWSV4SigningKeyCache create(ConfigurationSource conf) {
+    final int maxSize = conf.getInt(OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE,
+        OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE_DEFAULT);
+    return maxSize > 0 ? new AWSV4SigningKeyCache(maxSize) : null;
+  }
+
+  /**
+   * @param accessId the AWS access id.
+   * @param secret the current secret of the access id.
+   * @param scope the credential scope, i.e. date/region/service/aws4_request.
+   * @return the cached signing key, or null if it is not cached.
+   */
+  byte[] getSigningKey(String accessId, String secret, String scope) {
+    final Value cached = cache.getIfPresent(new Key(accessId, scope));
+    return cached != null && cached.secret.equals(secret)
+        ? cached.signingKey : null;
+  }
+
+  /**
+   * Cache the given signing key.  The caller must put only a key which has
+   * verified a signature, so that the unauthenticated requests cannot fill
+   * up the cache.
+   */
+  void putSigningKey(String accessId, String secret, String scope,
+      byte[] signingKey) {
+    cache.put(new Key(accessId, scope), new Value(secret, signingKey));
+  }
+
+  /** Invalidate the cached keys of the given access id. */
+  public void invalidate(String accessId) {
+    cache.asMap().keySet().removeIf(k -> k.accessId.equals(accessId));
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  /** The access id and the credential scope. */
+  private static final class Key {
+    private final String accessId;
+    private final String scope;
+
+    Key(String accessId, String scope) {
+      this.accessId = accessId;
+      this.scope = scope;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) o;
+      return accessId.equals(that.accessId) && scope.equals(that.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(accessId, scope);
+    }
+  }
+
+  /** The signing key and the secret it was derived from. */
+  private static final class Value {
+    private final String secret;
+    private final byte[] signingKey;
+
+    Value(String secret, byte[] signingKey) {
+      this.secret = secret;
+      this.signingKey = signingKey;
+    }
+  }
+}
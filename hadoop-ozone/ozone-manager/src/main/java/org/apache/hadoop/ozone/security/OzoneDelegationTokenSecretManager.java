@@ -496,7 +496,8 @@ private byte[] validateS3AuthInfo(OzoneTokenIdentifier identifier)
     }
 
     if (AWSV4AuthValidator.validateRequest(identifier.getStrToSign(),
-        identifier.getSignature(), awsSecret)) {
+        identifier.getSignature(), awsSecret, identifier.getAwsAccessId(),
+        s3SecretManager.signingKeyCache())) {
       return identifier.getSignature().getBytes(UTF_8);
     }
     throw new InvalidToken("Invalid S3 identifier:"
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BlockLeasePool}.
+ */
+public class TestBlockLeasePool {
+  private static final long BLOCK_SIZE = 1024;
+  private static final int BATCH_SIZE = 8;
+  private static final ReplicationConfig REPLICATION =
+      RatisReplicationConfig.getInstance(THREE);
+
+  private final AtomicLong nextLocalId = new AtomicLong(1);
+  private ScmBlockLocationProtocol blockClient;
+  private OMMetrics metrics;
+  private BlockLeasePool pool;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    final Pipeline pipeline = MockPipeline.createPipeline(3);
+    blockClient = mock(ScmBlockLocationProtocol.class);
+    when(blockClient.allocateBlock(anyLong(), anyInt(),
+        any(ReplicationConfig.class), anyString(), any(), any()))
+        .thenAnswer(invocation -> {
+          final int numBlocks = invocation.getArgument(1);
+          final List<AllocatedBlock> blocks = new ArrayList<>(numBlocks);
+          for (int i = 0; i < numBlocks; i++) {
+            blocks.add(new AllocatedBlock.Builder()
+                .setContainerBlockID(new ContainerBlockID(1,
+                    nextLocalId.getAndIncrement()))
+                .setPipeline(pipeline)
+                .build());
+          }
+          return blocks;
+        });
+    metrics = OMMetrics.create();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (pool != null) {
+      pool.close();
+    }
+    metrics.unRegister();
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    assertNull(BlockLeasePool.create(blockClient, new OzoneConfiguration()));
+  }
+
+  @Test
+  public void testAllocateFromPool() throws Exception {
+    pool = new BlockLeasePool(blockClient, BATCH_SIZE,
+        TimeUnit.MINUTES.toNanos(1), 4, 1);
+
+    // the pool is empty: allocate from SCM and refill in the background
+    assertEquals(1, allocate(1).size());
+    assertEquals(1, metrics.getNumBlockLeaseMisses());
+    GenericTestUtils.waitFor(() -> pool.getLeasedBlockCount() == BATCH_SIZE,
+        10, 10_000);
+    verify(blockClient, times(1)).allocateBlock(eq(BLOCK_SIZE),
+        eq(BATCH_SIZE), eq(REPLICATION), eq("om"), any(), eq("client"));
+
+    // the blocks are handed out from the pool in the order of allocation
+    final List<AllocatedBlock> blocks = allocate(3);
+    assertEquals(3, blocks.size());
+    assertEquals(2, blocks.get(0).getBlockID().getLocalID());
+    assertEquals(4, blocks.get(2).getBlockID().getLocalID());
+    assertEquals(3, metrics.getNumBlockLeaseHits());
+    assertEquals(1, metrics.getNumBlockLeaseMisses());
+    assertEquals(BATCH_SIZE - 3, pool.getLeasedBlockCount());
+
+    // dropping to half of the batch size refills the pool
+    assertEquals(2, allocate(2).size());
+    GenericTestUtils.waitFor(() -> pool.getLeasedBlockCount() == BATCH_SIZE,
+        10, 10_000);
+    assertEquals(5, metrics.getNumBlockLeaseHits());
+  }
+
+  @Test
+  public void testExpiredLeases() throws Exception {
+    pool = new BlockLeasePool(blockClient, BATCH_SIZE,
+        TimeUnit.MILLISECONDS.toNanos(200), 4, 1);
+    allocate(1);
+    GenericTestUtils.waitFor(() -> pool.getLeasedBlockCount() == BATCH_SIZE,
+        10, 10_000);
+    Thread.sleep(300);
+
+    // the leased blocks are not handed out after the lease timeout
+    final List<AllocatedBlock> blocks = allocate(1);
+    assertEquals(1, blocks.size());
+    assertEquals(BATCH_SIZE + 2, blocks.get(0).getBlockID().getLocalID());
+    assertEquals(0, metrics.getNumBlockLeaseHits());
+    assertEquals(2, metrics.getNumBlockLeaseMisses());
+  }
+
+  private List<AllocatedBlock> allocate(int numBlocks) throws IOException {
+    return pool.allocateBlock(BLOCK_SIZE, numBlocks, REPLICATION, "om",
+        "client", metrics);
+  }
+}
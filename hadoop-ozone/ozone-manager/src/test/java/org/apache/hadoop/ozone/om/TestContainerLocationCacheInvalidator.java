@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import org.apache.hadoop.hdds.scm.container.ContainerLocationChanges;
+import org.apache.hadoop.hdds.scm.protocol.StorageContainerLocationProtocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ContainerLocationCacheInvalidator}.
+ */
+public class TestContainerLocationCacheInvalidator {
+  private static final long LOG_ID = 100;
+
+  private StorageContainerLocationProtocol containerClient;
+  private Cache<Long, String> cache;
+  private ContainerLocationCacheInvalidator invalidator;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    containerClient = mock(StorageContainerLocationProtocol.class);
+    cache = CacheBuilder.newBuilder().build();
+    invalidator = new ContainerLocationCacheInvalidator(containerClient,
+        cache, 2);
+    for (long i = 1; i <= 5; i++) {
+      cache.put(i, "pipeline-" + i);
+    }
+    when(containerClient.getContainerLocationChanges(-1, 2))
+        .thenReturn(changes(LOG_ID, 10, false));
+  }
+
+  private static ContainerLocationChanges changes(long logId,
+      long sequenceId, boolean truncated, Long... ids) {
+    return new ContainerLocationChanges(logId, sequenceId, truncated,
+        asList(ids));
+  }
+
+  @Test
+  public void testInvalidateChanges() throws Exception {
+    // the first poll invalidates all
+    invalidator.poll();
+    assertEquals(0, cache.size());
+    for (long i = 1; i <= 5; i++) {
+      cache.put(i, "pipeline-" + i);
+    }
+
+    when(containerClient.getContainerLocationChanges(10, 2))
+        .thenReturn(changes(LOG_ID, 12, false, 1L, 2L));
+    when(containerClient.getContainerLocationChanges(12, 2))
+        .thenReturn(changes(LOG_ID, 13, false, 4L));
+    invalidator.poll();
+    assertNull(cache.getIfPresent(1L));
+    assertNull(cache.getIfPresent(2L));
+    assertEquals("pipeline-3", cache.getIfPresent(3L));
+    assertNull(cache.getIfPresent(4L));
+    assertEquals("pipeline-5", cache.getIfPresent(5L));
+
+    when(containerClient.getContainerLocationChanges(13, 2))
+        .thenReturn(changes(LOG_ID, 13, false));
+    invalidator.poll();
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testInvalidateAll() throws Exception {
+    invalidator.poll();
+    cache.put(1L, "pipeline-1");
+
+    // truncated
+    when(containerClient.getContainerLocationChanges(10, 2))
+        .thenReturn(changes(LOG_ID, 20, true));
+    invalidator.poll();
+    assertEquals(0, cache.size());
+
+    // SCM restarted or failed over
+    cache.put(1L, "pipeline-1");
+    when(containerClient.getContainerLocationChanges(20, 2))
+        .thenReturn(changes(LOG_ID + 1, 5, true));
+    invalidator.poll();
+    assertEquals(0, cache.size());
+
+    cache.put(1L, "pipeline-1");
+    when(containerClient.getContainerLocationChanges(5, 2))
+        .thenReturn(changes(LOG_ID + 1, 5, false));
+    invalidator.poll();
+    assertEquals(1, cache.size());
+    verify(containerClient).getContainerLocationChanges(eq(5L), anyInt());
+  }
+
+  @Test
+  public void testFailure() throws Exception {
+    when(containerClient.getContainerLocationChanges(anyLong(), anyInt()))
+        .thenThrow(new IOException("SCM unavailable"));
+    assertThrows(IOException.class, invalidator::poll);
+    // keep the cached locations until the cache TTL
+    assertEquals(5, cache.size());
+  }
+}
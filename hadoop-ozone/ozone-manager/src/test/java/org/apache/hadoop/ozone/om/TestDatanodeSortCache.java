@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.hdds.protocol.MockDatanodeDetails.createDatanodeDetails;
+import static org.apache.hadoop.hdds.scm.net.NetConstants.NODE_COST_DEFAULT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.net.InnerNode;
+import org.apache.hadoop.hdds.scm.net.NetworkTopology;
+import org.apache.hadoop.hdds.scm.net.NetworkTopologyImpl;
+import org.apache.hadoop.hdds.scm.net.Node;
+import org.apache.hadoop.hdds.scm.net.NodeImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link DatanodeSortCache}.
+ */
+public class TestDatanodeSortCache {
+  private static final String[] RACKS = {"/rack0", "/rack1", "/rack2"};
+
+  private OMMetrics metrics;
+  private NetworkTopology topology;
+  private List<DatanodeDetails> nodes;
+  private Function<String, Node> resolver;
+
+  @BeforeEach
+  public void setUp() {
+    metrics = OMMetrics.create();
+    topology = newTopology();
+    // client<N>-* is at /rack<N>, the other clients are unknown.
+    resolver = client -> {
+      for (String rack : RACKS) {
+        if (client.startsWith("client" + rack.substring("/rack".length()))) {
+          Node r = topology.getNode(rack);
+          return new NodeImpl(client, rack, (InnerNode) r,
+              r.getLevel() + 1, NODE_COST_DEFAULT);
+        }
+      }
+      return null;
+    };
+  }
+
+  private NetworkTopology newTopology() {
+    final NetworkTopology t = new NetworkTopologyImpl(new OzoneConfiguration());
+    nodes = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      DatanodeDetails dn = createDatanodeDetails("dn" + i, RACKS[i % 3]);
+      t.add(dn);
+      nodes.add(dn);
+    }
+    return t;
+  }
+
+  @AfterEach
+  public void tearDown() {
+    metrics.unRegister();
+  }
+
+  private List<? extends DatanodeDetails> sort(DatanodeSortCache cache,
+      String client, DatanodeDetails clientDatanode) {
+    final List<? extends DatanodeDetails> sorted = cache.sort(topology,
+        client, resolver, clientDatanode, nodes, metrics);
+    assertEquals(new HashSet<>(nodes), new HashSet<>(sorted));
+    return sorted;
+  }
+
+  private static void assertRackFirst(String rack,
+      List<? extends DatanodeDetails> sorted) {
+    assertEquals(rack, sorted.get(0).getNetworkLocation());
+    assertEquals(rack, sorted.get(1).getNetworkLocation());
+    for (int i = 2; i < sorted.size(); i++) {
+      assertNotEquals(rack, sorted.get(i).getNetworkLocation());
+    }
+  }
+
+  @Test
+  public void testCacheHits() {
+    final DatanodeSortCache cache = new DatanodeSortCache(100);
+    assertRackFirst("/rack1", sort(cache, "client1-a", null));
+    assertEquals(1, metrics.getNumClientLocationCacheMisses());
+    assertEquals(1, metrics.getNumSortDatanodesCacheMisses());
+
+    // another client at the same rack
+    assertRackFirst("/rack1", sort(cache, "client1-b", null));
+    assertEquals(2, metrics.getNumClientLocationCacheMisses());
+    assertEquals(1, metrics.getNumSortDatanodesCacheHits());
+
+    for (int i = 0; i < 10; i++) {
+      assertRackFirst("/rack1", sort(cache, "client1-a", null));
+    }
+    assertEquals(10, metrics.getNumClientLocationCacheHits());
+    assertEquals(11, metrics.getNumSortDatanodesCacheHits());
+    assertEquals(1, metrics.getNumSortDatanodesCacheMisses());
+
+    assertRackFirst("/rack2", sort(cache, "client2-a", null));
+    assertEquals(2, metrics.getNumSortDatanodesCacheMisses());
+
+    // unknown client: the failed resolution is not cached
+    assertEquals(3, metrics.getNumClientLocationCacheMisses());
+    sort(cache, "unknown", null);
+    sort(cache, "unknown", null);
+    assertEquals(5, metrics.getNumClientLocationCacheMisses());
+    assertEquals(2, metrics.getNumSortDatanodesCacheMisses());
+  }
+
+  @Test
+  public void testClientDatanode() {
+    final DatanodeSortCache cache = new DatanodeSortCache(100);
+    final DatanodeDetails dn = nodes.get(4);
+    for (int i = 0; i < 3; i++) {
+      final List<? extends DatanodeDetails> sorted =
+          sort(cache, dn.getIpAddress(), dn);
+      assertEquals(dn, sorted.get(0));
+      assertEquals(dn.getNetworkLocation(), sorted.get(1).getNetworkLocation());
+    }
+    assertEquals(1, metrics.getNumSortDatanodesCacheMisses());
+    assertEquals(2, metrics.getNumSortDatanodesCacheHits());
+    assertEquals(0, metrics.getNumClientLocationCacheMisses());
+  }
+
+  @Test
+  public void testTopologyChange() {
+    final DatanodeSortCache cache = new DatanodeSortCache(100);
+    sort(cache, "client0-a", null);
+    sort(cache, "client0-a", null);
+    assertEquals(1, metrics.getNumSortDatanodesCacheHits());
+
+    topology = newTopology();
+    assertRackFirst("/rack0", sort(cache, "client0-a", null));
+    assertEquals(2, metrics.getNumClientLocationCacheMisses());
+    assertEquals(2, metrics.getNumSortDatanodesCacheMisses());
+  }
+}
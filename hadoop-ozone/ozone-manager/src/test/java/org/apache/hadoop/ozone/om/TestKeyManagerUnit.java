@@ -23,6 +23,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.anySet;
 import static org.mockito.Mockito.mock;
@@ -579,6 +580,58 @@ public void testGetKeyInfo() throws IOException {
         .getContainerWithPipelineBatch(containerIDs);
   }
 
+  @Test
+  public void testGetKeyInfos() throws IOException {
+    final DatanodeDetails dn1 = MockDatanodeDetails.randomDatanodeDetails();
+    final Pipeline pipeline = Pipeline.newBuilder()
+        .setId(PipelineID.randomId())
+        .setReplicationConfig(
+            RatisReplicationConfig.getInstance(ReplicationFactor.ONE))
+        .setState(Pipeline.PipelineState.OPEN)
+        .setLeaderId(dn1.getID())
+        .setNodes(singletonList(dn1))
+        .build();
+    final long containerID1 = CONTAINER_ID.incrementAndGet();
+    final long containerID2 = CONTAINER_ID.incrementAndGet();
+    final List<ContainerWithPipeline> cps = new ArrayList<>();
+    for (long id : new long[] {containerID1, containerID2}) {
+      ContainerInfo ci = mock(ContainerInfo.class);
+      when(ci.getContainerID()).thenReturn(id);
+      cps.add(new ContainerWithPipeline(ci, pipeline));
+    }
+    when(containerClient.getContainerWithPipelineBatch(
+        newHashSet(containerID1, containerID2))).thenReturn(cps);
+
+    final String volume = volumeName();
+    insertVolume(volume);
+    insertBucket(volume, "bucketOne");
+    insertKey(null, volume, "bucketOne", "keyOne",
+        new BlockID(containerID1, 1L));
+    insertKey(null, volume, "bucketOne", "keyTwo",
+        new BlockID(containerID2, 1L));
+
+    final List<OmKeyArgs> args = new ArrayList<>();
+    for (String key : Arrays.asList("keyTwo", "missing", "keyOne")) {
+      args.add(new Builder()
+          .setVolumeName(volume)
+          .setBucketName("bucketOne")
+          .setKeyName(key)
+          .build());
+    }
+    final List<OmKeyInfo> keyInfos = keyManager.getKeyInfos(args,
+        resolveBucket(args.get(0)), "test");
+
+    assertEquals(3, keyInfos.size());
+    assertEquals("keyTwo", keyInfos.get(0).getKeyName());
+    assertNull(keyInfos.get(1));
+    assertEquals("keyOne", keyInfos.get(2).getKeyName());
+    assertEquals(pipeline, keyInfos.get(2).getLatestVersionLocations()
+        .getBlocksLatestVersionOnly().get(0).getPipeline());
+    // The locations of all the keys are looked up by one SCM call.
+    verify(containerClient, times(1))
+        .getContainerWithPipelineBatch(anySet());
+  }
+
   private ResolvedBucket resolveBucket(OmKeyArgs keyArgs) {
     return new ResolvedBucket(keyArgs.getVolumeName(), keyArgs.getBucketName(),
         keyArgs.getVolumeName(), keyArgs.getBucketName(), "",
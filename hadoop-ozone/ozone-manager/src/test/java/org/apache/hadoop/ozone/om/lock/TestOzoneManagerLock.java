@@ -29,6 +29,7 @@
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
@@ -43,8 +44,10 @@
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.server.JsonUtils;
 import org.apache.hadoop.metrics2.MetricsRecord;
 import org.apache.hadoop.metrics2.impl.MetricsCollectorImpl;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock.Resource;
 import org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource;
 import org.junit.jupiter.api.Test;
@@ -649,6 +652,62 @@ private void testSyntheticReadWriteLockConcurrentStats(
         .contains(writeSamples);
   }
 
+  @Test
+  void testLockHotspots() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OzoneConfigKeys.OZONE_MANAGER_LOCK_HOT_KEYS_SAMPLE_RATE, 1);
+    OzoneManagerLock lock = new OzoneManagerLock(conf);
+    try {
+      lock.acquireWriteLock(LeveledResource.BUCKET_LOCK, "vol1", "bucket1");
+      JsonNode hotspots = JsonUtils.readTree(lock.getLockHotspots());
+      JsonNode bucketLock = getResourceHotspots(hotspots, LeveledResource.BUCKET_LOCK);
+      assertEquals(0, bucketLock.get("contended").asLong());
+      JsonNode holder = bucketLock.get("holders").get(0);
+      assertEquals(Thread.currentThread().getName(), holder.get("writer").asText());
+      assertEquals("vol1/bucket1", holder.get("key").asText());
+
+      AtomicBoolean gotLock = new AtomicBoolean(false);
+      Thread thread = new Thread(() -> {
+        lock.acquireReadLock(LeveledResource.BUCKET_LOCK, "vol1", "bucket1");
+        gotLock.set(true);
+        lock.releaseReadLock(LeveledResource.BUCKET_LOCK, "vol1", "bucket1");
+      });
+      thread.start();
+      Thread.sleep(100);
+      assertFalse(gotLock.get());
+      hotspots = JsonUtils.readTree(lock.getLockHotspots());
+      holder = getResourceHotspots(hotspots, LeveledResource.BUCKET_LOCK)
+          .get("holders").get(0);
+      assertEquals(1, holder.get("queued").asInt());
+
+      lock.releaseWriteLock(LeveledResource.BUCKET_LOCK, "vol1", "bucket1");
+      thread.join();
+      assertTrue(gotLock.get());
+
+      hotspots = JsonUtils.readTree(lock.getLockHotspots());
+      bucketLock = getResourceHotspots(hotspots, LeveledResource.BUCKET_LOCK);
+      assertEquals(1, bucketLock.get("contended").asLong());
+      assertEquals(0, bucketLock.get("holders").size());
+      assertEquals(1, bucketLock.get("hotStripes").get(0).get("contended").asLong());
+      JsonNode hotKey = hotspots.get("hotKeys").get(0);
+      assertEquals("BUCKET_LOCK:vol1/bucket1", hotKey.get("key").asText());
+      assertEquals(1, hotKey.get("sampled").asLong());
+      assertThat(lock.getOMLockMetrics().getContendedWaitingTimeMsStat("BUCKET_LOCK"))
+          .contains("Samples = 1");
+    } finally {
+      lock.cleanup();
+    }
+  }
+
+  private static JsonNode getResourceHotspots(JsonNode hotspots, Resource resource) {
+    for (JsonNode node : hotspots.get("resources")) {
+      if (node.get("resource").asText().equals(resource.getName())) {
+        return node;
+      }
+    }
+    throw new AssertionError("Not found " + resource.getName() + " in " + hotspots);
+  }
+
   @Test
   void testOMLockMetricsRecords() {
     OMLockMetrics omLockMetrics = OMLockMetrics.create();
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.UserInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BucketPartitionedApplyExecutor}.
+ */
+public class TestBucketPartitionedApplyExecutor {
+
+  private BucketPartitionedApplyExecutor executor;
+
+  @BeforeEach
+  public void setup() {
+    executor = new BucketPartitionedApplyExecutor(4, "test-");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testPartitionKey() {
+    assertEquals("vol/bucket",
+        BucketPartitionedApplyExecutor.getPartitionKey(createKey("vol", "bucket")));
+    assertNull(BucketPartitionedApplyExecutor.getPartitionKey(createBucket()));
+    assertNull(BucketPartitionedApplyExecutor.getPartitionKey(
+        deleteKeys("vol", "link")));
+  }
+
+  @Test
+  public void testLinkBucketDeleteKeysWaitsForSourceBucket() throws Exception {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final AtomicBoolean committed = new AtomicBoolean();
+    final CompletableFuture<Integer> commit = executor.submit(
+        commitKey("vol", "bucket"), 1, () -> {
+          await(blocked);
+          committed.set(true);
+          return 1;
+        });
+    // The link bucket is resolved to vol/bucket only when it is applied.
+    final CompletableFuture<Boolean> delete = executor.submit(
+        deleteKeys("vol", "link"), 2, committed::get);
+    assertFalse(delete.isDone());
+
+    blocked.countDown();
+    assertTrue(delete.get(10, TimeUnit.SECONDS));
+    assertTrue(commit.isDone());
+    assertEquals(2, executor.getAppliedIndexWatermark());
+  }
+
+  @Test
+  public void testDifferentBucketsRunConcurrently() throws Exception {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CompletableFuture<Integer> slow = executor.submit(
+        createKey("vol", "bucket1"), 1, () -> {
+          await(blocked);
+          return 1;
+        });
+    // Find another bucket which maps to a different partition.
+    String other = null;
+    for (int i = 0; other == null; i++) {
+      final String candidate = "bucket-" + i;
+      if (Math.floorMod(("vol/" + candidate).hashCode(), 4)
+          != Math.floorMod("vol/bucket1".hashCode(), 4)) {
+        other = candidate;
+      }
+    }
+    final CompletableFuture<Integer> fast =
+        executor.submit(createKey("vol", other), 2, () -> 2);
+
+    assertEquals(2, fast.get(10, TimeUnit.SECONDS));
+    assertFalse(slow.isDone());
+    // Index 2 has completed but index 1 has not.
+    assertEquals(0, executor.getAppliedIndexWatermark());
+
+    blocked.countDown();
+    assertEquals(1, slow.get(10, TimeUnit.SECONDS));
+    assertEquals(2, executor.getAppliedIndexWatermark());
+    assertEquals(0, executor.getInFlightCount());
+  }
+
+  @Test
+  public void testSameBucketKeepsOrder() throws Exception {
+    final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      final int index = i;
+      futures.add(executor.submit(createKey("vol", "bucket"), index, () -> {
+        applied.add(index);
+        return index;
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .get(10, TimeUnit.SECONDS);
+
+    for (int i = 0; i < applied.size(); i++) {
+      assertEquals(i + 1, applied.get(i));
+    }
+    assertEquals(100, executor.getAppliedIndexWatermark());
+  }
+
+  @Test
+  public void testBarrier() throws Exception {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    final CompletableFuture<Integer> key1 = executor.submit(
+        createKey("vol", "bucket1"), 1, () -> {
+          await(blocked);
+          applied.add(1);
+          return 1;
+        });
+    final CompletableFuture<Integer> barrier = executor.submit(
+        createBucket(), 2, () -> {
+          applied.add(2);
+          return 2;
+        });
+    final CompletableFuture<Integer> key3 = executor.submit(
+        createKey("vol", "bucket2"), 3, () -> {
+          applied.add(3);
+          return 3;
+        });
+
+    // Neither the barrier nor the following request can run before key1.
+    Thread.sleep(100);
+    assertFalse(barrier.isDone());
+    assertFalse(key3.isDone());
+
+    blocked.countDown();
+    key3.get(10, TimeUnit.SECONDS);
+    assertTrue(key1.isDone());
+    assertTrue(barrier.isDone());
+    assertEquals(3, applied.size());
+    assertEquals(1, applied.get(0));
+    assertEquals(2, applied.get(1));
+    assertEquals(3, applied.get(2));
+    assertEquals(3, executor.getAppliedIndexWatermark());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static OMRequest createKey(String volume, String bucket) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setClientId("test")
+        .setUserInfo(UserInfo.getDefaultInstance())
+        .setCreateKeyRequest(CreateKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName(volume)
+                .setBucketName(bucket)
+                .setKeyName("key")))
+        .build();
+  }
+
+  private static OMRequest commitKey(String volume, String bucket) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CommitKey)
+        .setClientId("test")
+        .setUserInfo(UserInfo.getDefaultInstance())
+        .setCommitKeyRequest(CommitKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName(volume)
+                .setBucketName(bucket)
+                .setKeyName("key"))
+            .setClientID(1))
+        .build();
+  }
+
+  private static OMRequest deleteKeys(String volume, String bucket) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.DeleteKeys)
+        .setClientId("test")
+        .setUserInfo(UserInfo.getDefaultInstance())
+        .setDeleteKeysRequest(DeleteKeysRequest.newBuilder()
+            .setDeleteKeys(DeleteKeyArgs.newBuilder()
+                .setVolumeName(volume)
+                .setBucketName(bucket)
+                .addKeys("key")))
+        .build();
+  }
+
+  private static OMRequest createBucket() {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.CreateBucket)
+        .setClientId("test")
+        .setCreateBucketRequest(CreateBucketRequest.newBuilder().buildPartial())
+        .buildPartial();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.BUCKET_TABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests OzoneManagerDoubleBuffer with pipelined flush enabled.
+ */
+public class TestOzoneManagerDoubleBufferWithPipelinedFlush {
+
+  private static final int MAX_UNFLUSHED_TRANSACTIONS = 1000;
+
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  @TempDir
+  private Path folder;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OZONE_METADATA_DIRS,
+        folder.toAbsolutePath().toString());
+    omMetadataManager =
+        new OmMetadataManagerImpl(configuration, null);
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(MAX_UNFLUSHED_TRANSACTIONS)
+        .enablePipelinedFlush(true)
+        .build()
+        .start();
+  }
+
+  @AfterEach
+  public void stop() {
+    doubleBuffer.stop();
+  }
+
+  @Test
+  public void testPipelinedFlush() throws Exception {
+    final String volumeName = UUID.randomUUID().toString();
+    final int bucketCount = 500;
+    final OzoneManagerDoubleBufferMetrics metrics = doubleBuffer.getMetrics();
+
+    for (int i = 1; i <= bucketCount; i++) {
+      doubleBuffer.acquireUnFlushedTransactions(1);
+      doubleBuffer.add(createDummyBucketResponse(volumeName),
+          TermIndex.valueOf(1, i));
+    }
+    doubleBuffer.awaitFlush();
+
+    assertEquals(bucketCount, doubleBuffer.getFlushedTransactionCountForTesting());
+    assertEquals(bucketCount, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    final TransactionInfo transactionInfo =
+        omMetadataManager.getTransactionInfoTable().get(TRANSACTION_INFO_KEY);
+    assertNotNull(transactionInfo);
+    assertEquals(bucketCount, transactionInfo.getTransactionIndex());
+
+    // All the post-commit stages have run before the flush notification.
+    assertThat(metrics.getBatchBuildTime().lastStat().numSamples()).isGreaterThan(0);
+    assertThat(metrics.getPostCommitTime().lastStat().numSamples()).isGreaterThan(0);
+    assertThat(metrics.getPostCommitQueueTime().lastStat().numSamples()).isGreaterThan(0);
+    assertTrue(tryAcquireAll());
+  }
+
+  /** @return true if all the unflushed transactions have been released. */
+  private boolean tryAcquireAll() throws InterruptedException {
+    final Thread acquirer = new Thread(() -> {
+      try {
+        doubleBuffer.acquireUnFlushedTransactions(MAX_UNFLUSHED_TRANSACTIONS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    acquirer.start();
+    acquirer.join(TimeUnit.SECONDS.toMillis(10));
+    final boolean acquired = !acquirer.isAlive();
+    acquirer.interrupt();
+    return acquired;
+  }
+
+  private static OMDummyCreateBucketResponse createDummyBucketResponse(
+      String volumeName) {
+    OmBucketInfo omBucketInfo =
+        OmBucketInfo.newBuilder()
+            .setVolumeName(volumeName)
+            .setBucketName(UUID.randomUUID().toString())
+            .setCreationTime(Time.now())
+            .build();
+    return new OMDummyCreateBucketResponse(omBucketInfo,
+        OMResponse.newBuilder()
+            .setCmdType(OzoneManagerProtocolProtos.Type.CreateBucket)
+            .setStatus(OzoneManagerProtocolProtos.Status.OK)
+            .setCreateBucketResponse(CreateBucketResponse.newBuilder().build())
+            .build());
+  }
+
+  /**
+   * DummyCreatedBucket Response class used in testing.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  private static class OMDummyCreateBucketResponse extends OMClientResponse {
+    private final OmBucketInfo omBucketInfo;
+
+    OMDummyCreateBucketResponse(OmBucketInfo omBucketInfo,
+        OMResponse omResponse) {
+      super(omResponse);
+      this.omBucketInfo = omBucketInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) throws IOException {
+      String dbBucketKey =
+          omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+              omBucketInfo.getBucketName());
+      omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+          dbBucketKey, omBucketInfo);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.BUCKET_TABLE;
+import static org.apache.ozone.test.GenericTestUtils.waitFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateBucketResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests OzoneManagerDoubleBuffer with an applied index watermark, i.e. when
+ * the transactions are added out of order.
+ */
+public class TestOzoneManagerDoubleBufferWithWatermark {
+
+  private final AtomicLong watermark = new AtomicLong();
+  private final String volumeName = UUID.randomUUID().toString();
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  @TempDir
+  private Path folder;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    OzoneConfiguration configuration = new OzoneConfiguration();
+    configuration.set(OZONE_METADATA_DIRS,
+        folder.toAbsolutePath().toString());
+    omMetadataManager =
+        new OmMetadataManagerImpl(configuration, null);
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(1000)
+        .setAppliedIndexWatermark(watermark::get)
+        .build();
+  }
+
+  @AfterEach
+  public void stop() {
+    doubleBuffer.stop();
+  }
+
+  @Test
+  public void testHoldBackEntriesAboveWatermark() throws Exception {
+    // The flush thread is not started, flush each step explicitly.
+    add(3);
+    add(2);
+    doubleBuffer.flushCurrentBuffer();
+    assertFlushed(0, null);
+
+    // Index 1 is added, but 2 and 3 are still above the watermark.
+    add(1);
+    watermark.set(1);
+    doubleBuffer.flushCurrentBuffer();
+    assertFlushed(1, 1L);
+
+    // Only the watermark advances, without any new entries.
+    watermark.set(2);
+    doubleBuffer.flushCurrentBuffer();
+    assertFlushed(2, 2L);
+
+    add(5);
+    add(4);
+    watermark.set(5);
+    doubleBuffer.flushCurrentBuffer();
+    assertFlushed(5, 5L);
+  }
+
+  @Test
+  public void testNotifyAppliedIndexWatermark() throws Exception {
+    doubleBuffer.start();
+    // Both entries are held back until the watermark advances.
+    add(2);
+    add(1);
+    assertFlushed(0, null);
+
+    watermark.set(2);
+    doubleBuffer.notifyAppliedIndexWatermark();
+    waitFor(() -> doubleBuffer.getFlushedTransactionCountForTesting() == 2,
+        10, 10000);
+    assertFlushed(2, 2L);
+  }
+
+  private void add(long index) {
+    doubleBuffer.add(createDummyBucketResponse(), TermIndex.valueOf(1, index));
+  }
+
+  private void assertFlushed(long count, Long index) throws IOException {
+    assertEquals(count, doubleBuffer.getFlushedTransactionCountForTesting());
+    assertEquals(count, omMetadataManager.countRowsInTable(
+        omMetadataManager.getBucketTable()));
+    final TransactionInfo transactionInfo =
+        omMetadataManager.getTransactionInfoTable().get(TRANSACTION_INFO_KEY);
+    if (index == null) {
+      assertNull(transactionInfo);
+    } else {
+      assertEquals(index, transactionInfo.getTransactionIndex());
+    }
+  }
+
+  private OMDummyCreateBucketResponse createDummyBucketResponse() {
+    OmBucketInfo omBucketInfo =
+        OmBucketInfo.newBuilder()
+            .setVolumeName(volumeName)
+            .setBucketName(UUID.randomUUID().toString())
+            .setCreationTime(Time.now())
+            .build();
+    return new OMDummyCreateBucketResponse(omBucketInfo,
+        OMResponse.newBuilder()
+            .setCmdType(OzoneManagerProtocolProtos.Type.CreateBucket)
+            .setStatus(OzoneManagerProtocolProtos.Status.OK)
+            .setCreateBucketResponse(CreateBucketResponse.newBuilder().build())
+            .build());
+  }
+
+  /**
+   * DummyCreatedBucket Response class used in testing.
+   */
+  @CleanupTableInfo(cleanupTables = {BUCKET_TABLE})
+  private static class OMDummyCreateBucketResponse extends OMClientResponse {
+    private final OmBucketInfo omBucketInfo;
+
+    OMDummyCreateBucketResponse(OmBucketInfo omBucketInfo,
+        OMResponse omResponse) {
+      super(omResponse);
+      this.omBucketInfo = omBucketInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager omMetadataManager,
+        BatchOperation batchOperation) throws IOException {
+      String dbBucketKey =
+          omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+              omBucketInfo.getBucketName());
+      omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+          dbBucketKey, omBucketInfo);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link AWSV4SigningKeyCache}.
+ */
+public class TestAWSV4SigningKeyCache {
+  private static final String STR_TO_SIGN = "AWS4-HMAC-SHA256\n" +
+      "20150830T123600Z\n" +
+      "20150830/us-east-1/iam/aws4_request\n" +
+      "f536975d06c0309214f805bb90ccff089219ecd68b2" +
+      "577efef23edd43b7e1a59";
+  private static final String SIGNATURE = "5d672d79c15b13162d9279b0855cfba" +
+      "6789a8edb4c82c400e06b5924a6f2b5d7";
+  private static final String SECRET = "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY";
+  private static final String SCOPE = "20150830/us-east-1/iam/aws4_request";
+
+  @Test
+  public void testCacheHitsAndSecretChange() {
+    final AWSV4SigningKeyCache cache = new AWSV4SigningKeyCache(100);
+    assertNull(cache.getSigningKey("id", SECRET, SCOPE));
+    final byte[] key = {1};
+    cache.putSigningKey("id", SECRET, SCOPE, key);
+    assertSame(key, cache.getSigningKey("id", SECRET, SCOPE));
+
+    // another scope or access id
+    assertNull(cache.getSigningKey("id", SECRET, "20150831/us-east-1/iam/aws4_request"));
+    assertNull(cache.getSigningKey("id2", SECRET, SCOPE));
+    cache.putSigningKey("id2", SECRET, SCOPE, new byte[] {2});
+
+    // the secret is rotated without an invalidation
+    assertNull(cache.getSigningKey("id", "new", SCOPE));
+    cache.putSigningKey("id", "new", SCOPE, new byte[] {3});
+    assertArrayEquals(new byte[] {3}, cache.getSigningKey("id", "new", SCOPE));
+
+    cache.invalidate("id");
+    assertEquals(1, cache.size());
+    assertNull(cache.getSigningKey("id", "new", SCOPE));
+  }
+
+  @Test
+  public void testValidateRequest() {
+    final AWSV4SigningKeyCache cache = new AWSV4SigningKeyCache(100);
+    // the key of a failed validation is not cached
+    assertFalse(AWSV4AuthValidator.validateRequest(
+        STR_TO_SIGN, SIGNATURE, SECRET + "x", "id", cache));
+    assertEquals(0, cache.size());
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(AWSV4AuthValidator.validateRequest(
+          STR_TO_SIGN, SIGNATURE, SECRET, "id", cache));
+      assertFalse(AWSV4AuthValidator.validateRequest(
+          STR_TO_SIGN, SIGNATURE, SECRET + "x", "id", cache));
+    }
+    assertEquals(1, cache.size());
+    assertNotNull(cache.getSigningKey("id", SECRET, SCOPE));
+  }
+
+  @Test
+  public void testDisabled() {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OMConfigKeys.OZONE_OM_S3_SIGNING_KEY_CACHE_SIZE, 0);
+    assertNull(AWSV4SigningKeyCache.create(conf));
+  }
+}
@@ -25,6 +25,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_VECTORED_READ_THREADS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_VECTORED_READ_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_INDICATOR;
@@ -33,6 +35,7 @@
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -46,6 +49,11 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -82,6 +90,7 @@
 import org.apache.hadoop.security.token.Token;
 import org.apache.hadoop.util.Progressable;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.ratis.util.MemoizedSupplier;
 import org.apache.ratis.util.function.CheckedFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -117,6 +126,9 @@ public class BasicOzoneFileSystem extends FileSystem {
   private boolean isRatisStreamingEnabled
       = OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT;
   private int streamingAutoThreshold;
+  private int vectoredReadThreads = OZONE_FS_VECTORED_READ_THREADS_DEFAULT;
+  private final MemoizedSupplier<ExecutorService> vectoredReadExecutor =
+      MemoizedSupplier.valueOf(() -> createVectoredReadExecutor(vectoredReadThreads));
 
   private static final Pattern URL_SCHEMA_PATTERN =
       Pattern.compile("([^\\.]+)\\.([^\\.]+)\\.{0,1}(.*)");
@@ -139,6 +151,8 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    vectoredReadThreads = conf.getInt(OZONE_FS_VECTORED_READ_THREADS,
+        OZONE_FS_VECTORED_READ_THREADS_DEFAULT);
     setConf(conf);
     Objects.requireNonNull(name.getScheme(),
         () -> "No scheme provided in " + name);
@@ -227,8 +241,27 @@ protected boolean isHsyncEnabled() {
     return hsyncEnabled;
   }
 
+  /**
+   * @return the executor to read the ranges of a vectored read in parallel,
+   *         or null if it is disabled.
+   */
+  protected Executor getVectoredReadExecutor() {
+    return vectoredReadThreads > 0 ? vectoredReadExecutor.get() : null;
+  }
+
+  private static ExecutorService createVectoredReadExecutor(int threads) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("ozone-fs-vectored-read-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @Override
   public void close() throws IOException {
+    if (vectoredReadExecutor.isInitialized()) {
+      vectoredReadExecutor.get().shutdownNow();
+    }
     try {
       adapter.close();
     } finally {
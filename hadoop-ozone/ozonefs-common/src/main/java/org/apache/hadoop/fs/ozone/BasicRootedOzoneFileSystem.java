@@ -25,6 +25,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_VECTORED_READ_THREADS;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_VECTORED_READ_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_INDICATOR;
@@ -37,6 +39,7 @@
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.opentelemetry.api.trace.Span;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -51,6 +54,11 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
@@ -91,6 +99,7 @@
 import org.apache.hadoop.security.token.Token;
 import org.apache.hadoop.util.Progressable;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.ratis.util.MemoizedSupplier;
 import org.apache.ratis.util.function.CheckedFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -126,6 +135,9 @@ public class BasicRootedOzoneFileSystem extends FileSystem {
   private boolean isRatisStreamingEnabled
       = OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT;
   private int streamingAutoThreshold;
+  private int vectoredReadThreads = OZONE_FS_VECTORED_READ_THREADS_DEFAULT;
+  private final MemoizedSupplier<ExecutorService> vectoredReadExecutor =
+      MemoizedSupplier.valueOf(() -> createVectoredReadExecutor(vectoredReadThreads));
 
   private static final String URI_EXCEPTION_TEXT =
       "URL should be one of the following formats: " +
@@ -145,6 +157,8 @@ public void initialize(URI name, Configuration conf) throws IOException {
     listingPageSize = OzoneClientUtils.limitValue(listingPageSize,
         OZONE_FS_LISTING_PAGE_SIZE,
         OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    vectoredReadThreads = conf.getInt(OZONE_FS_VECTORED_READ_THREADS,
+        OZONE_FS_VECTORED_READ_THREADS_DEFAULT);
     setConf(conf);
     Objects.requireNonNull(name.getScheme(),
         () -> "No scheme provided in " + name);
@@ -218,8 +232,27 @@ protected boolean isHsyncEnabled() {
     return hsyncEnabled;
   }
 
+  /**
+   * @return the executor to read the ranges of a vectored read in parallel,
+   *         or null if it is disabled.
+   */
+  protected Executor getVectoredReadExecutor() {
+    return vectoredReadThreads > 0 ? vectoredReadExecutor.get() : null;
+  }
+
+  private static ExecutorService createVectoredReadExecutor(int threads) {
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("ozone-fs-vectored-read-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @Override
   public void close() throws IOException {
+    if (vectoredReadExecutor.isInitialized()) {
+      vectoredReadExecutor.get().shutdownNow();
+    }
     try {
       adapter.close();
     } finally {
@@ -17,16 +17,32 @@
 
 package org.apache.hadoop.fs.ozone;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.util.StringUtils;
 
 final class CapableOzoneFSInputStream extends OzoneFSInputStream
     implements StreamCapabilities {
 
+  /** The executor for vectored read, or null to read the ranges sequentially. */
+  private final Executor vectoredReadExecutor;
+
   CapableOzoneFSInputStream(InputStream inputStream, Statistics statistics) {
+    this(inputStream, statistics, null);
+  }
+
+  CapableOzoneFSInputStream(InputStream inputStream, Statistics statistics,
+      Executor vectoredReadExecutor) {
     super(inputStream, statistics);
+    this.vectoredReadExecutor = vectoredReadExecutor;
   }
 
   @Override
@@ -35,9 +51,28 @@ public boolean hasCapability(String capability) {
     case StreamCapabilities.READBYTEBUFFER:
     case StreamCapabilities.UNBUFFER:
     case StreamCapabilities.PREADBYTEBUFFER:
+    case StreamCapabilities.VECTOREDIO:
       return true;
     default:
       return false;
     }
   }
+
+  /**
+   * Reads the ranges in parallel if the stream supports
+   * {@link MultipartInputStream#readRange}, i.e. replicated keys;
+   * otherwise, reads them sequentially by the default implementation.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    final InputStream in = getInputStream();
+    if (vectoredReadExecutor != null && in instanceof MultipartInputStream
+        && ((MultipartInputStream) in).canReadRange()) {
+      new OzoneVectoredReader(this, (MultipartInputStream) in,
+          vectoredReadExecutor, getStatistics()).readVectored(ranges, allocate);
+    } else {
+      super.readVectored(ranges, allocate);
+    }
+  }
 }
@@ -52,6 +52,14 @@ public OzoneFSInputStream(InputStream inputStream, Statistics statistics) {
     this.statistics = statistics;
   }
 
+  InputStream getInputStream() {
+    return inputStream;
+  }
+
+  Statistics getStatistics() {
+    return statistics;
+  }
+
   @Override
   public int read() throws IOException {
     try (TracingUtil.TraceCloseable ignored = TracingUtil.createActivatedSpan("OzoneFSInputStream.read")) {
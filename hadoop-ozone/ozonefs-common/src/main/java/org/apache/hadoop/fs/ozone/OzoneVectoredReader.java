@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntFunction;
+import org.apache.hadoop.fs.FileRange;
+import org.apache.hadoop.fs.FileSystem.Statistics;
+import org.apache.hadoop.fs.VectoredReadUtils;
+import org.apache.hadoop.fs.impl.CombinedFileRange;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Vectored read for {@link CapableOzoneFSInputStream}.
+ * <p>
+ * The sorted ranges are merged when they are close to each other, and then
+ * each merged range is read in parallel by
+ * {@link MultipartInputStream#readRange}.  If the parallel read of a range
+ * fails, it is retried by the positioned read of the stream, which refreshes
+ * the pipeline as the other reads do.
+ */
+final class OzoneVectoredReader {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OzoneVectoredReader.class);
+
+  private final OzoneFSInputStream stream;
+  private final MultipartInputStream input;
+  private final Executor executor;
+  private final Statistics statistics;
+
+  OzoneVectoredReader(OzoneFSInputStream stream, MultipartInputStream input,
+      Executor executor, Statistics statistics) {
+    this.stream = stream;
+    this.input = input;
+    this.executor = executor;
+    this.statistics = statistics;
+  }
+
+  void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    final List<? extends FileRange> sorted = VectoredReadUtils
+        .validateAndSortRanges(ranges, Optional.of(input.getLength()));
+    for (FileRange range : ranges) {
+      range.setData(new CompletableFuture<>());
+    }
+
+    final List<CombinedFileRange> combined = VectoredReadUtils.mergeSortedRanges(
+        sorted, 1, stream.minSeekForVectorReads(), stream.maxReadSizeForVectorReads());
+    LOG.debug("Read {} ranges by {} combined ranges", ranges.size(), combined.size());
+    for (CombinedFileRange range : combined) {
+      try {
+        executor.execute(() -> read(range, allocate));
+      } catch (RejectedExecutionException e) {
+        completeExceptionally(range, new IOException("Failed to read " + range, e));
+      }
+    }
+  }
+
+  private void read(CombinedFileRange range, IntFunction<ByteBuffer> allocate) {
+    final ByteBuffer buffer = ByteBuffer.allocate(range.getLength());
+    try {
+      try {
+        input.readRange(range.getOffset(), buffer);
+      } catch (IOException e) {
+        LOG.debug("Failed to read {} in parallel, retry by positioned read", range, e);
+        buffer.clear();
+        synchronized (stream) {
+          stream.readFully(range.getOffset(), buffer);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      completeExceptionally(range, e);
+      return;
+    }
+
+    if (statistics != null) {
+      statistics.incrementBytesRead(range.getLength());
+    }
+    for (FileRange r : range.getUnderlying()) {
+      final ByteBuffer data = allocate.apply(r.getLength());
+      final ByteBuffer slice = buffer.duplicate();
+      slice.position(Math.toIntExact(r.getOffset() - range.getOffset()));
+      slice.limit(slice.position() + r.getLength());
+      data.put(slice);
+      data.flip();
+      r.getData().complete(data);
+    }
+  }
+
+  private static void completeExceptionally(CombinedFileRange range, Throwable e) {
+    for (FileRange r : range.getUnderlying()) {
+      r.getData().completeExceptionally(e);
+    }
+  }
+}
@@ -20,7 +20,10 @@
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -41,8 +44,10 @@
 import org.apache.hadoop.crypto.CryptoCodec;
 import org.apache.hadoop.crypto.CryptoInputStream;
 import org.apache.hadoop.crypto.Decryptor;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.StreamCapabilities;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.ozone.client.io.KeyInputStream;
 import org.junit.jupiter.api.Test;
 
@@ -143,6 +148,44 @@ public void testStreamCapability() throws IOException {
     }
   }
 
+  @Test
+  public void testVectoredRead() throws Exception {
+    final byte[] data = RandomUtils.secure().randomBytes(1 << 20);
+    final MultipartInputStream input = mock(MultipartInputStream.class);
+    when(input.canReadRange()).thenReturn(true);
+    when(input.getLength()).thenReturn((long) data.length);
+    doAnswer(invocation -> {
+      final long position = invocation.getArgument(0);
+      final ByteBuffer buffer = invocation.getArgument(1);
+      buffer.put(data, (int) position, buffer.remaining());
+      return null;
+    }).when(input).readRange(anyLong(), any(ByteBuffer.class));
+
+    final FileSystem.Statistics statistics = new FileSystem.Statistics("test");
+    try (CapableOzoneFSInputStream subject = new CapableOzoneFSInputStream(
+        input, statistics, Runnable::run)) {
+      assertTrue(subject.hasCapability(StreamCapabilities.VECTOREDIO));
+
+      // the first two ranges are merged
+      final List<FileRange> ranges = Arrays.asList(
+          FileRange.createFileRange(900_000, 100),
+          FileRange.createFileRange(0, 10),
+          FileRange.createFileRange(20, 30));
+      subject.readVectored(ranges, ByteBuffer::allocate);
+      for (FileRange range : ranges) {
+        final ByteBuffer buffer = range.getData().get();
+        assertEquals(range.getLength(), buffer.remaining());
+        final byte[] expected = Arrays.copyOfRange(data,
+            (int) range.getOffset(), (int) range.getOffset() + range.getLength());
+        final byte[] actual = new byte[buffer.remaining()];
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+      }
+      verify(input, times(2)).readRange(anyLong(), any(ByteBuffer.class));
+      assertEquals(150, statistics.getBytesRead());
+    }
+  }
+
   @Test
   public void testCryptoStreamUnbuffer()
       throws IOException, GeneralSecurityException {
@@ -108,7 +108,8 @@ protected OzoneClientAdapter createAdapter(ConfigurationSource conf,
 
   @Override
   protected InputStream createFSInputStream(InputStream inputStream) {
-    return new CapableOzoneFSInputStream(inputStream, statistics);
+    return new CapableOzoneFSInputStream(inputStream, statistics,
+        getVectoredReadExecutor());
   }
 
   @Override
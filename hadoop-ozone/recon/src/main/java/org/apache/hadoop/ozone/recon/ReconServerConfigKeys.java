@@ -104,6 +104,11 @@ public final class  ReconServerConfigKeys {
       "recon.om.delta.update.lag.threshold";
   public static final long RECON_OM_DELTA_UPDATE_LAG_THRESHOLD_DEFAULT = 0;
 
+  public static final String OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT =
+      "ozone.recon.om.delta.update.wait.timeout";
+  public static final String OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT_DEFAULT =
+      "0s";
+
   public static final String OZONE_RECON_TASK_THREAD_COUNT_KEY =
       "ozone.recon.task.thread.count";
   public static final int OZONE_RECON_TASK_THREAD_COUNT_DEFAULT = 8;
@@ -112,6 +117,11 @@ public final class  ReconServerConfigKeys {
       "ozone.recon.om.event.buffer.capacity";
   public static final int OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT = 20000;
 
+  public static final String OZONE_RECON_OM_EVENT_BUFFER_HIGH_WATERMARK =
+      "ozone.recon.om.event.buffer.high.watermark";
+  public static final double OZONE_RECON_OM_EVENT_BUFFER_HIGH_WATERMARK_DEFAULT
+      = 0.8;
+
   public static final String OZONE_RECON_HTTP_AUTH_CONFIG_PREFIX =
       "ozone.recon.http.auth.";
 
@@ -184,6 +194,11 @@ public final class  ReconServerConfigKeys {
 
   public static final int OZONE_RECON_TASK_REPROCESS_MAX_KEYS_IN_MEMORY_DEFAULT = 2000;
 
+  public static final String OZONE_RECON_TASK_REPROCESS_SHARED_SCAN_ENABLED =
+      "ozone.recon.task.reprocess.shared.scan.enabled";
+
+  public static final boolean OZONE_RECON_TASK_REPROCESS_SHARED_SCAN_ENABLED_DEFAULT = false;
+
   public static final String OZONE_RECON_SCM_SNAPSHOT_TASK_INTERVAL_DELAY =
       "ozone.recon.scm.snapshot.task.interval.delay";
 
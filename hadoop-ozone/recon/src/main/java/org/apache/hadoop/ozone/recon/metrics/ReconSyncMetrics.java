@@ -57,6 +57,9 @@ public final class ReconSyncMetrics {
   @Metric(about = "Count of failed delta apply operations")
   private MutableCounterLong deltaApplyFailures;
 
+  @Metric(about = "Count of delta fetches delayed by a full event buffer")
+  private MutableCounterLong deltaFetchBackpressure;
+
   // Full DB Snapshot Metrics
   @Metric(about = "Time taken to fetch full DB snapshot")
   private MutableRate fullDBRequestLatency;
@@ -114,6 +117,10 @@ public void incrDeltaApplyFailures() {
     this.deltaApplyFailures.incr();
   }
 
+  public void incrDeltaFetchBackpressure() {
+    this.deltaFetchBackpressure.incr();
+  }
+
   // Full DB Snapshot Operations
   public void updateFullDBRequestLatency(long duration) {
     this.fullDBRequestLatency.add(duration);
@@ -152,6 +159,10 @@ public long getDeltaApplyFailures() {
     return deltaApplyFailures.value();
   }
 
+  public long getDeltaFetchBackpressure() {
+    return deltaFetchBackpressure.value();
+  }
+
   public MutableRate getDeltaFetchDuration() {
     return deltaFetchDuration;
   }
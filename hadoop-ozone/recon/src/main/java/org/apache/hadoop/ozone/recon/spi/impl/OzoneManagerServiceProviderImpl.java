@@ -27,6 +27,12 @@
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_CONNECTION_REQUEST_TIMEOUT_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_CONNECTION_TIMEOUT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_CONNECTION_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_HIGH_WATERMARK;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_HIGH_WATERMARK_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_SNAPSHOT_DB_DIR;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_SNAPSHOT_TASK_FLUSH_PARAM;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_SNAPSHOT_TASK_INITIAL_DELAY;
@@ -116,6 +122,7 @@
 
   private static final Logger LOG =
       LoggerFactory.getLogger(OzoneManagerServiceProviderImpl.class);
+  private static final long EVENT_BUFFER_CHECK_INTERVAL_MS = 100;
   private URLConnectionFactory connectionFactory;
 
   private File omSnapshotDBParentDir = null;
@@ -134,6 +141,13 @@
 
   private final long deltaUpdateLimit;
   private final long omDBLagThreshold;
+  private final long syncIntervalMs;
+  /** The long-polling timeout of the delta updates, or 0 if not tailing. */
+  private final long deltaUpdateWaitTimeoutMs;
+  /** Stop tailing while the event buffer has this many batches. */
+  private final int eventBufferHighWatermark;
+  /** Should the next sync start right away, i.e. tailing the OM DB. */
+  private volatile boolean tailOMDB;
 
   private AtomicBoolean isSyncDataFromOMRunning;
   private final String threadNamePrefix;
@@ -234,6 +248,24 @@ public OzoneManagerServiceProviderImpl(
     this.taskStatusUpdaterManager = taskStatusUpdaterManager;
     this.omDBLagThreshold = configuration.getLong(RECON_OM_DELTA_UPDATE_LAG_THRESHOLD,
         RECON_OM_DELTA_UPDATE_LAG_THRESHOLD_DEFAULT);
+    this.syncIntervalMs = configuration.getTimeDuration(
+        OZONE_RECON_OM_SNAPSHOT_TASK_INTERVAL_DELAY,
+        configuration.get(
+            ReconServerConfigKeys.RECON_OM_SNAPSHOT_TASK_INTERVAL_DELAY,
+            OZONE_RECON_OM_SNAPSHOT_TASK_INTERVAL_DEFAULT),
+        TimeUnit.MILLISECONDS);
+    this.deltaUpdateWaitTimeoutMs = configuration.getTimeDuration(
+        OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT,
+        OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT_DEFAULT,
+        TimeUnit.MILLISECONDS);
+    final double highWatermark = configuration.getDouble(
+        OZONE_RECON_OM_EVENT_BUFFER_HIGH_WATERMARK,
+        OZONE_RECON_OM_EVENT_BUFFER_HIGH_WATERMARK_DEFAULT);
+    this.eventBufferHighWatermark = highWatermark > 0 && highWatermark < 1
+        ? (int) Math.ceil(highWatermark * configuration.getInt(
+            OZONE_RECON_OM_EVENT_BUFFER_CAPACITY,
+            OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT))
+        : Integer.MAX_VALUE;
     this.tarExtractor = new TarExtractor(omDBTarProcessorThreadCount, threadNamePrefix);
   }
 
@@ -338,17 +370,20 @@ public void start() {
   }
 
   private void startSyncDataFromOM(long initialDelay) {
-    long interval = configuration.getTimeDuration(
-        OZONE_RECON_OM_SNAPSHOT_TASK_INTERVAL_DELAY,
-        configuration.get(
-            ReconServerConfigKeys.RECON_OM_SNAPSHOT_TASK_INTERVAL_DELAY,
-            OZONE_RECON_OM_SNAPSHOT_TASK_INTERVAL_DEFAULT),
-        TimeUnit.MILLISECONDS);
+    if (deltaUpdateWaitTimeoutMs > 0) {
+      LOG.info("Tailing OM DB with delta update wait timeout {} ms", deltaUpdateWaitTimeoutMs);
+    }
     LOG.debug("Started the OM DB sync scheduler.");
-    scheduler.scheduleWithFixedDelay(() -> {
+    final ScheduledExecutorService executor = scheduler;
+    executor.scheduleWithFixedDelay(() -> {
       try {
         LOG.info("Last known sequence number before sync: {}", getCurrentOMDBSequenceNumber());
         boolean isSuccess = syncDataFromOM();
+        // When tailing, sync again right away instead of waiting for the interval.
+        while (isSuccess && tailOMDB && !executor.isShutdown()
+            && !Thread.currentThread().isInterrupted()) {
+          isSuccess = syncDataFromOM();
+        }
         if (!isSuccess) {
           LOG.debug("OM DB sync is already running, or encountered an error while trying to sync data.");
         }
@@ -358,7 +393,7 @@ private void startSyncDataFromOM(long initialDelay) {
       }
     },
         initialDelay,
-        interval,
+        syncIntervalMs,
         TimeUnit.MILLISECONDS);
   }
 
@@ -615,11 +650,15 @@ ImmutablePair<Boolean, Long> innerGetAndApplyDeltaUpdatesFromOM(long fromSequenc
     // Track delta fetch operation
     long deltaFetchStartTime = Time.monotonicNow();
 
-    DBUpdatesRequest dbUpdatesRequest = DBUpdatesRequest.newBuilder()
+    DBUpdatesRequest.Builder dbUpdatesRequest = DBUpdatesRequest.newBuilder()
         .setSequenceNumber(fromSequenceNumber)
-        .setLimitCount(deltaUpdateLimit)
-        .build();
-    DBUpdates dbUpdates = ozoneManagerClient.getDBUpdates(dbUpdatesRequest);
+        .setLimitCount(deltaUpdateLimit);
+    if (deltaUpdateWaitTimeoutMs > 0) {
+      // Long-polling: OM responds once it has any update after fromSequenceNumber.
+      dbUpdatesRequest.setWaitTimeoutMs(deltaUpdateWaitTimeoutMs);
+    }
+    tailOMDB = false;
+    DBUpdates dbUpdates = ozoneManagerClient.getDBUpdates(dbUpdatesRequest.build());
 
     // Update delta fetch duration
     long deltaFetchDuration = Time.monotonicNow() - deltaFetchStartTime;
@@ -667,6 +706,11 @@ ImmutablePair<Boolean, Long> innerGetAndApplyDeltaUpdatesFromOM(long fromSequenc
         // Update delta apply duration (successful)
         long deltaApplyDuration = Time.monotonicNow() - deltaApplyStartTime;
         reconSyncMetrics.updateDeltaApplyDuration(deltaApplyDuration);
+        // Keep tailing if there were updates, or OM has waited for them.
+        // Otherwise, OM does not support long-polling; sync by the interval.
+        // OM caps the wait, so it tells whether it has waited in the response.
+        tailOMDB = deltaUpdateWaitTimeoutMs > 0 && dbUpdates.isDBUpdateSuccess()
+            && (numUpdates > 0 || dbUpdates.getWaitTimeoutMs() > 0);
 
       } catch (RocksDBException | IOException e) {
         // Track delta apply failures
@@ -687,6 +731,30 @@ fromSequenceNumber, getCurrentOMDBSequenceNumber(), numUpdates,
     return new ImmutablePair<>(null != dbUpdates && dbUpdates.isDBUpdateSuccess(), lag);
   }
 
+  /**
+   * The backpressure of tailing the OM DB: before fetching more updates, wait
+   * for the Recon tasks to drain the event buffer below the high watermark,
+   * so that the buffer does not overflow and trigger a reinitialization of
+   * the tasks.  It waits at most a sync interval.
+   */
+  private void awaitEventBufferDrained() throws InterruptedException {
+    if (deltaUpdateWaitTimeoutMs <= 0
+        || reconTaskController.getEventBufferSize() < eventBufferHighWatermark) {
+      return;
+    }
+    reconSyncMetrics.incrDeltaFetchBackpressure();
+    final long deadline = Time.monotonicNow() + syncIntervalMs;
+    while (reconTaskController.getEventBufferSize() >= eventBufferHighWatermark) {
+      final long remaining = deadline - Time.monotonicNow();
+      if (remaining <= 0) {
+        LOG.warn("OM event buffer is still above the high watermark {} after {} ms",
+            eventBufferHighWatermark, syncIntervalMs);
+        return;
+      }
+      Thread.sleep(Math.min(remaining, EVENT_BUFFER_CHECK_INTERVAL_MS));
+    }
+  }
+
   /**
    * This method performs the syncing of data from OM.
    * <ul>
@@ -737,6 +805,7 @@ public boolean syncDataFromOM() {
               if (Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException("Thread interrupted during delta update.");
               }
+              awaitEventBufferDrained();
               diffBetweenOMDbAndReconDBSeqNumber =
                   getAndApplyDeltaUpdatesFromOM(currentSequenceNumber, omdbUpdatesHandler);
               deltaReconTaskStatusUpdater.setLastTaskRunStatus(0);
@@ -823,6 +892,7 @@ public boolean syncDataFromOM() {
               fullSnapshot = true;
             }
             if (fullSnapshot) {
+              tailOMDB = false;
               break;
             }
           }
@@ -992,6 +1062,16 @@ public OzoneManagerSyncMetrics getMetrics() {
     return metrics;
   }
 
+  @VisibleForTesting
+  ReconSyncMetrics getReconSyncMetrics() {
+    return reconSyncMetrics;
+  }
+
+  @VisibleForTesting
+  boolean isTailingOMDB() {
+    return tailOMDB;
+  }
+
   @VisibleForTesting
   public TarExtractor getTarExtractor() {
     return tarExtractor;
@@ -129,98 +129,151 @@ public static boolean reprocess(OMMetadataManager omMetadataManager,
                                                 int maxWorkers,
                                                 int maxKeysInMemory) {
     try {
+      ReprocessConsumer consumer = new ReprocessConsumer(reconContainerMetadataManager,
+          bucketLayout, taskName, containerKeyFlushToDBMaxThreshold, maxWorkers);
+      consumer.start();
+
+      Function<Table.KeyValue<String, OmKeyInfo>, Void> kvOperation = kv -> {
+        consumer.accept(kv);
+        return null;
+      };
+
+      try (ParallelTableIteratorOperation<String, OmKeyInfo> keyIter =
+               new ParallelTableIteratorOperation<>(omMetadataManager, consumer.getTable(omMetadataManager),
+                   StringCodec.get(), maxIterators, maxWorkers, maxKeysInMemory, consumer.perWorkerThreshold)) {
+        keyIter.performTaskOnTableVals(taskName, null, null, kvOperation);
+      }
+      return consumer.finish();
+    } catch (Exception ex) {
+      LOG.error("Error populating Container Key data for {} in Recon DB.", taskName, ex);
+      return false;
+    }
+  }
+
+  /**
+   * Creates the consumer of a shared table scan for reprocess, which maps
+   * the keys of the given bucket layout to their containers.
+   */
+  public static ReprocessTableConsumer<OmKeyInfo> newReprocessConsumer(
+      ReconContainerMetadataManager reconContainerMetadataManager, BucketLayout bucketLayout,
+      String taskName, long containerKeyFlushToDBMaxThreshold, int maxWorkers) {
+    return new ReprocessConsumer(reconContainerMetadataManager, bucketLayout, taskName,
+        containerKeyFlushToDBMaxThreshold, maxWorkers);
+  }
+
+  /**
+   * Maps the keys to their containers in lockless per-worker maps, which are
+   * flushed to the DB when they reach the threshold.  The key counts of the
+   * containers are accumulated in the map shared by the FSO and OBS tasks.
+   */
+  private static final class ReprocessConsumer implements ReprocessTableConsumer<OmKeyInfo> {
+    private final ReconContainerMetadataManager reconContainerMetadataManager;
+    private final BucketLayout bucketLayout;
+    private final String taskName;
+    private final long perWorkerThreshold;
+    // Map thread IDs to worker-specific local maps for lockless updates
+    private final Map<Long, Map<ContainerKeyPrefix, Integer>> allLocalMaps = new ConcurrentHashMap<>();
+    private Instant start;
+
+    private ReprocessConsumer(ReconContainerMetadataManager reconContainerMetadataManager,
+        BucketLayout bucketLayout, String taskName, long containerKeyFlushToDBMaxThreshold, int maxWorkers) {
+      this.reconContainerMetadataManager = reconContainerMetadataManager;
+      this.bucketLayout = bucketLayout;
+      this.taskName = taskName;
+      // Divide threshold by worker count so each worker flushes independently
+      this.perWorkerThreshold = Math.max(1, containerKeyFlushToDBMaxThreshold / maxWorkers);
+    }
+
+    @Override
+    public Table<String, OmKeyInfo> getTable(OMMetadataManager omMetadataManager) {
+      return omMetadataManager.getKeyTable(bucketLayout);
+    }
+
+    @Override
+    public void start() {
       LOG.info("{}: Starting reprocess for bucket layout {}", taskName, bucketLayout);
-      Instant start = Instant.now();
+      start = Instant.now();
 
       // Perform one-time initialization (truncate tables + clear shared map)
       initializeContainerKeyMapperIfNeeded(reconContainerMetadataManager, taskName);
+    }
 
-      Table<String, OmKeyInfo> omKeyInfoTable = omMetadataManager.getKeyTable(bucketLayout);
+    @Override
+    public void accept(Table.KeyValue<String, OmKeyInfo> kv) {
+      try {
+        // Get or create this worker's private local map using thread ID
+        Map<ContainerKeyPrefix, Integer> containerKeyPrefixMap = allLocalMaps.computeIfAbsent(
+            Thread.currentThread().getId(), k -> new ConcurrentHashMap<>());
 
-      // Divide threshold by worker count so each worker flushes independently
-      final long perWorkerThreshold = Math.max(1, containerKeyFlushToDBMaxThreshold / maxWorkers);
-      
-      // Map thread IDs to worker-specific local maps for lockless updates
-      Map<Long, Map<ContainerKeyPrefix, Integer>> allLocalMaps = new ConcurrentHashMap<>();
-      
-      Function<Table.KeyValue<String, OmKeyInfo>, Void> kvOperation = kv -> {
-        try {
-          // Get or create this worker's private local map using thread ID
-          Map<ContainerKeyPrefix, Integer> containerKeyPrefixMap = allLocalMaps.computeIfAbsent(
-              Thread.currentThread().getId(), k -> new ConcurrentHashMap<>());
-          
-          handleKeyReprocess(kv.getKey(), kv.getValue(), containerKeyPrefixMap, SHARED_CONTAINER_KEY_COUNT_MAP,
-              reconContainerMetadataManager);
+        handleKeyReprocess(kv.getKey(), kv.getValue(), containerKeyPrefixMap, SHARED_CONTAINER_KEY_COUNT_MAP,
+            reconContainerMetadataManager);
 
-          // Flush this worker's map when it reaches threshold
-          if (containerKeyPrefixMap.size() >= perWorkerThreshold) {
-            if (!flushAndCommitContainerKeyInfoToDB(containerKeyPrefixMap, Collections.emptyMap(),
-                reconContainerMetadataManager)) {
-              throw new UncheckedIOException(new IOException("Unable to flush containerKey information to the DB"));
-            }
+        // Flush this worker's map when it reaches threshold
+        if (containerKeyPrefixMap.size() >= perWorkerThreshold) {
+          if (!flushAndCommitContainerKeyInfoToDB(containerKeyPrefixMap, Collections.emptyMap(),
+              reconContainerMetadataManager)) {
+            throw new UncheckedIOException(new IOException("Unable to flush containerKey information to the DB"));
           }
-          return null;
-        } catch (IOException e) {
-          throw new UncheckedIOException(e);
         }
-      };
-      
-      try (ParallelTableIteratorOperation<String, OmKeyInfo> keyIter =
-               new ParallelTableIteratorOperation<>(omMetadataManager, omKeyInfoTable,
-                   StringCodec.get(), maxIterators, maxWorkers, maxKeysInMemory, perWorkerThreshold)) {
-        keyIter.performTaskOnTableVals(taskName, null, null, kvOperation);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
       }
+    }
 
-      // Final flush: Write remaining entries from all worker local maps to DB
-      for (Map<ContainerKeyPrefix, Integer> containerKeyPrefixMap : allLocalMaps.values()) {
-        if (!containerKeyPrefixMap.isEmpty()) {
-          if (!flushAndCommitContainerKeyInfoToDB(containerKeyPrefixMap, Collections.emptyMap(),
-              reconContainerMetadataManager)) {
-            LOG.error("Failed to flush worker local map for {}", taskName);
-            return false;
+    @Override
+    public boolean finish() {
+      try {
+        // Final flush: Write remaining entries from all worker local maps to DB
+        for (Map<ContainerKeyPrefix, Integer> containerKeyPrefixMap : allLocalMaps.values()) {
+          if (!containerKeyPrefixMap.isEmpty()) {
+            if (!flushAndCommitContainerKeyInfoToDB(containerKeyPrefixMap, Collections.emptyMap(),
+                reconContainerMetadataManager)) {
+              LOG.error("Failed to flush worker local map for {}", taskName);
+              return false;
+            }
           }
         }
-      }
 
-      // Decrement active task counter
-      int remainingTasks = ACTIVE_TASK_COUNT.decrementAndGet();
-      LOG.info("{}: Task completed. Remaining active tasks: {}", taskName, remainingTasks);
+        // Decrement active task counter
+        int remainingTasks = ACTIVE_TASK_COUNT.decrementAndGet();
+        LOG.info("{}: Task completed. Remaining active tasks: {}", taskName, remainingTasks);
 
-      // Only last task flushes shared map and writes container count
-      if (remainingTasks == 0) {
-        synchronized (INITIALIZATION_LOCK) {
-          // Capture total container count from shared map
-          long totalContainers = SHARED_CONTAINER_KEY_COUNT_MAP.size();
+        // Only last task flushes shared map and writes container count
+        if (remainingTasks == 0) {
+          synchronized (INITIALIZATION_LOCK) {
+            // Capture total container count from shared map
+            long totalContainers = SHARED_CONTAINER_KEY_COUNT_MAP.size();
 
-          // Flush shared container count map
-          if (!flushAndCommitContainerKeyInfoToDB(Collections.emptyMap(), SHARED_CONTAINER_KEY_COUNT_MAP, 
-              reconContainerMetadataManager)) {
-            LOG.error("Failed to flush shared container count map for {}", taskName);
-            return false;
-          }
+            // Flush shared container count map
+            if (!flushAndCommitContainerKeyInfoToDB(Collections.emptyMap(), SHARED_CONTAINER_KEY_COUNT_MAP,
+                reconContainerMetadataManager)) {
+              LOG.error("Failed to flush shared container count map for {}", taskName);
+              return false;
+            }
 
-          // Write total container count once at the end
-          if (totalContainers > 0) {
-            reconContainerMetadataManager.incrementContainerCountBy(totalContainers);
-          }
+            // Write total container count once at the end
+            if (totalContainers > 0) {
+              reconContainerMetadataManager.incrementContainerCountBy(totalContainers);
+            }
 
-          // Clean up shared resources
-          SHARED_CONTAINER_KEY_COUNT_MAP.clear();
-          ReconConstants.CONTAINER_KEY_MAPPER_INITIALIZED.set(false);
-          LOG.info("{}: Last task completed. Cleared shared map and reset initialization flag.", taskName);
+            // Clean up shared resources
+            SHARED_CONTAINER_KEY_COUNT_MAP.clear();
+            ReconConstants.CONTAINER_KEY_MAPPER_INITIALIZED.set(false);
+            LOG.info("{}: Last task completed. Cleared shared map and reset initialization flag.", taskName);
+          }
         }
-      }
 
-      Instant end = Instant.now();
-      long durationMillis = Duration.between(start, end).toMillis();
-      double durationSeconds = (double) durationMillis / 1000.0;
+        Instant end = Instant.now();
+        long durationMillis = Duration.between(start, end).toMillis();
+        double durationSeconds = (double) durationMillis / 1000.0;
 
-      LOG.info("{}: Reprocess completed in {} sec", taskName, durationSeconds);
-    } catch (Exception ex) {
-      LOG.error("Error populating Container Key data for {} in Recon DB.", taskName, ex);
-      return false;
+        LOG.info("{}: Reprocess completed in {} sec", taskName, durationSeconds);
+      } catch (Exception ex) {
+        LOG.error("Error populating Container Key data for {} in Recon DB.", taskName, ex);
+        return false;
+      }
+      return true;
     }
-    return true;
   }
 
   public static boolean process(OMUpdateEventBatch events,
@@ -71,6 +71,18 @@ BucketLayout.FILE_SYSTEM_OPTIMIZED, getTaskName(), containerKeyFlushToDBMaxThres
     return buildTaskResult(result);
   }
 
+  @Override
+  public ReprocessTableConsumer<?> getReprocessTableConsumer() {
+    long containerKeyFlushToDBMaxThreshold = ozoneConfiguration.getLong(
+        ReconServerConfigKeys.OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD,
+        ReconServerConfigKeys.OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT);
+    int maxWorkers = ozoneConfiguration.getInt(
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS,
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS_DEFAULT);
+    return ContainerKeyMapperHelper.newReprocessConsumer(reconContainerMetadataManager,
+        BucketLayout.FILE_SYSTEM_OPTIMIZED, getTaskName(), containerKeyFlushToDBMaxThreshold, maxWorkers);
+  }
+
   @Override
   public String getTaskName() {
     return "ContainerKeyMapperTaskFSO";
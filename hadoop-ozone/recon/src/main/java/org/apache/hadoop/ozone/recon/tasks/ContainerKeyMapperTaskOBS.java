@@ -70,6 +70,18 @@ omMetadataManager, reconContainerMetadataManager, BucketLayout.OBJECT_STORE, get
     return buildTaskResult(result);
   }
 
+  @Override
+  public ReprocessTableConsumer<?> getReprocessTableConsumer() {
+    long containerKeyFlushToDBMaxThreshold = ozoneConfiguration.getLong(
+        ReconServerConfigKeys.OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD,
+        ReconServerConfigKeys.OZONE_RECON_CONTAINER_KEY_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT);
+    int maxWorkers = ozoneConfiguration.getInt(
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS,
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS_DEFAULT);
+    return ContainerKeyMapperHelper.newReprocessConsumer(reconContainerMetadataManager,
+        BucketLayout.OBJECT_STORE, getTaskName(), containerKeyFlushToDBMaxThreshold, maxWorkers);
+  }
+
   @Override
   public String getTaskName() {
     return "ContainerKeyMapperTaskOBS";
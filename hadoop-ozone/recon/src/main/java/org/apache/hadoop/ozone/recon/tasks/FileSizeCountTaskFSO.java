@@ -78,6 +78,18 @@ public TaskResult reprocess(OMMetadataManager omMetadataManager) {
     );
   }
 
+  @Override
+  public ReprocessTableConsumer<?> getReprocessTableConsumer() {
+    int maxWorkers = ozoneConfiguration.getInt(
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS,
+        ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS_DEFAULT);
+    long fileSizeCountFlushThreshold = ozoneConfiguration.getLong(
+        ReconServerConfigKeys.OZONE_RECON_FILESIZECOUNT_FLUSH_TO_DB_MAX_THRESHOLD,
+        ReconServerConfigKeys.OZONE_RECON_FILESIZECOUNT_FLUSH_TO_DB_MAX_THRESHOLD_DEFAULT);
+    return FileSizeCountTaskHelper.newReprocessConsumer(reconFileMetadataManager,
+        BucketLayout.FILE_SYSTEM_OPTIMIZED, getTaskName(), maxWorkers, fileSizeCountFlushThreshold);
+  }
+
   @Override
   public TaskResult process(OMUpdateEventBatch events, Map<String, Integer> subTaskSeekPosMap) {
     // This task listens only on the FILE_TABLE.
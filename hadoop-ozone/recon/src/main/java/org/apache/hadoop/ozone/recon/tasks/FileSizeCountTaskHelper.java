@@ -150,19 +150,74 @@ public static boolean reprocessBucketLayout(BucketLayout bucketLayout,
                                               int maxWorkers,
                                               int maxKeysInMemory,
                                               long fileSizeCountFlushThreshold) {
-    Table<String, OmKeyInfo> omKeyInfoTable = omMetadataManager.getKeyTable(bucketLayout);
+    ReprocessConsumer consumer = new ReprocessConsumer(reconFileMetadataManager,
+        bucketLayout, taskName, maxWorkers, fileSizeCountFlushThreshold);
 
-    // Divide threshold by worker count so each worker flushes independently
-    final long perWorkerThreshold = Math.max(1, fileSizeCountFlushThreshold / maxWorkers);
+    // Lambda executed by workers for each key
+    Function<Table.KeyValue<String, OmKeyInfo>, Void> kvOperation = kv -> {
+      consumer.accept(kv);
+      return null;
+    };
 
-    // Map thread IDs to worker-specific maps for lockless updates
-    Map<Long, Map<FileSizeCountKey, Long>> allMap = new ConcurrentHashMap<>();
+    try (ParallelTableIteratorOperation<String, OmKeyInfo> keyIter =
+             new ParallelTableIteratorOperation<>(omMetadataManager, consumer.getTable(omMetadataManager),
+                 StringCodec.get(), maxIterators, maxWorkers, maxKeysInMemory, consumer.perWorkerThreshold)) {
+      keyIter.performTaskOnTableVals(taskName, null, null, kvOperation);
+    } catch (Exception ex) {
+      LOG.error("Unable to populate File Size Count for {} in RocksDB.", taskName, ex);
+      return false;
+    }
 
+    return consumer.finish();
+  }
+
+  /**
+   * Creates the consumer of a shared table scan for reprocess, which counts
+   * the keys of the given bucket layout.
+   */
+  public static ReprocessTableConsumer<OmKeyInfo> newReprocessConsumer(
+      ReconFileMetadataManager reconFileMetadataManager, BucketLayout bucketLayout,
+      String taskName, int maxWorkers, long fileSizeCountFlushThreshold) {
+    return new ReprocessConsumer(reconFileMetadataManager, bucketLayout, taskName,
+        maxWorkers, fileSizeCountFlushThreshold);
+  }
+
+  /**
+   * Counts the file sizes of the keys in lockless per-worker maps and
+   * flushes a map to the DB when it reaches the threshold.
+   */
+  private static final class ReprocessConsumer implements ReprocessTableConsumer<OmKeyInfo> {
+    private final ReconFileMetadataManager reconFileMetadataManager;
+    private final BucketLayout bucketLayout;
+    private final String taskName;
+    private final long perWorkerThreshold;
+    // Map thread IDs to worker-specific maps for lockless updates
+    private final Map<Long, Map<FileSizeCountKey, Long>> allMap = new ConcurrentHashMap<>();
     // Lock for coordinating DB flush operations only
-    Object flushLock = new Object();
+    private final Object flushLock = new Object();
 
-    // Lambda executed by workers for each key
-    Function<Table.KeyValue<String, OmKeyInfo>, Void> kvOperation = kv -> {
+    private ReprocessConsumer(ReconFileMetadataManager reconFileMetadataManager,
+        BucketLayout bucketLayout, String taskName, int maxWorkers, long fileSizeCountFlushThreshold) {
+      this.reconFileMetadataManager = reconFileMetadataManager;
+      this.bucketLayout = bucketLayout;
+      this.taskName = taskName;
+      // Divide threshold by worker count so each worker flushes independently
+      this.perWorkerThreshold = Math.max(1, fileSizeCountFlushThreshold / maxWorkers);
+    }
+
+    @Override
+    public Table<String, OmKeyInfo> getTable(OMMetadataManager omMetadataManager) {
+      return omMetadataManager.getKeyTable(bucketLayout);
+    }
+
+    @Override
+    public void start() {
+      LOG.info("{}: Starting reprocess for bucket layout {}", taskName, bucketLayout);
+      truncateFileCountTableIfNeeded(reconFileMetadataManager, taskName);
+    }
+
+    @Override
+    public void accept(Table.KeyValue<String, OmKeyInfo> kv) {
       // Get or create this worker's private map using thread ID
       Map<FileSizeCountKey, Long> workerFileSizeCountMap = allMap.computeIfAbsent(
           Thread.currentThread().getId(), k -> new HashMap<>());
@@ -177,27 +232,19 @@ public static boolean reprocessBucketLayout(BucketLayout bucketLayout,
           workerFileSizeCountMap.clear();
         }
       }
-      return null;
-    };
-
-    try (ParallelTableIteratorOperation<String, OmKeyInfo> keyIter =
-             new ParallelTableIteratorOperation<>(omMetadataManager, omKeyInfoTable,
-                 StringCodec.get(), maxIterators, maxWorkers, maxKeysInMemory, perWorkerThreshold)) {
-      keyIter.performTaskOnTableVals(taskName, null, null, kvOperation);
-    } catch (Exception ex) {
-      LOG.error("Unable to populate File Size Count for {} in RocksDB.", taskName, ex);
-      return false;
     }
-    
-    // Final flush: Write remaining entries from all worker maps to DB
-    for (Map<FileSizeCountKey, Long> workerFileSizeCountMap : allMap.values()) {
-      if (!workerFileSizeCountMap.isEmpty()) {
-        writeCountsToDB(workerFileSizeCountMap, reconFileMetadataManager);
-        workerFileSizeCountMap.clear();
+
+    @Override
+    public boolean finish() {
+      // Final flush: Write remaining entries from all worker maps to DB
+      for (Map<FileSizeCountKey, Long> workerFileSizeCountMap : allMap.values()) {
+        if (!workerFileSizeCountMap.isEmpty()) {
+          writeCountsToDB(workerFileSizeCountMap, reconFileMetadataManager);
+          workerFileSizeCountMap.clear();
+        }
       }
+      return true;
     }
-    
-    return true;
   }
 
   /**
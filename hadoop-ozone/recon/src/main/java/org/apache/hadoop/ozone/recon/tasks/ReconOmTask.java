@@ -65,6 +65,16 @@ TaskResult process(OMUpdateEventBatch events,
    */
   TaskResult reprocess(OMMetadataManager omMetadataManager);
 
+  /**
+   * Returns the consumer of a shared table scan, which does the same as
+   * {@link #reprocess} but without scanning the table by the task itself.
+   *
+   * @return the consumer, or null if the task only supports {@link #reprocess}.
+   */
+  default ReprocessTableConsumer<?> getReprocessTableConsumer() {
+    return null;
+  }
+
   /**
    * Returns a staged task that can be used to reprocess events.
    * @param stagedOmMetadataManager  om metadata manager for staged OM DB
@@ -19,6 +19,14 @@
 
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_ITERATORS;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_ITERATORS_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_KEYS_IN_MEMORY;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_KEYS_IN_MEMORY_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_MAX_WORKERS_DEFAULT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_SHARED_SCAN_ENABLED;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_REPROCESS_SHARED_SCAN_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_THREAD_COUNT_DEFAULT;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_TASK_THREAD_COUNT_KEY;
 
@@ -91,6 +99,8 @@ public class ReconTaskControllerImpl implements ReconTaskController {
   private final AtomicBoolean tasksFailed = new AtomicBoolean(false);
   private volatile ReconOMMetadataManager currentOMMetadataManager;
   private final OzoneConfiguration configuration;
+  /** Reprocess the tasks reading the same OM table by a single scan. */
+  private final boolean sharedScanEnabled;
 
   // Metrics
   private final ReconTaskControllerMetrics controllerMetrics;
@@ -122,6 +132,8 @@ public ReconTaskControllerImpl(OzoneConfiguration configuration,
     threadCount = configuration.getInt(OZONE_RECON_TASK_THREAD_COUNT_KEY,
         OZONE_RECON_TASK_THREAD_COUNT_DEFAULT);
     this.taskStatusUpdaterManager = taskStatusUpdaterManager;
+    this.sharedScanEnabled = configuration.getBoolean(OZONE_RECON_TASK_REPROCESS_SHARED_SCAN_ENABLED,
+        OZONE_RECON_TASK_REPROCESS_SHARED_SCAN_ENABLED_DEFAULT);
 
     // Initialize metrics
     this.controllerMetrics = ReconTaskControllerMetrics.create();
@@ -209,9 +221,24 @@ public synchronized boolean reInitializeTasks(ReconOMMetadataManager omMetadataM
       return false;
     }
 
+    final SharedTableScan sharedScan = sharedScanEnabled ? newSharedTableScan(omMetadataManager) : null;
     localReconOmTaskMap.values().forEach(task -> {
       ReconTaskStatusUpdater taskStatusUpdater = taskStatusUpdaterManager.getTaskStatusUpdater(task.getTaskName());
       taskStatusUpdater.recordRunStart();
+      if (sharedScan != null) {
+        try {
+          final ReconOmTask stagedTask = task.getStagedTask(omMetadataManager, stagedReconDBProvider.getDbStore());
+          final ReprocessTableConsumer<?> consumer = stagedTask.getReprocessTableConsumer();
+          if (consumer != null) {
+            sharedScan.add(task.getTaskName(), consumer);
+            return;
+          }
+          tasks.add(new NamedCallableTask<>(task.getTaskName(), () -> stagedTask.reprocess(omMetadataManager)));
+          return;
+        } catch (IOException e) {
+          LOG.warn("{}: Failed to get the staged task for the shared scan", task.getTaskName(), e);
+        }
+      }
       tasks.add(new NamedCallableTask<>(task.getTaskName(),
           () -> task.getStagedTask(omMetadataManager, stagedReconDBProvider.getDbStore())
               .reprocess(omMetadataManager)));
@@ -220,55 +247,43 @@ public synchronized boolean reInitializeTasks(ReconOMMetadataManager omMetadataM
     AtomicBoolean isRunSuccessful = new AtomicBoolean(true);
     LOG.info("Submitting {} tasks for parallel reprocessing", tasks.size());
     try {
-      CompletableFuture.allOf(tasks.stream()
-          .map(task -> {
-            // Track reprocess duration per task - start time recorded before async execution
-            long reprocessStartTime = Time.monotonicNow();
-
-            return CompletableFuture.supplyAsync(() -> {
-              LOG.info("Task {} started execution on thread {}", 
-                  task.getTaskName(), Thread.currentThread().getName());
-              try {
-                ReconOmTask.TaskResult result = task.call();
-                LOG.info("Task {} completed execution", task.getTaskName());
-                return result;
-              } catch (Exception e) {
-                // Track reprocess failure per task
-                taskMetrics.incrTaskReprocessFailures(task.getTaskName());
-
-                if (e instanceof InterruptedException) {
-                  Thread.currentThread().interrupt();
-                }
-                // Wrap the exception with the task name
-                throw new TaskExecutionException(task.getTaskName(), e);
-              }
-            }, executorService).thenAccept(result -> {
-              // Update reprocess duration after task completes (includes queue time)
-              long reprocessDuration = Time.monotonicNow() - reprocessStartTime;
-              taskMetrics.updateTaskReprocessDuration(task.getTaskName(), reprocessDuration);
-
-              if (!result.isTaskSuccess()) {
-                String taskName = result.getTaskName();
-                LOG.error("Init failed for task {}.", taskName);
-
-                // Track reprocess failure per task
-                taskMetrics.incrTaskReprocessFailures(taskName);
-
-                isRunSuccessful.set(false);
-              }
-            }).exceptionally(ex -> {
-              LOG.error("Task failed with exception: ", ex);
-              isRunSuccessful.set(false);
-              if (ex.getCause() instanceof TaskExecutionException) {
-                TaskExecutionException taskEx = (TaskExecutionException) ex.getCause();
-                String taskName = taskEx.getTaskName();
-                // Track reprocess failure per task
-                taskMetrics.incrTaskReprocessFailures(taskName);
-                LOG.error("The above error occurred while trying to execute task: {}", taskName);
-              }
-              return null;
-            });
-          }).toArray(CompletableFuture[]::new)).join();
+      final List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (NamedCallableTask<ReconOmTask.TaskResult> task : tasks) {
+        // Track reprocess duration per task - start time recorded before async execution
+        long reprocessStartTime = Time.monotonicNow();
+
+        futures.add(handleReprocessResult(CompletableFuture.supplyAsync(() -> {
+          LOG.info("Task {} started execution on thread {}", 
+              task.getTaskName(), Thread.currentThread().getName());
+          try {
+            ReconOmTask.TaskResult result = task.call();
+            LOG.info("Task {} completed execution", task.getTaskName());
+            return result;
+          } catch (Exception e) {
+            // Track reprocess failure per task
+            taskMetrics.incrTaskReprocessFailures(task.getTaskName());
+
+            if (e instanceof InterruptedException) {
+              Thread.currentThread().interrupt();
+            }
+            // Wrap the exception with the task name
+            throw new TaskExecutionException(task.getTaskName(), e);
+          }
+        }, executorService), task.getTaskName(), reprocessStartTime, isRunSuccessful));
+      }
+      if (sharedScan != null) {
+        for (String tableName : sharedScan.getTableNames()) {
+          long reprocessStartTime = Time.monotonicNow();
+          // A single scan of the table for all the tasks consuming it.
+          final CompletableFuture<Map<String, ReconOmTask.TaskResult>> scan
+              = CompletableFuture.supplyAsync(() -> sharedScan.scan(tableName), executorService);
+          for (String taskName : sharedScan.getTaskNames(tableName)) {
+            futures.add(handleReprocessResult(scan.thenApply(results -> results.get(taskName)),
+                taskName, reprocessStartTime, isRunSuccessful));
+          }
+        }
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
     } catch (CompletionException ce) {
       LOG.error("Completing all tasks failed with exception ", ce);
       isRunSuccessful.set(false);
@@ -324,6 +339,46 @@ public synchronized boolean reInitializeTasks(ReconOMMetadataManager omMetadataM
     return isRunSuccessful.get();
   }
 
+  private CompletableFuture<Void> handleReprocessResult(CompletableFuture<ReconOmTask.TaskResult> future,
+      String name, long reprocessStartTime, AtomicBoolean isRunSuccessful) {
+    return future.thenAccept(result -> {
+      // Update reprocess duration after task completes (includes queue time)
+      long reprocessDuration = Time.monotonicNow() - reprocessStartTime;
+      taskMetrics.updateTaskReprocessDuration(name, reprocessDuration);
+
+      if (!result.isTaskSuccess()) {
+        String taskName = result.getTaskName();
+        LOG.error("Init failed for task {}.", taskName);
+
+        // Track reprocess failure per task
+        taskMetrics.incrTaskReprocessFailures(taskName);
+
+        isRunSuccessful.set(false);
+      }
+    }).exceptionally(ex -> {
+      LOG.error("Task failed with exception: ", ex);
+      isRunSuccessful.set(false);
+      if (ex.getCause() instanceof TaskExecutionException) {
+        TaskExecutionException taskEx = (TaskExecutionException) ex.getCause();
+        String taskName = taskEx.getTaskName();
+        // Track reprocess failure per task
+        taskMetrics.incrTaskReprocessFailures(taskName);
+        LOG.error("The above error occurred while trying to execute task: {}", taskName);
+      }
+      return null;
+    });
+  }
+
+  private SharedTableScan newSharedTableScan(OMMetadataManager omMetadataManager) {
+    return new SharedTableScan(omMetadataManager,
+        configuration.getInt(OZONE_RECON_TASK_REPROCESS_MAX_ITERATORS,
+            OZONE_RECON_TASK_REPROCESS_MAX_ITERATORS_DEFAULT),
+        configuration.getInt(OZONE_RECON_TASK_REPROCESS_MAX_WORKERS,
+            OZONE_RECON_TASK_REPROCESS_MAX_WORKERS_DEFAULT),
+        configuration.getInt(OZONE_RECON_TASK_REPROCESS_MAX_KEYS_IN_MEMORY,
+            OZONE_RECON_TASK_REPROCESS_MAX_KEYS_IN_MEMORY_DEFAULT));
+  }
+
   private void recordAllTaskStatus(Map<String, ReconOmTask> localReconOmTaskMap, int status, long updateSeqNumber) {
     localReconOmTaskMap.values().forEach(task -> {
       ReconTaskStatusUpdater taskStatusUpdater = taskStatusUpdaterManager.getTaskStatusUpdater(task.getTaskName());
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+
+/**
+ * Consumer of the entries of an OM table for {@link ReconOmTask#reprocess}.
+ * When the tasks provide consumers, a table read by multiple tasks is scanned
+ * only once and each entry is passed to all the consumers of the table.
+ *
+ * @param <V> the value type of the table.
+ */
+public interface ReprocessTableConsumer<V> {
+
+  /**
+   * @param omMetadataManager the OM metadata manager to reprocess.
+   * @return the table to consume.
+   */
+  Table<String, V> getTable(OMMetadataManager omMetadataManager);
+
+  /**
+   * Prepare for consuming the entries, e.g. truncate the Recon tables.
+   */
+  void start();
+
+  /**
+   * Consume an entry of the table.
+   * It is called concurrently by the threads scanning the table.
+   */
+  void accept(Table.KeyValue<String, V> kv);
+
+  /**
+   * Complete the reprocess after all the entries are consumed.
+   *
+   * @return true if the reprocess is successful.
+   */
+  boolean finish();
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.recon.tasks.util.ParallelTableIteratorOperation;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reprocess the Recon OM tasks by scanning each OM table once, where the
+ * entries are passed to the {@link ReprocessTableConsumer}s of all the tasks
+ * reading the table.  A failure of a consumer fails only its task.
+ */
+final class SharedTableScan {
+  private static final Logger LOG = LoggerFactory.getLogger(SharedTableScan.class);
+  private static final long LOG_COUNT_THRESHOLD = 1_000_000;
+
+  private final OMMetadataManager omMetadataManager;
+  private final int maxIterators;
+  private final int maxWorkers;
+  private final int maxKeysInMemory;
+  /** Table name -> task name -> consumer. */
+  private final Map<String, Map<String, ReprocessTableConsumer<?>>> consumers = new TreeMap<>();
+
+  SharedTableScan(OMMetadataManager omMetadataManager, int maxIterators, int maxWorkers, int maxKeysInMemory) {
+    this.omMetadataManager = omMetadataManager;
+    this.maxIterators = maxIterators;
+    this.maxWorkers = maxWorkers;
+    this.maxKeysInMemory = maxKeysInMemory;
+  }
+
+  void add(String taskName, ReprocessTableConsumer<?> consumer) {
+    final String tableName = consumer.getTable(omMetadataManager).getName();
+    consumers.computeIfAbsent(tableName, k -> new LinkedHashMap<>()).put(taskName, consumer);
+  }
+
+  Collection<String> getTableNames() {
+    return Collections.unmodifiableSet(consumers.keySet());
+  }
+
+  Set<String> getTaskNames(String tableName) {
+    return Collections.unmodifiableSet(consumers.get(tableName).keySet());
+  }
+
+  /**
+   * Scan the given table once for all its consumers.
+   *
+   * @return the results of the tasks consuming the table.
+   */
+  Map<String, ReconOmTask.TaskResult> scan(String tableName) {
+    return scan(tableName, consumers.get(tableName));
+  }
+
+  private <V> Map<String, ReconOmTask.TaskResult> scan(String tableName,
+      Map<String, ReprocessTableConsumer<?>> tableConsumers) {
+    final Map<String, ReconOmTask.TaskResult> results = new HashMap<>();
+    final Map<String, ReprocessTableConsumer<V>> active = new ConcurrentHashMap<>();
+    Table<String, V> table = null;
+    for (Map.Entry<String, ReprocessTableConsumer<?>> e : tableConsumers.entrySet()) {
+      @SuppressWarnings("unchecked")
+      final ReprocessTableConsumer<V> consumer = (ReprocessTableConsumer<V>) e.getValue();
+      try {
+        consumer.start();
+        active.put(e.getKey(), consumer);
+        table = consumer.getTable(omMetadataManager);
+      } catch (Exception ex) {
+        LOG.error("{}: Failed to start reprocess", e.getKey(), ex);
+        results.put(e.getKey(), buildTaskResult(e.getKey(), false));
+      }
+    }
+    if (active.isEmpty()) {
+      return results;
+    }
+
+    LOG.info("Starting shared scan of {} for tasks {}", tableName, active.keySet());
+    final long startTime = Time.monotonicNow();
+    final Function<Table.KeyValue<String, V>, Void> kvOperation = kv -> {
+      for (Map.Entry<String, ReprocessTableConsumer<V>> e : active.entrySet()) {
+        try {
+          e.getValue().accept(kv);
+        } catch (Exception ex) {
+          // Stop passing the entries to the failed consumer only.
+          if (active.remove(e.getKey()) != null) {
+            LOG.error("{}: Failed to reprocess {}", e.getKey(), kv.getKey(), ex);
+            synchronized (results) {
+              results.put(e.getKey(), buildTaskResult(e.getKey(), false));
+            }
+          }
+        }
+      }
+      return null;
+    };
+    try (ParallelTableIteratorOperation<String, V> iterator = new ParallelTableIteratorOperation<>(
+        omMetadataManager, table, StringCodec.get(), maxIterators, maxWorkers, maxKeysInMemory,
+        LOG_COUNT_THRESHOLD)) {
+      iterator.performTaskOnTableVals("SharedScan-" + tableName, null, null, kvOperation);
+    } catch (Exception ex) {
+      if (ex instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      LOG.error("Failed the shared scan of {} for tasks {}", tableName, active.keySet(), ex);
+      for (String taskName : active.keySet()) {
+        results.put(taskName, buildTaskResult(taskName, false));
+      }
+      return results;
+    }
+    LOG.info("Completed shared scan of {} in {} ms", tableName, Time.monotonicNow() - startTime);
+
+    for (Map.Entry<String, ReprocessTableConsumer<V>> e : active.entrySet()) {
+      boolean success;
+      try {
+        success = e.getValue().finish();
+      } catch (Exception ex) {
+        LOG.error("{}: Failed to finish reprocess", e.getKey(), ex);
+        success = false;
+      }
+      results.put(e.getKey(), buildTaskResult(e.getKey(), success));
+    }
+    return results;
+  }
+
+  private static ReconOmTask.TaskResult buildTaskResult(String taskName, boolean success) {
+    return new ReconOmTask.TaskResult.Builder()
+        .setTaskName(taskName)
+        .setTaskSuccess(success)
+        .build();
+  }
+}
@@ -23,6 +23,8 @@
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.initializeNewOmMetadataManager;
 import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.writeDataToOm;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_DB_DIR;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT;
+import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_EVENT_BUFFER_CAPACITY;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.OZONE_RECON_OM_SNAPSHOT_DB_DIR;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.RECON_OM_DELTA_UPDATE_LAG_THRESHOLD;
 import static org.apache.hadoop.ozone.recon.ReconServerConfigKeys.RECON_OM_DELTA_UPDATE_LIMIT;
@@ -420,6 +422,83 @@ public void testGetAndApplyDeltaUpdatesFromOM(
     sourceOMMetadataMgr.stop();
   }
 
+  @Test
+  public void testTailingDeltaUpdatesFromOM(
+      @TempDir File dirSrcOmMetadata, @TempDir File dirOmMetadata,
+      @TempDir File dirReconMetadata) throws Exception {
+    OMMetadataManager sourceOMMetadataMgr =
+        initializeNewOmMetadataManager(dirSrcOmMetadata);
+    writeDataToOm(sourceOMMetadataMgr, "key_one");
+
+    final RocksDatabase rocksDB = getRocksDatabase(sourceOMMetadataMgr);
+    ManagedTransactionLogIterator logIterator = rocksDB.getUpdatesSince(0L);
+    DBUpdates dbUpdatesWrapper = new DBUpdates();
+    while (logIterator.get().isValid()) {
+      BatchResult result = logIterator.get().getBatch();
+      result.writeBatch().markWalTerminationPoint();
+      dbUpdatesWrapper.addWriteBatch(result.writeBatch().data(),
+          result.sequenceNumber());
+      logIterator.get().next();
+    }
+
+    OMMetadataManager omMetadataManager =
+        initializeNewOmMetadataManager(dirOmMetadata);
+    OzoneConfiguration tailingConfiguration =
+        new OzoneConfiguration(configuration);
+    // Same as the default max wait of OM.
+    tailingConfiguration.set(OZONE_RECON_OM_DELTA_UPDATE_WAIT_TIMEOUT, "10s");
+    tailingConfiguration.setInt(OZONE_RECON_OM_EVENT_BUFFER_CAPACITY, 10);
+    ReconTaskController taskController = getMockTaskController();
+    // The event buffer is above the high watermark (8) until it is drained.
+    when(taskController.getEventBufferSize()).thenReturn(9, 9, 0);
+    // OM waits without any update in the second call,
+    // and does not wait for the updates in the third call.
+    DBUpdates waitedNoUpdates = new DBUpdates();
+    waitedNoUpdates.setWaitTimeoutMs(10_000);
+    DBUpdates noUpdates = new DBUpdates();
+    OzoneManagerProtocol omClient = mock(OzoneManagerProtocol.class);
+    when(omClient.getDBUpdates(any(OzoneManagerProtocolProtos
+        .DBUpdatesRequest.class)))
+        .thenReturn(dbUpdatesWrapper, waitedNoUpdates, noUpdates);
+    OzoneManagerServiceProviderImpl ozoneManagerServiceProvider =
+        new OzoneManagerServiceProviderImpl(tailingConfiguration,
+            getTestReconOmMetadataManager(omMetadataManager, dirReconMetadata),
+            taskController, new ReconUtils(), omClient,
+            reconContext, getMockTaskStatusUpdaterManager());
+
+    // 3 updates: 1 Vol PUT + 1 Bucket PUT + 1 Key PUT
+    long latestSequenceNumber = ozoneManagerServiceProvider.getCurrentOMDBSequenceNumber() + 3;
+    dbUpdatesWrapper.setLatestSequenceNumber(latestSequenceNumber);
+    assertTrue(ozoneManagerServiceProvider.syncDataFromOM());
+    assertEquals(latestSequenceNumber,
+        ozoneManagerServiceProvider.getCurrentOMDBSequenceNumber());
+    assertEquals(1, ozoneManagerServiceProvider.getReconSyncMetrics()
+        .getDeltaFetchBackpressure());
+    // There were updates, continue tailing.
+    assertTrue(ozoneManagerServiceProvider.isTailingOMDB());
+
+    waitedNoUpdates.setCurrentSequenceNumber(latestSequenceNumber);
+    waitedNoUpdates.setLatestSequenceNumber(latestSequenceNumber);
+    assertTrue(ozoneManagerServiceProvider.syncDataFromOM());
+    // OM has waited for the updates, continue tailing.
+    assertTrue(ozoneManagerServiceProvider.isTailingOMDB());
+
+    noUpdates.setCurrentSequenceNumber(latestSequenceNumber);
+    noUpdates.setLatestSequenceNumber(latestSequenceNumber);
+    assertTrue(ozoneManagerServiceProvider.syncDataFromOM());
+    // OM responded without waiting, fall back to the sync interval.
+    assertFalse(ozoneManagerServiceProvider.isTailingOMDB());
+
+    ArgumentCaptor<OzoneManagerProtocolProtos.DBUpdatesRequest> captor =
+        ArgumentCaptor.forClass(OzoneManagerProtocolProtos.DBUpdatesRequest.class);
+    verify(omClient, times(3)).getDBUpdates(captor.capture());
+    for (OzoneManagerProtocolProtos.DBUpdatesRequest request : captor.getAllValues()) {
+      assertEquals(10_000, request.getWaitTimeoutMs());
+    }
+    omMetadataManager.stop();
+    sourceOMMetadataMgr.stop();
+  }
+
   @Test
   public void testGetAndApplyDeltaUpdatesFromOMWithLimit(
       @TempDir File dirSrcOmMetadata, @TempDir File dirOmMetadata,
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.recon.tasks;
+
+import static org.apache.hadoop.ozone.recon.OMMetadataManagerTestUtils.initializeNewOmMetadataManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmVolumeArgs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test {@link SharedTableScan}.
+ */
+public class TestSharedTableScan {
+  private static final int NUM_VOLUMES = 100;
+
+  @TempDir
+  private Path temporaryFolder;
+
+  private OMMetadataManager omMetadataManager;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    omMetadataManager = initializeNewOmMetadataManager(
+        Files.createDirectory(temporaryFolder.resolve("JunitOmDBDir")).toFile());
+    // initializeNewOmMetadataManager has already created a volume.
+    for (int i = 1; i < NUM_VOLUMES; i++) {
+      final String volume = "vol" + i;
+      omMetadataManager.getVolumeTable().put(omMetadataManager.getVolumeKey(volume),
+          OmVolumeArgs.newBuilder()
+              .setVolume(volume)
+              .setAdminName("admin")
+              .setOwnerName("owner")
+              .build());
+    }
+  }
+
+  @Test
+  public void testScanOnceForAllConsumers() {
+    final SharedTableScan scan = new SharedTableScan(omMetadataManager, 2, 4, 10);
+    final VolumeConsumer task1 = new VolumeConsumer(-1);
+    final VolumeConsumer task2 = new VolumeConsumer(-1);
+    final VolumeConsumer failing = new VolumeConsumer(NUM_VOLUMES / 2);
+    scan.add("task1", task1);
+    scan.add("task2", task2);
+    scan.add("failing", failing);
+    assertEquals(1, scan.getTableNames().size());
+
+    final Map<String, ReconOmTask.TaskResult> results = scan.scan(
+        omMetadataManager.getVolumeTable().getName());
+    assertEquals(3, results.size());
+    assertTrue(results.get("task1").isTaskSuccess());
+    assertTrue(results.get("task2").isTaskSuccess());
+    assertFalse(results.get("failing").isTaskSuccess());
+
+    assertEquals(NUM_VOLUMES, task1.count.get());
+    assertEquals(NUM_VOLUMES, task2.count.get());
+    assertTrue(task1.finished);
+    assertTrue(task2.finished);
+    // The failed consumer does not get the remaining entries.
+    assertFalse(failing.finished);
+  }
+
+  /** Count the volumes, or fail at the given count if it is non-negative. */
+  private static final class VolumeConsumer implements ReprocessTableConsumer<OmVolumeArgs> {
+    private final AtomicLong count = new AtomicLong();
+    private final long failAt;
+    private volatile boolean finished;
+
+    VolumeConsumer(long failAt) {
+      this.failAt = failAt;
+    }
+
+    @Override
+    public Table<String, OmVolumeArgs> getTable(OMMetadataManager om) {
+      return om.getVolumeTable();
+    }
+
+    @Override
+    public void start() {
+      count.set(0);
+    }
+
+    @Override
+    public void accept(Table.KeyValue<String, OmVolumeArgs> kv) {
+      if (count.incrementAndGet() == failAt) {
+        throw new IllegalStateException("Failed at " + kv.getKey());
+      }
+    }
+
+    @Override
+    public boolean finish() {
+      finished = true;
+      return true;
+    }
+  }
+}
@@ -32,10 +32,12 @@
 import javax.ws.rs.ext.Provider;
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.apache.hadoop.ozone.s3.exception.S3ErrorTable;
+import org.apache.hadoop.ozone.s3.metrics.S3GatewayMetrics;
 import org.apache.hadoop.ozone.s3.signature.SignatureInfo;
 import org.apache.hadoop.ozone.s3.signature.SignatureInfo.Version;
 import org.apache.hadoop.ozone.s3.signature.SignatureProcessor;
 import org.apache.hadoop.ozone.s3.signature.StringToSignProducer;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +65,8 @@ public class AuthorizationFilter implements ContainerRequestFilter {
   @Override
   public void filter(ContainerRequestContext context) throws
       IOException {
+    final long startNanos = Time.monotonicNowNanos();
+    final S3GatewayMetrics metrics = S3GatewayMetrics.getMetrics();
     try {
       signatureInfo.initialize(signatureProcessor.parseSignature());
       if (signatureInfo.getVersion() == Version.V4) {
@@ -80,10 +84,19 @@ public void filter(ContainerRequestContext context) throws
         LOG.debug("Malformed s3 header. awsAccessID: {}", awsAccessId);
         throw ACCESS_DENIED;
       }
+      if (metrics != null) {
+        metrics.updateSignatureParseSuccessStats(startNanos);
+      }
     } catch (OS3Exception ex) {
       LOG.debug("Error during Client Creation: ", ex);
+      if (metrics != null) {
+        metrics.updateSignatureParseFailureStats(startNanos);
+      }
       throw wrapOS3Exception(ex);
     } catch (Exception e) {
+      if (metrics != null) {
+        metrics.updateSignatureParseFailureStats(startNanos);
+      }
       // For any other critical errors during object creation throw Internal
       // error.
       LOG.debug("Error during Client Creation: ", e);
@@ -102,6 +102,30 @@ public final class S3GatewayConfigKeys {
   public static final String OZONE_S3G_LIST_MAX_KEYS_LIMIT = "ozone.s3g.list.max.keys.limit";
   public static final int OZONE_S3G_LIST_MAX_KEYS_LIMIT_DEFAULT = 1000;
 
+  /**
+   * Configuration key that enables reading the objects of GET requests
+   * into direct buffers, which are written to the response directly.
+   */
+  public static final String OZONE_S3G_GET_DIRECT_BUFFER_ENABLED =
+      "ozone.s3g.get.direct.buffer.enabled";
+  public static final boolean OZONE_S3G_GET_DIRECT_BUFFER_ENABLED_DEFAULT =
+      false;
+
+  /**
+   * Configuration keys of the pipelined PUT, where the request body is
+   * read, digested and written to the key by separate threads.
+   */
+  public static final String OZONE_S3G_PUT_PIPELINE_ENABLED =
+      "ozone.s3g.put.pipeline.enabled";
+  public static final boolean OZONE_S3G_PUT_PIPELINE_ENABLED_DEFAULT = false;
+  public static final String OZONE_S3G_PUT_PIPELINE_MIN_LENGTH =
+      "ozone.s3g.put.pipeline.min.length";
+  public static final String OZONE_S3G_PUT_PIPELINE_MIN_LENGTH_DEFAULT =
+      "64MB";
+  public static final String OZONE_S3G_PUT_PIPELINE_DEPTH =
+      "ozone.s3g.put.pipeline.depth";
+  public static final int OZONE_S3G_PUT_PIPELINE_DEPTH_DEFAULT = 4;
+
   /**
    * Never constructed.
    */
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.io.ByteBufferPool;
+import org.apache.hadoop.io.WeakReferencedElasticByteBufferPool;
+import org.eclipse.jetty.server.HttpOutput;
+
+/**
+ * Copy the content of a key to the response through pooled direct buffers.
+ * <p>
+ * The key is read by {@link ByteBufferReadable#read(ByteBuffer)}, where the
+ * chunk buffers from the datanodes are copied into the direct buffer without
+ * an intermediate heap array.  When the response is a Jetty
+ * {@link HttpOutput}, the direct buffer is written to it as is, so that
+ * large buffers are written to the connection without being copied into
+ * the heap again.
+ */
+final class DirectBufferCopy {
+  /**
+   * The idle buffers are weakly referenced, so that the direct memory of the
+   * peak concurrency is released by GC instead of being pinned forever.
+   */
+  private static final ByteBufferPool POOL =
+      new WeakReferencedElasticByteBufferPool();
+
+  private DirectBufferCopy() { }
+
+  /**
+   * Copy up to the given length from the input to the output channel.
+   *
+   * @return the number of bytes copied.
+   */
+  static long copy(ByteBufferReadable in, WritableByteChannel out,
+      long length, int bufferSize) throws IOException {
+    final ByteBuffer buffer = POOL.getBuffer(true, bufferSize);
+    try {
+      long copied = 0;
+      while (copied < length) {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), length - copied));
+        final int n = in.read(buffer);
+        if (n <= 0) {
+          break;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+        copied += n;
+      }
+      return copied;
+    } finally {
+      POOL.putBuffer(buffer);
+    }
+  }
+
+  /**
+   * @param dest the output stream of the JAX-RS entity.
+   * @param response the servlet response, or null if it is unavailable.
+   * @return a channel writing to the servlet output directly if it supports
+   *         {@link ByteBuffer}s; otherwise, a channel writing to dest.
+   */
+  static WritableByteChannel getChannel(OutputStream dest,
+      HttpServletResponse response) throws IOException {
+    if (response != null) {
+      final ServletOutputStream out = response.getOutputStream();
+      if (out instanceof HttpOutput) {
+        // Commit the response and write out anything buffered by JAX-RS.
+        dest.flush();
+        return new HttpOutputChannel((HttpOutput) out);
+      }
+    }
+    return Channels.newChannel(dest);
+  }
+
+  /** Write {@link ByteBuffer}s to a Jetty {@link HttpOutput}. */
+  private static final class HttpOutputChannel implements WritableByteChannel {
+    private final HttpOutput out;
+
+    HttpOutputChannel(HttpOutput out) {
+      this.out = out;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      final int n = src.remaining();
+      // A blocking write, the buffer can be reused once it returns.
+      out.write(src);
+      src.position(src.limit());
+      return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return !out.isClosed();
+    }
+
+    @Override
+    public void close() {
+      // The response is closed by JAX-RS.
+    }
+  }
+}
@@ -840,17 +840,23 @@ protected static String extractPartsCount(String eTag) {
     return null;
   }
 
-  protected int getIOBufferSize(long fileLength) {
+  /** @return the configured buffer size, regardless of the data length. */
+  protected int getIOBufferSize() {
     if (bufferSize == 0) {
       // this is mainly for unit tests as init() will not be called in the unit tests
       LOG.warn("buffer size is set to {}", IOUtils.DEFAULT_BUFFER_SIZE);
       bufferSize = IOUtils.DEFAULT_BUFFER_SIZE;
     }
+    return bufferSize;
+  }
+
+  protected int getIOBufferSize(long fileLength) {
+    final int size = getIOBufferSize();
     if (fileLength == 0) {
       // for empty file
-      return bufferSize;
+      return size;
     } else {
-      return fileLength < bufferSize ? (int) fileLength : bufferSize;
+      return fileLength < size ? (int) fileLength : size;
     }
   }
 
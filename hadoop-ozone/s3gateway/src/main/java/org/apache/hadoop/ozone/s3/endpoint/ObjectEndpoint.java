@@ -21,6 +21,14 @@
 import static org.apache.hadoop.ozone.audit.AuditLogger.PerformanceStringBuilder;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_GET_DIRECT_BUFFER_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_GET_DIRECT_BUFFER_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_DEPTH;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_DEPTH_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_MIN_LENGTH;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_MIN_LENGTH_DEFAULT;
 import static org.apache.hadoop.ozone.s3.exception.S3ErrorTable.ENTITY_TOO_SMALL;
 import static org.apache.hadoop.ozone.s3.exception.S3ErrorTable.INVALID_ARGUMENT;
 import static org.apache.hadoop.ozone.s3.exception.S3ErrorTable.INVALID_REQUEST;
@@ -50,6 +58,7 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.time.Instant;
@@ -60,6 +69,7 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -69,6 +79,7 @@
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -80,8 +91,10 @@
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.audit.S3GAction;
 import org.apache.hadoop.ozone.client.OzoneBucket;
@@ -127,6 +140,13 @@ public class ObjectEndpoint extends ObjectOperationHandler {
       LoggerFactory.getLogger(ObjectEndpoint.class);
 
   private ObjectOperationHandler handler;
+  private boolean directBufferEnabled;
+  private boolean pipelineEnabled;
+  private long pipelineMinLength;
+  private int pipelineDepth;
+
+  @Context
+  private HttpServletResponse servletResponse;
 
   /*FOR the feature Overriding Response Header
   https://docs.aws.amazon.com/de_de/AmazonS3/latest/API/API_GetObject.html */
@@ -153,6 +173,18 @@ protected void init() {
         .add(this)
         .build();
     handler = new AuditingObjectOperationHandler(chain);
+    directBufferEnabled = getOzoneConfiguration().getBoolean(
+        OZONE_S3G_GET_DIRECT_BUFFER_ENABLED,
+        OZONE_S3G_GET_DIRECT_BUFFER_ENABLED_DEFAULT);
+    pipelineEnabled = getOzoneConfiguration().getBoolean(
+        OZONE_S3G_PUT_PIPELINE_ENABLED,
+        OZONE_S3G_PUT_PIPELINE_ENABLED_DEFAULT);
+    pipelineMinLength = (long) getOzoneConfiguration().getStorageSize(
+        OZONE_S3G_PUT_PIPELINE_MIN_LENGTH,
+        OZONE_S3G_PUT_PIPELINE_MIN_LENGTH_DEFAULT, StorageUnit.BYTES);
+    pipelineDepth = Math.max(1, getOzoneConfiguration().getInt(
+        OZONE_S3G_PUT_PIPELINE_DEPTH,
+        OZONE_S3G_PUT_PIPELINE_DEPTH_DEFAULT));
   }
 
   /**
@@ -299,8 +331,16 @@ Response handlePutRequest(ObjectRequestContext context, String keyPath, InputStr
           long metadataLatencyNs =
               getMetrics().updatePutKeyMetadataStats(startNanos);
           perf.appendMetaLatencyNanos(metadataLatencyNs);
-          putLength = IOUtils.copyLarge(multiDigestInputStream, output, 0, length,
-              new byte[getIOBufferSize(length)]);
+          if (pipelineEnabled && length >= pipelineMinLength) {
+            // The digests are updated by the pipeline instead of the stream.
+            multiDigestInputStream.on(false);
+            putLength = PipelinedCopy.copy(multiDigestInputStream, output,
+                length, getIOBufferSize(length), pipelineDepth,
+                multiDigestInputStream.getAllDigests().values());
+          } else {
+            putLength = IOUtils.copyLarge(multiDigestInputStream, output, 0, length,
+                new byte[getIOBufferSize(length)]);
+          }
           md5Hash = DatatypeConverter.printHexBinary(
                   multiDigestInputStream.getMessageDigest(OzoneConsts.MD5_HASH).digest())
               .toLowerCase();
@@ -427,7 +467,9 @@ Response handleGetRequest(ObjectRequestContext context, String keyPath)
       if (rangeHeaderVal == null || rangeHeader.isReadFull()) {
         StreamingOutput output = dest -> {
           try (OzoneInputStream key = keyDetails.getContent()) {
-            long readLength = IOUtils.copy(key, dest, getIOBufferSize(keyDetails.getDataSize()));
+            long readLength = isDirectBufferSupported(key)
+                ? copyDirect(key, dest, keyDetails.getDataSize())
+                : IOUtils.copy(key, dest, getIOBufferSize(keyDetails.getDataSize()));
             getMetrics().incGetKeySuccessLength(readLength);
             perf.appendSizeBytes(readLength);
           }
@@ -446,8 +488,10 @@ Response handleGetRequest(ObjectRequestContext context, String keyPath)
         StreamingOutput output = dest -> {
           try (OzoneInputStream ozoneInputStream = keyDetails.getContent()) {
             ozoneInputStream.seek(startOffset);
-            long readLength = IOUtils.copyLarge(ozoneInputStream, dest, 0,
-                copyLength, new byte[getIOBufferSize(copyLength)]);
+            long readLength = isDirectBufferSupported(ozoneInputStream)
+                ? copyDirect(ozoneInputStream, dest, copyLength)
+                : IOUtils.copyLarge(ozoneInputStream, dest, 0,
+                    copyLength, new byte[getIOBufferSize(copyLength)]);
             getMetrics().incGetKeySuccessLength(readLength);
             perf.appendSizeBytes(readLength);
           }
@@ -503,6 +547,20 @@ Response handleGetRequest(ObjectRequestContext context, String keyPath)
     }
   }
 
+  private boolean isDirectBufferSupported(OzoneInputStream in) {
+    return directBufferEnabled
+        && in.getInputStream() instanceof ByteBufferReadable;
+  }
+
+  private long copyDirect(OzoneInputStream in, OutputStream dest, long length)
+      throws IOException {
+    // Always use the configured size, so that the pooled buffers are reused
+    // across the objects; the copy limits the buffer to the remaining length.
+    return DirectBufferCopy.copy(in,
+        DirectBufferCopy.getChannel(dest, servletResponse), length,
+        getIOBufferSize());
+  }
+
   static void addLastModifiedDate(
       ResponseBuilder responseBuilder, OzoneKey key) {
 
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.io.IOUtils;
+import org.apache.ratis.util.function.CheckedConsumer;
+
+/**
+ * Copy the body of a PUT request to a key in a pipeline, where
+ * (1) the body is read into a buffer by the calling thread,
+ * (2) each digest is updated with the buffer by a separated thread, and
+ * (3) the buffer is written to the key by another thread.
+ * <p>
+ * The stages are run concurrently on different buffers, so that the digest
+ * computation and the datanode writes, which are sequential in a single
+ * thread copy, overlap with the reading of the next buffers.  Each stage
+ * still processes the buffers in order, so the digests and the key are the
+ * same as a sequential copy.  The number of buffers in flight is bounded by
+ * the pipeline depth.
+ */
+final class PipelinedCopy {
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder()
+          .setNameFormat("S3G-PipelinedCopy-%d")
+          .setDaemon(true)
+          .build());
+
+  /** The end of the buffers. */
+  private static final Buffer EOF = new Buffer(0, null);
+
+  private PipelinedCopy() { }
+
+  /**
+   * Copy up to the given length from the input to the output, and update
+   * the given digests with the data copied.
+   *
+   * @return the number of bytes copied.
+   */
+  static long copy(InputStream in, OutputStream out, long length,
+      int bufferSize, int depth, Collection<MessageDigest> digests)
+      throws IOException {
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final List<Stage> stages = new ArrayList<>();
+    stages.add(new Stage(b -> out.write(b.array, 0, b.length), failure));
+    for (MessageDigest digest : digests) {
+      stages.add(new Stage(b -> digest.update(b.array, 0, b.length), failure));
+    }
+    final List<Future<?>> futures = new ArrayList<>();
+    for (Stage stage : stages) {
+      futures.add(EXECUTOR.submit(stage));
+    }
+
+    final BlockingQueue<Buffer> free = new ArrayBlockingQueue<>(depth);
+    final long numBuffers = (length + bufferSize - 1) / bufferSize;
+    for (int i = 0; i < Math.max(1, Math.min(depth, numBuffers)); i++) {
+      free.add(new Buffer(bufferSize, free));
+    }
+    long copied = 0;
+    try {
+      while (copied < length && failure.get() == null) {
+        final Buffer buffer = free.take();
+        final int n = IOUtils.read(in, buffer.array, 0,
+            (int) Math.min(bufferSize, length - copied));
+        if (n <= 0) {
+          free.add(buffer);
+          break;
+        }
+        buffer.length = n;
+        buffer.references.set(stages.size());
+        for (Stage stage : stages) {
+          stage.buffers.add(buffer);
+        }
+        copied += n;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Interrupted after copying " + copied + " bytes").initCause(e);
+    } finally {
+      for (Stage stage : stages) {
+        stage.buffers.add(EOF);
+      }
+      for (Future<?> f : futures) {
+        try {
+          Uninterruptibles.getUninterruptibly(f);
+        } catch (ExecutionException e) {
+          failure.compareAndSet(null, e.getCause());
+        }
+      }
+    }
+
+    final Throwable t = failure.get();
+    if (t instanceof IOException) {
+      throw (IOException) t;
+    } else if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t != null) {
+      throw new IOException("Failed to copy after " + copied + " bytes", t);
+    }
+    return copied;
+  }
+
+  /** A buffer shared by the stages. */
+  private static final class Buffer {
+    private final byte[] array;
+    /** The queue of the free buffers to release this buffer to. */
+    private final BlockingQueue<Buffer> free;
+    /** The number of stages not yet done with this buffer. */
+    private final AtomicInteger references = new AtomicInteger();
+    private int length;
+
+    Buffer(int size, BlockingQueue<Buffer> free) {
+      this.array = new byte[size];
+      this.free = free;
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        free.add(this);
+      }
+    }
+  }
+
+  /**
+   * A stage processing the buffers in order.  After a failure of any stage,
+   * the buffers are released without processing until the end, so that the
+   * reader is never blocked.
+   */
+  private static final class Stage implements Runnable {
+    /** Bounded by the buffers in flight, i.e. the pipeline depth. */
+    private final BlockingQueue<Buffer> buffers = new LinkedBlockingQueue<>();
+    private final CheckedConsumer<Buffer, IOException> processor;
+    private final AtomicReference<Throwable> failure;
+
+    Stage(CheckedConsumer<Buffer, IOException> processor,
+        AtomicReference<Throwable> failure) {
+      this.processor = processor;
+      this.failure = failure;
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        final Buffer buffer = Uninterruptibles.takeUninterruptibly(buffers);
+        if (buffer == EOF) {
+          return;
+        }
+        try {
+          if (failure.get() == null) {
+            processor.accept(buffer);
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        } finally {
+          buffer.release();
+        }
+      }
+    }
+  }
+}
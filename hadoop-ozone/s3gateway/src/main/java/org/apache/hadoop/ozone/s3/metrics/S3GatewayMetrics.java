@@ -104,6 +104,10 @@ public final class S3GatewayMetrics implements Closeable, MetricsSource {
   private @Metric MutableCounterLong putObjectAclSuccess;
   private @Metric MutableCounterLong putObjectAclFailure;
 
+  // AuthorizationFilter
+  private @Metric MutableCounterLong signatureParseSuccess;
+  private @Metric MutableCounterLong signatureParseFailure;
+
   // S3 Gateway Latency Metrics
   // BucketEndpoint
 
@@ -280,6 +284,17 @@ public final class S3GatewayMetrics implements Closeable, MetricsSource {
       "in nanoseconds")
   private PerformanceMetrics putObjectAclFailureLatencyNs;
 
+  // AuthorizationFilter: only parses the signature and builds the string to
+  // sign, which OM verifies with the request.
+
+  @Metric(about = "Latency for successfully parsing the signature of " +
+      "an S3 request in nanoseconds")
+  private PerformanceMetrics signatureParseSuccessLatencyNs;
+
+  @Metric(about = "Latency for failing to parse the signature of " +
+      "an S3 request in nanoseconds")
+  private PerformanceMetrics signatureParseFailureLatencyNs;
+
   private final Map<String, PerformanceMetrics> performanceMetrics;
 
   /**
@@ -425,6 +440,12 @@ public void getMetrics(MetricsCollector collector, boolean all) {
     putObjectAclSuccessLatencyNs.snapshot(recordBuilder, true);
     putObjectAclFailure.snapshot(recordBuilder, true);
     putObjectAclFailureLatencyNs.snapshot(recordBuilder, true);
+
+    // AuthorizationFilter
+    signatureParseSuccess.snapshot(recordBuilder, true);
+    signatureParseSuccessLatencyNs.snapshot(recordBuilder, true);
+    signatureParseFailure.snapshot(recordBuilder, true);
+    signatureParseFailureLatencyNs.snapshot(recordBuilder, true);
   }
 
   // INC and UPDATE
@@ -686,6 +707,18 @@ public void updatePutObjectAclFailureStats(long startNanos) {
     this.putObjectAclFailureLatencyNs.add(Time.monotonicNowNanos() - startNanos);
   }
 
+  // AuthorizationFilter
+
+  public void updateSignatureParseSuccessStats(long startNanos) {
+    signatureParseSuccess.incr();
+    signatureParseSuccessLatencyNs.add(Time.monotonicNowNanos() - startNanos);
+  }
+
+  public void updateSignatureParseFailureStats(long startNanos) {
+    signatureParseFailure.incr();
+    signatureParseFailureLatencyNs.add(Time.monotonicNowNanos() - startNanos);
+  }
+
   // GET
   public long getListS3BucketsSuccess() {
     return listS3BucketsSuccess.value();
@@ -851,6 +884,14 @@ public long getDeleteObjectTaggingFailure() {
     return deleteObjectTaggingFailure.value();
   }
 
+  public long getSignatureParseSuccess() {
+    return signatureParseSuccess.value();
+  }
+
+  public long getSignatureParseFailure() {
+    return signatureParseFailure.value();
+  }
+
   private long updateAndGetStats(PerformanceMetrics metric, long startNanos) {
     long value = Time.monotonicNowNanos() - startNanos;
     metric.add(value);
@@ -20,6 +20,7 @@
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +38,7 @@
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
 import org.apache.hadoop.ozone.client.protocol.ClientProtocol;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.DeleteTenantState;
 import org.apache.hadoop.ozone.om.helpers.ErrorInfo;
 import org.apache.hadoop.ozone.om.helpers.LeaseKeyInfo;
@@ -312,6 +314,23 @@ public OzoneKeyDetails getKeyDetails(String volumeName, String bucketName,
     return getBucket(volumeName, bucketName).getKey(keyName);
   }
 
+  @Override
+  public List<OzoneKeyDetails> getKeyDetails(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    final List<OzoneKeyDetails> details = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      try {
+        details.add(getKeyDetails(volumeName, bucketName, keyName));
+      } catch (OMException e) {
+        if (e.getResult() != OMException.ResultCodes.KEY_NOT_FOUND) {
+          throw e;
+        }
+        details.add(null);
+      }
+    }
+    return details;
+  }
+
   @Override
   public void close() throws IOException {
 
@@ -21,7 +21,6 @@
 import static org.apache.hadoop.ozone.OzoneConsts.MD5_HASH;
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -297,7 +296,8 @@ public void write(ByteBuffer b, int off, int len)
 
   @Override
   public OzoneInputStream readKey(String key) throws IOException {
-    return new OzoneInputStream(new ByteArrayInputStream(keyContents.get(key)));
+    return new OzoneInputStream(
+        new SeekableByteArrayInputStream(keyContents.get(key)));
   }
 
   @Override
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.fs.Seekable;
+
+/**
+ * A {@link ByteArrayInputStream} supporting {@link Seekable} and
+ * {@link ByteBufferReadable}, same as the key input streams of a real client.
+ */
+public class SeekableByteArrayInputStream extends ByteArrayInputStream
+    implements ByteBufferReadable, Seekable {
+
+  public SeekableByteArrayInputStream(byte[] data) {
+    super(data);
+  }
+
+  @Override
+  public synchronized int read(ByteBuffer buffer) {
+    final int n = Math.min(buffer.remaining(), available());
+    if (n == 0) {
+      return -1;
+    }
+    buffer.put(buf, pos, n);
+    pos += n;
+    return n;
+  }
+
+  @Override
+  public synchronized void seek(long newPos) throws EOFException {
+    if (newPos < 0 || newPos > count) {
+      throw new EOFException("Failed to seek to " + newPos
+          + ", length = " + count);
+    }
+    pos = (int) newPos;
+  }
+
+  @Override
+  public synchronized long getPos() {
+    return pos;
+  }
+
+  @Override
+  public boolean seekToNewSource(long targetPos) {
+    return false;
+  }
+}
@@ -47,6 +47,8 @@
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.s3.metrics.S3GatewayMetrics;
 import org.apache.hadoop.ozone.s3.signature.AWSSignatureProcessor;
 import org.apache.hadoop.ozone.s3.signature.SignatureInfo;
 import org.apache.hadoop.ozone.s3.signature.StringToSignProducer;
@@ -223,7 +225,10 @@ void testAuthFilter(
     authorizationFilter.setSignatureParser(awsSignatureProcessor);
     authorizationFilter.setSignatureInfo(signatureInfo);
 
+    final S3GatewayMetrics metrics = S3GatewayMetrics.create(new OzoneConfiguration());
+    final long signatureParseSuccess = metrics.getSignatureParseSuccess();
     authorizationFilter.filter(context);
+    assertEquals(signatureParseSuccess + 1, metrics.getSignatureParseSuccess());
 
     if (path.startsWith("/secret")) {
       assertNull(authorizationFilter.getSignatureInfo().getUnfilteredURI());
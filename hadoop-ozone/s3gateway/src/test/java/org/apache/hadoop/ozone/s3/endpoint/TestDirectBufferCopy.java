@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.hadoop.ozone.client.SeekableByteArrayInputStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test {@link DirectBufferCopy}.
+ */
+public class TestDirectBufferCopy {
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 1000, 100",
+      "0, 1000, 4096",
+      "100, 333, 64",
+      "900, 100, 7",
+      // longer than the data
+      "500, 1000, 64",
+  })
+  public void testCopy(int offset, int length, int bufferSize)
+      throws IOException {
+    final byte[] data = new byte[1000];
+    ThreadLocalRandom.current().nextBytes(data);
+    final SeekableByteArrayInputStream in =
+        new SeekableByteArrayInputStream(data);
+    assertEquals(offset, in.skip(offset));
+
+    // The servlet output is not a Jetty HttpOutput, write to dest.
+    final HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+    final ByteArrayOutputStream dest = new ByteArrayOutputStream();
+
+    final long copied = DirectBufferCopy.copy(in,
+        DirectBufferCopy.getChannel(dest, response), length, bufferSize);
+
+    final int expected = Math.min(length, data.length - offset);
+    assertEquals(expected, copied);
+    assertArrayEquals(Arrays.copyOfRange(data, offset, offset + expected),
+        dest.toByteArray());
+  }
+}
@@ -17,7 +17,9 @@
 
 package org.apache.hadoop.ozone.s3.endpoint;
 
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_CLIENT_BUFFER_SIZE_KEY;
 import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_FSO_DIRECTORY_CREATION_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_GET_DIRECT_BUFFER_ENABLED;
 import static org.apache.hadoop.ozone.s3.endpoint.EndpointTestUtils.assertErrorResponse;
 import static org.apache.hadoop.ozone.s3.endpoint.EndpointTestUtils.assertSucceeds;
 import static org.apache.hadoop.ozone.s3.endpoint.EndpointTestUtils.get;
@@ -27,18 +29,25 @@
 import static org.apache.hadoop.ozone.s3.util.S3Consts.TAG_COUNT_HEADER;
 import static org.apache.hadoop.ozone.s3.util.S3Consts.TAG_HEADER;
 import static org.apache.hadoop.ozone.s3.util.S3Consts.X_AMZ_CONTENT_SHA256;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.ozone.client.OzoneBucket;
 import org.apache.hadoop.ozone.client.OzoneClient;
 import org.apache.hadoop.ozone.client.OzoneClientStub;
@@ -46,6 +55,8 @@
 import org.apache.hadoop.ozone.s3.exception.OS3Exception;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 /**
  * Test get object.
@@ -70,6 +81,7 @@ public class TestObjectGet {
   public static final String CONTENT_ENCODING1 = "gzip";
   public static final String CONTENT_ENCODING2 = "compress";
 
+  private OzoneClient client;
   private HttpHeaders headers;
   private ObjectEndpoint rest;
   private OzoneBucket bucket;
@@ -77,7 +89,7 @@ public class TestObjectGet {
   @BeforeEach
   public void init() throws OS3Exception, IOException {
     //GIVEN
-    OzoneClient client = new OzoneClientStub();
+    client = new OzoneClientStub();
     client.getObjectStore().createS3Bucket(BUCKET_NAME);
     bucket = client.getObjectStore().getS3Bucket(BUCKET_NAME);
 
@@ -177,6 +189,44 @@ public void overrideResponseHeader() throws IOException, OS3Exception {
         response.getHeaderString("Content-Encoding"));
   }
 
+  @ParameterizedTest
+  @CsvSource({
+      // full read, in multiple buffers
+      ", 0, 1000",
+      // ranged reads
+      "bytes=0-0, 0, 1",
+      "bytes=100-, 100, 900",
+      "bytes=123-456, 123, 334",
+  })
+  public void testGetWithDirectBuffer(String range, int offset, int length)
+      throws Exception {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_GET_DIRECT_BUFFER_ENABLED, true);
+    conf.setStorageSize(OZONE_S3G_CLIENT_BUFFER_SIZE_KEY, 64, StorageUnit.BYTES);
+    final ObjectEndpoint directRest = EndpointBuilder.newObjectEndpointBuilder()
+        .setClient(client)
+        .setHeaders(headers)
+        .setConfig(conf)
+        .build();
+
+    final byte[] data = new byte[1000];
+    ThreadLocalRandom.current().nextBytes(data);
+    final String key = "direct-key";
+    try (OutputStream out = bucket.createKey(key, data.length)) {
+      out.write(data);
+    }
+
+    when(headers.getHeaderString(RANGE_HEADER)).thenReturn(range);
+    final Response response = get(directRest, BUCKET_NAME, key);
+    assertEquals(String.valueOf(length),
+        response.getHeaderString("Content-Length"));
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(out);
+    assertArrayEquals(Arrays.copyOfRange(data, offset, offset + length),
+        out.toByteArray());
+  }
+
   @Test
   public void getRangeHeader() throws IOException, OS3Exception {
     Response response;
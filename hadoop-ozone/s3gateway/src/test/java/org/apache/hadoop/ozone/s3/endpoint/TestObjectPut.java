@@ -18,6 +18,10 @@
 package org.apache.hadoop.ozone.s3.endpoint;
 
 import static org.apache.hadoop.ozone.client.OzoneClientTestUtils.assertKeyContent;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_CLIENT_BUFFER_SIZE_KEY;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_DEPTH;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_ENABLED;
+import static org.apache.hadoop.ozone.s3.S3GatewayConfigKeys.OZONE_S3G_PUT_PIPELINE_MIN_LENGTH;
 import static org.apache.hadoop.ozone.s3.endpoint.EndpointTestUtils.assertErrorResponse;
 import static org.apache.hadoop.ozone.s3.endpoint.EndpointTestUtils.assertSucceeds;
 import static org.apache.hadoop.ozone.s3.endpoint.EndpointTestUtils.put;
@@ -66,12 +70,14 @@
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
@@ -160,6 +166,28 @@ void testPutObject(int length, ReplicationConfig replication) throws Exception {
     assertThat(keyDetails.getTags()).isEmpty();
   }
 
+  @Test
+  void testPutObjectPipelined() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_S3G_PUT_PIPELINE_ENABLED, true);
+    conf.set(OZONE_S3G_PUT_PIPELINE_MIN_LENGTH, "0B");
+    conf.setInt(OZONE_S3G_PUT_PIPELINE_DEPTH, 2);
+    conf.set(OZONE_S3G_CLIENT_BUFFER_SIZE_KEY, "16B");
+    objectEndpoint = spy(EndpointBuilder.newObjectEndpointBuilder()
+        .setClient(objectEndpoint.getClient())
+        .setConfig(conf)
+        .setHeaders(headers)
+        .build());
+    final String content = RandomStringUtils.secure().nextAlphanumeric(1000);
+
+    Response response = putObject(content);
+
+    OzoneKeyDetails keyDetails = assertKeyContent(bucket, KEY_NAME, content);
+    String md5 = DigestUtils.md5Hex(content);
+    assertEquals(md5, keyDetails.getMetadata().get(OzoneConsts.ETAG));
+    assertEquals("\"" + md5 + "\"", response.getHeaderString(HttpHeaders.ETAG));
+  }
+
   @Test
   public void testPutObjectWithTags() throws Exception {
     when(headers.getHeaderString(TAG_HEADER)).thenReturn("tag1=value1&tag2=value2");
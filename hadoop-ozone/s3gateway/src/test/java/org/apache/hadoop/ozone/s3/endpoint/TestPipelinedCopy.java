@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.s3.endpoint;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test {@link PipelinedCopy}.
+ */
+public class TestPipelinedCopy {
+
+  @ParameterizedTest
+  @CsvSource({
+      "0, 64, 4",
+      "1000, 100, 4",
+      "1000, 64, 1",
+      "1000, 4096, 4",
+      "999, 10, 3",
+      // shorter than the data
+      "500, 64, 2",
+      // longer than the data
+      "2000, 64, 4",
+  })
+  public void testCopy(int length, int bufferSize, int depth) throws Exception {
+    final byte[] data = new byte[1000];
+    ThreadLocalRandom.current().nextBytes(data);
+    final MessageDigest md5 = MessageDigest.getInstance("MD5");
+    final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final long copied = PipelinedCopy.copy(new ByteArrayInputStream(data), out,
+        length, bufferSize, depth, Arrays.asList(md5, sha256));
+
+    final byte[] expected = Arrays.copyOf(data, Math.min(length, data.length));
+    assertEquals(expected.length, copied);
+    assertArrayEquals(expected, out.toByteArray());
+    assertArrayEquals(MessageDigest.getInstance("MD5").digest(expected),
+        md5.digest());
+    assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(expected),
+        sha256.digest());
+  }
+
+  @Test
+  public void testWriteFailure() throws Exception {
+    final IOException failure = new IOException("write failed");
+    final OutputStream out = new OutputStream() {
+      private int count;
+
+      @Override
+      public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        if (++count == 3) {
+          throw failure;
+        }
+      }
+    };
+    final List<MessageDigest> digests =
+        Arrays.asList(MessageDigest.getInstance("MD5"));
+
+    final IOException e = assertThrows(IOException.class,
+        () -> PipelinedCopy.copy(new ByteArrayInputStream(new byte[1 << 20]),
+            out, 1 << 20, 100, 2, digests));
+    assertSame(failure, e);
+  }
+}
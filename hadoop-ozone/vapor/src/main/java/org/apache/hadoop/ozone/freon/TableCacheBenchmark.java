@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.freon;
+
+import com.codahale.metrics.Timer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheStats;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.EpochRingTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
+import org.kohsuke.MetaInfServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Benchmark for the table cache implementations, without any DB.
+ * <p>
+ * Each task puts an entry (or a delete marker) at its own epoch and reads a
+ * recently written key.  Similar to the OM double buffer, the epochs are
+ * cleaned up in batches, one batch behind the latest epoch.
+ */
+@Command(name = "tcb",
+    aliases = "table-cache-benchmark",
+    description = "Benchmark table cache put, get and cleanup.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+@MetaInfServices(VaporSubcommand.class)
+@SuppressWarnings("java:S2245") // no need for secure random
+public class TableCacheBenchmark extends BaseFreonGenerator
+    implements Callable<Void>, VaporSubcommand {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(TableCacheBenchmark.class);
+
+  @Option(names = {"--cache-type"},
+      description = "Cache type to benchmark (FULL_CACHE, PARTIAL_CACHE).",
+      defaultValue = "PARTIAL_CACHE")
+  private CacheType cacheType;
+
+  @Option(names = {"--epoch-ring"},
+      description = "Benchmark EpochRingTableCache instead of the "
+          + "FullTableCache or PartialTableCache.",
+      defaultValue = "false")
+  private boolean epochRing;
+
+  @Option(names = {"--batch-size"},
+      description = "Number of epochs cleaned up together.",
+      defaultValue = "1000")
+  private int batchSize;
+
+  @Option(names = {"--delete-percentage"},
+      description = "Percentage of the puts which are delete markers.",
+      defaultValue = "10")
+  private int deletePercentage;
+
+  private TableCache<String, String> cache;
+  private ExecutorService cleanupExecutor;
+
+  private Timer putTimer;
+  private Timer getTimer;
+
+  @Override
+  public Void call() throws Exception {
+    init();
+    if (cacheType != CacheType.FULL_CACHE
+        && cacheType != CacheType.PARTIAL_CACHE) {
+      throw new IllegalArgumentException("Unsupported cache type " + cacheType);
+    }
+    if (epochRing) {
+      cleanupExecutor = EpochRingTableCache.newCleanupExecutor("benchmark");
+      cache = new EpochRingTableCache<>(cacheType, cleanupExecutor);
+    } else if (cacheType == CacheType.FULL_CACHE) {
+      cache = new FullTableCache<>("benchmark_");
+    } else {
+      cache = new PartialTableCache<>("benchmark_");
+    }
+
+    putTimer = getMetrics().timer("cache-put");
+    getTimer = getMetrics().timer("cache-get");
+
+    LOG.info("Running table cache benchmark: cache={} epochRing={} " +
+            "batchSize={} deletePercentage={}",
+        cacheType, epochRing, batchSize, deletePercentage);
+
+    try {
+      runTests(this::putAndGet);
+
+      final CacheStats stats = cache.getStats();
+      print("Remaining cache entries: " + cache.size());
+      print("Cache hits: " + stats.getCacheHits()
+          + ", misses: " + stats.getCacheMisses());
+    } finally {
+      if (cleanupExecutor != null) {
+        cleanupExecutor.shutdownNow();
+      }
+    }
+    return null;
+  }
+
+  private void putAndGet(long epoch) {
+    final boolean delete =
+        ThreadLocalRandom.current().nextInt(100) < deletePercentage;
+    final CacheKey<String> key = new CacheKey<>(Long.toString(epoch));
+    final CacheValue<String> value = delete ? CacheValue.get(epoch)
+        : CacheValue.get(epoch, key.getCacheKey());
+    putTimer.time(() -> cache.put(key, value));
+
+    final long readEpoch = Math.max(0,
+        epoch - ThreadLocalRandom.current().nextInt(batchSize));
+    final CacheKey<String> readKey = new CacheKey<>(Long.toString(readEpoch));
+    getTimer.time(() -> {
+      cache.get(readKey);
+    });
+
+    if (epoch % batchSize == batchSize - 1 && epoch >= 2L * batchSize) {
+      final List<Long> epochs = LongStream.range(
+              epoch + 1 - 2L * batchSize, epoch + 1 - batchSize)
+          .boxed()
+          .collect(Collectors.toList());
+      cache.cleanup(epochs);
+    }
+  }
+}
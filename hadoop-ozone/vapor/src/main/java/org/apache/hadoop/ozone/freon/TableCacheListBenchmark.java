@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.freon;
+
+import com.codahale.metrics.Timer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.hadoop.hdds.cli.HddsVersionProvider;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.EpochRingTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
+import org.kohsuke.MetaInfServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Benchmark for listing the entries of a directory from the table cache,
+ * without any DB.
+ * <p>
+ * The cache is filled with the keys of the given number of directories,
+ * similar to the OM key table.  Each task lists the entries of a random
+ * directory from a random start key, either with the range iterator of the
+ * cache or, to compare with, by filtering all the entries of the cache.
+ */
+@Command(name = "tclb",
+    aliases = "table-cache-list-benchmark",
+    description = "Benchmark listing a prefix from the table cache.",
+    versionProvider = HddsVersionProvider.class,
+    mixinStandardHelpOptions = true,
+    showDefaultValues = true)
+@MetaInfServices(VaporSubcommand.class)
+@SuppressWarnings("java:S2245") // no need for secure random
+public class TableCacheListBenchmark extends BaseFreonGenerator
+    implements Callable<Void>, VaporSubcommand {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(TableCacheListBenchmark.class);
+
+  @Option(names = {"--cache-type"},
+      description = "Cache type to benchmark (FULL_CACHE, PARTIAL_CACHE).",
+      defaultValue = "PARTIAL_CACHE")
+  private CacheType cacheType;
+
+  @Option(names = {"--epoch-ring"},
+      description = "Benchmark EpochRingTableCache instead of the "
+          + "FullTableCache or PartialTableCache.",
+      defaultValue = "false")
+  private boolean epochRing;
+
+  @Option(names = {"--cached-entries"},
+      description = "Number of entries in the cache.",
+      defaultValue = "1000000")
+  private int cachedEntries;
+
+  @Option(names = {"--directories"},
+      description = "Number of directories of the cached entries.",
+      defaultValue = "1000")
+  private int directories;
+
+  @Option(names = {"--full-scan"},
+      description = "Filter all the cache entries instead of iterating "
+          + "the range of the directory.",
+      defaultValue = "false")
+  private boolean fullScan;
+
+  private TableCache<String, String> cache;
+  private ExecutorService cleanupExecutor;
+  private int entriesPerDirectory;
+
+  private Timer listTimer;
+
+  @Override
+  public Void call() throws Exception {
+    init();
+    if (cacheType != CacheType.FULL_CACHE
+        && cacheType != CacheType.PARTIAL_CACHE) {
+      throw new IllegalArgumentException("Unsupported cache type " + cacheType);
+    }
+    if (epochRing) {
+      cleanupExecutor = EpochRingTableCache.newCleanupExecutor("benchmark");
+      cache = new EpochRingTableCache<>(cacheType, cleanupExecutor);
+    } else if (cacheType == CacheType.FULL_CACHE) {
+      cache = new FullTableCache<>("benchmark_");
+    } else {
+      cache = new PartialTableCache<>("benchmark_");
+    }
+
+    entriesPerDirectory = Math.max(1, cachedEntries / directories);
+    for (int i = 0; i < cachedEntries; i++) {
+      final String key = getKey(i / entriesPerDirectory,
+          i % entriesPerDirectory);
+      cache.put(new CacheKey<>(key), CacheValue.get(i, key));
+    }
+    listTimer = getMetrics().timer("cache-list");
+
+    LOG.info("Running table cache list benchmark: cache={} epochRing={} " +
+            "cachedEntries={} directories={} fullScan={}",
+        cacheType, epochRing, cache.size(), directories, fullScan);
+
+    try {
+      runTests(this::list);
+    } finally {
+      if (cleanupExecutor != null) {
+        cleanupExecutor.shutdownNow();
+      }
+    }
+    return null;
+  }
+
+  private static String getDirectory(int dir) {
+    return "/vol/bucket/dir-" + dir + "/";
+  }
+
+  private static String getKey(int dir, int key) {
+    return getDirectory(dir) + String.format("key-%08d", key);
+  }
+
+  private void list(long counter) throws Exception {
+    final int dir = ThreadLocalRandom.current().nextInt(directories);
+    final String prefix = getDirectory(dir);
+    final String startKey = getKey(dir,
+        ThreadLocalRandom.current().nextInt(entriesPerDirectory));
+    final int listed = listTimer.time(() -> fullScan
+        ? scan(prefix, startKey) : iterate(prefix, startKey));
+    if (listed == 0) {
+      throw new IllegalStateException("No entries listed from " + startKey);
+    }
+  }
+
+  private int iterate(String prefix, String startKey) {
+    int listed = 0;
+    final Iterator<Map.Entry<CacheKey<String>, CacheValue<String>>> i =
+        cache.iterator(startKey, prefix);
+    while (i.hasNext()) {
+      if (i.next().getValue().getCacheValue() != null) {
+        listed++;
+      }
+    }
+    return listed;
+  }
+
+  private int scan(String prefix, String startKey) {
+    int listed = 0;
+    final Iterator<Map.Entry<CacheKey<String>, CacheValue<String>>> i =
+        cache.iterator();
+    while (i.hasNext()) {
+      final Map.Entry<CacheKey<String>, CacheValue<String>> e = i.next();
+      final String key = e.getKey().getCacheKey();
+      if (e.getValue().getCacheValue() != null && key.startsWith(prefix)
+          && key.compareTo(startKey) >= 0) {
+        listed++;
+      }
+    }
+    return listed;
+  }
+}